@@ -0,0 +1,94 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure;
+
+import java.util.function.IntFunction;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * 提供关于分段加锁的数据结构的实用函数。
+ *
+ * <p>分段加锁的数据结构将其元素按哈希值划分到若干个由独立的锁保护的分段中，分段的个数
+ * 总是 2 的幂。
+ *
+ * @author 胡海星
+ */
+public final class SegmentUtils {
+
+  /**
+   * 默认的并发级别，即默认的分段个数的下限。
+   */
+  public static final int DEFAULT_CONCURRENCY_LEVEL =
+      Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+  /**
+   * 分段的最大个数。
+   */
+  public static final int MAX_SEGMENTS = 1 << 16;
+
+  private SegmentUtils() {}
+
+  /**
+   * 创建分段加锁的数据结构的各个分段。
+   *
+   * @param <S>
+   *     分段的类型。
+   * @param expectedSize
+   *     预期的元素的数目，将被平均分配到各个分段中。
+   * @param concurrencyLevel
+   *     并发级别，即预期的并发修改的线程的数目。分段的个数是不小于它的最小的 2 的幂，
+   *     但不超过 {@link #MAX_SEGMENTS}。
+   * @param arrayFactory
+   *     用于创建指定长度的分段数组的函数。
+   * @param segmentFactory
+   *     用于创建一个分段的函数，其参数是该分段预期的元素的数目。
+   * @return
+   *     新创建的分段的数组，其长度是 2 的幂。
+   * @throws IllegalArgumentException
+   *     如果 <i>expectedSize</i> 为负，或 <i>concurrencyLevel</i> 不为正。
+   */
+  public static <S> S[] createSegments(final int expectedSize,
+      final int concurrencyLevel, final IntFunction<S[]> arrayFactory,
+      final IntFunction<S> segmentFactory) {
+    requireNonNegative("expectedSize", expectedSize);
+    requirePositive("concurrencyLevel", concurrencyLevel);
+    final int level = Math.min(concurrencyLevel, MAX_SEGMENTS);
+    int n = 1;
+    while (n < level) {
+      n <<= 1;
+    }
+    final int segmentSize = (int) (((long) expectedSize + n - 1) / n);
+    final S[] segments = arrayFactory.apply(n);
+    for (int i = 0; i < n; ++i) {
+      segments[i] = segmentFactory.apply(segmentSize);
+    }
+    return segments;
+  }
+
+  /**
+   * 获取指定的 {@code long} 值所属的分段的索引。
+   *
+   * @param value
+   *     指定的 {@code long} 值。
+   * @param segmentMask
+   *     分段的个数减一。
+   * @return
+   *     指定的值所属的分段的索引。
+   */
+  public static int segmentIndex(final long value, final int segmentMask) {
+    //  the segment index uses the low bits of a hash independent of the
+    //  Fibonacci hashing used by the tables inside the segments, so the values
+    //  of a segment are still spread over its whole table
+    final int h = Long.hashCode(value);
+    final int x = (h ^ (h >>> 16)) * 0x45d9f3b;
+    return (x ^ (x >>> 16)) & segmentMask;
+  }
+}
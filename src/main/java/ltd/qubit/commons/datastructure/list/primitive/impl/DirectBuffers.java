@@ -0,0 +1,81 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.list.primitive.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import javax.annotation.Nullable;
+
+/**
+ * 分配和释放堆外列表所使用的直接缓冲区的工具函数。
+ *
+ * @author 胡海星
+ */
+final class DirectBuffers {
+
+  /**
+   * {@code sun.misc.Unsafe.invokeCleaner(ByteBuffer)} 的句柄；若当前 JVM 不支持则为
+   * {@code null}，此时直接缓冲区的内存只能由垃圾回收器释放。
+   */
+  @Nullable
+  private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+  private DirectBuffers() {}
+
+  /**
+   * 分配一个使用本机字节序的直接缓冲区。
+   *
+   * @param bytes
+   *     缓冲区的字节数。
+   * @return
+   *     新分配的直接缓冲区。
+   */
+  static ByteBuffer allocate(final int bytes) {
+    return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+  }
+
+  /**
+   * 立即释放指定的直接缓冲区所占用的堆外内存。
+   *
+   * <p>调用此函数后不得再访问该缓冲区。若当前 JVM 不支持立即释放，其内存将在缓冲区
+   * 被垃圾回收时释放。
+   *
+   * @param buffer
+   *     待释放的直接缓冲区。
+   */
+  static void free(final ByteBuffer buffer) {
+    if (INVOKE_CLEANER != null) {
+      try {
+        INVOKE_CLEANER.invokeExact(buffer);
+      } catch (final Throwable e) {
+        //  falls back to the garbage collector
+      }
+    }
+  }
+
+  @Nullable
+  private static MethodHandle findInvokeCleaner() {
+    try {
+      final Class<?> cls = Class.forName("sun.misc.Unsafe");
+      final Field field = cls.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      final MethodType type = MethodType.methodType(void.class, ByteBuffer.class);
+      return MethodHandles.lookup()
+                          .findVirtual(cls, "invokeCleaner", type)
+                          .bindTo(field.get(null));
+    } catch (final Throwable e) {
+      return null;
+    }
+  }
+}
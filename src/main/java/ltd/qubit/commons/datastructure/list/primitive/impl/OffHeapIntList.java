@@ -0,0 +1,586 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.list.primitive.impl;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import ltd.qubit.commons.datastructure.list.primitive.IntCollection;
+import ltd.qubit.commons.datastructure.list.primitive.IntList;
+import ltd.qubit.commons.datastructure.list.primitive.RandomAccessIntList;
+
+/**
+ * 一个将元素存储在堆外内存中的 {@link IntList}。
+ *
+ * <p>元素存储在若干个大小相同的直接缓冲区（称为内存块）中，因此不占用 Java 堆空间，
+ * 也不会增加垃圾回收的负担。列表增长时只需分配新的内存块，已有的元素不会被复制。
+ *
+ * <p>元素的数目可以超过 {@link Integer#MAX_VALUE}，此时需要使用以 {@code long} 为
+ * 下标的函数（例如 {@link #longSize()}、{@link #getAt(long)} 和
+ * {@link #setAt(long, int)}）访问全部元素；{@link IntList} 接口中以 {@code int}
+ * 为下标的函数，以及依赖 {@link #size()} 的函数（例如迭代器、{@code toArray()}、
+ * {@code indexOf()}、{@code equals()}、{@code hashCode()} 和 {@code subList()}）
+ * 都将抛出 {@link IllegalStateException}，而不是只访问部分元素。
+ *
+ * <p>在列表中间插入或删除元素需要移动其后的所有元素，因此对于大型列表应尽量只在尾部
+ * 添加或删除元素。使用完毕后应调用 {@link #close()} 立即释放堆外内存，关闭后的列表
+ * 不能再被访问。
+ *
+ * @author 胡海星
+ */
+@NotThreadSafe
+public class OffHeapIntList extends RandomAccessIntList implements AutoCloseable {
+
+  @Serial
+  private static final long serialVersionUID = -2734916034575219862L;
+
+  /**
+   * 默认的每个内存块中元素的数目。
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+  /**
+   * 每个内存块中元素的最大数目。
+   */
+  public static final int MAX_CHUNK_SIZE = 1 << 28;
+
+  private static final int ELEMENT_SHIFT = 2;
+
+  private static final int INSERTION_SORT_THRESHOLD = 16;
+
+  private final int chunkShift;
+  private final int chunkMask;
+  private transient ByteBuffer[] chunks;
+  private transient int chunkCount;
+  private long size;
+
+  /**
+   * 构造一个使用默认内存块大小的空列表。
+   */
+  public OffHeapIntList() {
+    this(DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * 构造一个使用指定内存块大小的空列表。
+   *
+   * @param chunkSize
+   *     每个内存块中元素的数目，必须是不大于 {@link #MAX_CHUNK_SIZE} 的 2 的幂。
+   * @throws IllegalArgumentException
+   *     如果 <i>chunkSize</i> 不是 2 的幂或超出范围。
+   */
+  public OffHeapIntList(final int chunkSize) {
+    if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE || (chunkSize & (chunkSize - 1)) != 0) {
+      throw new IllegalArgumentException("chunk size " + chunkSize);
+    }
+    chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+    chunkMask = chunkSize - 1;
+    chunks = new ByteBuffer[8];
+    chunkCount = 0;
+    size = 0;
+  }
+
+  /**
+   * 构造一个使用默认内存块大小的列表，其中包含给定集合的元素，其顺序由该集合的迭代器
+   * 返回。
+   *
+   * @param that
+   *     要添加的非{@code null}的 {@code int} 集合。
+   * @throws NullPointerException
+   *     如果 <i>that</i> 是 {@code null}。
+   */
+  public OffHeapIntList(final IntCollection that) {
+    this(DEFAULT_CHUNK_SIZE);
+    addAll(that);
+  }
+
+  /**
+   * 获取每个内存块中元素的数目。
+   *
+   * @return
+   *     每个内存块中元素的数目。
+   */
+  public int getChunkSize() {
+    return chunkMask + 1;
+  }
+
+  /**
+   * 获取此列表中元素的数目。
+   *
+   * @return
+   *     此列表中元素的数目，可以超过 {@link Integer#MAX_VALUE}。
+   */
+  public long longSize() {
+    return size;
+  }
+
+  /**
+   * 获取此列表中元素的数目。
+   *
+   * @return
+   *     此列表中元素的数目。
+   * @throws IllegalStateException
+   *     如果此列表中元素的数目超过 {@link Integer#MAX_VALUE}，此时应使用
+   *     {@link #longSize()}。
+   */
+  @Override
+  public int size() {
+    ensureIntSize();
+    return (int) size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * 获取此列表已分配的容量，即不分配新的内存块时最多可以容纳的元素的数目。
+   *
+   * @return
+   *     此列表已分配的容量。
+   */
+  public long capacity() {
+    return (long) chunkCount << chunkShift;
+  }
+
+  /**
+   * 判断此列表是否已被关闭。
+   *
+   * @return
+   *     如果此列表已被关闭，返回 {@code true}；否则返回 {@code false}。
+   */
+  public boolean isClosed() {
+    return chunks == null;
+  }
+
+  @Override
+  public int get(final int index) {
+    ensureIntSize();
+    return getAt(index);
+  }
+
+  /**
+   * 获取指定位置的元素。
+   *
+   * @param index
+   *     元素的索引。
+   * @return
+   *     指定位置的元素。
+   * @throws IndexOutOfBoundsException
+   *     如果指定的索引超出范围。
+   * @throws IllegalStateException
+   *     如果此列表已被关闭。
+   */
+  public int getAt(final long index) {
+    checkIndex(index, size);
+    return load(index);
+  }
+
+  @Override
+  public int set(final int index, final int element) {
+    ensureIntSize();
+    return setAt(index, element);
+  }
+
+  /**
+   * 用指定的元素替换指定位置的元素。
+   *
+   * @param index
+   *     要更改的元素的索引。
+   * @param element
+   *     要存储在指定位置的值。
+   * @return
+   *     先前存储在指定位置的值。
+   * @throws IndexOutOfBoundsException
+   *     如果指定的索引超出范围。
+   * @throws IllegalStateException
+   *     如果此列表已被关闭。
+   */
+  public int setAt(final long index, final int element) {
+    checkIndex(index, size);
+    ++modifyCount;
+    final int oldVal = load(index);
+    store(index, element);
+    return oldVal;
+  }
+
+  @Override
+  public boolean add(final int element) {
+    ensureOpen();
+    ++modifyCount;
+    ensureCapacity(size + 1);
+    store(size++, element);
+    return true;
+  }
+
+  /**
+   * 在指定位置插入指定元素。
+   *
+   * <p>将当前位于该位置的元素（如有）和任何后续元素向右移动，使其索引增加。
+   *
+   * @param index
+   *     要插入元素的索引。
+   * @param element
+   *     要插入的值。
+   * @throws IndexOutOfBoundsException
+   *     如果指定的索引超出范围。
+   * @throws IllegalStateException
+   *     如果此列表已被关闭，或其中元素的数目超过 {@link Integer#MAX_VALUE}。
+   */
+  @Override
+  public void add(final int index, final int element) {
+    ensureIntSize();
+    insertAt(index, element);
+  }
+
+  /**
+   * 在指定位置插入指定元素。
+   *
+   * <p>将当前位于该位置的元素（如有）和任何后续元素向右移动，使其索引增加。
+   *
+   * @param index
+   *     要插入元素的索引。
+   * @param element
+   *     要插入的值。
+   * @throws IndexOutOfBoundsException
+   *     如果指定的索引超出范围。
+   * @throws IllegalStateException
+   *     如果此列表已被关闭。
+   */
+  public void insertAt(final long index, final int element) {
+    checkIndex(index, size + 1);
+    ++modifyCount;
+    ensureCapacity(size + 1);
+    for (long i = size; i > index; --i) {
+      store(i, load(i - 1));
+    }
+    store(index, element);
+    ++size;
+  }
+
+  /**
+   * 删除指定位置的元素。
+   *
+   * <p>所有后续元素都向左移动，其索引减一。返回被删除的元素。
+   *
+   * @param index
+   *     要删除的元素的索引。
+   * @return
+   *     被删除的元素的值。
+   * @throws IndexOutOfBoundsException
+   *     如果指定的索引超出范围。
+   * @throws IllegalStateException
+   *     如果此列表已被关闭，或其中元素的数目超过 {@link Integer#MAX_VALUE}。
+   */
+  @Override
+  public int removeAt(final int index) {
+    ensureIntSize();
+    return removeAt((long) index);
+  }
+
+  /**
+   * 删除指定位置的元素。
+   *
+   * <p>所有后续元素都向左移动，其索引减一。返回被删除的元素。
+   *
+   * @param index
+   *     要删除的元素的索引。
+   * @return
+   *     被删除的元素的值。
+   * @throws IndexOutOfBoundsException
+   *     如果指定的索引超出范围。
+   * @throws IllegalStateException
+   *     如果此列表已被关闭。
+   */
+  public int removeAt(final long index) {
+    checkIndex(index, size);
+    ++modifyCount;
+    final int oldVal = load(index);
+    final long last = size - 1;
+    for (long i = index; i < last; ++i) {
+      store(i, load(i + 1));
+    }
+    size = last;
+    return oldVal;
+  }
+
+  /**
+   * 删除此列表的最后一个元素。
+   *
+   * @return
+   *     被删除的元素的值。
+   * @throws IndexOutOfBoundsException
+   *     如果此列表为空。
+   * @throws IllegalStateException
+   *     如果此列表已被关闭。
+   */
+  public int removeLast() {
+    checkIndex(size - 1, size);
+    ++modifyCount;
+    return load(--size);
+  }
+
+  /**
+   * 删除此列表中的所有元素。
+   *
+   * <p>已分配的内存块不会被释放，可调用 {@link #trimToSize()} 释放它们。
+   */
+  @Override
+  public void clear() {
+    ensureOpen();
+    ++modifyCount;
+    size = 0;
+  }
+
+  /**
+   * 如有必要，分配新的内存块，以确保此列表至少可以容纳由最小容量参数指定的元素数量。
+   *
+   * <p>已有的元素不会被复制。
+   *
+   * @param minCap
+   *     最小容量。
+   * @throws IllegalStateException
+   *     如果此列表已被关闭。
+   */
+  public void ensureCapacity(final long minCap) {
+    ensureOpen();
+    final long needed = (minCap + chunkMask) >>> chunkShift;
+    if (needed <= chunkCount) {
+      return;
+    }
+    if (needed > Integer.MAX_VALUE - 8) {
+      throw new OutOfMemoryError("Required capacity too large: " + minCap);
+    }
+    if (needed > chunks.length) {
+      final long newLength = Math.max(needed, 2L * chunks.length);
+      chunks = Arrays.copyOf(chunks, (int) Math.min(newLength, Integer.MAX_VALUE - 8));
+    }
+    final int chunkBytes = (chunkMask + 1) << ELEMENT_SHIFT;
+    while (chunkCount < needed) {
+      chunks[chunkCount++] = DirectBuffers.allocate(chunkBytes);
+    }
+  }
+
+  /**
+   * 释放此列表中不再需要的内存块，使其容量与当前大小 ({@link #longSize()}) 相符。
+   *
+   * @throws IllegalStateException
+   *     如果此列表已被关闭。
+   */
+  public void trimToSize() {
+    ensureOpen();
+    final int needed = (int) ((size + chunkMask) >>> chunkShift);
+    while (chunkCount > needed) {
+      final ByteBuffer chunk = chunks[--chunkCount];
+      chunks[chunkCount] = null;
+      DirectBuffers.free(chunk);
+    }
+  }
+
+  /**
+   * 关闭此列表并释放其占用的全部堆外内存。
+   *
+   * <p>关闭后访问此列表的元素将抛出 {@link IllegalStateException}。重复调用此函数
+   * 没有任何效果。
+   */
+  @Override
+  public void close() {
+    if (chunks == null) {
+      return;
+    }
+    final ByteBuffer[] old = chunks;
+    final int n = chunkCount;
+    chunks = null;
+    chunkCount = 0;
+    size = 0;
+    ++modifyCount;
+    for (int i = 0; i < n; ++i) {
+      DirectBuffers.free(old[i]);
+    }
+  }
+
+  @Override
+  public void sort() {
+    ensureOpen();
+    ++modifyCount;
+    sortRange(0, size);
+  }
+
+  @Override
+  protected void sort(final int fromIndex, final int toIndex) {
+    ensureOpen();
+    ensureIntSize();
+    ++modifyCount;
+    sortRange(fromIndex, toIndex);
+  }
+
+  private void ensureOpen() {
+    if (chunks == null) {
+      throw new IllegalStateException("The list has been closed.");
+    }
+  }
+
+  //  the methods with int indexes and the inherited methods relying on size()
+  //  cannot see all the elements of a list with more than Integer.MAX_VALUE
+  //  elements, so they must fail instead of silently truncating the list
+  private void ensureIntSize() {
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalStateException("The list has " + size + " elements, which "
+          + "exceeds the range of the int indexes.");
+    }
+  }
+
+  private void checkIndex(final long index, final long bound) {
+    ensureOpen();
+    if ((index < 0) || (index >= bound)) {
+      throw new IndexOutOfBoundsException("The index must in the right open range [0, "
+          + bound + "), but it is " + index);
+    }
+  }
+
+  private int load(final long index) {
+    final ByteBuffer chunk = chunks[(int) (index >>> chunkShift)];
+    return chunk.getInt(((int) index & chunkMask) << ELEMENT_SHIFT);
+  }
+
+  private void store(final long index, final int value) {
+    final ByteBuffer chunk = chunks[(int) (index >>> chunkShift)];
+    chunk.putInt(((int) index & chunkMask) << ELEMENT_SHIFT, value);
+  }
+
+  private void swap(final long i, final long j) {
+    final int t = load(i);
+    store(i, load(j));
+    store(j, t);
+  }
+
+  private static boolean less(final int x, final int y) {
+    return x < y;
+  }
+
+  //  sorts in place with an introsort, since handing the elements to Arrays.sort()
+  //  would copy them back to the heap
+  private void sortRange(final long from, final long to) {
+    final long n = to - from;
+    final int depth = 2 * (63 - Long.numberOfLeadingZeros(Math.max(n, 1)));
+    quickSort(from, to, depth);
+  }
+
+  private void quickSort(long from, long to, int depth) {
+    while (to - from > INSERTION_SORT_THRESHOLD) {
+      if (depth == 0) {
+        heapSort(from, to);
+        return;
+      }
+      --depth;
+      final long mid = from + ((to - from) >>> 1);
+      final long last = to - 1;
+      if (less(load(mid), load(from))) {
+        swap(mid, from);
+      }
+      if (less(load(last), load(mid))) {
+        swap(last, mid);
+        if (less(load(mid), load(from))) {
+          swap(mid, from);
+        }
+      }
+      final int pivot = load(mid);
+      long i = from;
+      long j = last;
+      while (i <= j) {
+        while (less(load(i), pivot)) {
+          ++i;
+        }
+        while (less(pivot, load(j))) {
+          --j;
+        }
+        if (i <= j) {
+          swap(i++, j--);
+        }
+      }
+      //  recurses into the smaller part to bound the stack depth
+      if (j - from < to - i) {
+        quickSort(from, j + 1, depth);
+        from = i;
+      } else {
+        quickSort(i, to, depth);
+        to = j + 1;
+      }
+    }
+    insertionSort(from, to);
+  }
+
+  private void insertionSort(final long from, final long to) {
+    for (long i = from + 1; i < to; ++i) {
+      final int x = load(i);
+      long j = i - 1;
+      while (j >= from && less(x, load(j))) {
+        store(j + 1, load(j));
+        --j;
+      }
+      store(j + 1, x);
+    }
+  }
+
+  private void heapSort(final long from, final long to) {
+    final long n = to - from;
+    for (long i = (n >>> 1) - 1; i >= 0; --i) {
+      siftDown(from, i, n);
+    }
+    for (long end = n - 1; end > 0; --end) {
+      swap(from, from + end);
+      siftDown(from, 0, end);
+    }
+  }
+
+  private void siftDown(final long base, long i, final long n) {
+    final int x = load(base + i);
+    while (true) {
+      long child = 2 * i + 1;
+      if (child >= n) {
+        break;
+      }
+      if (child + 1 < n && less(load(base + child), load(base + child + 1))) {
+        ++child;
+      }
+      if (!less(x, load(base + child))) {
+        break;
+      }
+      store(base + i, load(base + child));
+      i = child;
+    }
+    store(base + i, x);
+  }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    ensureOpen();
+    out.defaultWriteObject();
+    for (long i = 0; i < size; ++i) {
+      out.writeInt(load(i));
+    }
+  }
+
+  private void readObject(final ObjectInputStream in) throws IOException,
+      ClassNotFoundException {
+    in.defaultReadObject();
+    chunks = new ByteBuffer[8];
+    chunkCount = 0;
+    ensureCapacity(size);
+    for (long i = 0; i < size; ++i) {
+      store(i, in.readInt());
+    }
+  }
+}
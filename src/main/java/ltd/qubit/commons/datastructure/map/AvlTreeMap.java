@@ -9,29 +9,51 @@
 package ltd.qubit.commons.datastructure.map;
 
 import java.util.AbstractCollection;
+import java.util.AbstractMap;
 import java.util.AbstractSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import ltd.qubit.commons.lang.Argument;
 import ltd.qubit.commons.lang.Equality;
-import ltd.qubit.commons.util.pair.Pair;
 
 /**
  * A binary search tree implemented using the AVL tree.
  *
+ * <p>Every node of the tree records the number of nodes in its subtree, so
+ * besides the {@link NavigableMap} operations, this map supports the order
+ * statistic operations {@link #rank(Object)}, {@link #select(int)} and
+ * {@link #countInRange(Object, boolean, Object, boolean)} in O(log n) time. The
+ * {@link #size()} of the views returned by {@link #subMap}, {@link #headMap}
+ * and {@link #tailMap} is also computed in O(log n) time. A balanced tree can
+ * be built from sorted entries in O(n) time with
+ * {@link #buildFromSorted(Collection, Comparator)}.
+ *
+ * <p>This map does not permit {@code null} keys.
+ *
  * @author Haixing Hu
  */
 @NotThreadSafe
-public class AvlTreeMap<KEY, VALUE> implements Map<KEY, VALUE> {
+public class AvlTreeMap<KEY, VALUE> extends AbstractMap<KEY, VALUE>
+    implements NavigableMap<KEY, VALUE> {
+
+  /**
+   * The fence key of iterators without an upper (or lower) fence.
+   */
+  private static final Object UNBOUNDED = new Object();
 
   protected final class Node implements Map.Entry<KEY, VALUE> {
 
@@ -41,14 +63,16 @@ public class AvlTreeMap<KEY, VALUE> implements Map<KEY, VALUE> {
     Node right;
     Node parent;
     int height;
+    int size;
 
-    Node(final KEY key, final VALUE value) {
+    Node(final KEY key, final VALUE value, @Nullable final Node parent) {
       this.key = Argument.requireNonNull("key", key);
       this.value = value;
+      this.parent = parent;
       height = 1;
+      size = 1;
       left = null;
       right = null;
-      parent = null;
     }
 
     @Override
@@ -103,48 +127,122 @@ public class AvlTreeMap<KEY, VALUE> implements Map<KEY, VALUE> {
         return par;
       }
     }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (!(obj instanceof Map.Entry)) {
+        return false;
+      }
+      final Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+      return Equality.equals(key, other.getKey())
+          && Equality.equals(value, other.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
   }
 
   private Node root;
-  private final Comparator<KEY> comparator;
-  private int size;
+  private final Comparator<? super KEY> comparator;
   private transient int modifications;
 
   public AvlTreeMap() {
     root = null;
     comparator = null;
-    size = 0;
     modifications = 0;
   }
 
-  public AvlTreeMap(final Comparator<KEY> comparator) {
+  public AvlTreeMap(final Comparator<? super KEY> comparator) {
     root = null;
     this.comparator = Argument.requireNonNull("comparator", comparator);
-    size = 0;
     modifications = 0;
   }
 
+  /**
+   * Constructs a map containing the same mappings and using the same ordering
+   * as the specified sorted map.
+   *
+   * <p>The tree is built in O(n) time.
+   *
+   * @param map
+   *     the sorted map whose mappings are to be placed in this map.
+   */
+  public AvlTreeMap(final SortedMap<KEY, ? extends VALUE> map) {
+    root = null;
+    comparator = map.comparator();
+    modifications = 0;
+    build(map.entrySet());
+  }
+
+  /**
+   * Builds a balanced map from the entries sorted in the strictly ascending
+   * order of their keys.
+   *
+   * <p>The tree is built in O(n) time, instead of O(n log n) time required by
+   * inserting the entries one by one.
+   *
+   * @param entries
+   *     the entries sorted in the strictly ascending order of their keys.
+   * @param comparator
+   *     the comparator used to order the keys, or {@code null} to use the
+   *     natural ordering of the keys.
+   * @return
+   *     a new map containing the specified entries.
+   * @throws IllegalArgumentException
+   *     if the keys of the entries are not in the strictly ascending order.
+   */
+  public static <K, V> AvlTreeMap<K, V> buildFromSorted(
+      final Collection<? extends Map.Entry<? extends K, ? extends V>> entries,
+      @Nullable final Comparator<? super K> comparator) {
+    final AvlTreeMap<K, V> result = (comparator == null
+                                     ? new AvlTreeMap<>()
+                                     : new AvlTreeMap<>(comparator));
+    result.build(entries);
+    return result;
+  }
+
+  /**
+   * Builds a balanced map from the entries sorted in the strictly ascending
+   * natural order of their keys.
+   *
+   * @param entries
+   *     the entries sorted in the strictly ascending natural order of their keys.
+   * @return
+   *     a new map containing the specified entries.
+   * @throws IllegalArgumentException
+   *     if the keys of the entries are not in the strictly ascending order.
+   * @see #buildFromSorted(Collection, Comparator)
+   */
+  public static <K, V> AvlTreeMap<K, V> buildFromSorted(
+      final Collection<? extends Map.Entry<? extends K, ? extends V>> entries) {
+    return buildFromSorted(entries, null);
+  }
+
+  @Override
+  public Comparator<? super KEY> comparator() {
+    return comparator;
+  }
+
   @Override
   public boolean isEmpty() {
-    return (size == 0);
+    return (root == null);
   }
 
   @Override
   public int size() {
-    return size;
+    return sizeOf(root);
   }
 
-  @SuppressWarnings("unchecked")
   @Override
   public boolean containsKey(final Object key) {
-    Argument.requireNonNull("key", key);
-    final Node node;
-    if (comparator == null) {
-      node = getNode((KEY) key);
-    } else {
-      node = getNodeByComparator((KEY) key);
-    }
-    return (node != null);
+    return (getNode(key) != null);
   }
 
   @Override
@@ -183,16 +281,9 @@ public class AvlTreeMap<KEY, VALUE> implements Map<KEY, VALUE> {
     }
   }
 
-  @SuppressWarnings("unchecked")
   @Override
   public VALUE get(final Object key) {
-    Argument.requireNonNull("key", key);
-    final Node node;
-    if (comparator == null) {
-      node = getNode((KEY) key);
-    } else {
-      node = getNodeByComparator((KEY) key);
-    }
+    final Node node = getNode(key);
     if (node == null) {
       return null;
     } else {
@@ -200,12 +291,12 @@ public class AvlTreeMap<KEY, VALUE> implements Map<KEY, VALUE> {
     }
   }
 
-  @SuppressWarnings("unchecked")
-  protected final Node getNode(final KEY key) {
+  protected final Node getNode(final Object key) {
+    Argument.requireNonNull("key", key);
     Node node = root;
     while (node != null) {
       // compare the key and node.key
-      final int rc = ((Comparable<KEY>) key).compareTo(node.key);
+      final int rc = compare(key, node.key);
       if (rc == 0) {
         return node;        // found the value
       } else if (rc < 0) {
@@ -217,533 +308,670 @@ public class AvlTreeMap<KEY, VALUE> implements Map<KEY, VALUE> {
     return null;
   }
 
-  protected final Node getNodeByComparator(final KEY key) {
+  /*
+   * Gets the node with the least key greater than or equal to the given key.
+   */
+  protected final Node getCeilingNode(final Object key) {
+    Argument.requireNonNull("key", key);
     Node node = root;
+    Node result = null;
     while (node != null) {
-      // compare the key and node.key
-      final int rc = comparator.compare(key, node.key);
+      final int rc = compare(key, node.key);
       if (rc == 0) {
-        return node;        // found the value
+        return node;
       } else if (rc < 0) {
-        node = node.left;   // search in the left subtree
+        result = node;
+        node = node.left;
       } else {
-        node = node.right;  // search in the right subtree
+        node = node.right;
       }
     }
-    return null;
+    return result;
   }
 
-  @Override
-  public VALUE put(final KEY key, final VALUE value) {
+  /*
+   * Gets the node with the least key strictly greater than the given key.
+   */
+  protected final Node getHigherNode(final Object key) {
     Argument.requireNonNull("key", key);
-    final Pair<VALUE, Node> result = insert(key, value, root);
-    root = result.second;
-    return result.first;
+    Node node = root;
+    Node result = null;
+    while (node != null) {
+      if (compare(key, node.key) < 0) {
+        result = node;
+        node = node.left;
+      } else {
+        node = node.right;
+      }
+    }
+    return result;
   }
 
-  @SuppressWarnings("unchecked")
-  protected final Pair<VALUE, Node> insert(final KEY key, final VALUE value,
-      final Node node) {
-    if (node == null) {
-      final Pair<VALUE, Node> result = new Pair<>();
-      result.first = null;
-      result.second = new Node(key, value);
-      ++size;
-      ++modifications;
-      return result;
-    } else {
-      final int rc;
-      if (comparator == null) {
-        rc = ((Comparable<KEY>) key).compareTo(node.key);
+  /*
+   * Gets the node with the greatest key less than or equal to the given key.
+   */
+  protected final Node getFloorNode(final Object key) {
+    Argument.requireNonNull("key", key);
+    Node node = root;
+    Node result = null;
+    while (node != null) {
+      final int rc = compare(key, node.key);
+      if (rc == 0) {
+        return node;
+      } else if (rc > 0) {
+        result = node;
+        node = node.right;
       } else {
-        rc = comparator.compare(key, node.key);
-      }
-      if (rc == 0) { // found the key
-        final Pair<VALUE, Node> result = new Pair<>();
-        result.first = node.value;
-        result.second = node;
-        node.value = value; // replace the old value
-        return result;
-      } else if (rc < 0) {
-        final Pair<VALUE, Node> result = insert(key, value, node.left);
-        result.second = rebalance(node, result.second, node.right);
-        return result;
-      } else { // rc > 0
-        final Pair<VALUE, Node> result = insert(key, value, node.right);
-        result.second = rebalance(node, node.left, result.second);
-        return result;
+        node = node.left;
       }
     }
+    return result;
+  }
+
+  /*
+   * Gets the node with the greatest key strictly less than the given key.
+   */
+  protected final Node getLowerNode(final Object key) {
+    Argument.requireNonNull("key", key);
+    Node node = root;
+    Node result = null;
+    while (node != null) {
+      if (compare(key, node.key) > 0) {
+        result = node;
+        node = node.right;
+      } else {
+        node = node.left;
+      }
+    }
+    return result;
   }
 
-  @SuppressWarnings("unchecked")
   @Override
-  public VALUE remove(final Object key) {
+  public VALUE put(final KEY key, final VALUE value) {
     Argument.requireNonNull("key", key);
-    final Pair<Node, Node> result = delete((KEY) key, root);
-    root = result.second;
-    if (result.first != null) {
-      return result.first.value;
-    } else {
+    if (root == null) {
+      compare(key, key);    // type check
+      root = new Node(key, value, null);
+      ++modifications;
       return null;
     }
+    Node node = root;
+    Node parent;
+    int rc;
+    do {
+      parent = node;
+      rc = compare(key, node.key);
+      if (rc == 0) {   // found the key, replace the old value
+        return node.setValue(value);
+      }
+      node = (rc < 0 ? node.left : node.right);
+    } while (node != null);
+    final Node child = new Node(key, value, parent);
+    if (rc < 0) {
+      parent.left = child;
+    } else {
+      parent.right = child;
+    }
+    ++modifications;
+    retrace(parent);
+    return null;
   }
 
-  @SuppressWarnings("unchecked")
-  protected final Pair<Node, Node> delete(final KEY key, final Node node) {
+  @Override
+  public VALUE remove(final Object key) {
+    final Node node = getNode(key);
     if (node == null) {
-      final Pair<Node, Node> result = new Pair<>();
-      return result;
+      return null;
     }
-    final int rc;
-    if (comparator == null) {
-      rc = ((Comparable<KEY>) key).compareTo(node.key);
-    } else {
-      rc = comparator.compare(key, node.key);
-    }
-    final Pair<Node, Node> result;
-    if (rc == 0) {  // found the key
-      if (node.left == null) {
-        // delete the node itself and keep its right subtree as the remained subtree
-        result = new Pair<>();
-        result.second = node.right;
-      } else {
-        // delete the largest element in the left subtree
-        result = deleteLargest(node.left);
-        // re-balance the remained subtree
-        result.second = rebalance(result.first, result.second, node.right);
-      }
-      // delete the node itself
-      result.first = node;
-      --size;
-      ++modifications;
-    } else if (rc < 0) {
-      // delete the key in the left subtree
-      result = delete(key, node.left);
-      if (result.first != null) {
-        // re-balance the remained subtree
-        result.second = rebalance(node, result.second, node.right);
-      } else {  // nothing changed
-        result.second = node;
-      }
+    final VALUE old = node.value;
+    deleteNode(node);
+    return old;
+  }
+
+  /*
+   * Deletes the specified node from the tree.
+   *
+   * If the node has two children, the key and value of its successor are moved
+   * into it and the successor node is unlinked instead.
+   */
+  private void deleteNode(Node node) {
+    ++modifications;
+    if ((node.left != null) && (node.right != null)) {
+      final Node successor = node.next();
+      node.key = successor.key;
+      node.value = successor.value;
+      node = successor;
+    }
+    final Node replacement = (node.left != null ? node.left : node.right);
+    final Node parent = node.parent;
+    if (replacement != null) {
+      replacement.parent = parent;
+    }
+    if (parent == null) {
+      root = replacement;
+    } else if (node == parent.left) {
+      parent.left = replacement;
     } else {
-      // delete the key in the right subtree
-      result = delete(key, node.right);
-      if (result.first != null) {
-        // re-balance the remained subtree
-        result.second = rebalance(node, node.left, result.second);
-      } else {  // nothing changed
-        result.second = node;
-      }
+      parent.right = replacement;
     }
-    return result;
+    node.left = null;
+    node.right = null;
+    node.parent = null;
+    retrace(parent);
   }
 
   /*
-   * Deletes the largest node form the subtree rooted at the specified node.
-   * Returns a pair of nodes, with the first element be the node deleted, and
-   * the second element be the new subtree after deletion.
+   * Walks from the specified node up to the root, updating the heights and the
+   * subtree sizes, and re-balancing the unbalanced subtrees on the way.
    */
-  protected final Pair<Node, Node> deleteLargest(final Node node) {
-    if (node.right == null) {
-      // delete the node itself, and keep the left subtree as the new subtree
-      final Pair<Node, Node> result = new Pair<>();
-      result.first = node;
-      result.second = node.left;
-      return result;
-    } else {
-      // recursively delete the largest node in the right subtree
-      final Pair<Node, Node> result = deleteLargest(node.right);
-      // re-balance the new subtree
-      result.second = rebalance(node, node.left, result.second);
-      return result;
+  private void retrace(@Nullable Node node) {
+    while (node != null) {
+      final Node parent = node.parent;
+      final Node subtree = rebalance(node);
+      if (parent == null) {
+        root = subtree;
+      } else if (parent.left == node) {
+        parent.left = subtree;
+      } else {
+        parent.right = subtree;
+      }
+      node = parent;
     }
   }
 
   /*
-   * Balance the tree of the form:
-   *
-   *                  t
-   *                 / \
-   *                tl  tr
+   * Balance the subtree rooted at t, whose children are balanced and whose
+   * heights differ by at most 2. Returns the new root of the subtree.
    */
-  protected final Node rebalance(final Node t, @Nullable final Node tl,
-      @Nullable final Node tr) {
-    final int hl = (tl == null ? 0 : tl.height);
-    final int hr = (tr == null ? 0 : tr.height);
-    if (hr <= hl + 1) {
-      if (hl <= hr + 1) {
-        // don't need to re-balance, just adjust the height
-        t.height = (hl > hr ? hl : hr) + 1;
-        t.left = tl;
-        tl.parent = t;
-        t.right = tr;
-        tr.parent = t;
-        return t;
-      } else { // hl > hr + 1
-        assert (hl == hr + 2);
-        return rotateLeft(t, tl, hl, tr, hr);
-      }
-    } else { // hr > hl + 1
-      assert (hr == hl + 2);
-      return rotateRight(t, tl, hl, tr, hr);
+  private Node rebalance(final Node t) {
+    final int balance = heightOf(t.left) - heightOf(t.right);
+    if (balance > 1) {
+      if (heightOf(t.left.left) < heightOf(t.left.right)) {
+        t.left = rotateLeft(t.left);
+      }
+      return rotateRight(t);
+    } else if (balance < -1) {
+      if (heightOf(t.right.right) < heightOf(t.right.left)) {
+        t.right = rotateRight(t.right);
+      }
+      return rotateLeft(t);
+    } else {
+      update(t);
+      return t;
     }
   }
 
   /*
    * Given a tree of the form
    *
-   *                  t
-   *                 / \
-   *                tl  tr
+   *                  t                     tr
+   *                 / \                   /  \
+   *               tl   tr      ==>       t   trr
+   *                   /  \              / \
+   *                 trl  trr          tl  trl
    *
-   * where height(tl) == height(tr) + 2, rotate the left subtree tl.
+   * rotate it to the left and return the new root tr.
    */
-  private final Node rotateLeft(final Node t, final Node tl, final int hl,
-      @Nullable final Node tr, final int hr) {
-    assert (t != null) && (tl != null) && (hl == hr + 2);
-    final Node tll = tl.left;
-    final Node tlr = tl.right;
-    final int hll = (tll == null ? 0 : tll.height);
-    final int hlr = (tlr == null ? 0 : tlr.height);
-    if (hll >= hlr) {
-      /*
-       * The subtree is of the form
-       *
-       *                    t   <------- hr+3
-       *                  /   \
-       * hr+2 ------>   tl    tr   <---- hr
-       *               /  \
-       * hr+1 --->   tll  tlr   <------- hr
-       *
-       * where
-       *    height(tr)  == hr
-       *    height(tl)  == hr + 2
-       *    height(tlr) == hr
-       *    height(tll) == hr + 1
-       *
-       * Perform a single rotation to transform the subtree into the form
-       *
-       *                tl  <---------- hr+2
-       *              /    \
-       * hr+1 --->  tll     t  <------- hr+1
-       *                  /   \
-       *   hr --------> tlr    tr <---- hr
-       */
-      assert (hlr == hr) && (hll == hr + 1);
-      t.height = hr + 1;
-      t.left = tlr;
-      if (tlr != null) {
-        tlr.parent = t;
-      }
-      t.right = tr;
-      if (tr != null) {
-        tr.parent = t;
-      }
-      tl.height = hr + 2;
-      tl.right = t;
-      t.parent = tl;
-      return tl;
-    } else {    // hll < hlr
-      /*
-       * The subtree is of the form
-       *
-       *                    t   <------- hr+3
-       *                  /   \
-       * hr+2 ------>   tl    tr   <---- hr
-       *               /  \
-       * hr ----->   tll  tlr   <------- hr+1
-       *                 /   \
-       *               tlrl  tlrr
-       *
-       * where
-       *    height(tl)  == hr + 2
-       *    height(tll) == hr
-       *    height(tlr) == hr + 1
-       * and one of the following holds
-       *    height(tlrl) == hr and height(tlrr) = hr - 1
-       *  or
-       *    height(tlrl) == hr and height(tlrr) = hr
-       *  or
-       *    height(tlrl) == hr - 1 and height(tlrr) = hr
-       *
-       * Perform a double rotation to transform the subtree into the form
-       *
-       *                            tlr   <---------------- hr+2
-       *                             |
-       *                      ------------------
-       *                     /                  \
-       * hr+1 --------->   tl                    t  <------ hr+1
-       *                 /   \                 /    \
-       *   hr -------> tll   tlrl           tlrr    tr <--- hr
-       *
-       *                       |             |
-       *                  (hr or hr-1)  (hr or hr-1)
-       *
-       */
-      assert (hll == hr) && (hlr == hr + 1);
-      assert (tlr != null);
-      final Node tlrl = tlr.left;
-      final Node tlrr = tlr.right;
-      t.height = hr + 1;
-      t.left = tlrr;
-      if (tlrr != null) {
-        tlrr.parent = t;
-      }
-      t.right = tr;
-      if (tr != null) {
-        tr.parent = t;
-      }
-      tl.height = hr + 1;
-      tl.right = tlrl;
-      if (tlrl != null) {
-        tlrl.parent = tl;
-      }
-      tlr.height = hr + 2;
-      tlr.left = tl;
-      tl.parent = tlr;
-      tlr.right = t;
-      t.parent = tlr;
-      return tlr;
+  private Node rotateLeft(final Node t) {
+    final Node tr = t.right;
+    t.right = tr.left;
+    if (t.right != null) {
+      t.right.parent = t;
     }
+    tr.left = t;
+    tr.parent = t.parent;
+    t.parent = tr;
+    update(t);
+    update(tr);
+    return tr;
   }
 
   /*
    * Given a tree of the form
    *
-   *                  t
-   *                 / \
-   *                tl  tr
+   *                  t                 tl
+   *                 / \               /  \
+   *               tl   tr    ==>    tll   t
+   *              /  \                    / \
+   *            tll  tlr                tlr  tr
    *
-   * where height(tr) == height(tl) + 2, rotate the right subtree tr.
+   * rotate it to the right and return the new root tl.
    */
-  private final Node rotateRight(
-      final Node t, @Nullable final Node tl, final int hl,
-      final Node tr, final int hr) {
-    assert (t != null) && (tr != null) && (hr == hl + 2);
-    final Node trl = tr.left;
-    final Node trr = tr.right;
-    final int hrl = (trl == null ? 0 : trl.height);
-    final int hrr = (trr == null ? 0 : trr.height);
-    if (hrl <= hrr) {
-      /*
-       * The subtree is of the form
-       *
-       *                  t   <-------------- hl+3
-       *                /   \
-       * hl ------>   tl      tr   <--------- hl+2
-       *                     /  \
-       * hl -------------> trl  trr  <------- hl+1
-       *
-       * where
-       *    height(tl)  == hl
-       *    height(tr)  == hl + 2
-       *    height(trl) == hl
-       *    height(trr) == hl + 1
-       *
-       * Perform a single rotation to transform the subtree into the form
-       *
-       *                 tr  <----------- hl+2
-       *               /    \
-       * hl+1 --->    t     trr  <------- hl+1
-       *            /   \
-       *   hl ---> tl   trl <------------ hl
-       */
-      assert (hrl == hl) && (hrr == hl + 1);
-      t.height = hl + 1;
-      t.left = tl;
-      if (tl != null) {
-        tl.parent = t;
-      }
-      t.right = trl;
-      if (trl != null) {
-        trl.parent = t;
-      }
-      tr.height = hl + 2;
-      tr.left = t;
-      t.parent = tr;
-      return tr;
-    } else {    //  hrl > hrr
-      /*
-       * The subtree is of the form
-       *
-       *                t   <------- hl+3
-       *              /   \
-       * hl   ---->  tl    tr   <---- hl+2
-       *                 /  \
-       * hl+1 -------> trl  trr <--- hl
-       *              /   \
-       *           trll   trlr
-       *
-       * where
-       *    height(tl)  == hl
-       *    height(tr)  == hl + 2
-       *    height(trl) == hl + 1
-       *    height(trr) == hl
-       * and one of the following holds
-       *    height(trll) == hl and height(trlr) = hl - 1
-       *  or
-       *    height(trll) == hl and height(trlr) = hl
-       *  or
-       *    height(trll) == hl - 1 and height(trlr) = hl
-       *
-       * Perform a double rotation to transform the subtree into the form
-       *
-       *                            trl   <---------------- hl+2
-       *                             |
-       *                      ------------------
-       *                     /                  \
-       * hl+1 --------->   t                    tr  <------ hl+1
-       *                 /   \                 /   \
-       *   hl -------> tl   trll           trlr    trr <--- hl
-       *
-       *                       |             |
-       *                  (hl or hl-1)  (hl or hl-1)
-       *
-       */
-      assert (hrl == hl + 1) && (hrr == hl);
-      assert (trl != null);
-      final Node trll = trl.left;
-      final Node trlr = trl.right;
-      t.height = hl + 1;
-      t.left = tl;
-      if (tl != null) {
-        tl.parent = t;
-      }
-      t.right = trll;
-      if (trll != null) {
-        trll.parent = t;
-      }
-      tr.height = hl + 1;
-      tr.left = trlr;
-      if (trlr != null) {
-        trlr.parent = tr;
-      }
-      trl.height = hl + 2;
-      trl.left = t;
-      t.parent = trl;
-      trl.right = tr;
-      tr.parent = trl;
-      return trl;
+  private Node rotateRight(final Node t) {
+    final Node tl = t.left;
+    t.left = tl.right;
+    if (t.left != null) {
+      t.left.parent = t;
     }
+    tl.right = t;
+    tl.parent = t.parent;
+    t.parent = tl;
+    update(t);
+    update(tl);
+    return tl;
   }
 
-  @Override
-  public void putAll(final Map<? extends KEY, ? extends VALUE> map) {
-    for (final Map.Entry<? extends KEY, ? extends VALUE> entry : map.entrySet()) {
-      final KEY key = entry.getKey();
-      final VALUE value = entry.getValue();
-      final Pair<VALUE, Node> result = insert(key, value, root);
-      root = result.second;
-    }
+  private void update(final Node node) {
+    final int hl = heightOf(node.left);
+    final int hr = heightOf(node.right);
+    node.height = (hl > hr ? hl : hr) + 1;
+    node.size = sizeOf(node.left) + sizeOf(node.right) + 1;
   }
 
-  @Override
-  public void clear() {
-    root = null;
-    size = 0;
+  private int heightOf(@Nullable final Node node) {
+    return (node == null ? 0 : node.height);
   }
 
-  @Override
-  public Set<KEY> keySet() {
-    return new KeySet();
+  private int sizeOf(@Nullable final Node node) {
+    return (node == null ? 0 : node.size);
   }
 
-  @Override
-  public Collection<VALUE> values() {
-    return new Values();
+  @SuppressWarnings("unchecked")
+  private int compare(final Object k1, final Object k2) {
+    if (comparator == null) {
+      return ((Comparable<Object>) k1).compareTo(k2);
+    } else {
+      return ((Comparator<Object>) comparator).compare(k1, k2);
+    }
   }
 
-  @Override
-  public Set<Map.Entry<KEY, VALUE>> entrySet() {
-    return new EntrySet();
+  /*
+   * Replaces the content of this map by a balanced tree built from the entries
+   * sorted in the strictly ascending order of their keys.
+   */
+  private void build(final Collection<? extends Map.Entry<? extends KEY, ? extends VALUE>> entries) {
+    KEY previous = null;
+    for (final Map.Entry<? extends KEY, ? extends VALUE> entry : entries) {
+      final KEY key = Argument.requireNonNull("key", entry.getKey());
+      if ((previous != null) && (compare(previous, key) >= 0)) {
+        throw new IllegalArgumentException("The keys are not in strictly ascending order: "
+            + previous + ", " + key);
+      }
+      previous = key;
+    }
+    root = buildSubtree(entries.iterator(), entries.size());
+    ++modifications;
   }
 
-  abstract class PrivateIterator<T> implements Iterator<T> {
-
-    private Node next;
-    private Node lastReturned;
-    private int expectedModifications;
-
-    public PrivateIterator(final Node node) {
-      next = node;
-      lastReturned = null;
-      expectedModifications = modifications;
+  /*
+   * Builds a subtree from the next n entries. The sizes of the two children of
+   * every node differ by at most one, so the heights of them differ by at most
+   * one, too.
+   */
+  private Node buildSubtree(
+      final Iterator<? extends Map.Entry<? extends KEY, ? extends VALUE>> iterator,
+      final int n) {
+    if (n == 0) {
+      return null;
     }
-
-    @Override
-    public boolean hasNext() {
-      return (next != null);
+    final int leftSize = (n - 1) >>> 1;
+    final Node left = buildSubtree(iterator, leftSize);
+    final Map.Entry<? extends KEY, ? extends VALUE> entry = iterator.next();
+    final Node node = new Node(entry.getKey(), entry.getValue(), null);
+    final Node right = buildSubtree(iterator, n - 1 - leftSize);
+    node.left = left;
+    if (left != null) {
+      left.parent = node;
     }
+    node.right = right;
+    if (right != null) {
+      right.parent = node;
+    }
+    update(node);
+    return node;
+  }
 
-    public Node nextEntry() {
-      if (next == null) {
-        throw new NoSuchElementException();
-      }
-      if (modifications != expectedModifications) {
-        throw new ConcurrentModificationException();
+  /**
+   * Gets the rank of the specified key, i.e., the number of keys in this map
+   * strictly less than the specified key.
+   *
+   * <p>The key does not need to be contained in this map. This operation takes
+   * O(log n) time.
+   *
+   * @param key
+   *     the specified key.
+   * @return
+   *     the number of keys in this map strictly less than the specified key.
+   */
+  public int rank(final KEY key) {
+    return countBelow(key, false);
+  }
+
+  /**
+   * Gets the entry with the specified rank, i.e., the entry whose key is the
+   * {@code (index + 1)}-th smallest key in this map.
+   *
+   * <p>This operation takes O(log n) time.
+   *
+   * @param index
+   *     the rank of the entry, starting from 0.
+   * @return
+   *     an immutable snapshot of the entry with the specified rank.
+   * @throws IndexOutOfBoundsException
+   *     if {@code index} is out of the range {@code [0, size())}.
+   */
+  public Map.Entry<KEY, VALUE> select(final int index) {
+    Argument.requireIndexInRightOpenRange(index, 0, size());
+    Node node = root;
+    int i = index;
+    while (true) {
+      final int leftSize = sizeOf(node.left);
+      if (i < leftSize) {
+        node = node.left;
+      } else if (i == leftSize) {
+        return exportEntry(node);
+      } else {
+        i -= leftSize + 1;
+        node = node.right;
       }
-      final Node node = next;
-      next = node.next();
-      lastReturned = node;
-      return node;
     }
+  }
 
-    public Node prevEntry() {
-      if (next == null) {
-        throw new NoSuchElementException();
-      }
-      if (modifications != expectedModifications) {
-        throw new ConcurrentModificationException();
-      }
-      final Node node = next;
-      next = node.previous();
-      lastReturned = node;
-      return node;
+  /**
+   * Counts the keys of this map in the specified range.
+   *
+   * <p>This operation takes O(log n) time.
+   *
+   * @param fromKey
+   *     the lower bound of the range.
+   * @param fromInclusive
+   *     whether the lower bound is included in the range.
+   * @param toKey
+   *     the upper bound of the range.
+   * @param toInclusive
+   *     whether the upper bound is included in the range.
+   * @return
+   *     the number of keys of this map in the specified range.
+   * @throws IllegalArgumentException
+   *     if {@code fromKey} is greater than {@code toKey}.
+   */
+  public int countInRange(final KEY fromKey, final boolean fromInclusive,
+      final KEY toKey, final boolean toInclusive) {
+    Argument.requireNonNull("fromKey", fromKey);
+    Argument.requireNonNull("toKey", toKey);
+    if (compare(fromKey, toKey) > 0) {
+      throw new IllegalArgumentException("fromKey > toKey");
     }
+    final int count = countBelow(toKey, toInclusive) - countBelow(fromKey, !fromInclusive);
+    return Math.max(count, 0);
+  }
 
-    @Override
-    public void remove() {
-      if (lastReturned == null) {
-        throw new IllegalStateException();
-      }
-      if (modifications != expectedModifications) {
-        throw new ConcurrentModificationException();
+  /**
+   * Counts the keys of this map in the range from {@code fromKey}, inclusive,
+   * to {@code toKey}, exclusive.
+   *
+   * @param fromKey
+   *     the lower bound of the range, inclusive.
+   * @param toKey
+   *     the upper bound of the range, exclusive.
+   * @return
+   *     the number of keys of this map in the specified range.
+   * @throws IllegalArgumentException
+   *     if {@code fromKey} is greater than {@code toKey}.
+   * @see #countInRange(Object, boolean, Object, boolean)
+   */
+  public int countInRange(final KEY fromKey, final KEY toKey) {
+    return countInRange(fromKey, true, toKey, false);
+  }
+
+  /*
+   * Counts the keys less than (or equal to, if inclusive) the given key.
+   */
+  private int countBelow(final Object key, final boolean inclusive) {
+    Argument.requireNonNull("key", key);
+    Node node = root;
+    int count = 0;
+    while (node != null) {
+      final int rc = compare(key, node.key);
+      if (rc < 0) {
+        node = node.left;
+      } else if (rc > 0) {
+        count += sizeOf(node.left) + 1;
+        node = node.right;
+      } else {
+        count += sizeOf(node.left) + (inclusive ? 1 : 0);
+        break;
       }
-      AvlTreeMap.this.remove(lastReturned.key);
-      expectedModifications = modifications;
-      lastReturned = null;
     }
+    return count;
   }
 
-  final class KeyIterator extends PrivateIterator<KEY> {
+  @Nullable
+  private Map.Entry<KEY, VALUE> exportEntry(@Nullable final Node node) {
+    return (node == null ? null : new SimpleImmutableEntry<>(node));
+  }
 
-    public KeyIterator(final Node node) {
-      super(node);
-    }
+  @Nullable
+  private KEY keyOrNull(@Nullable final Node node) {
+    return (node == null ? null : node.key);
+  }
 
-    @Override
-    public KEY next() {
-      return nextEntry().key;
+  private KEY keyOf(@Nullable final Node node) {
+    if (node == null) {
+      throw new NoSuchElementException();
     }
+    return node.key;
   }
 
-  final class KeySet extends AbstractSet<KEY> {
+  @Override
+  public Map.Entry<KEY, VALUE> firstEntry() {
+    return exportEntry(getFirstNode());
+  }
 
-    @Override
-    public Iterator<KEY> iterator() {
-      final Node first = getFirstNode();
-      return new KeyIterator(first);
-    }
+  @Override
+  public Map.Entry<KEY, VALUE> lastEntry() {
+    return exportEntry(getLastNode());
+  }
 
-    @Override
-    public int size() {
-      return AvlTreeMap.this.size();
+  @Override
+  public Map.Entry<KEY, VALUE> pollFirstEntry() {
+    final Node node = getFirstNode();
+    final Map.Entry<KEY, VALUE> result = exportEntry(node);
+    if (node != null) {
+      deleteNode(node);
     }
-
+    return result;
+  }
+
+  @Override
+  public Map.Entry<KEY, VALUE> pollLastEntry() {
+    final Node node = getLastNode();
+    final Map.Entry<KEY, VALUE> result = exportEntry(node);
+    if (node != null) {
+      deleteNode(node);
+    }
+    return result;
+  }
+
+  @Override
+  public KEY firstKey() {
+    return keyOf(getFirstNode());
+  }
+
+  @Override
+  public KEY lastKey() {
+    return keyOf(getLastNode());
+  }
+
+  @Override
+  public Map.Entry<KEY, VALUE> lowerEntry(final KEY key) {
+    return exportEntry(getLowerNode(key));
+  }
+
+  @Override
+  public KEY lowerKey(final KEY key) {
+    return keyOrNull(getLowerNode(key));
+  }
+
+  @Override
+  public Map.Entry<KEY, VALUE> floorEntry(final KEY key) {
+    return exportEntry(getFloorNode(key));
+  }
+
+  @Override
+  public KEY floorKey(final KEY key) {
+    return keyOrNull(getFloorNode(key));
+  }
+
+  @Override
+  public Map.Entry<KEY, VALUE> ceilingEntry(final KEY key) {
+    return exportEntry(getCeilingNode(key));
+  }
+
+  @Override
+  public KEY ceilingKey(final KEY key) {
+    return keyOrNull(getCeilingNode(key));
+  }
+
+  @Override
+  public Map.Entry<KEY, VALUE> higherEntry(final KEY key) {
+    return exportEntry(getHigherNode(key));
+  }
+
+  @Override
+  public KEY higherKey(final KEY key) {
+    return keyOrNull(getHigherNode(key));
+  }
+
+  @Override
+  public void putAll(final Map<? extends KEY, ? extends VALUE> map) {
+    if ((root == null)
+        && (map instanceof SortedMap)
+        && Equality.equals(comparator, ((SortedMap<?, ?>) map).comparator())) {
+      build(map.entrySet());
+    } else {
+      for (final Map.Entry<? extends KEY, ? extends VALUE> entry : map.entrySet()) {
+        put(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  @Override
+  public void clear() {
+    root = null;
+    ++modifications;
+  }
+
+  @Override
+  public Set<KEY> keySet() {
+    return navigableKeySet();
+  }
+
+  @Override
+  public NavigableSet<KEY> navigableKeySet() {
+    return new KeySet<>(this);
+  }
+
+  @Override
+  public NavigableSet<KEY> descendingKeySet() {
+    return descendingMap().navigableKeySet();
+  }
+
+  @Override
+  public Collection<VALUE> values() {
+    return new Values();
+  }
+
+  @Override
+  public Set<Map.Entry<KEY, VALUE>> entrySet() {
+    return new EntrySet();
+  }
+
+  @Override
+  public NavigableMap<KEY, VALUE> descendingMap() {
+    return new SubMap(true, null, true, true, null, true, true);
+  }
+
+  @Override
+  public NavigableMap<KEY, VALUE> subMap(final KEY fromKey, final boolean fromInclusive,
+      final KEY toKey, final boolean toInclusive) {
+    return new SubMap(false, fromKey, fromInclusive, false, toKey, toInclusive, false);
+  }
+
+  @Override
+  public NavigableMap<KEY, VALUE> headMap(final KEY toKey, final boolean inclusive) {
+    return new SubMap(true, null, true, false, toKey, inclusive, false);
+  }
+
+  @Override
+  public NavigableMap<KEY, VALUE> tailMap(final KEY fromKey, final boolean inclusive) {
+    return new SubMap(false, fromKey, inclusive, true, null, true, false);
+  }
+
+  @Override
+  public SortedMap<KEY, VALUE> subMap(final KEY fromKey, final KEY toKey) {
+    return subMap(fromKey, true, toKey, false);
+  }
+
+  @Override
+  public SortedMap<KEY, VALUE> headMap(final KEY toKey) {
+    return headMap(toKey, false);
+  }
+
+  @Override
+  public SortedMap<KEY, VALUE> tailMap(final KEY fromKey) {
+    return tailMap(fromKey, true);
+  }
+
+  abstract class PrivateIterator<T> implements Iterator<T> {
+
+    private Node next;
+    private Node lastReturned;
+    private int expectedModifications;
+    private final Object fenceKey;
+    private final boolean ascending;
+
+    public PrivateIterator(final Node node) {
+      this(node, null, true);
+    }
+
+    /*
+     * The fence is the first node beyond the iterated range. Its key rather than
+     * the node itself is remembered, since deleting a node may move the key of
+     * another node into it.
+     */
+    public PrivateIterator(final Node node, @Nullable final Node fence,
+        final boolean ascending) {
+      next = node;
+      lastReturned = null;
+      expectedModifications = modifications;
+      fenceKey = (fence == null ? UNBOUNDED : fence.key);
+      this.ascending = ascending;
+    }
+
     @Override
-    public boolean isEmpty() {
-      return AvlTreeMap.this.isEmpty();
+    public boolean hasNext() {
+      return (next != null) && (next.key != fenceKey);
+    }
+
+    public Node nextEntry() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      if (modifications != expectedModifications) {
+        throw new ConcurrentModificationException();
+      }
+      final Node node = next;
+      next = (ascending ? node.next() : node.previous());
+      lastReturned = node;
+      return node;
+    }
+
+    @Override
+    public void remove() {
+      if (lastReturned == null) {
+        throw new IllegalStateException();
+      }
+      if (modifications != expectedModifications) {
+        throw new ConcurrentModificationException();
+      }
+      // the successor will be moved into the deleted node
+      if (ascending && (lastReturned.left != null) && (lastReturned.right != null)) {
+        next = lastReturned;
+      }
+      deleteNode(lastReturned);
+      expectedModifications = modifications;
+      lastReturned = null;
     }
   }
 
@@ -787,7 +1015,7 @@ public class AvlTreeMap<KEY, VALUE> implements Map<KEY, VALUE> {
       Node node = getFirstNode();
       while (node != null) {
         if (Equality.equals(obj, node.value)) {
-          AvlTreeMap.this.remove(node.key);
+          deleteNode(node);
           return true;
         }
         node = node.next();
@@ -807,12 +1035,37 @@ public class AvlTreeMap<KEY, VALUE> implements Map<KEY, VALUE> {
       super(node);
     }
 
+    public EntryIterator(final Node node, @Nullable final Node fence,
+        final boolean ascending) {
+      super(node, fence, ascending);
+    }
+
     @Override
     public Map.Entry<KEY, VALUE> next() {
       return nextEntry();
     }
   }
 
+  /*
+   * Gets the node of the map entry if it is contained in this map.
+   */
+  @Nullable
+  private Node getEntryNode(final Object obj) {
+    if (!(obj instanceof Map.Entry)) {
+      return null;
+    }
+    final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) obj;
+    if (entry.getKey() == null) {
+      return null;
+    }
+    final Node node = getNode(entry.getKey());
+    if ((node != null) && Equality.equals(entry.getValue(), node.value)) {
+      return node;
+    } else {
+      return null;
+    }
+  }
+
   final class EntrySet extends AbstractSet<Map.Entry<KEY, VALUE>> {
 
     @Override
@@ -825,21 +1078,9 @@ public class AvlTreeMap<KEY, VALUE> implements Map<KEY, VALUE> {
       return AvlTreeMap.this.isEmpty();
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public boolean contains(final Object obj) {
-      if (!(obj instanceof Map.Entry)) {
-        return false;
-      }
-      final Map.Entry<KEY, VALUE> entry = (Map.Entry<KEY, VALUE>) obj;
-      final KEY key = entry.getKey();
-      final VALUE value = entry.getValue();
-      final Node node = getNode(key);
-      if (node != null) {
-        return Equality.equals(value, node.value);
-      } else {
-        return false;
-      }
+      return (getEntryNode(obj) != null);
     }
 
     @Override
@@ -858,23 +1099,14 @@ public class AvlTreeMap<KEY, VALUE> implements Map<KEY, VALUE> {
       return (oldSize < newSize);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public boolean remove(final Object obj) {
-      if (!(obj instanceof Map.Entry)) {
+      final Node node = getEntryNode(obj);
+      if (node == null) {
         return false;
       }
-      final Map.Entry<KEY, VALUE> entry = (Map.Entry<KEY, VALUE>) obj;
-      final KEY key = entry.getKey();
-      final VALUE value = entry.getValue();
-      final Node node = getNode(key);
-      if (node != null) {
-        if (Equality.equals(value, node.value)) {
-          AvlTreeMap.this.remove(key);
-          return true;
-        }
-      }
-      return false;
+      deleteNode(node);
+      return true;
     }
 
     @Override
@@ -883,4 +1115,554 @@ public class AvlTreeMap<KEY, VALUE> implements Map<KEY, VALUE> {
     }
   }
 
-}
\ No newline at end of file
+  /*
+   * The navigable key set of a navigable map, which delegates all operations to
+   * the backing map.
+   */
+  static final class KeySet<E> extends AbstractSet<E> implements NavigableSet<E> {
+
+    private final NavigableMap<E, ?> map;
+
+    KeySet(final NavigableMap<E, ?> map) {
+      this.map = map;
+    }
+
+    private static <E> Iterator<E> keys(final Iterator<? extends Map.Entry<E, ?>> entries) {
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return entries.hasNext();
+        }
+
+        @Override
+        public E next() {
+          return entries.next().getKey();
+        }
+
+        @Override
+        public void remove() {
+          entries.remove();
+        }
+      };
+    }
+
+    @Nullable
+    private static <E> E keyOrNull(@Nullable final Map.Entry<E, ?> entry) {
+      return (entry == null ? null : entry.getKey());
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+      return keys(map.entrySet().iterator());
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+      return keys(map.descendingMap().entrySet().iterator());
+    }
+
+    @Override
+    public int size() {
+      return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return map.isEmpty();
+    }
+
+    @Override
+    public boolean contains(final Object obj) {
+      return map.containsKey(obj);
+    }
+
+    @Override
+    public boolean remove(final Object obj) {
+      final int oldSize = map.size();
+      map.remove(obj);
+      return (map.size() != oldSize);
+    }
+
+    @Override
+    public void clear() {
+      map.clear();
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+      return map.comparator();
+    }
+
+    @Override
+    public E first() {
+      return map.firstKey();
+    }
+
+    @Override
+    public E last() {
+      return map.lastKey();
+    }
+
+    @Override
+    public E lower(final E e) {
+      return map.lowerKey(e);
+    }
+
+    @Override
+    public E floor(final E e) {
+      return map.floorKey(e);
+    }
+
+    @Override
+    public E ceiling(final E e) {
+      return map.ceilingKey(e);
+    }
+
+    @Override
+    public E higher(final E e) {
+      return map.higherKey(e);
+    }
+
+    @Override
+    public E pollFirst() {
+      return keyOrNull(map.pollFirstEntry());
+    }
+
+    @Override
+    public E pollLast() {
+      return keyOrNull(map.pollLastEntry());
+    }
+
+    @Override
+    public NavigableSet<E> descendingSet() {
+      return new KeySet<>(map.descendingMap());
+    }
+
+    @Override
+    public NavigableSet<E> subSet(final E fromElement, final boolean fromInclusive,
+        final E toElement, final boolean toInclusive) {
+      return new KeySet<>(map.subMap(fromElement, fromInclusive, toElement, toInclusive));
+    }
+
+    @Override
+    public NavigableSet<E> headSet(final E toElement, final boolean inclusive) {
+      return new KeySet<>(map.headMap(toElement, inclusive));
+    }
+
+    @Override
+    public NavigableSet<E> tailSet(final E fromElement, final boolean inclusive) {
+      return new KeySet<>(map.tailMap(fromElement, inclusive));
+    }
+
+    @Override
+    public SortedSet<E> subSet(final E fromElement, final E toElement) {
+      return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSet<E> headSet(final E toElement) {
+      return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<E> tailSet(final E fromElement) {
+      return tailSet(fromElement, true);
+    }
+  }
+
+  /*
+   * A view of the entries of this map within a range of keys, in the ascending
+   * or descending order.
+   *
+   * The bounds lo and hi are always in the ascending order of the backing map.
+   * The methods named absXxx() work in the ascending order, and the methods
+   * named subXxx() work in the order of this view.
+   */
+  final class SubMap extends AbstractMap<KEY, VALUE> implements NavigableMap<KEY, VALUE> {
+
+    private final boolean fromStart;
+    private final KEY lo;
+    private final boolean loInclusive;
+    private final boolean toEnd;
+    private final KEY hi;
+    private final boolean hiInclusive;
+    private final boolean descending;
+
+    SubMap(final boolean fromStart, @Nullable final KEY lo, final boolean loInclusive,
+        final boolean toEnd, @Nullable final KEY hi, final boolean hiInclusive,
+        final boolean descending) {
+      if (!fromStart) {
+        Argument.requireNonNull("fromKey", lo);
+      }
+      if (!toEnd) {
+        Argument.requireNonNull("toKey", hi);
+      }
+      if (!fromStart && !toEnd) {
+        if (compare(lo, hi) > 0) {
+          throw new IllegalArgumentException("fromKey > toKey");
+        }
+      } else {
+        // type check
+        if (!fromStart) {
+          compare(lo, lo);
+        }
+        if (!toEnd) {
+          compare(hi, hi);
+        }
+      }
+      this.fromStart = fromStart;
+      this.lo = lo;
+      this.loInclusive = loInclusive;
+      this.toEnd = toEnd;
+      this.hi = hi;
+      this.hiInclusive = hiInclusive;
+      this.descending = descending;
+    }
+
+    private boolean tooLow(final Object key) {
+      if (fromStart) {
+        return false;
+      }
+      final int rc = compare(key, lo);
+      return (rc < 0) || ((rc == 0) && !loInclusive);
+    }
+
+    private boolean tooHigh(final Object key) {
+      if (toEnd) {
+        return false;
+      }
+      final int rc = compare(key, hi);
+      return (rc > 0) || ((rc == 0) && !hiInclusive);
+    }
+
+    private boolean inRange(final Object key) {
+      return !tooLow(key) && !tooHigh(key);
+    }
+
+    private boolean inClosedRange(final Object key) {
+      return (fromStart || (compare(key, lo) >= 0))
+          && (toEnd || (compare(hi, key) >= 0));
+    }
+
+    private boolean inRange(final Object key, final boolean inclusive) {
+      return (inclusive ? inRange(key) : inClosedRange(key));
+    }
+
+    private Node absLowest() {
+      final Node node = (fromStart ? getFirstNode()
+                                   : (loInclusive ? getCeilingNode(lo) : getHigherNode(lo)));
+      return ((node == null) || tooHigh(node.key) ? null : node);
+    }
+
+    private Node absHighest() {
+      final Node node = (toEnd ? getLastNode()
+                               : (hiInclusive ? getFloorNode(hi) : getLowerNode(hi)));
+      return ((node == null) || tooLow(node.key) ? null : node);
+    }
+
+    private Node absCeiling(final KEY key) {
+      if (tooLow(key)) {
+        return absLowest();
+      }
+      final Node node = getCeilingNode(key);
+      return ((node == null) || tooHigh(node.key) ? null : node);
+    }
+
+    private Node absHigher(final KEY key) {
+      if (tooLow(key)) {
+        return absLowest();
+      }
+      final Node node = getHigherNode(key);
+      return ((node == null) || tooHigh(node.key) ? null : node);
+    }
+
+    private Node absFloor(final KEY key) {
+      if (tooHigh(key)) {
+        return absHighest();
+      }
+      final Node node = getFloorNode(key);
+      return ((node == null) || tooLow(node.key) ? null : node);
+    }
+
+    private Node absLower(final KEY key) {
+      if (tooHigh(key)) {
+        return absHighest();
+      }
+      final Node node = getLowerNode(key);
+      return ((node == null) || tooLow(node.key) ? null : node);
+    }
+
+    private Node absHighFence() {
+      return (toEnd ? null : (hiInclusive ? getHigherNode(hi) : getCeilingNode(hi)));
+    }
+
+    private Node absLowFence() {
+      return (fromStart ? null : (loInclusive ? getLowerNode(lo) : getFloorNode(lo)));
+    }
+
+    private Node subLowest() {
+      return (descending ? absHighest() : absLowest());
+    }
+
+    private Node subHighest() {
+      return (descending ? absLowest() : absHighest());
+    }
+
+    private Node subCeiling(final KEY key) {
+      return (descending ? absFloor(key) : absCeiling(key));
+    }
+
+    private Node subHigher(final KEY key) {
+      return (descending ? absLower(key) : absHigher(key));
+    }
+
+    private Node subFloor(final KEY key) {
+      return (descending ? absCeiling(key) : absFloor(key));
+    }
+
+    private Node subLower(final KEY key) {
+      return (descending ? absHigher(key) : absLower(key));
+    }
+
+    @Override
+    public Comparator<? super KEY> comparator() {
+      return (descending ? Collections.reverseOrder(comparator) : comparator);
+    }
+
+    @Override
+    public int size() {
+      if (fromStart && toEnd) {
+        return AvlTreeMap.this.size();
+      }
+      final int high = (toEnd ? AvlTreeMap.this.size() : countBelow(hi, hiInclusive));
+      final int low = (fromStart ? 0 : countBelow(lo, !loInclusive));
+      return Math.max(high - low, 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return (absLowest() == null);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+      return inRange(key) && AvlTreeMap.this.containsKey(key);
+    }
+
+    @Override
+    public VALUE get(final Object key) {
+      return (inRange(key) ? AvlTreeMap.this.get(key) : null);
+    }
+
+    @Override
+    public VALUE put(final KEY key, final VALUE value) {
+      if (!inRange(key)) {
+        throw new IllegalArgumentException("key out of range");
+      }
+      return AvlTreeMap.this.put(key, value);
+    }
+
+    @Override
+    public VALUE remove(final Object key) {
+      return (inRange(key) ? AvlTreeMap.this.remove(key) : null);
+    }
+
+    @Override
+    public Map.Entry<KEY, VALUE> firstEntry() {
+      return exportEntry(subLowest());
+    }
+
+    @Override
+    public Map.Entry<KEY, VALUE> lastEntry() {
+      return exportEntry(subHighest());
+    }
+
+    @Override
+    public Map.Entry<KEY, VALUE> pollFirstEntry() {
+      final Node node = subLowest();
+      final Map.Entry<KEY, VALUE> result = exportEntry(node);
+      if (node != null) {
+        deleteNode(node);
+      }
+      return result;
+    }
+
+    @Override
+    public Map.Entry<KEY, VALUE> pollLastEntry() {
+      final Node node = subHighest();
+      final Map.Entry<KEY, VALUE> result = exportEntry(node);
+      if (node != null) {
+        deleteNode(node);
+      }
+      return result;
+    }
+
+    @Override
+    public KEY firstKey() {
+      return keyOf(subLowest());
+    }
+
+    @Override
+    public KEY lastKey() {
+      return keyOf(subHighest());
+    }
+
+    @Override
+    public Map.Entry<KEY, VALUE> lowerEntry(final KEY key) {
+      return exportEntry(subLower(key));
+    }
+
+    @Override
+    public KEY lowerKey(final KEY key) {
+      return keyOrNull(subLower(key));
+    }
+
+    @Override
+    public Map.Entry<KEY, VALUE> floorEntry(final KEY key) {
+      return exportEntry(subFloor(key));
+    }
+
+    @Override
+    public KEY floorKey(final KEY key) {
+      return keyOrNull(subFloor(key));
+    }
+
+    @Override
+    public Map.Entry<KEY, VALUE> ceilingEntry(final KEY key) {
+      return exportEntry(subCeiling(key));
+    }
+
+    @Override
+    public KEY ceilingKey(final KEY key) {
+      return keyOrNull(subCeiling(key));
+    }
+
+    @Override
+    public Map.Entry<KEY, VALUE> higherEntry(final KEY key) {
+      return exportEntry(subHigher(key));
+    }
+
+    @Override
+    public KEY higherKey(final KEY key) {
+      return keyOrNull(subHigher(key));
+    }
+
+    @Override
+    public Set<KEY> keySet() {
+      return navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<KEY> navigableKeySet() {
+      return new KeySet<>(this);
+    }
+
+    @Override
+    public NavigableSet<KEY> descendingKeySet() {
+      return descendingMap().navigableKeySet();
+    }
+
+    @Override
+    public Set<Map.Entry<KEY, VALUE>> entrySet() {
+      return new SubMapEntrySet();
+    }
+
+    @Override
+    public NavigableMap<KEY, VALUE> descendingMap() {
+      return new SubMap(fromStart, lo, loInclusive, toEnd, hi, hiInclusive, !descending);
+    }
+
+    @Override
+    public NavigableMap<KEY, VALUE> subMap(final KEY fromKey, final boolean fromInclusive,
+        final KEY toKey, final boolean toInclusive) {
+      if (!inRange(fromKey, fromInclusive)) {
+        throw new IllegalArgumentException("fromKey out of range");
+      }
+      if (!inRange(toKey, toInclusive)) {
+        throw new IllegalArgumentException("toKey out of range");
+      }
+      if (descending) {
+        return new SubMap(false, toKey, toInclusive, false, fromKey, fromInclusive, true);
+      } else {
+        return new SubMap(false, fromKey, fromInclusive, false, toKey, toInclusive, false);
+      }
+    }
+
+    @Override
+    public NavigableMap<KEY, VALUE> headMap(final KEY toKey, final boolean inclusive) {
+      if (!inRange(toKey, inclusive)) {
+        throw new IllegalArgumentException("toKey out of range");
+      }
+      if (descending) {
+        return new SubMap(false, toKey, inclusive, toEnd, hi, hiInclusive, true);
+      } else {
+        return new SubMap(fromStart, lo, loInclusive, false, toKey, inclusive, false);
+      }
+    }
+
+    @Override
+    public NavigableMap<KEY, VALUE> tailMap(final KEY fromKey, final boolean inclusive) {
+      if (!inRange(fromKey, inclusive)) {
+        throw new IllegalArgumentException("fromKey out of range");
+      }
+      if (descending) {
+        return new SubMap(fromStart, lo, loInclusive, false, fromKey, inclusive, true);
+      } else {
+        return new SubMap(false, fromKey, inclusive, toEnd, hi, hiInclusive, false);
+      }
+    }
+
+    @Override
+    public SortedMap<KEY, VALUE> subMap(final KEY fromKey, final KEY toKey) {
+      return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public SortedMap<KEY, VALUE> headMap(final KEY toKey) {
+      return headMap(toKey, false);
+    }
+
+    @Override
+    public SortedMap<KEY, VALUE> tailMap(final KEY fromKey) {
+      return tailMap(fromKey, true);
+    }
+
+    final class SubMapEntrySet extends AbstractSet<Map.Entry<KEY, VALUE>> {
+
+      @Override
+      public int size() {
+        return SubMap.this.size();
+      }
+
+      @Override
+      public boolean isEmpty() {
+        return SubMap.this.isEmpty();
+      }
+
+      @Override
+      public Iterator<Map.Entry<KEY, VALUE>> iterator() {
+        if (descending) {
+          return new EntryIterator(absHighest(), absLowFence(), false);
+        } else {
+          return new EntryIterator(absLowest(), absHighFence(), true);
+        }
+      }
+
+      @Override
+      public boolean contains(final Object obj) {
+        final Node node = getEntryNode(obj);
+        return (node != null) && inRange(node.key);
+      }
+
+      @Override
+      public boolean remove(final Object obj) {
+        final Node node = getEntryNode(obj);
+        if ((node == null) || !inRange(node.key)) {
+          return false;
+        }
+        deleteNode(node);
+        return true;
+      }
+    }
+  }
+}
@@ -0,0 +1,466 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.map.primitive;
+
+import java.io.Serial;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import ltd.qubit.commons.datastructure.SegmentUtils;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * 一个以 {@code long} 为键、{@code long} 为值的线程安全的哈希映射表。
+ *
+ * <p>此映射表将键按哈希值划分到若干个分段中，每个分段是一个由独立的锁保护的
+ * {@link LongLongMap}，因此不同分段上的操作可以并发执行，且所有的操作都不会装箱。
+ * {@link #addTo(long, long)}、{@link #putIfAbsent(long, long)}、
+ * {@link #compute(long, LongBinaryOperator)} 等复合操作在持有分段锁的情况下执行，
+ * 因此是原子的。
+ *
+ * <p>与 {@link LongLongMap} 一样，对于不存在的键，{@link #get(long)}、
+ * {@link #put(long, long)} 和 {@link #remove(long)} 返回 {@code 0}；可以使用
+ * {@link #containsKey(long)} 或 {@link #getOrDefault(long, long)} 区分这种情况。
+ *
+ * <p>传递给 {@code compute} 系列函数的函数在持有分段锁的情况下被调用，因此必须简短，
+ * 且不能访问此映射表。
+ *
+ * @author 胡海星
+ */
+@ThreadSafe
+public class ConcurrentLongLongMap {
+
+  /**
+   * 默认的并发级别，与 {@link SegmentUtils#DEFAULT_CONCURRENCY_LEVEL} 相同。
+   */
+  public static final int DEFAULT_CONCURRENCY_LEVEL = SegmentUtils.DEFAULT_CONCURRENCY_LEVEL;
+
+  private static final class Segment extends ReentrantLock {
+
+    @Serial
+    private static final long serialVersionUID = -2690515433271935044L;
+
+    final LongLongMap map;
+
+    Segment(final int expectedSize) {
+      map = new LongLongMap(expectedSize);
+    }
+  }
+
+  private final Segment[] segments;
+  private final int segmentMask;
+
+  /**
+   * 构造一个具有默认并发级别的空映射表。
+   */
+  public ConcurrentLongLongMap() {
+    this(0, DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  /**
+   * 构造一个具有默认并发级别，并可以容纳指定数目的键值对而无需扩容的空映射表。
+   *
+   * @param expectedSize
+   *     预期的键值对的数目。
+   */
+  public ConcurrentLongLongMap(final int expectedSize) {
+    this(expectedSize, DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  /**
+   * 构造一个具有指定并发级别，并可以容纳指定数目的键值对而无需扩容的空映射表。
+   *
+   * @param expectedSize
+   *     预期的键值对的数目。
+   * @param concurrencyLevel
+   *     并发级别，即预期的并发修改此映射表的线程的数目。分段的个数是不小于它的
+   *     最小的 2 的幂。
+   */
+  public ConcurrentLongLongMap(final int expectedSize, final int concurrencyLevel) {
+    segments = SegmentUtils.createSegments(expectedSize, concurrencyLevel,
+        Segment[]::new, Segment::new);
+    segmentMask = segments.length - 1;
+  }
+
+  /**
+   * 获取此映射表中键值对的数目。
+   *
+   * <p>此函数依次锁定各个分段，因此在并发修改时其返回值只是一个近似值。
+   *
+   * @return 此映射表中键值对的数目。
+   */
+  public int size() {
+    long result = 0;
+    for (final Segment segment : segments) {
+      segment.lock();
+      try {
+        result += segment.map.size();
+      } finally {
+        segment.unlock();
+      }
+    }
+    return (int) Math.min(result, Integer.MAX_VALUE);
+  }
+
+  /**
+   * 判断此映射表是否为空。
+   *
+   * @return 如果此映射表不包含任何键值对，返回 {@code true}；否则返回 {@code false}。
+   */
+  public boolean isEmpty() {
+    for (final Segment segment : segments) {
+      segment.lock();
+      try {
+        if (!segment.map.isEmpty()) {
+          return false;
+        }
+      } finally {
+        segment.unlock();
+      }
+    }
+    return true;
+  }
+
+  /**
+   * 判断此映射表是否包含指定的键。
+   *
+   * @param key
+   *     指定的键。
+   * @return 如果此映射表包含指定的键，返回 {@code true}；否则返回 {@code false}。
+   */
+  public boolean containsKey(final long key) {
+    final Segment segment = segmentFor(key);
+    segment.lock();
+    try {
+      return segment.map.containsKey(key);
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 获取指定的键所对应的值。
+   *
+   * @param key
+   *     指定的键。
+   * @return 指定的键所对应的值；如果此映射表不包含该键，返回 {@code 0}。
+   */
+  public long get(final long key) {
+    return getOrDefault(key, 0);
+  }
+
+  /**
+   * 获取指定的键所对应的值。
+   *
+   * @param key
+   *     指定的键。
+   * @param defaultValue
+   *     此映射表不包含指定的键时返回的默认值。
+   * @return 指定的键所对应的值；如果此映射表不包含该键，返回 <i>defaultValue</i>。
+   */
+  public long getOrDefault(final long key, final long defaultValue) {
+    final Segment segment = segmentFor(key);
+    segment.lock();
+    try {
+      return segment.map.getOrDefault(key, defaultValue);
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 将指定的键映射到指定的值。
+   *
+   * @param key
+   *     指定的键。
+   * @param value
+   *     指定的值。
+   * @return 指定的键原来所对应的值；如果此映射表原来不包含该键，返回 {@code 0}。
+   */
+  public long put(final long key, final long value) {
+    final Segment segment = segmentFor(key);
+    segment.lock();
+    try {
+      return segment.map.put(key, value);
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 如果此映射表不包含指定的键，则将其映射到指定的值。
+   *
+   * @param key
+   *     指定的键。
+   * @param value
+   *     指定的值。
+   * @return 指定的键原来所对应的值；如果此映射表原来不包含该键，返回 {@code 0}。
+   */
+  public long putIfAbsent(final long key, final long value) {
+    final Segment segment = segmentFor(key);
+    segment.lock();
+    try {
+      final LongLongMap map = segment.map;
+      if (map.containsKey(key)) {
+        return map.get(key);
+      }
+      map.put(key, value);
+      return 0;
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 将指定的键所对应的值原子地加上指定的增量；如果此映射表不包含该键，则将该键映射到
+   * 该增量。
+   *
+   * @param key
+   *     指定的键。
+   * @param increment
+   *     增量。
+   * @return 指定的键所对应的新的值。
+   */
+  public long addTo(final long key, final long increment) {
+    final Segment segment = segmentFor(key);
+    segment.lock();
+    try {
+      return segment.map.addTo(key, increment);
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 原子地计算指定的键所对应的新的值。
+   *
+   * @param key
+   *     指定的键。
+   * @param remappingFunction
+   *     根据旧的值计算新的值的函数；如果此映射表不包含指定的键，旧的值为 {@code 0}。
+   * @return 指定的键所对应的新的值。
+   */
+  public long compute(final long key, final LongBinaryOperator remappingFunction) {
+    requireNonNull("remappingFunction", remappingFunction);
+    final Segment segment = segmentFor(key);
+    segment.lock();
+    try {
+      final LongLongMap map = segment.map;
+      final long value = remappingFunction.applyAsLong(key, map.get(key));
+      map.put(key, value);
+      return value;
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 如果此映射表不包含指定的键，则原子地计算其值并将其映射到该值。
+   *
+   * @param key
+   *     指定的键。
+   * @param mappingFunction
+   *     根据键计算值的函数。
+   * @return 指定的键所对应的值，即原来的值或新计算的值。
+   */
+  public long computeIfAbsent(final long key, final LongUnaryOperator mappingFunction) {
+    requireNonNull("mappingFunction", mappingFunction);
+    final Segment segment = segmentFor(key);
+    segment.lock();
+    try {
+      final LongLongMap map = segment.map;
+      if (map.containsKey(key)) {
+        return map.get(key);
+      }
+      final long value = mappingFunction.applyAsLong(key);
+      map.put(key, value);
+      return value;
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 如果此映射表包含指定的键，则原子地计算其新的值。
+   *
+   * @param key
+   *     指定的键。
+   * @param remappingFunction
+   *     根据键和旧的值计算新的值的函数。
+   * @return 指定的键所对应的新的值；如果此映射表不包含该键，返回 {@code 0}。
+   */
+  public long computeIfPresent(final long key, final LongBinaryOperator remappingFunction) {
+    requireNonNull("remappingFunction", remappingFunction);
+    final Segment segment = segmentFor(key);
+    segment.lock();
+    try {
+      final LongLongMap map = segment.map;
+      if (!map.containsKey(key)) {
+        return 0;
+      }
+      final long value = remappingFunction.applyAsLong(key, map.get(key));
+      map.put(key, value);
+      return value;
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 原子地合并指定的键所对应的值。
+   *
+   * <p>如果此映射表不包含指定的键，则将其映射到指定的值；否则将其映射到合并函数作用于
+   * 旧的值和指定的值的结果。
+   *
+   * @param key
+   *     指定的键。
+   * @param value
+   *     指定的值。
+   * @param mergeFunction
+   *     根据旧的值和指定的值计算新的值的函数。
+   * @return 指定的键所对应的新的值。
+   */
+  public long merge(final long key, final long value, final LongBinaryOperator mergeFunction) {
+    requireNonNull("mergeFunction", mergeFunction);
+    final Segment segment = segmentFor(key);
+    segment.lock();
+    try {
+      final LongLongMap map = segment.map;
+      final long result = (map.containsKey(key)
+                           ? mergeFunction.applyAsLong(map.get(key), value)
+                           : value);
+      map.put(key, result);
+      return result;
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 如果指定的键当前映射到指定的值，则原子地将其映射到新的值。
+   *
+   * @param key
+   *     指定的键。
+   * @param expectedValue
+   *     预期的当前值。
+   * @param newValue
+   *     新的值。
+   * @return 如果替换了值，返回 {@code true}；否则返回 {@code false}。
+   */
+  public boolean replace(final long key, final long expectedValue, final long newValue) {
+    final Segment segment = segmentFor(key);
+    segment.lock();
+    try {
+      final LongLongMap map = segment.map;
+      if (map.containsKey(key) && (map.get(key) == expectedValue)) {
+        map.put(key, newValue);
+        return true;
+      }
+      return false;
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 从此映射表中删除指定的键及其对应的值。
+   *
+   * @param key
+   *     指定的键。
+   * @return 指定的键原来所对应的值；如果此映射表不包含该键，返回 {@code 0}。
+   */
+  public long remove(final long key) {
+    final Segment segment = segmentFor(key);
+    segment.lock();
+    try {
+      return segment.map.remove(key);
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 如果指定的键当前映射到指定的值，则原子地将其删除。
+   *
+   * @param key
+   *     指定的键。
+   * @param expectedValue
+   *     预期的当前值。
+   * @return 如果删除了该键，返回 {@code true}；否则返回 {@code false}。
+   */
+  public boolean remove(final long key, final long expectedValue) {
+    final Segment segment = segmentFor(key);
+    segment.lock();
+    try {
+      final LongLongMap map = segment.map;
+      if (map.containsKey(key) && (map.get(key) == expectedValue)) {
+        map.remove(key);
+        return true;
+      }
+      return false;
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 删除此映射表中的所有键值对。
+   *
+   * <p>此函数依次清空各个分段，因此在并发修改时，返回后此映射表可能包含其他线程
+   * 新加入的键值对。
+   */
+  public void clear() {
+    for (final Segment segment : segments) {
+      segment.lock();
+      try {
+        segment.map.clear();
+      } finally {
+        segment.unlock();
+      }
+    }
+  }
+
+  /**
+   * 获取此映射表的一个快照。
+   *
+   * <p>此函数依次锁定并复制各个分段，因此快照中的每个分段都是一致的，但在并发修改时，
+   * 快照不一定对应于此映射表在某个时刻的状态。
+   *
+   * @return 一个包含此映射表中所有键值对的新的 {@link LongLongMap}。
+   */
+  public LongLongMap snapshot() {
+    final LongLongMap result = new LongLongMap(size());
+    for (final Segment segment : segments) {
+      segment.lock();
+      try {
+        final LongLongIterator iter = segment.map.iterator();
+        while (iter.hasNext()) {
+          iter.next();
+          result.put(iter.key(), iter.value());
+        }
+      } finally {
+        segment.unlock();
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return snapshot().toString();
+  }
+
+  private Segment segmentFor(final long key) {
+    return segments[SegmentUtils.segmentIndex(key, segmentMask)];
+  }
+}
@@ -0,0 +1,78 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.map.primitive;
+
+import ltd.qubit.commons.datastructure.list.primitive.IntIterator;
+
+/**
+ * 遍历以 {@code int} 为键、{@code long} 为值的映射表中的键值对的迭代器。
+ *
+ * <p>与 {@link IntIterator} 不同，{@link #next()} 只将迭代器移动到下一个键值对，
+ * 当前键值对的键和值分别通过 {@link #key()} 和 {@link #value()} 获取，因此遍历时
+ * 不需要创建键值对对象。
+ *
+ * @author 胡海星
+ */
+public interface IntLongIterator {
+
+  /**
+   * 当且仅当还有更多键值对时返回 {@code true}。
+   *
+   * @return 当且仅当还有更多键值对时返回 {@code true}。
+   */
+  boolean hasNext();
+
+  /**
+   * 将迭代器移动到下一个键值对。
+   *
+   * @throws java.util.NoSuchElementException
+   *     如果没有下一个键值对。
+   */
+  void next();
+
+  /**
+   * 获取当前键值对的键。
+   *
+   * @return 当前键值对的键。
+   * @throws IllegalStateException
+   *     如果尚未调用 {@link #next}，或者自上次调用 {@link #next} 以来已经调用了
+   *     {@link #remove}。
+   */
+  int key();
+
+  /**
+   * 获取当前键值对的值。
+   *
+   * @return 当前键值对的值。
+   * @throws IllegalStateException
+   *     如果尚未调用 {@link #next}，或者自上次调用 {@link #next} 以来已经调用了
+   *     {@link #remove}。
+   */
+  long value();
+
+  /**
+   * 设置当前键值对的值。
+   *
+   * @param value
+   *     新的值。
+   * @throws IllegalStateException
+   *     如果尚未调用 {@link #next}，或者自上次调用 {@link #next} 以来已经调用了
+   *     {@link #remove}。
+   */
+  void setValue(long value);
+
+  /**
+   * 从底层映射表中删除当前键值对。
+   *
+   * @throws IllegalStateException
+   *     如果尚未调用 {@link #next}，或者自上次调用 {@link #next} 以来已经调用了
+   *     {@link #remove}。
+   */
+  void remove();
+}
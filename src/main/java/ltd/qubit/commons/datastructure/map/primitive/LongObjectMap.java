@@ -0,0 +1,748 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.map.primitive;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import ltd.qubit.commons.datastructure.list.primitive.LongIterator;
+import ltd.qubit.commons.datastructure.list.primitive.impl.LongArrayList;
+import ltd.qubit.commons.lang.Equality;
+import ltd.qubit.commons.util.expand.ExpansionPolicy;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * 一个以 {@code long} 为键、对象为值的哈希映射表。
+ *
+ * <p>此实现使用开放寻址法和线性探测法，将键直接存储在原始类型的数组中，从而避免了
+ * 键的装箱开销。删除键值对时，将其后的键值对沿探测序列向前移动，因此不会在哈希表中
+ * 留下墓碑标记。哈希表的容量可以是任意正整数，当键值对的数目超过装载因子所允许的
+ * 上限时，将根据指定的 {@link ExpansionPolicy} 计算新的容量。
+ *
+ * <p>键 {@code 0} 被单独存储，因此所有的 {@code long} 值都可以作为键。对于不存在的键，
+ * {@link #get(long)}、{@link #put(long, Object)} 和 {@link #remove(long)} 返回
+ * {@code null}；可以使用 {@link #containsKey(long)} 或
+ * {@link #getOrDefault(long, Object)} 区分这种情况。
+ *
+ * <p>此实现不是线程安全的。在使用迭代器遍历映射表时，除了通过该迭代器的
+ * {@code remove()} 方法之外，不能修改映射表的结构。
+ *
+ * @param <V>
+ *     值的类型。
+ * @author 胡海星
+ */
+@NotThreadSafe
+public class LongObjectMap<V> implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 4417960318452675023L;
+
+  /**
+   * 默认的装载因子。
+   */
+  public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+  private static final int MIN_CAPACITY = 2;
+
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  /**
+   * 哈希表中的键，{@code 0} 表示空槽。
+   */
+  private transient long[] keys;
+
+  /**
+   * 哈希表中的值。
+   */
+  private transient Object[] values;
+
+  /**
+   * 是否包含键 {@code 0}。
+   */
+  private transient boolean hasZeroKey;
+
+  /**
+   * 键 {@code 0} 所对应的值。
+   */
+  private transient V zeroValue;
+
+  /**
+   * 键值对的数目，包括键 {@code 0}。
+   */
+  private transient int size;
+
+  /**
+   * 哈希表中最多可以存储的键的数目，不包括键 {@code 0}。
+   */
+  private transient int maxFill;
+
+  private final float loadFactor;
+
+  private transient ExpansionPolicy expansionPolicy;
+
+  /**
+   * 构造一个具有默认初始容量和默认装载因子的空映射表。
+   */
+  public LongObjectMap() {
+    this(ExpansionPolicy.getInitialCapacity(), DEFAULT_LOAD_FACTOR,
+        ExpansionPolicy.getDefault());
+  }
+
+  /**
+   * 构造一个可以容纳指定数目的键值对而无需扩容的空映射表。
+   *
+   * @param expectedSize
+   *     预期的键值对的数目。
+   * @throws IllegalArgumentException
+   *     如果 <i>expectedSize</i> 为负。
+   */
+  public LongObjectMap(final int expectedSize) {
+    this(expectedSize, DEFAULT_LOAD_FACTOR, ExpansionPolicy.getDefault());
+  }
+
+  /**
+   * 构造一个具有指定装载因子，并可以容纳指定数目的键值对而无需扩容的空映射表。
+   *
+   * @param expectedSize
+   *     预期的键值对的数目。
+   * @param loadFactor
+   *     装载因子，必须在开区间 {@code (0, 1)} 内。
+   * @throws IllegalArgumentException
+   *     如果 <i>expectedSize</i> 为负，或 <i>loadFactor</i> 不在开区间 {@code (0, 1)} 内。
+   */
+  public LongObjectMap(final int expectedSize, final float loadFactor) {
+    this(expectedSize, loadFactor, ExpansionPolicy.getDefault());
+  }
+
+  /**
+   * 构造一个具有指定装载因子和扩展策略，并可以容纳指定数目的键值对而无需扩容的空映射表。
+   *
+   * @param expectedSize
+   *     预期的键值对的数目。
+   * @param loadFactor
+   *     装载因子，必须在开区间 {@code (0, 1)} 内。
+   * @param expansionPolicy
+   *     用于计算扩容后容量的扩展策略。
+   * @throws IllegalArgumentException
+   *     如果 <i>expectedSize</i> 为负，或 <i>loadFactor</i> 不在开区间 {@code (0, 1)} 内。
+   */
+  public LongObjectMap(final int expectedSize, final float loadFactor,
+      final ExpansionPolicy expansionPolicy) {
+    requireNonNegative("expectedSize", expectedSize);
+    if (!((loadFactor > 0) && (loadFactor < 1))) {
+      throw new IllegalArgumentException("The load factor must be in the open "
+          + "range (0, 1), but it is " + loadFactor);
+    }
+    this.loadFactor = loadFactor;
+    this.expansionPolicy = requireNonNull("expansionPolicy", expansionPolicy);
+    allocate(capacityFor(expectedSize, loadFactor));
+  }
+
+  /**
+   * 构造一个包含指定映射表中所有键值对的映射表。
+   *
+   * @param that
+   *     要复制的映射表。
+   */
+  public LongObjectMap(final LongObjectMap<V> that) {
+    this.loadFactor = that.loadFactor;
+    this.expansionPolicy = that.expansionPolicy;
+    this.keys = that.keys.clone();
+    this.values = that.values.clone();
+    this.hasZeroKey = that.hasZeroKey;
+    this.zeroValue = that.zeroValue;
+    this.size = that.size;
+    this.maxFill = that.maxFill;
+  }
+
+  public float getLoadFactor() {
+    return loadFactor;
+  }
+
+  public ExpansionPolicy getExpansionPolicy() {
+    return expansionPolicy;
+  }
+
+  public void setExpansionPolicy(final ExpansionPolicy expansionPolicy) {
+    this.expansionPolicy = requireNonNull("expansionPolicy", expansionPolicy);
+  }
+
+  /**
+   * 获取此映射表中键值对的数目。
+   *
+   * @return 此映射表中键值对的数目。
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * 判断此映射表是否为空。
+   *
+   * @return 如果此映射表不包含任何键值对，返回 {@code true}；否则返回 {@code false}。
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * 判断此映射表是否包含指定的键。
+   *
+   * @param key
+   *     指定的键。
+   * @return 如果此映射表包含指定的键，返回 {@code true}；否则返回 {@code false}。
+   */
+  public boolean containsKey(final long key) {
+    if (key == 0) {
+      return hasZeroKey;
+    }
+    return find(key) >= 0;
+  }
+
+  /**
+   * 获取指定的键所对应的值。
+   *
+   * @param key
+   *     指定的键。
+   * @return 指定的键所对应的值；如果此映射表不包含该键，返回 {@code null}。
+   */
+  @Nullable
+  public V get(final long key) {
+    return getOrDefault(key, null);
+  }
+
+  /**
+   * 获取指定的键所对应的值。
+   *
+   * @param key
+   *     指定的键。
+   * @param defaultValue
+   *     此映射表不包含指定的键时返回的默认值。
+   * @return 指定的键所对应的值；如果此映射表不包含该键，返回 <i>defaultValue</i>。
+   */
+  @SuppressWarnings("unchecked")
+  @Nullable
+  public V getOrDefault(final long key, @Nullable final V defaultValue) {
+    if (key == 0) {
+      return (hasZeroKey ? zeroValue : defaultValue);
+    }
+    final long[] keys = this.keys;
+    final int capacity = keys.length;
+    int pos = slot(key, capacity);
+    for (;;) {
+      final long k = keys[pos];
+      if (k == key) {
+        return (V) values[pos];
+      }
+      if (k == 0) {
+        return defaultValue;
+      }
+      if (++pos == capacity) {
+        pos = 0;
+      }
+    }
+  }
+
+  /**
+   * 将指定的键映射到指定的值。
+   *
+   * @param key
+   *     指定的键。
+   * @param value
+   *     指定的值。
+   * @return 指定的键原来所对应的值；如果此映射表原来不包含该键，返回 {@code null}。
+   */
+  @SuppressWarnings("unchecked")
+  @Nullable
+  public V put(final long key, @Nullable final V value) {
+    if (key == 0) {
+      final V old = (hasZeroKey ? zeroValue : null);
+      if (!hasZeroKey) {
+        hasZeroKey = true;
+        ++size;
+      }
+      zeroValue = value;
+      return old;
+    }
+    final int pos = insert(key);
+    if (pos < 0) {
+      values[-pos - 1] = value;
+      if (size - (hasZeroKey ? 1 : 0) > maxFill) {
+        grow();
+      }
+      return null;
+    }
+    final V old = (V) values[pos];
+    values[pos] = value;
+    return old;
+  }
+
+  /**
+   * 从此映射表中删除指定的键及其对应的值。
+   *
+   * @param key
+   *     指定的键。
+   * @return 指定的键原来所对应的值；如果此映射表不包含该键，返回 {@code null}。
+   */
+  @SuppressWarnings("unchecked")
+  @Nullable
+  public V remove(final long key) {
+    if (key == 0) {
+      if (!hasZeroKey) {
+        return null;
+      }
+      final V old = zeroValue;
+      hasZeroKey = false;
+      zeroValue = null;
+      --size;
+      return old;
+    }
+    final int pos = find(key);
+    if (pos < 0) {
+      return null;
+    }
+    final V old = (V) values[pos];
+    shiftKeys(pos, null);
+    --size;
+    return old;
+  }
+
+  /**
+   * 删除此映射表中的所有键值对。
+   */
+  public void clear() {
+    if (size == 0) {
+      return;
+    }
+    Arrays.fill(keys, 0);
+    Arrays.fill(values, null);
+    hasZeroKey = false;
+    zeroValue = null;
+    size = 0;
+  }
+
+  /**
+   * 确保此映射表可以容纳指定数目的键值对而无需扩容。
+   *
+   * @param expectedSize
+   *     预期的键值对的数目。
+   */
+  public void ensureCapacity(final int expectedSize) {
+    final int capacity = capacityFor(expectedSize, loadFactor);
+    if (capacity > keys.length) {
+      rehash(capacity);
+    }
+  }
+
+  /**
+   * 将哈希表的容量缩减到恰好可以容纳当前的键值对的大小。
+   */
+  public void trimToSize() {
+    final int capacity = capacityFor(size - (hasZeroKey ? 1 : 0), loadFactor);
+    if (capacity < keys.length) {
+      rehash(capacity);
+    }
+  }
+
+  /**
+   * 获取遍历此映射表中所有键值对的迭代器。
+   *
+   * @return 遍历此映射表中所有键值对的迭代器。
+   */
+  public LongObjectIterator<V> iterator() {
+    return new EntryIterator();
+  }
+
+  /**
+   * 获取遍历此映射表中所有键的迭代器。
+   *
+   * @return 遍历此映射表中所有键的迭代器。
+   */
+  public LongIterator keyIterator() {
+    return new KeyIterator();
+  }
+
+  /**
+   * 获取遍历此映射表中所有值的迭代器。
+   *
+   * @return 遍历此映射表中所有值的迭代器。
+   */
+  public Iterator<V> valueIterator() {
+    return new ValueIterator();
+  }
+
+  @Override
+  public boolean equals(@Nullable final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if ((obj == null) || (getClass() != obj.getClass())) {
+      return false;
+    }
+    final LongObjectMap<?> other = (LongObjectMap<?>) obj;
+    if (size != other.size) {
+      return false;
+    }
+    final EntryIterator iter = new EntryIterator();
+    while (iter.hasNext()) {
+      iter.next();
+      final long key = iter.key();
+      if (!other.containsKey(key) || !Equality.equals(other.get(key), iter.value())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int code = 0;
+    final EntryIterator iter = new EntryIterator();
+    while (iter.hasNext()) {
+      iter.next();
+      code += (Long.hashCode(iter.key()) ^ Objects.hashCode(iter.value()));
+    }
+    return code;
+  }
+
+  @Override
+  public String toString() {
+    if (size == 0) {
+      return "{}";
+    }
+    final StringBuilder builder = new StringBuilder();
+    builder.append('{');
+    final EntryIterator iter = new EntryIterator();
+    while (iter.hasNext()) {
+      iter.next();
+      builder.append(iter.key()).append('=').append(iter.value()).append(',');
+    }
+    // eat the last separator ','
+    builder.setLength(builder.length() - 1);
+    builder.append('}');
+    return builder.toString();
+  }
+
+  // private methods
+  // -------------------------------------------------------------------------
+
+  private static int slot(final long key, final int capacity) {
+    //  Fibonacci hashing followed by the multiply-shift range reduction, which
+    //  maps the high 32 bits of the product to [0, capacity)
+    final long hash = (key * 0x9E3779B97F4A7C15L) >>> 32;
+    return (int) ((hash * capacity) >>> 32);
+  }
+
+  private static int capacityFor(final int expectedSize, final float loadFactor) {
+    final long capacity = (long) Math.ceil(expectedSize / (double) loadFactor) + 1;
+    return (int) Math.min(Math.max(capacity, MIN_CAPACITY), MAX_CAPACITY);
+  }
+
+  private static int maxFillOf(final int capacity, final float loadFactor) {
+    return (int) Math.min((long) (capacity * (double) loadFactor), capacity - 1L);
+  }
+
+  private void allocate(final int capacity) {
+    keys = new long[capacity];
+    values = new Object[capacity];
+    maxFill = maxFillOf(capacity, loadFactor);
+  }
+
+  private int find(final long key) {
+    final long[] keys = this.keys;
+    final int capacity = keys.length;
+    int pos = slot(key, capacity);
+    for (;;) {
+      final long k = keys[pos];
+      if (k == key) {
+        return pos;
+      }
+      if (k == 0) {
+        return -1;
+      }
+      if (++pos == capacity) {
+        pos = 0;
+      }
+    }
+  }
+
+  /**
+   * Finds the position of a non-zero key, inserting the key if it is absent.
+   *
+   * @return the position of the key if it was present; otherwise
+   *     {@code -(position + 1)} of the newly inserted key.
+   */
+  private int insert(final long key) {
+    final long[] keys = this.keys;
+    final int capacity = keys.length;
+    int pos = slot(key, capacity);
+    for (;;) {
+      final long k = keys[pos];
+      if (k == key) {
+        return pos;
+      }
+      if (k == 0) {
+        keys[pos] = key;
+        ++size;
+        return -pos - 1;
+      }
+      if (++pos == capacity) {
+        pos = 0;
+      }
+    }
+  }
+
+  private void grow() {
+    final int count = size - (hasZeroKey ? 1 : 0);
+    final int expected = Math.max(count, expansionPolicy.getNextCapacity(maxFill, count));
+    final int capacity = capacityFor(expected, loadFactor);
+    if (maxFillOf(capacity, loadFactor) < count) {
+      throw new IllegalStateException("The hash table is too large: " + count);
+    }
+    rehash(capacity);
+  }
+
+  private void rehash(final int newCapacity) {
+    final long[] oldKeys = keys;
+    final Object[] oldValues = values;
+    final long[] newKeys = new long[newCapacity];
+    final Object[] newValues = new Object[newCapacity];
+    for (int i = 0; i < oldKeys.length; ++i) {
+      final long k = oldKeys[i];
+      if (k != 0) {
+        int pos = slot(k, newCapacity);
+        while (newKeys[pos] != 0) {
+          if (++pos == newCapacity) {
+            pos = 0;
+          }
+        }
+        newKeys[pos] = k;
+        newValues[pos] = oldValues[i];
+      }
+    }
+    keys = newKeys;
+    values = newValues;
+    maxFill = maxFillOf(newCapacity, loadFactor);
+  }
+
+  /**
+   * Removes the key at the specified position by shifting the following keys
+   * in its probing sequence backward.
+   *
+   * @param pos
+   *     the position of the key to be removed.
+   * @param iterator
+   *     the iterator removing the key, which is notified of the keys moved from
+   *     the positions it has not visited to the positions it has visited; or
+   *     {@code null} if the key is not removed by an iterator.
+   */
+  private void shiftKeys(int pos, @Nullable final HashIterator iterator) {
+    final long[] keys = this.keys;
+    final Object[] values = this.values;
+    final int capacity = keys.length;
+    for (;;) {
+      final int last = pos;
+      pos = (pos + 1 == capacity ? 0 : pos + 1);
+      long k;
+      for (;;) {
+        k = keys[pos];
+        if (k == 0) {
+          keys[last] = 0;
+          values[last] = null;
+          return;
+        }
+        final int slot = slot(k, capacity);
+        //  the key can be moved to the position last only if its home slot
+        //  is not cyclically in the range (last, pos]
+        if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+          break;
+        }
+        pos = (pos + 1 == capacity ? 0 : pos + 1);
+      }
+      if ((pos < last) && (iterator != null)) {
+        iterator.addWrapped(k);
+      }
+      keys[last] = k;
+      values[last] = values[pos];
+    }
+  }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(size);
+    final EntryIterator iter = new EntryIterator();
+    while (iter.hasNext()) {
+      iter.next();
+      out.writeLong(iter.key());
+      out.writeObject(iter.value());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(final ObjectInputStream in) throws IOException,
+      ClassNotFoundException {
+    in.defaultReadObject();
+    final int n = in.readInt();
+    expansionPolicy = ExpansionPolicy.getDefault();
+    allocate(capacityFor(n, loadFactor));
+    for (int i = 0; i < n; ++i) {
+      final long key = in.readLong();
+      put(key, (V) in.readObject());
+    }
+  }
+
+  /**
+   * The base class of the iterators, which visits the key {@code 0} first, and
+   * then the positions of the hash table from the last one to the first one.
+   */
+  private abstract class HashIterator {
+
+    /**
+     * The position of the hash table to be visited next is {@code pos - 1};
+     * a negative value {@code -(i + 1)} means the {@code i}-th key in the
+     * {@link #wrapped} list is being visited.
+     */
+    private int pos = keys.length;
+
+    /**
+     * The position of the current entry; {@code keys.length} for the key
+     * {@code 0}, or -1 if there is no current entry.
+     */
+    int current = -1;
+
+    private int remaining = size;
+
+    private boolean mustReturnZeroKey = hasZeroKey;
+
+    /**
+     * The keys moved from the positions not visited yet to the positions
+     * already visited while removing entries.
+     */
+    @Nullable
+    private LongArrayList wrapped;
+
+    public boolean hasNext() {
+      return remaining != 0;
+    }
+
+    final void nextEntry() {
+      if (remaining == 0) {
+        throw new NoSuchElementException();
+      }
+      --remaining;
+      if (mustReturnZeroKey) {
+        mustReturnZeroKey = false;
+        current = keys.length;
+        return;
+      }
+      final long[] keys = LongObjectMap.this.keys;
+      for (;;) {
+        if (--pos < 0) {
+          assert wrapped != null;
+          current = find(wrapped.get(-pos - 1));
+          return;
+        }
+        if (keys[pos] != 0) {
+          current = pos;
+          return;
+        }
+      }
+    }
+
+    final void checkCurrent() {
+      if (current == -1) {
+        throw new IllegalStateException();
+      }
+    }
+
+    final void addWrapped(final long key) {
+      if (wrapped == null) {
+        wrapped = new LongArrayList(2);
+      }
+      wrapped.add(key);
+    }
+
+    public void remove() {
+      checkCurrent();
+      if (current == keys.length) {
+        hasZeroKey = false;
+        zeroValue = null;
+        --size;
+      } else if (pos >= 0) {
+        shiftKeys(current, this);
+        --size;
+      } else {
+        LongObjectMap.this.remove(keys[current]);
+      }
+      current = -1;
+    }
+  }
+
+  private final class EntryIterator extends HashIterator implements LongObjectIterator<V> {
+
+    @Override
+    public void next() {
+      nextEntry();
+    }
+
+    @Override
+    public long key() {
+      checkCurrent();
+      return (current == keys.length ? 0 : keys[current]);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V value() {
+      checkCurrent();
+      return (current == keys.length ? zeroValue : (V) values[current]);
+    }
+
+    @Override
+    public void setValue(@Nullable final V value) {
+      checkCurrent();
+      if (current == keys.length) {
+        zeroValue = value;
+      } else {
+        values[current] = value;
+      }
+    }
+  }
+
+  private final class KeyIterator extends HashIterator implements LongIterator {
+
+    @Override
+    public long next() {
+      nextEntry();
+      return (current == keys.length ? 0 : keys[current]);
+    }
+  }
+
+  private final class ValueIterator extends HashIterator implements Iterator<V> {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V next() {
+      nextEntry();
+      return (current == keys.length ? zeroValue : (V) values[current]);
+    }
+  }
+}
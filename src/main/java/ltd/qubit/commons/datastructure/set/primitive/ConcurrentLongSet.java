@@ -0,0 +1,230 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.set.primitive;
+
+import java.io.Serial;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import ltd.qubit.commons.datastructure.SegmentUtils;
+import ltd.qubit.commons.datastructure.list.primitive.LongIterator;
+
+/**
+ * 一个线程安全的 {@code long} 值的哈希集合。
+ *
+ * <p>此集合将元素按哈希值划分到若干个分段中，每个分段是一个由独立的锁保护的
+ * {@link LongSet}，因此不同分段上的操作可以并发执行，且所有的操作都不会装箱。
+ *
+ * @author 胡海星
+ */
+@ThreadSafe
+public class ConcurrentLongSet {
+
+  /**
+   * 默认的并发级别，与 {@link SegmentUtils#DEFAULT_CONCURRENCY_LEVEL} 相同。
+   */
+  public static final int DEFAULT_CONCURRENCY_LEVEL = SegmentUtils.DEFAULT_CONCURRENCY_LEVEL;
+
+  private static final class Segment extends ReentrantLock {
+
+    @Serial
+    private static final long serialVersionUID = 3318560127421604917L;
+
+    final LongSet set;
+
+    Segment(final int expectedSize) {
+      set = new LongSet(expectedSize);
+    }
+  }
+
+  private final Segment[] segments;
+  private final int segmentMask;
+
+  /**
+   * 构造一个具有默认并发级别的空集合。
+   */
+  public ConcurrentLongSet() {
+    this(0, DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  /**
+   * 构造一个具有默认并发级别，并可以容纳指定数目的元素而无需扩容的空集合。
+   *
+   * @param expectedSize
+   *     预期的元素的数目。
+   */
+  public ConcurrentLongSet(final int expectedSize) {
+    this(expectedSize, DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  /**
+   * 构造一个具有指定并发级别，并可以容纳指定数目的元素而无需扩容的空集合。
+   *
+   * @param expectedSize
+   *     预期的元素的数目。
+   * @param concurrencyLevel
+   *     并发级别，即预期的并发修改此集合的线程的数目。分段的个数是不小于它的最小的
+   *     2 的幂。
+   */
+  public ConcurrentLongSet(final int expectedSize, final int concurrencyLevel) {
+    segments = SegmentUtils.createSegments(expectedSize, concurrencyLevel,
+        Segment[]::new, Segment::new);
+    segmentMask = segments.length - 1;
+  }
+
+  /**
+   * 获取此集合中元素的数目。
+   *
+   * <p>此函数依次锁定各个分段，因此在并发修改时其返回值只是一个近似值。
+   *
+   * @return 此集合中元素的数目。
+   */
+  public int size() {
+    long result = 0;
+    for (final Segment segment : segments) {
+      segment.lock();
+      try {
+        result += segment.set.size();
+      } finally {
+        segment.unlock();
+      }
+    }
+    return (int) Math.min(result, Integer.MAX_VALUE);
+  }
+
+  /**
+   * 判断此集合是否为空。
+   *
+   * @return 如果此集合不包含任何元素，返回 {@code true}；否则返回 {@code false}。
+   */
+  public boolean isEmpty() {
+    for (final Segment segment : segments) {
+      segment.lock();
+      try {
+        if (!segment.set.isEmpty()) {
+          return false;
+        }
+      } finally {
+        segment.unlock();
+      }
+    }
+    return true;
+  }
+
+  /**
+   * 判断此集合是否包含指定的元素。
+   *
+   * @param element
+   *     指定的元素。
+   * @return 如果此集合包含指定的元素，返回 {@code true}；否则返回 {@code false}。
+   */
+  public boolean contains(final long element) {
+    final Segment segment = segmentFor(element);
+    segment.lock();
+    try {
+      return segment.set.contains(element);
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 向此集合中添加指定的元素。
+   *
+   * @param element
+   *     指定的元素。
+   * @return 如果此集合原来不包含该元素，返回 {@code true}；否则返回 {@code false}。
+   */
+  public boolean add(final long element) {
+    final Segment segment = segmentFor(element);
+    segment.lock();
+    try {
+      return segment.set.add(element);
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 从此集合中删除指定的元素。
+   *
+   * @param element
+   *     指定的元素。
+   * @return 如果此集合原来包含该元素，返回 {@code true}；否则返回 {@code false}。
+   */
+  public boolean remove(final long element) {
+    final Segment segment = segmentFor(element);
+    segment.lock();
+    try {
+      return segment.set.remove(element);
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 删除此集合中的所有元素。
+   *
+   * <p>此函数依次清空各个分段，因此在并发修改时，返回后此集合可能包含其他线程新加入的
+   * 元素。
+   */
+  public void clear() {
+    for (final Segment segment : segments) {
+      segment.lock();
+      try {
+        segment.set.clear();
+      } finally {
+        segment.unlock();
+      }
+    }
+  }
+
+  /**
+   * 获取此集合的一个快照。
+   *
+   * <p>此函数依次锁定并复制各个分段，因此快照中的每个分段都是一致的，但在并发修改时，
+   * 快照不一定对应于此集合在某个时刻的状态。
+   *
+   * @return 一个包含此集合中所有元素的新的 {@link LongSet}。
+   */
+  public LongSet snapshot() {
+    final LongSet result = new LongSet(size());
+    for (final Segment segment : segments) {
+      segment.lock();
+      try {
+        final LongIterator iter = segment.set.iterator();
+        while (iter.hasNext()) {
+          result.add(iter.next());
+        }
+      } finally {
+        segment.unlock();
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 获取包含此集合中所有元素的数组。
+   *
+   * @return 包含此集合中所有元素的数组，其顺序是不确定的。
+   */
+  public long[] toArray() {
+    return snapshot().toArray();
+  }
+
+  @Override
+  public String toString() {
+    return snapshot().toString();
+  }
+
+  private Segment segmentFor(final long element) {
+    return segments[SegmentUtils.segmentIndex(element, segmentMask)];
+  }
+}
@@ -0,0 +1,572 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.set.primitive;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import ltd.qubit.commons.datastructure.list.primitive.AbstractLongCollection;
+import ltd.qubit.commons.datastructure.list.primitive.LongCollection;
+import ltd.qubit.commons.datastructure.list.primitive.LongIterator;
+import ltd.qubit.commons.datastructure.list.primitive.impl.LongArrayList;
+import ltd.qubit.commons.util.expand.ExpansionPolicy;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNegative;
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * 一个 {@code long} 值的哈希集合。
+ *
+ * <p>此实现使用开放寻址法和线性探测法，将元素直接存储在 {@code long} 数组中，从而
+ * 避免了装箱的开销。删除元素时，将其后的元素沿探测序列向前移动，因此不会在哈希表中
+ * 留下墓碑标记。哈希表的容量可以是任意正整数，当元素的数目超过装载因子所允许的上限
+ * 时，将根据指定的 {@link ExpansionPolicy} 计算新的容量。元素 {@code 0} 被单独存储，
+ * 因此所有的 {@code long} 值都可以作为元素。
+ *
+ * <p>此集合的迭代顺序是不确定的。此实现不是线程安全的。在使用迭代器遍历集合时，
+ * 除了通过该迭代器的 {@link LongIterator#remove()} 方法之外，不能修改集合的结构。
+ *
+ * @author 胡海星
+ */
+@NotThreadSafe
+public class LongSet extends AbstractLongCollection {
+
+  @Serial
+  private static final long serialVersionUID = 2846109935571284460L;
+
+  /**
+   * 默认的装载因子。
+   */
+  public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+  private static final int MIN_CAPACITY = 2;
+
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  /**
+   * 哈希表中的元素，{@code 0} 表示空槽。
+   */
+  private transient long[] keys;
+
+  /**
+   * 是否包含元素 {@code 0}。
+   */
+  private transient boolean hasZeroKey;
+
+  /**
+   * 元素的数目，包括元素 {@code 0}。
+   */
+  private transient int size;
+
+  /**
+   * 哈希表中最多可以存储的元素的数目，不包括元素 {@code 0}。
+   */
+  private transient int maxFill;
+
+  private final float loadFactor;
+
+  private transient ExpansionPolicy expansionPolicy;
+
+  /**
+   * 构造一个具有默认初始容量和默认装载因子的空集合。
+   */
+  public LongSet() {
+    this(ExpansionPolicy.getInitialCapacity(), DEFAULT_LOAD_FACTOR,
+        ExpansionPolicy.getDefault());
+  }
+
+  /**
+   * 构造一个可以容纳指定数目的元素而无需扩容的空集合。
+   *
+   * @param expectedSize
+   *     预期的元素的数目。
+   * @throws IllegalArgumentException
+   *     如果 <i>expectedSize</i> 为负。
+   */
+  public LongSet(final int expectedSize) {
+    this(expectedSize, DEFAULT_LOAD_FACTOR, ExpansionPolicy.getDefault());
+  }
+
+  /**
+   * 构造一个具有指定装载因子，并可以容纳指定数目的元素而无需扩容的空集合。
+   *
+   * @param expectedSize
+   *     预期的元素的数目。
+   * @param loadFactor
+   *     装载因子，必须在开区间 {@code (0, 1)} 内。
+   * @throws IllegalArgumentException
+   *     如果 <i>expectedSize</i> 为负，或 <i>loadFactor</i> 不在开区间 {@code (0, 1)} 内。
+   */
+  public LongSet(final int expectedSize, final float loadFactor) {
+    this(expectedSize, loadFactor, ExpansionPolicy.getDefault());
+  }
+
+  /**
+   * 构造一个具有指定装载因子和扩展策略，并可以容纳指定数目的元素而无需扩容的空集合。
+   *
+   * @param expectedSize
+   *     预期的元素的数目。
+   * @param loadFactor
+   *     装载因子，必须在开区间 {@code (0, 1)} 内。
+   * @param expansionPolicy
+   *     用于计算扩容后容量的扩展策略。
+   * @throws IllegalArgumentException
+   *     如果 <i>expectedSize</i> 为负，或 <i>loadFactor</i> 不在开区间 {@code (0, 1)} 内。
+   */
+  public LongSet(final int expectedSize, final float loadFactor,
+      final ExpansionPolicy expansionPolicy) {
+    requireNonNegative("expectedSize", expectedSize);
+    if (!((loadFactor > 0) && (loadFactor < 1))) {
+      throw new IllegalArgumentException("The load factor must be in the open "
+          + "range (0, 1), but it is " + loadFactor);
+    }
+    this.loadFactor = loadFactor;
+    this.expansionPolicy = requireNonNull("expansionPolicy", expansionPolicy);
+    allocate(capacityFor(expectedSize, loadFactor));
+  }
+
+  /**
+   * 构造一个包含指定集合中所有元素的集合。
+   *
+   * @param that
+   *     非{@code null}的 {@code long} 集合。
+   */
+  public LongSet(final LongCollection that) {
+    this(that.size());
+    addAll(that);
+  }
+
+  public float getLoadFactor() {
+    return loadFactor;
+  }
+
+  public ExpansionPolicy getExpansionPolicy() {
+    return expansionPolicy;
+  }
+
+  public void setExpansionPolicy(final ExpansionPolicy expansionPolicy) {
+    this.expansionPolicy = requireNonNull("expansionPolicy", expansionPolicy);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean contains(final long element) {
+    if (element == 0) {
+      return hasZeroKey;
+    }
+    final long[] keys = this.keys;
+    final int capacity = keys.length;
+    int pos = slot(element, capacity);
+    for (;;) {
+      final long k = keys[pos];
+      if (k == element) {
+        return true;
+      }
+      if (k == 0) {
+        return false;
+      }
+      if (++pos == capacity) {
+        pos = 0;
+      }
+    }
+  }
+
+  @Override
+  public boolean add(final long element) {
+    if (element == 0) {
+      if (hasZeroKey) {
+        return false;
+      }
+      hasZeroKey = true;
+      ++size;
+      return true;
+    }
+    final long[] keys = this.keys;
+    final int capacity = keys.length;
+    int pos = slot(element, capacity);
+    for (;;) {
+      final long k = keys[pos];
+      if (k == element) {
+        return false;
+      }
+      if (k == 0) {
+        break;
+      }
+      if (++pos == capacity) {
+        pos = 0;
+      }
+    }
+    keys[pos] = element;
+    if (++size - (hasZeroKey ? 1 : 0) > maxFill) {
+      grow();
+    }
+    return true;
+  }
+
+  @Override
+  public boolean remove(final long element) {
+    if (element == 0) {
+      if (!hasZeroKey) {
+        return false;
+      }
+      hasZeroKey = false;
+      --size;
+      return true;
+    }
+    final int pos = find(element);
+    if (pos < 0) {
+      return false;
+    }
+    shiftKeys(pos, null);
+    --size;
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    if (size == 0) {
+      return;
+    }
+    Arrays.fill(keys, 0);
+    hasZeroKey = false;
+    size = 0;
+  }
+
+  @Override
+  public LongIterator iterator() {
+    return new HashIterator();
+  }
+
+  @Override
+  public long[] toArray() {
+    return toArray(new long[size]);
+  }
+
+  @Override
+  public long[] toArray(final long[] a) {
+    final long[] result = (a.length >= size ? a : new long[size]);
+    int n = 0;
+    if (hasZeroKey) {
+      result[n++] = 0;
+    }
+    for (final long k : keys) {
+      if (k != 0) {
+        result[n++] = k;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 确保此集合可以容纳指定数目的元素而无需扩容。
+   *
+   * @param expectedSize
+   *     预期的元素的数目。
+   */
+  public void ensureCapacity(final int expectedSize) {
+    final int capacity = capacityFor(expectedSize, loadFactor);
+    if (capacity > keys.length) {
+      rehash(capacity);
+    }
+  }
+
+  /**
+   * 将哈希表的容量缩减到恰好可以容纳当前的元素的大小。
+   */
+  public void trimToSize() {
+    final int capacity = capacityFor(size - (hasZeroKey ? 1 : 0), loadFactor);
+    if (capacity < keys.length) {
+      rehash(capacity);
+    }
+  }
+
+  @Override
+  public boolean equals(@Nullable final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if ((obj == null) || (getClass() != obj.getClass())) {
+      return false;
+    }
+    final LongSet other = (LongSet) obj;
+    if (size != other.size) {
+      return false;
+    }
+    if (hasZeroKey != other.hasZeroKey) {
+      return false;
+    }
+    for (final long k : keys) {
+      if ((k != 0) && !other.contains(k)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int code = 0;
+    for (final long k : keys) {
+      code += Long.hashCode(k);
+    }
+    return code;
+  }
+
+  @Override
+  public String toString() {
+    if (size == 0) {
+      return "[]";
+    }
+    final StringBuilder builder = new StringBuilder();
+    builder.append('[');
+    final LongIterator iter = iterator();
+    while (iter.hasNext()) {
+      builder.append(iter.next()).append(',');
+    }
+    // eat the last separator ','
+    builder.setLength(builder.length() - 1);
+    builder.append(']');
+    return builder.toString();
+  }
+
+  // private methods
+  // -------------------------------------------------------------------------
+
+  private static int slot(final long key, final int capacity) {
+    //  Fibonacci hashing followed by the multiply-shift range reduction, which
+    //  maps the high 32 bits of the product to [0, capacity)
+    final long hash = (key * 0x9E3779B97F4A7C15L) >>> 32;
+    return (int) ((hash * capacity) >>> 32);
+  }
+
+  private static int capacityFor(final int expectedSize, final float loadFactor) {
+    final long capacity = (long) Math.ceil(expectedSize / (double) loadFactor) + 1;
+    return (int) Math.min(Math.max(capacity, MIN_CAPACITY), MAX_CAPACITY);
+  }
+
+  private static int maxFillOf(final int capacity, final float loadFactor) {
+    return (int) Math.min((long) (capacity * (double) loadFactor), capacity - 1L);
+  }
+
+  private void allocate(final int capacity) {
+    keys = new long[capacity];
+    maxFill = maxFillOf(capacity, loadFactor);
+  }
+
+  private int find(final long key) {
+    final long[] keys = this.keys;
+    final int capacity = keys.length;
+    int pos = slot(key, capacity);
+    for (;;) {
+      final long k = keys[pos];
+      if (k == key) {
+        return pos;
+      }
+      if (k == 0) {
+        return -1;
+      }
+      if (++pos == capacity) {
+        pos = 0;
+      }
+    }
+  }
+
+  private void grow() {
+    final int count = size - (hasZeroKey ? 1 : 0);
+    final int expected = Math.max(count, expansionPolicy.getNextCapacity(maxFill, count));
+    final int capacity = capacityFor(expected, loadFactor);
+    if (maxFillOf(capacity, loadFactor) < count) {
+      throw new IllegalStateException("The hash table is too large: " + count);
+    }
+    rehash(capacity);
+  }
+
+  private void rehash(final int newCapacity) {
+    final long[] oldKeys = keys;
+    final long[] newKeys = new long[newCapacity];
+    for (final long k : oldKeys) {
+      if (k != 0) {
+        int pos = slot(k, newCapacity);
+        while (newKeys[pos] != 0) {
+          if (++pos == newCapacity) {
+            pos = 0;
+          }
+        }
+        newKeys[pos] = k;
+      }
+    }
+    keys = newKeys;
+    maxFill = maxFillOf(newCapacity, loadFactor);
+  }
+
+  /**
+   * Removes the key at the specified position by shifting the following keys
+   * in its probing sequence backward.
+   *
+   * @param pos
+   *     the position of the key to be removed.
+   * @param iterator
+   *     the iterator removing the key, which is notified of the keys moved from
+   *     the positions it has not visited to the positions it has visited; or
+   *     {@code null} if the key is not removed by an iterator.
+   */
+  private void shiftKeys(int pos, @Nullable final HashIterator iterator) {
+    final long[] keys = this.keys;
+    final int capacity = keys.length;
+    for (;;) {
+      final int last = pos;
+      pos = (pos + 1 == capacity ? 0 : pos + 1);
+      long k;
+      for (;;) {
+        k = keys[pos];
+        if (k == 0) {
+          keys[last] = 0;
+          return;
+        }
+        final int slot = slot(k, capacity);
+        //  the key can be moved to the position last only if its home slot
+        //  is not cyclically in the range (last, pos]
+        if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+          break;
+        }
+        pos = (pos + 1 == capacity ? 0 : pos + 1);
+      }
+      if ((pos < last) && (iterator != null)) {
+        iterator.addWrapped(k);
+      }
+      keys[last] = k;
+    }
+  }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(size);
+    if (hasZeroKey) {
+      out.writeLong(0);
+    }
+    for (final long k : keys) {
+      if (k != 0) {
+        out.writeLong(k);
+      }
+    }
+  }
+
+  private void readObject(final ObjectInputStream in) throws IOException,
+      ClassNotFoundException {
+    in.defaultReadObject();
+    final int n = in.readInt();
+    expansionPolicy = ExpansionPolicy.getDefault();
+    allocate(capacityFor(n, loadFactor));
+    for (int i = 0; i < n; ++i) {
+      add(in.readLong());
+    }
+  }
+
+  /**
+   * The iterator which visits the element {@code 0} first, and then the
+   * positions of the hash table from the last one to the first one.
+   */
+  private final class HashIterator implements LongIterator {
+
+    /**
+     * The position of the hash table to be visited next is {@code pos - 1};
+     * a negative value {@code -(i + 1)} means the {@code i}-th key in the
+     * {@link #wrapped} list is being visited.
+     */
+    private int pos = keys.length;
+
+    /**
+     * The position of the current element; {@code keys.length} for the element
+     * {@code 0}, or -1 if there is no current element.
+     */
+    private int current = -1;
+
+    private int remaining = size;
+
+    private boolean mustReturnZeroKey = hasZeroKey;
+
+    /**
+     * The keys moved from the positions not visited yet to the positions
+     * already visited while removing elements.
+     */
+    @Nullable
+    private LongArrayList wrapped;
+
+    @Override
+    public boolean hasNext() {
+      return remaining != 0;
+    }
+
+    @Override
+    public long next() {
+      if (remaining == 0) {
+        throw new NoSuchElementException();
+      }
+      --remaining;
+      if (mustReturnZeroKey) {
+        mustReturnZeroKey = false;
+        current = keys.length;
+        return 0;
+      }
+      final long[] keys = LongSet.this.keys;
+      for (;;) {
+        if (--pos < 0) {
+          assert wrapped != null;
+          final long k = wrapped.get(-pos - 1);
+          current = find(k);
+          return k;
+        }
+        if (keys[pos] != 0) {
+          current = pos;
+          return keys[pos];
+        }
+      }
+    }
+
+    private void addWrapped(final long key) {
+      if (wrapped == null) {
+        wrapped = new LongArrayList(2);
+      }
+      wrapped.add(key);
+    }
+
+    @Override
+    public void remove() {
+      if (current == -1) {
+        throw new IllegalStateException();
+      }
+      if (current == keys.length) {
+        hasZeroKey = false;
+        --size;
+      } else if (pos >= 0) {
+        shiftKeys(current, this);
+        --size;
+      } else {
+        LongSet.this.remove(keys[current]);
+      }
+      current = -1;
+    }
+  }
+}
@@ -0,0 +1,700 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import ltd.qubit.commons.io.error.AlreadyClosedException;
+import ltd.qubit.commons.io.error.InvalidFormatException;
+import ltd.qubit.commons.io.error.UnexpectedNullValueException;
+import ltd.qubit.commons.lang.ArrayUtils;
+import ltd.qubit.commons.lang.StringUtils;
+
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * An {@link InputStream} which decodes the binary format written by the
+ * {@link OutputUtils} or {@link BinaryOutput} from a {@link ByteBuffer}.
+ *
+ * <p>The data is read into a reusable heap or direct {@link ByteBuffer}, and
+ * the primitive values are decoded directly from the buffer instead of being
+ * read byte by byte from the underlying stream. The primitive arrays are
+ * transferred in bulk, and the scratch buffers used to decode strings are
+ * reused across calls.
+ *
+ * <p>The functions of {@link InputUtils} detect this class and delegate to it,
+ * therefore all the {@link ltd.qubit.commons.io.serialize.BinarySerializer}s
+ * could read from it without any modification.
+ *
+ * @author Haixing Hu
+ * @see BinaryOutput
+ */
+@NotThreadSafe
+public class BinaryInput extends InputStream {
+
+  public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  private static final int BYTE_MASK = 0xFF;
+  private static final int SIGN_MASK = 0x80;
+  private static final int VAR_SHIFT = 7;
+  private static final int VAR_MASK = 0x7F;
+  private static final int VAR_SHORT_LAST_SHIFT = 14;
+  private static final int VAR_INT_LAST_SHIFT = 28;
+  private static final int VAR_LONG_LAST_SHIFT = 56;
+  private static final int VAR_SHORT_LAST_BYTE_MAX = 0x01;
+  private static final int VAR_INT_LAST_BYTE_MAX = 0x07;
+  private static final int VAR_LONG_LAST_BYTE_MAX = 0x7F;
+
+  /**
+   * The buffer of the data to be read, whose byte order is always big endian.
+   * The bytes between its position and its limit are the bytes available.
+   */
+  protected ByteBuffer buffer;
+
+  @Nullable
+  private InputStream in;
+
+  @Nullable
+  private ReadableByteChannel channel;
+
+  private byte[] bytes = ArrayUtils.EMPTY_BYTE_ARRAY;
+
+  private char[] chars = ArrayUtils.EMPTY_CHAR_ARRAY;
+
+  private boolean closed = false;
+
+  /**
+   * Constructs a {@link BinaryInput} reading from an input stream, using a
+   * heap buffer of the default size.
+   *
+   * @param in
+   *     the underlying input stream.
+   */
+  public BinaryInput(final InputStream in) {
+    this(in, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Constructs a {@link BinaryInput} reading from an input stream, using a
+   * heap buffer of the specified size.
+   *
+   * @param in
+   *     the underlying input stream.
+   * @param bufferSize
+   *     the size of the buffer.
+   */
+  public BinaryInput(final InputStream in, final int bufferSize) {
+    this.in = in;
+    this.buffer = ByteBuffer.allocate(requirePositive("bufferSize", bufferSize));
+    this.buffer.limit(0);
+  }
+
+  /**
+   * Constructs a {@link BinaryInput} reading from a channel.
+   *
+   * @param channel
+   *     the underlying channel.
+   * @param bufferSize
+   *     the size of the buffer.
+   * @param direct
+   *     whether to use a direct buffer.
+   */
+  public BinaryInput(final ReadableByteChannel channel, final int bufferSize,
+      final boolean direct) {
+    requirePositive("bufferSize", bufferSize);
+    this.channel = channel;
+    this.buffer = (direct ? ByteBuffer.allocateDirect(bufferSize)
+                          : ByteBuffer.allocate(bufferSize));
+    this.buffer.limit(0);
+  }
+
+  /**
+   * Constructs a {@link BinaryInput} reading the remaining bytes of a buffer.
+   *
+   * <p>The content of the buffer is shared, but its position, limit and byte
+   * order are not modified.
+   *
+   * @param buffer
+   *     the buffer to read.
+   */
+  public BinaryInput(final ByteBuffer buffer) {
+    this.buffer = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+  }
+
+  /**
+   * Constructs a {@link BinaryInput} reading a byte array.
+   *
+   * @param data
+   *     the byte array to read.
+   */
+  public BinaryInput(final byte[] data) {
+    this(data, 0, data.length);
+  }
+
+  /**
+   * Constructs a {@link BinaryInput} reading a range of a byte array.
+   *
+   * @param data
+   *     the byte array to read.
+   * @param off
+   *     the offset of the first byte to read.
+   * @param len
+   *     the number of bytes to read.
+   */
+  public BinaryInput(final byte[] data, final int off, final int len) {
+    this.buffer = ByteBuffer.wrap(data, off, len).slice();
+  }
+
+  /**
+   * Refills the buffer when all the bytes in it have been consumed.
+   *
+   * <p>The subclasses reading from other sources should override this function.
+   *
+   * @return {@code true} if at least one byte is available in the buffer after
+   *     refilling; {@code false} if the end of the input has been reached.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  protected boolean fill() throws IOException {
+    if (in != null) {
+      final byte[] array = buffer.array();
+      final int offset = buffer.arrayOffset();
+      int n;
+      do {
+        n = in.read(array, offset, buffer.capacity());
+      } while (n == 0);
+      buffer.position(0);
+      buffer.limit(Math.max(n, 0));
+      return (n > 0);
+    } else if (channel != null) {
+      buffer.clear();
+      int n;
+      do {
+        n = channel.read(buffer);
+      } while (n == 0);
+      buffer.flip();
+      return (n > 0);
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * Ensures that this input is not closed.
+   *
+   * @throws AlreadyClosedException
+   *     if this input has been closed.
+   */
+  protected final void ensureOpen() throws AlreadyClosedException {
+    if (closed) {
+      throw new AlreadyClosedException();
+    }
+  }
+
+  private void require() throws IOException {
+    if (!buffer.hasRemaining()) {
+      ensureOpen();
+      if (!fill()) {
+        throw new EOFException();
+      }
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!buffer.hasRemaining()) {
+      ensureOpen();
+      if (!fill()) {
+        return -1;
+      }
+    }
+    return buffer.get() & BYTE_MASK;
+  }
+
+  @Override
+  public int read(final byte[] buf, final int off, final int len)
+      throws IOException {
+    if ((off < 0) || (len < 0) || (len > buf.length - off)) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (len == 0) {
+      return 0;
+    }
+    if (!buffer.hasRemaining()) {
+      ensureOpen();
+      if (!fill()) {
+        return -1;
+      }
+    }
+    final int n = Math.min(len, buffer.remaining());
+    buffer.get(buf, off, n);
+    return n;
+  }
+
+  @Override
+  public long skip(final long n) throws IOException {
+    long skipped = 0;
+    while (skipped < n) {
+      if (!buffer.hasRemaining()) {
+        ensureOpen();
+        if (!fill()) {
+          break;
+        }
+      }
+      final int k = (int) Math.min(n - skipped, buffer.remaining());
+      buffer.position(buffer.position() + k);
+      skipped += k;
+    }
+    return skipped;
+  }
+
+  @Override
+  public int available() throws IOException {
+    ensureOpen();
+    final int result = buffer.remaining();
+    if (in != null) {
+      final int n = in.available();
+      return (n > Integer.MAX_VALUE - result ? Integer.MAX_VALUE : result + n);
+    }
+    return result;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    buffer.limit(buffer.position());
+    try {
+      if (in != null) {
+        in.close();
+      } else if (channel != null) {
+        channel.close();
+      }
+    } finally {
+      in = null;
+      channel = null;
+    }
+  }
+
+  /**
+   * Reads exactly the specified number of bytes.
+   *
+   * @param buf
+   *     the byte array where to store the bytes read.
+   * @param off
+   *     the offset in {@code buf} at which the bytes are stored.
+   * @param len
+   *     the number of bytes to read.
+   * @throws EOFException
+   *     if this input reaches the end before reading {@code len} bytes.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  public void readFully(final byte[] buf, final int off, final int len)
+      throws IOException {
+    if ((off < 0) || (len < 0) || (len > buf.length - off)) {
+      throw new IndexOutOfBoundsException();
+    }
+    int done = 0;
+    while (done < len) {
+      require();
+      final int n = Math.min(len - done, buffer.remaining());
+      buffer.get(buf, off + done, n);
+      done += n;
+    }
+  }
+
+  /**
+   * Reads a null mark.
+   *
+   * @return {@code true} if the null mark indicates a null value.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see InputUtils#readNullMark(InputStream)
+   */
+  public boolean readNullMark() throws IOException {
+    require();
+    return buffer.get() != 0;
+  }
+
+  /**
+   * Reads a {@code boolean} value.
+   *
+   * @return the value read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see InputUtils#readBoolean(InputStream)
+   */
+  public boolean readBoolean() throws IOException {
+    require();
+    return buffer.get() != 0;
+  }
+
+  /**
+   * Reads a {@code byte} value.
+   *
+   * @return the value read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see InputUtils#readByte(InputStream)
+   */
+  public byte readByte() throws IOException {
+    require();
+    return buffer.get();
+  }
+
+  /**
+   * Reads a {@code char} value.
+   *
+   * @return the value read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see InputUtils#readChar(InputStream)
+   */
+  public char readChar() throws IOException {
+    return (char) readVarShort();
+  }
+
+  /**
+   * Reads a {@code short} value.
+   *
+   * @return the value read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see InputUtils#readShort(InputStream)
+   */
+  public short readShort() throws IOException {
+    if (buffer.remaining() >= Short.BYTES) {
+      return buffer.getShort();
+    }
+    final int ch1 = readByte() & BYTE_MASK;
+    final int ch2 = readByte() & BYTE_MASK;
+    return (short) ((ch1 << Byte.SIZE) | ch2);
+  }
+
+  /**
+   * Reads a {@code int} value.
+   *
+   * @return the value read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see InputUtils#readInt(InputStream)
+   */
+  public int readInt() throws IOException {
+    if (buffer.remaining() >= Integer.BYTES) {
+      return buffer.getInt();
+    }
+    int value = 0;
+    for (int i = 0; i < Integer.BYTES; ++i) {
+      value = (value << Byte.SIZE) | (readByte() & BYTE_MASK);
+    }
+    return value;
+  }
+
+  /**
+   * Reads a {@code long} value.
+   *
+   * @return the value read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see InputUtils#readLong(InputStream)
+   */
+  public long readLong() throws IOException {
+    if (buffer.remaining() >= Long.BYTES) {
+      return buffer.getLong();
+    }
+    long value = 0;
+    for (int i = 0; i < Long.BYTES; ++i) {
+      value = (value << Byte.SIZE) | (readByte() & BYTE_MASK);
+    }
+    return value;
+  }
+
+  /**
+   * Reads a {@code float} value.
+   *
+   * @return the value read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see InputUtils#readFloat(InputStream)
+   */
+  public float readFloat() throws IOException {
+    return Float.intBitsToFloat(readInt());
+  }
+
+  /**
+   * Reads a {@code double} value.
+   *
+   * @return the value read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see InputUtils#readDouble(InputStream)
+   */
+  public double readDouble() throws IOException {
+    return Double.longBitsToDouble(readLong());
+  }
+
+  /**
+   * Reads a variant length encoded {@code short} value.
+   *
+   * @return the value read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see InputUtils#readVarShort(InputStream)
+   */
+  public short readVarShort() throws IOException {
+    return (short) readVar(VAR_SHORT_LAST_SHIFT, VAR_SHORT_LAST_BYTE_MAX);
+  }
+
+  /**
+   * Reads a variant length encoded {@code int} value.
+   *
+   * @return the value read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see InputUtils#readVarInt(InputStream)
+   */
+  public int readVarInt() throws IOException {
+    return (int) readVar(VAR_INT_LAST_SHIFT, VAR_INT_LAST_BYTE_MAX);
+  }
+
+  /**
+   * Reads a variant length encoded {@code long} value.
+   *
+   * @return the value read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see InputUtils#readVarLong(InputStream)
+   */
+  public long readVarLong() throws IOException {
+    return readVar(VAR_LONG_LAST_SHIFT, VAR_LONG_LAST_BYTE_MAX);
+  }
+
+  private long readVar(final int lastShift, final int lastByteMax)
+      throws IOException {
+    int ch = readByte() & BYTE_MASK;
+    long value = ch & VAR_MASK;
+    for (int shift = VAR_SHIFT; (ch & SIGN_MASK) != 0; shift += VAR_SHIFT) {
+      ch = readByte() & BYTE_MASK;
+      if ((shift == lastShift) && (ch > lastByteMax)) {
+        throw new InvalidFormatException(
+            "Malformed variant length encoded integer.");
+      }
+      value |= (long) (ch & VAR_MASK) << shift;
+    }
+    return value;
+  }
+
+  /**
+   * Reads a {@code String} value.
+   *
+   * @param allowNull
+   *     whether the value to be read could be null.
+   * @return the value read, which may be null if {@code allowNull} is true.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see InputUtils#readString(InputStream, boolean)
+   */
+  @Nullable
+  public String readString(final boolean allowNull) throws IOException {
+    if (readNullMark()) {
+      if (allowNull) {
+        return null;
+      } else {
+        throw new UnexpectedNullValueException();
+      }
+    }
+    final int utfLen = readVarInt();
+    if (utfLen == 0) {
+      return StringUtils.EMPTY;
+    }
+    if (chars.length < utfLen) {
+      chars = new char[utfLen];
+    }
+    final int charCount;
+    if (buffer.hasArray() && buffer.remaining() >= utfLen) {
+      final int pos = buffer.position();
+      charCount = InputUtils.decodeUtf(buffer.array(), buffer.arrayOffset() + pos,
+          utfLen, chars);
+      buffer.position(pos + utfLen);
+    } else {
+      if (bytes.length < utfLen) {
+        bytes = new byte[utfLen];
+      }
+      readFully(bytes, 0, utfLen);
+      charCount = InputUtils.decodeUtf(bytes, 0, utfLen, chars);
+    }
+    return new String(chars, 0, charCount);
+  }
+
+  /**
+   * Reads the elements of a {@code short} array in bulk.
+   *
+   * <p>Only the elements are read; the null mark and the length of the array
+   * are not read.
+   *
+   * @param array
+   *     the array where to store the values read.
+   * @param off
+   *     the offset of the first element to store.
+   * @param len
+   *     the number of elements to read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  public void readShorts(final short[] array, final int off, final int len)
+      throws IOException {
+    int i = off;
+    final int end = off + len;
+    while (i < end) {
+      final int n = Math.min(end - i, buffer.remaining() / Short.BYTES);
+      if (n == 0) {
+        array[i++] = readShort();
+      } else {
+        buffer.asShortBuffer().get(array, i, n);
+        buffer.position(buffer.position() + n * Short.BYTES);
+        i += n;
+      }
+    }
+  }
+
+  /**
+   * Reads the elements of a {@code int} array in bulk.
+   *
+   * <p>Only the elements are read; the null mark and the length of the array
+   * are not read.
+   *
+   * @param array
+   *     the array where to store the values read.
+   * @param off
+   *     the offset of the first element to store.
+   * @param len
+   *     the number of elements to read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  public void readInts(final int[] array, final int off, final int len)
+      throws IOException {
+    int i = off;
+    final int end = off + len;
+    while (i < end) {
+      final int n = Math.min(end - i, buffer.remaining() / Integer.BYTES);
+      if (n == 0) {
+        array[i++] = readInt();
+      } else {
+        buffer.asIntBuffer().get(array, i, n);
+        buffer.position(buffer.position() + n * Integer.BYTES);
+        i += n;
+      }
+    }
+  }
+
+  /**
+   * Reads the elements of a {@code long} array in bulk.
+   *
+   * <p>Only the elements are read; the null mark and the length of the array
+   * are not read.
+   *
+   * @param array
+   *     the array where to store the values read.
+   * @param off
+   *     the offset of the first element to store.
+   * @param len
+   *     the number of elements to read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  public void readLongs(final long[] array, final int off, final int len)
+      throws IOException {
+    int i = off;
+    final int end = off + len;
+    while (i < end) {
+      final int n = Math.min(end - i, buffer.remaining() / Long.BYTES);
+      if (n == 0) {
+        array[i++] = readLong();
+      } else {
+        buffer.asLongBuffer().get(array, i, n);
+        buffer.position(buffer.position() + n * Long.BYTES);
+        i += n;
+      }
+    }
+  }
+
+  /**
+   * Reads the elements of a {@code float} array in bulk.
+   *
+   * <p>Only the elements are read; the null mark and the length of the array
+   * are not read.
+   *
+   * @param array
+   *     the array where to store the values read.
+   * @param off
+   *     the offset of the first element to store.
+   * @param len
+   *     the number of elements to read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  public void readFloats(final float[] array, final int off, final int len)
+      throws IOException {
+    int i = off;
+    final int end = off + len;
+    while (i < end) {
+      final int n = Math.min(end - i, buffer.remaining() / Float.BYTES);
+      if (n == 0) {
+        array[i++] = readFloat();
+      } else {
+        buffer.asFloatBuffer().get(array, i, n);
+        buffer.position(buffer.position() + n * Float.BYTES);
+        i += n;
+      }
+    }
+  }
+
+  /**
+   * Reads the elements of a {@code double} array in bulk.
+   *
+   * <p>Only the elements are read; the null mark and the length of the array
+   * are not read.
+   *
+   * @param array
+   *     the array where to store the values read.
+   * @param off
+   *     the offset of the first element to store.
+   * @param len
+   *     the number of elements to read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  public void readDoubles(final double[] array, final int off, final int len)
+      throws IOException {
+    int i = off;
+    final int end = off + len;
+    while (i < end) {
+      final int n = Math.min(end - i, buffer.remaining() / Double.BYTES);
+      if (n == 0) {
+        array[i++] = readDouble();
+      } else {
+        buffer.asDoubleBuffer().get(array, i, n);
+        buffer.position(buffer.position() + n * Double.BYTES);
+        i += n;
+      }
+    }
+  }
+}
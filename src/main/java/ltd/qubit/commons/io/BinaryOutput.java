@@ -0,0 +1,645 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import ltd.qubit.commons.io.error.AlreadyClosedException;
+
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * An {@link OutputStream} which encodes data in the binary format read by the
+ * {@link InputUtils} or {@link BinaryInput} into a {@link ByteBuffer}.
+ *
+ * <p>The data is encoded directly into a reusable heap or direct
+ * {@link ByteBuffer}, which is flushed to the underlying stream or channel
+ * when it is full. The primitive arrays are transferred in bulk, and strings
+ * are encoded without any intermediate buffer. If there is no underlying
+ * stream or channel, the buffer grows as needed and the written bytes could
+ * be retrieved by {@link #toByteArray()}.
+ *
+ * <p>The functions of {@link OutputUtils} detect this class and delegate to it,
+ * therefore all the {@link ltd.qubit.commons.io.serialize.BinarySerializer}s
+ * could write to it without any modification.
+ *
+ * @author Haixing Hu
+ * @see BinaryInput
+ */
+@NotThreadSafe
+public class BinaryOutput extends OutputStream {
+
+  public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The minimum size of the buffer, which must be able to hold the longest
+   * encoded primitive value.
+   */
+  public static final int MIN_BUFFER_SIZE = 16;
+
+  private static final String UNSUPPORTED_VAR_NUMBER  =
+      "The variable length integer format does not support negative value.";
+
+  private static final int VAR_MASK = 0x7F;
+  private static final int VAR_SHIFT = 7;
+  private static final int VAR_CONTINUE = 0x80;
+  private static final int MAX_VAR_LONG_BYTES = 9;
+  private static final int ONE_BYTE_CHAR_MAX = 0x007F;
+  private static final int TWO_BYTES_CHAR_MAX = 0x07FF;
+
+  private ByteBuffer buffer;
+
+  @Nullable
+  private OutputStream out;
+
+  @Nullable
+  private WritableByteChannel channel;
+
+  private final boolean growable;
+
+  private boolean closed = false;
+
+  /**
+   * Constructs a {@link BinaryOutput} writing to a growable heap buffer.
+   */
+  public BinaryOutput() {
+    this(DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Constructs a {@link BinaryOutput} writing to a growable heap buffer.
+   *
+   * @param initialCapacity
+   *     the initial capacity of the buffer.
+   */
+  public BinaryOutput(final int initialCapacity) {
+    requirePositive("initialCapacity", initialCapacity);
+    this.buffer = ByteBuffer.allocate(Math.max(initialCapacity, MIN_BUFFER_SIZE));
+    this.growable = true;
+  }
+
+  /**
+   * Constructs a {@link BinaryOutput} writing to an output stream, using a
+   * heap buffer of the default size.
+   *
+   * @param out
+   *     the underlying output stream.
+   */
+  public BinaryOutput(final OutputStream out) {
+    this(out, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Constructs a {@link BinaryOutput} writing to an output stream, using a
+   * heap buffer of the specified size.
+   *
+   * @param out
+   *     the underlying output stream.
+   * @param bufferSize
+   *     the size of the buffer, which will be increased to
+   *     {@link #MIN_BUFFER_SIZE} if it is less than that.
+   */
+  public BinaryOutput(final OutputStream out, final int bufferSize) {
+    requirePositive("bufferSize", bufferSize);
+    this.out = out;
+    this.buffer = ByteBuffer.allocate(Math.max(bufferSize, MIN_BUFFER_SIZE));
+    this.growable = false;
+  }
+
+  /**
+   * Constructs a {@link BinaryOutput} writing to a channel.
+   *
+   * @param channel
+   *     the underlying channel.
+   * @param bufferSize
+   *     the size of the buffer, which will be increased to
+   *     {@link #MIN_BUFFER_SIZE} if it is less than that.
+   * @param direct
+   *     whether to use a direct buffer.
+   */
+  public BinaryOutput(final WritableByteChannel channel, final int bufferSize,
+      final boolean direct) {
+    requirePositive("bufferSize", bufferSize);
+    this.channel = channel;
+    final int size = Math.max(bufferSize, MIN_BUFFER_SIZE);
+    this.buffer = (direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size));
+    this.growable = false;
+  }
+
+  /**
+   * Gets the number of bytes written but not yet flushed.
+   *
+   * <p>If there is no underlying stream or channel, it is the total number of
+   * bytes written.
+   *
+   * @return the number of bytes in the buffer.
+   */
+  public int size() {
+    return buffer.position();
+  }
+
+  /**
+   * Gets a copy of the bytes in the buffer.
+   *
+   * @return a copy of the bytes in the buffer.
+   * @see #size()
+   */
+  public byte[] toByteArray() {
+    final byte[] result = new byte[buffer.position()];
+    buffer.duplicate().flip().get(result);
+    return result;
+  }
+
+  /**
+   * Discards all the bytes in the buffer.
+   */
+  public void reset() {
+    buffer.clear();
+  }
+
+  private void ensureOpen() throws AlreadyClosedException {
+    if (closed) {
+      throw new AlreadyClosedException();
+    }
+  }
+
+  /**
+   * Ensures that the buffer has at least the specified number of free bytes.
+   *
+   * @param n
+   *     the number of bytes required, which must not be greater than the
+   *     capacity of the buffer unless the buffer is growable.
+   */
+  private void require(final int n) throws IOException {
+    if (buffer.remaining() < n) {
+      ensureOpen();
+      if (growable) {
+        final int capacity = buffer.capacity();
+        final int newCapacity = Math.max(capacity + (capacity >> 1),
+            buffer.position() + n);
+        buffer = ByteBuffer.wrap(Arrays.copyOf(buffer.array(), newCapacity))
+                           .position(buffer.position());
+      } else {
+        drain();
+      }
+    }
+  }
+
+  private void drain() throws IOException {
+    if (growable || buffer.position() == 0) {
+      return;
+    }
+    buffer.flip();
+    try {
+      if (out != null) {
+        out.write(buffer.array(), buffer.arrayOffset(), buffer.limit());
+      } else if (channel != null) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+    } finally {
+      buffer.clear();
+    }
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    require(1);
+    buffer.put((byte) b);
+  }
+
+  @Override
+  public void write(final byte[] buf, final int off, final int len)
+      throws IOException {
+    if ((off < 0) || (len < 0) || (len > buf.length - off)) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (len <= buffer.remaining()) {
+      buffer.put(buf, off, len);
+    } else if (growable) {
+      require(len);
+      buffer.put(buf, off, len);
+    } else {
+      ensureOpen();
+      drain();
+      if (len < buffer.capacity()) {
+        buffer.put(buf, off, len);
+      } else if (out != null) {
+        out.write(buf, off, len);
+      } else {
+        final ByteBuffer src = ByteBuffer.wrap(buf, off, len);
+        while (src.hasRemaining()) {
+          channel.write(src);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    ensureOpen();
+    drain();
+    if (out != null) {
+      out.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    try {
+      drain();
+      if (out != null) {
+        out.close();
+      } else if (channel != null) {
+        channel.close();
+      }
+    } finally {
+      closed = true;
+      out = null;
+      channel = null;
+    }
+  }
+
+  /**
+   * Writes a null mark.
+   *
+   * @param object
+   *     the object to be written.
+   * @return {@code true} if the object is null.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see OutputUtils#writeNullMark(OutputStream, Object)
+   */
+  public boolean writeNullMark(@Nullable final Object object) throws IOException {
+    require(1);
+    buffer.put((byte) (object == null ? 1 : 0));
+    return (object == null);
+  }
+
+  /**
+   * Writes a {@code boolean} value.
+   *
+   * @param value
+   *     the value to be written.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see OutputUtils#writeBoolean(OutputStream, boolean)
+   */
+  public void writeBoolean(final boolean value) throws IOException {
+    require(1);
+    buffer.put((byte) (value ? 1 : 0));
+  }
+
+  /**
+   * Writes a {@code byte} value.
+   *
+   * @param value
+   *     the value to be written.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see OutputUtils#writeByte(OutputStream, byte)
+   */
+  public void writeByte(final byte value) throws IOException {
+    require(1);
+    buffer.put(value);
+  }
+
+  /**
+   * Writes a {@code char} value.
+   *
+   * @param value
+   *     the value to be written.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see OutputUtils#writeChar(OutputStream, char)
+   */
+  public void writeChar(final char value) throws IOException {
+    writeVarShort((short) value);
+  }
+
+  /**
+   * Writes a {@code short} value.
+   *
+   * @param value
+   *     the value to be written.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see OutputUtils#writeShort(OutputStream, short)
+   */
+  public void writeShort(final short value) throws IOException {
+    require(Short.BYTES);
+    buffer.putShort(value);
+  }
+
+  /**
+   * Writes a {@code int} value.
+   *
+   * @param value
+   *     the value to be written.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see OutputUtils#writeInt(OutputStream, int)
+   */
+  public void writeInt(final int value) throws IOException {
+    require(Integer.BYTES);
+    buffer.putInt(value);
+  }
+
+  /**
+   * Writes a {@code long} value.
+   *
+   * @param value
+   *     the value to be written.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see OutputUtils#writeLong(OutputStream, long)
+   */
+  public void writeLong(final long value) throws IOException {
+    require(Long.BYTES);
+    buffer.putLong(value);
+  }
+
+  /**
+   * Writes a {@code float} value.
+   *
+   * @param value
+   *     the value to be written.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see OutputUtils#writeFloat(OutputStream, float)
+   */
+  public void writeFloat(final float value) throws IOException {
+    writeInt(Float.floatToIntBits(value));
+  }
+
+  /**
+   * Writes a {@code double} value.
+   *
+   * @param value
+   *     the value to be written.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see OutputUtils#writeDouble(OutputStream, double)
+   */
+  public void writeDouble(final double value) throws IOException {
+    writeLong(Double.doubleToLongBits(value));
+  }
+
+  /**
+   * Writes a variant length encoded {@code short} value.
+   *
+   * @param value
+   *     the value to be written, which must not be negative.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see OutputUtils#writeVarShort(OutputStream, short)
+   */
+  public void writeVarShort(final short value) throws IOException {
+    writeVarLong(value);
+  }
+
+  /**
+   * Writes a variant length encoded {@code int} value.
+   *
+   * @param value
+   *     the value to be written, which must not be negative.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see OutputUtils#writeVarInt(OutputStream, int)
+   */
+  public void writeVarInt(final int value) throws IOException {
+    writeVarLong(value);
+  }
+
+  /**
+   * Writes a variant length encoded {@code long} value.
+   *
+   * @param value
+   *     the value to be written, which must not be negative.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see OutputUtils#writeVarLong(OutputStream, long)
+   */
+  public void writeVarLong(final long value) throws IOException {
+    if (value < 0) {
+      throw new IllegalArgumentException(UNSUPPORTED_VAR_NUMBER);
+    }
+    require(MAX_VAR_LONG_BYTES);
+    long v = value;
+    while (v > VAR_MASK) {
+      buffer.put((byte) ((v & VAR_MASK) | VAR_CONTINUE));
+      v >>>= VAR_SHIFT;
+    }
+    buffer.put((byte) v);
+  }
+
+  /**
+   * Writes a {@code String} value.
+   *
+   * @param value
+   *     the value to be written, which may be null.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see OutputUtils#writeString(OutputStream, String)
+   */
+  public void writeString(@Nullable final String value) throws IOException {
+    if (writeNullMark(value)) {
+      return;
+    }
+    final int strlen = value.length();
+    int utfLen = 0;
+    for (int i = 0; i < strlen; ++i) {
+      utfLen += utfLength(value.charAt(i));
+    }
+    writeVarInt(utfLen);
+    for (int i = 0; i < strlen; ) {
+      if (buffer.remaining() < 3) {
+        require(3);
+      }
+      // encode as many characters as the buffer could hold without checking
+      final int end = Math.min(strlen, i + buffer.remaining() / 3);
+      for (; i < end; ++i) {
+        final int ch = value.charAt(i);
+        // stop checkstyle: MagicNumberCheck
+        if ((ch >= 0x0001) && (ch <= ONE_BYTE_CHAR_MAX)) {
+          buffer.put((byte) ch);
+        } else if (ch > TWO_BYTES_CHAR_MAX) {
+          buffer.put((byte) (0xE0 | ((ch >> 12) & 0x0F)));
+          buffer.put((byte) (0x80 | ((ch >> 6) & 0x3F)));
+          buffer.put((byte) (0x80 | (ch & 0x3F)));
+        } else {
+          buffer.put((byte) (0xC0 | ((ch >> 6) & 0x1F)));
+          buffer.put((byte) (0x80 | (ch & 0x3F)));
+        }
+        // resume checkstyle: MagicNumberCheck
+      }
+    }
+  }
+
+  private static int utfLength(final char ch) {
+    if ((ch >= 0x0001) && (ch <= ONE_BYTE_CHAR_MAX)) {
+      return 1;
+    } else if (ch > TWO_BYTES_CHAR_MAX) {
+      return 3;
+    } else {
+      return 2;
+    }
+  }
+
+  /**
+   * Writes the elements of a {@code short} array in bulk.
+   *
+   * <p>Only the elements are written; the null mark and the length of the
+   * array are not written.
+   *
+   * @param array
+   *     the array to be written.
+   * @param off
+   *     the offset of the first element to be written.
+   * @param len
+   *     the number of elements to be written.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  public void writeShorts(final short[] array, final int off, final int len)
+      throws IOException {
+    int i = off;
+    final int end = off + len;
+    while (i < end) {
+      require(Short.BYTES);
+      final int n = Math.min(end - i, buffer.remaining() / Short.BYTES);
+      buffer.asShortBuffer().put(array, i, n);
+      buffer.position(buffer.position() + n * Short.BYTES);
+      i += n;
+    }
+  }
+
+  /**
+   * Writes the elements of a {@code int} array in bulk.
+   *
+   * <p>Only the elements are written; the null mark and the length of the
+   * array are not written.
+   *
+   * @param array
+   *     the array to be written.
+   * @param off
+   *     the offset of the first element to be written.
+   * @param len
+   *     the number of elements to be written.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  public void writeInts(final int[] array, final int off, final int len)
+      throws IOException {
+    int i = off;
+    final int end = off + len;
+    while (i < end) {
+      require(Integer.BYTES);
+      final int n = Math.min(end - i, buffer.remaining() / Integer.BYTES);
+      buffer.asIntBuffer().put(array, i, n);
+      buffer.position(buffer.position() + n * Integer.BYTES);
+      i += n;
+    }
+  }
+
+  /**
+   * Writes the elements of a {@code long} array in bulk.
+   *
+   * <p>Only the elements are written; the null mark and the length of the
+   * array are not written.
+   *
+   * @param array
+   *     the array to be written.
+   * @param off
+   *     the offset of the first element to be written.
+   * @param len
+   *     the number of elements to be written.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  public void writeLongs(final long[] array, final int off, final int len)
+      throws IOException {
+    int i = off;
+    final int end = off + len;
+    while (i < end) {
+      require(Long.BYTES);
+      final int n = Math.min(end - i, buffer.remaining() / Long.BYTES);
+      buffer.asLongBuffer().put(array, i, n);
+      buffer.position(buffer.position() + n * Long.BYTES);
+      i += n;
+    }
+  }
+
+  /**
+   * Writes the elements of a {@code float} array in bulk.
+   *
+   * <p>Only the elements are written; the null mark and the length of the
+   * array are not written.
+   *
+   * @param array
+   *     the array to be written.
+   * @param off
+   *     the offset of the first element to be written.
+   * @param len
+   *     the number of elements to be written.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  public void writeFloats(final float[] array, final int off, final int len)
+      throws IOException {
+    int i = off;
+    final int end = off + len;
+    while (i < end) {
+      require(Float.BYTES);
+      final int n = Math.min(end - i, buffer.remaining() / Float.BYTES);
+      buffer.asFloatBuffer().put(array, i, n);
+      buffer.position(buffer.position() + n * Float.BYTES);
+      i += n;
+    }
+  }
+
+  /**
+   * Writes the elements of a {@code double} array in bulk.
+   *
+   * <p>Only the elements are written; the null mark and the length of the
+   * array are not written.
+   *
+   * @param array
+   *     the array to be written.
+   * @param off
+   *     the offset of the first element to be written.
+   * @param len
+   *     the number of elements to be written.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  public void writeDoubles(final double[] array, final int off, final int len)
+      throws IOException {
+    int i = off;
+    final int end = off + len;
+    while (i < end) {
+      require(Double.BYTES);
+      final int n = Math.min(end - i, buffer.remaining() / Double.BYTES);
+      buffer.asDoubleBuffer().put(array, i, n);
+      buffer.position(buffer.position() + n * Double.BYTES);
+      i += n;
+    }
+  }
+}
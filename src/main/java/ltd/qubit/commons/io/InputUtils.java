@@ -117,6 +117,10 @@ public final class InputUtils {
    */
   public static void readFully(final InputStream in, final byte[] buf,
       final int off, final int len) throws IOException {
+    if (in instanceof BinaryInput) {
+      ((BinaryInput) in).readFully(buf, off, len);
+      return;
+    }
     int n = 0;
     while (n < len) {
       final int count = in.read(buf, off + n, len - n);
@@ -128,6 +132,9 @@ public final class InputUtils {
   }
 
   public static boolean readNullMark(final InputStream in) throws IOException {
+    if (in instanceof BinaryInput) {
+      return ((BinaryInput) in).readNullMark();
+    }
     final int ch = in.read();
     if (ch < 0) {
       throw new EOFException();
@@ -289,6 +296,9 @@ public final class InputUtils {
    *     if any I/O error occurs.
    */
   public static short readShort(final InputStream in) throws IOException {
+    if (in instanceof BinaryInput) {
+      return ((BinaryInput) in).readShort();
+    }
     final int ch1 = in.read();
     final int ch2 = in.read();
     if ((ch1 | ch2) < 0) {
@@ -352,6 +362,9 @@ public final class InputUtils {
    *     if any I/O error occurs.
    */
   public static short readVarShort(final InputStream in) throws IOException {
+    if (in instanceof BinaryInput) {
+      return ((BinaryInput) in).readVarShort();
+    }
     int ch = in.read();
     if (ch < 0) {
       throw new EOFException();
@@ -420,6 +433,9 @@ public final class InputUtils {
    *     if any I/O error occurs.
    */
   public static int readInt(final InputStream in) throws IOException {
+    if (in instanceof BinaryInput) {
+      return ((BinaryInput) in).readInt();
+    }
     final int ch1 = in.read();
     final int ch2 = in.read();
     final int ch3 = in.read();
@@ -489,6 +505,9 @@ public final class InputUtils {
    *     if any I/O error occurs.
    */
   public static int readVarInt(final InputStream in) throws IOException {
+    if (in instanceof BinaryInput) {
+      return ((BinaryInput) in).readVarInt();
+    }
     int ch = in.read();
     if (ch < 0) {
       throw new EOFException();
@@ -556,6 +575,9 @@ public final class InputUtils {
    *     if any I/O error occurs.
    */
   public static long readLong(final InputStream in) throws IOException {
+    if (in instanceof BinaryInput) {
+      return ((BinaryInput) in).readLong();
+    }
     final byte[] buffer = new byte[LONG_BYTES];
     readFully(in, buffer, 0, LONG_BYTES);
     // stop checkstyle: MagicNumberCheck
@@ -627,6 +649,9 @@ public final class InputUtils {
    *     if any I/O error occurs.
    */
   public static long readVarLong(final InputStream in) throws IOException {
+    if (in instanceof BinaryInput) {
+      return ((BinaryInput) in).readVarLong();
+    }
     int ch = in.read();
     if (ch < 0) {
       throw new EOFException();
@@ -798,7 +823,9 @@ public final class InputUtils {
    */
   public static String readString(final InputStream in,
       final boolean allowNull) throws IOException {
-    // stop checkstyle: MagicNumberCheck
+    if (in instanceof BinaryInput) {
+      return ((BinaryInput) in).readString(allowNull);
+    }
     if (readNullMark(in)) {
       if (allowNull) {
         return null;
@@ -812,24 +839,47 @@ public final class InputUtils {
     }
     final byte[] byteBuffer = new byte[utfLen];
     final char[] charBuffer = new char[utfLen];
+    readFully(in, byteBuffer, 0, utfLen);
+    final int charCount = decodeUtf(byteBuffer, 0, utfLen, charBuffer);
+    return new String(charBuffer, 0, charCount);
+  }
+
+  /**
+   * Decodes the bytes of a string encoded in the modified UTF-8 format.
+   *
+   * @param bytes
+   *     the array of the bytes to be decoded.
+   * @param off
+   *     the offset of the first byte to be decoded.
+   * @param utfLen
+   *     the number of bytes to be decoded.
+   * @param chars
+   *     the array where to store the decoded characters, whose length must be
+   *     at least {@code utfLen}.
+   * @return the number of decoded characters.
+   * @throws UTFDataFormatException
+   *     if the bytes are not correctly encoded.
+   */
+  static int decodeUtf(final byte[] bytes, final int off, final int utfLen,
+      final char[] chars) throws UTFDataFormatException {
+    // stop checkstyle: MagicNumberCheck
     int ch;
     int ch2;
     int ch3;
     int count = 0;
     int charCount = 0;
-    readFully(in, byteBuffer, 0, utfLen);
     // optimization for ASCII string
     while (count < utfLen) {
-      ch = byteBuffer[count] & BYTE_MASK;
+      ch = bytes[off + count] & BYTE_MASK;
       if (ch > 127) {
         break;
       }
       count++;
-      charBuffer[charCount++] = (char) ch;
+      chars[charCount++] = (char) ch;
     }
     // decode the remained bytes
     while (count < utfLen) {
-      ch = byteBuffer[count] & BYTE_MASK;
+      ch = bytes[off + count] & BYTE_MASK;
       switch (ch >> 4) {
         case 0:
         case 1:
@@ -841,7 +891,7 @@ public final class InputUtils {
         case 7:
           /* 0xxxxxxx */
           count++;
-          charBuffer[charCount++] = (char) ch;
+          chars[charCount++] = (char) ch;
           break;
         case 12:
         case 13:
@@ -851,12 +901,12 @@ public final class InputUtils {
             throw new UTFDataFormatException(
                 "Malformed UTF-8 input: partial character at end. ");
           }
-          ch2 = byteBuffer[count - 1];
+          ch2 = bytes[off + count - 1];
           if ((ch2 & 0xC0) != 0x80) {
             throw new UTFDataFormatException(
                 "Malformed UTF-8 input around byte " + count);
           }
-          charBuffer[charCount++] = (char) (((ch & 0x1F) << 6)
+          chars[charCount++] = (char) (((ch & 0x1F) << 6)
               | (ch2 & 0x3F));
           break;
         case 14:
@@ -866,13 +916,13 @@ public final class InputUtils {
             throw new UTFDataFormatException(
                 "Malformed UTF-8 input: partial character at end. ");
           }
-          ch2 = byteBuffer[count - 2];
-          ch3 = byteBuffer[count - 1];
+          ch2 = bytes[off + count - 2];
+          ch3 = bytes[off + count - 1];
           if (((ch2 & 0xC0) != 0x80) || ((ch3 & 0xC0) != 0x80)) {
             throw new UTFDataFormatException(
                 "Malformed UTF-8 input around byte " + (count - 1));
           }
-          charBuffer[charCount++] = (char) (((ch & 0x0F) << 12)
+          chars[charCount++] = (char) (((ch & 0x0F) << 12)
               | ((ch2 & 0x3F) << 6)
               | (ch3 & 0x3F));
           break;
@@ -883,7 +933,7 @@ public final class InputUtils {
       }
     }
     // the number of chars produced may be less than utfLen
-    return new String(charBuffer, 0, charCount);
+    return charCount;
     // resume checkstyle: MagicNumberCheck
   }
 
@@ -1645,8 +1695,12 @@ public final class InputUtils {
       } else {
         result = buffer;
       }
-      for (int i = 0; i < n; ++i) {
-        result[i] = readShort(in);
+      if (in instanceof BinaryInput) {
+        ((BinaryInput) in).readShorts(result, 0, n);
+      } else {
+        for (int i = 0; i < n; ++i) {
+          result[i] = readShort(in);
+        }
       }
       return result;
     }
@@ -1991,8 +2045,12 @@ public final class InputUtils {
       } else {
         result = buffer;
       }
-      for (int i = 0; i < n; ++i) {
-        result[i] = readInt(in);
+      if (in instanceof BinaryInput) {
+        ((BinaryInput) in).readInts(result, 0, n);
+      } else {
+        for (int i = 0; i < n; ++i) {
+          result[i] = readInt(in);
+        }
       }
       return result;
     }
@@ -2334,8 +2392,12 @@ public final class InputUtils {
       } else {
         result = buffer;
       }
-      for (int i = 0; i < n; ++i) {
-        result[i] = readLong(in);
+      if (in instanceof BinaryInput) {
+        ((BinaryInput) in).readLongs(result, 0, n);
+      } else {
+        for (int i = 0; i < n; ++i) {
+          result[i] = readLong(in);
+        }
       }
       return result;
     }
@@ -2679,8 +2741,12 @@ public final class InputUtils {
       } else {
         result = buffer;
       }
-      for (int i = 0; i < n; ++i) {
-        result[i] = readFloat(in);
+      if (in instanceof BinaryInput) {
+        ((BinaryInput) in).readFloats(result, 0, n);
+      } else {
+        for (int i = 0; i < n; ++i) {
+          result[i] = readFloat(in);
+        }
       }
       return result;
     }
@@ -2849,8 +2915,12 @@ public final class InputUtils {
       } else {
         result = buffer;
       }
-      for (int i = 0; i < n; ++i) {
-        result[i] = readDouble(in);
+      if (in instanceof BinaryInput) {
+        ((BinaryInput) in).readDoubles(result, 0, n);
+      } else {
+        for (int i = 0; i < n; ++i) {
+          result[i] = readDouble(in);
+        }
       }
       return result;
     }
@@ -0,0 +1,222 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import ltd.qubit.commons.io.error.InvalidSeekPositionException;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * A {@link BinaryInput} which reads a file mapped into memory.
+ *
+ * <p>The file is mapped with {@link FileChannel#map(MapMode, long, long)} when
+ * this object is constructed, and the data is decoded directly from the
+ * mapping, without being copied into any intermediate buffer. Since a single
+ * mapping could not be larger than 2 GB, a larger file is mapped as several
+ * consecutive chunks, and the values crossing the boundary of two chunks are
+ * decoded transparently.
+ *
+ * <p>This class supports random access via the {@link Seekable} interface, for
+ * example, to jump to the offsets of the records stored in an index. The
+ * objects could be read by any registered
+ * {@link ltd.qubit.commons.io.serialize.BinarySerializer} via
+ * {@link #readObject(Class, boolean)}.
+ *
+ * <p><b>NOTE</b>: the mapping is released by the garbage collector after this
+ * object and all the buffers derived from it become unreachable; closing this
+ * object only drops the references to the mapping.
+ *
+ * @author Haixing Hu
+ */
+@NotThreadSafe
+public class MappedBinaryInput extends BinaryInput implements Seekable {
+
+  /**
+   * The default size of the chunks of the mapping, which is 1 GB.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 1 << 30;
+
+  private final long length;
+  private final int chunkSize;
+  @Nullable
+  private ByteBuffer[] chunks;
+  private int chunkIndex;
+
+  /**
+   * Maps a file into memory.
+   *
+   * @param file
+   *     the file to be mapped.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  public MappedBinaryInput(final File file) throws IOException {
+    this(file.toPath(), DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Maps a file into memory.
+   *
+   * @param path
+   *     the path of the file to be mapped.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  public MappedBinaryInput(final Path path) throws IOException {
+    this(path, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Maps a file into memory.
+   *
+   * @param path
+   *     the path of the file to be mapped.
+   * @param chunkSize
+   *     the maximum size of each chunk of the mapping.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  public MappedBinaryInput(final Path path, final int chunkSize) throws IOException {
+    super(ByteBuffer.allocate(0));
+    requireNonNull("path", path);
+    this.chunkSize = requirePositive("chunkSize", chunkSize);
+    try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      this.length = channel.size();
+      final int n = (int) Math.max(1, (length + chunkSize - 1) / chunkSize);
+      this.chunks = new ByteBuffer[n];
+      for (int i = 0; i < n; ++i) {
+        final long offset = (long) i * chunkSize;
+        final long size = Math.min(chunkSize, length - offset);
+        // the mapping remains valid after the channel is closed
+        chunks[i] = channel.map(MapMode.READ_ONLY, offset, size);
+      }
+    }
+    this.chunkIndex = 0;
+    this.buffer = chunks[0];
+  }
+
+  @Override
+  protected boolean fill() {
+    if ((chunks == null) || (chunkIndex + 1 >= chunks.length)) {
+      return false;
+    }
+    buffer = chunks[++chunkIndex];
+    buffer.position(0);
+    return buffer.hasRemaining();
+  }
+
+  @Override
+  public long length() {
+    return length;
+  }
+
+  @Override
+  public long position() throws IOException {
+    ensureOpen();
+    return (long) chunkIndex * chunkSize + buffer.position();
+  }
+
+  @Override
+  public void seek(final long pos) throws IOException {
+    ensureOpen();
+    if ((pos < 0) || (pos > length)) {
+      throw new InvalidSeekPositionException(pos);
+    }
+    int index = (int) (pos / chunkSize);
+    int offset = (int) (pos % chunkSize);
+    if (index == chunks.length) {
+      // seek to the end of a file whose length is a multiple of the chunk size
+      --index;
+      offset = chunkSize;
+    }
+    chunkIndex = index;
+    buffer = chunks[index];
+    buffer.position(offset);
+  }
+
+  @Override
+  public long skip(final long n) throws IOException {
+    if (n <= 0) {
+      return 0;
+    }
+    final long pos = position();
+    final long skipped = Math.min(n, length - pos);
+    seek(pos + skipped);
+    return skipped;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return (int) Math.min(Integer.MAX_VALUE, length - position());
+  }
+
+  /**
+   * Reads an object from the current position, using the
+   * {@link ltd.qubit.commons.io.serialize.BinarySerializer} registered for
+   * its class.
+   *
+   * @param <T>
+   *     the type of the object.
+   * @param objClass
+   *     the class of the object.
+   * @param allowNull
+   *     whether the object to be read could be null.
+   * @return the object read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   * @see InputUtils#readObject(Class, java.io.InputStream, boolean)
+   */
+  @Nullable
+  public <T> T readObject(final Class<T> objClass, final boolean allowNull)
+      throws IOException {
+    return InputUtils.readObject(objClass, this, allowNull);
+  }
+
+  /**
+   * Reads an object from the specified position, using the
+   * {@link ltd.qubit.commons.io.serialize.BinarySerializer} registered for
+   * its class.
+   *
+   * @param <T>
+   *     the type of the object.
+   * @param objClass
+   *     the class of the object.
+   * @param pos
+   *     the position where the object is stored.
+   * @param allowNull
+   *     whether the object to be read could be null.
+   * @return the object read.
+   * @throws IOException
+   *     if any I/O error occurs.
+   */
+  @Nullable
+  public <T> T readObject(final Class<T> objClass, final long pos,
+      final boolean allowNull) throws IOException {
+    seek(pos);
+    return InputUtils.readObject(objClass, this, allowNull);
+  }
+
+  @Override
+  public void close() throws IOException {
+    super.close();
+    chunks = null;
+  }
+}
@@ -56,6 +56,9 @@ public final class OutputUtils {
 
   public static boolean writeNullMark(final OutputStream out,
       final Object object) throws IOException {
+    if (out instanceof BinaryOutput) {
+      return ((BinaryOutput) out).writeNullMark(object);
+    }
     if (object == null) {
       out.write(1);
       return true;
@@ -108,6 +111,10 @@ public final class OutputUtils {
 
   public static void writeShort(final OutputStream out, final short value)
       throws IOException {
+    if (out instanceof BinaryOutput) {
+      ((BinaryOutput) out).writeShort(value);
+      return;
+    }
     out.write(value >>> 8);
     out.write(value);
   }
@@ -136,6 +143,10 @@ public final class OutputUtils {
 
   public static void writeInt(final OutputStream out, final int value)
       throws IOException {
+    if (out instanceof BinaryOutput) {
+      ((BinaryOutput) out).writeInt(value);
+      return;
+    }
     out.write(value >>> 24);
     out.write(value >>> 16);
     out.write(value >>> 8);
@@ -151,6 +162,10 @@ public final class OutputUtils {
 
   public static void writeVarInt(final OutputStream out, final int value)
       throws IOException {
+    if (out instanceof BinaryOutput) {
+      ((BinaryOutput) out).writeVarInt(value);
+      return;
+    }
     if (value < 0) {
       throw new IllegalArgumentException(UNSUPPORTED_VAR_NUMBER);
     }
@@ -174,6 +189,10 @@ public final class OutputUtils {
 
   public static void writeLong(final OutputStream out, final long value)
       throws IOException {
+    if (out instanceof BinaryOutput) {
+      ((BinaryOutput) out).writeLong(value);
+      return;
+    }
     final byte[] buffer = new byte[8];
     buffer[0] = (byte) (value >>> 56);
     buffer[1] = (byte) (value >>> 48);
@@ -195,6 +214,10 @@ public final class OutputUtils {
 
   public static void writeVarLong(final OutputStream out, final long value)
       throws IOException {
+    if (out instanceof BinaryOutput) {
+      ((BinaryOutput) out).writeVarLong(value);
+      return;
+    }
     if (value < 0) {
       throw new IllegalArgumentException(UNSUPPORTED_VAR_NUMBER);
     }
@@ -245,6 +268,10 @@ public final class OutputUtils {
 
   public static void writeString(final OutputStream out,
       @Nullable final String value) throws IOException {
+    if (out instanceof BinaryOutput) {
+      ((BinaryOutput) out).writeString(value);
+      return;
+    }
     if (! writeNullMark(out, value)) {
       final int strlen = value.length();
       if (strlen == 0) {
@@ -426,8 +453,12 @@ public final class OutputUtils {
       @Nullable final short[] array) throws IOException {
     if (! writeNullMark(out, array)) {
       writeVarInt(out, array.length);
-      for (final short value : array) {
-        writeShort(out, value);
+      if (out instanceof BinaryOutput) {
+        ((BinaryOutput) out).writeShorts(array, 0, array.length);
+      } else {
+        for (final short value : array) {
+          writeShort(out, value);
+        }
       }
     }
   }
@@ -438,6 +469,10 @@ public final class OutputUtils {
       throw new IndexOutOfBoundsException();
     }
     writeVarInt(out, len);
+    if (out instanceof BinaryOutput) {
+      ((BinaryOutput) out).writeShorts(array, off, len);
+      return;
+    }
     final int end = off + len;
     for (int i = off; i < end; ++i) {
       writeShort(out, array[i]);
@@ -494,8 +529,12 @@ public final class OutputUtils {
       @Nullable final int[] array) throws IOException {
     if (! writeNullMark(out, array)) {
       writeVarInt(out, array.length);
-      for (final int value : array) {
-        writeInt(out, value);
+      if (out instanceof BinaryOutput) {
+        ((BinaryOutput) out).writeInts(array, 0, array.length);
+      } else {
+        for (final int value : array) {
+          writeInt(out, value);
+        }
       }
     }
   }
@@ -506,6 +545,10 @@ public final class OutputUtils {
       throw new IndexOutOfBoundsException();
     }
     writeVarInt(out, len);
+    if (out instanceof BinaryOutput) {
+      ((BinaryOutput) out).writeInts(array, off, len);
+      return;
+    }
     final int end = off + len;
     for (int i = off; i < end; ++i) {
       writeInt(out, array[i]);
@@ -562,8 +605,12 @@ public final class OutputUtils {
       @Nullable final long[] array) throws IOException {
     if (! writeNullMark(out, array)) {
       writeVarInt(out, array.length);
-      for (final long value : array) {
-        writeLong(out, value);
+      if (out instanceof BinaryOutput) {
+        ((BinaryOutput) out).writeLongs(array, 0, array.length);
+      } else {
+        for (final long value : array) {
+          writeLong(out, value);
+        }
       }
     }
   }
@@ -574,6 +621,10 @@ public final class OutputUtils {
       throw new IndexOutOfBoundsException();
     }
     writeVarInt(out, len);
+    if (out instanceof BinaryOutput) {
+      ((BinaryOutput) out).writeLongs(array, off, len);
+      return;
+    }
     final int end = off + len;
     for (int i = off; i < end; ++i) {
       writeLong(out, array[i]);
@@ -630,8 +681,12 @@ public final class OutputUtils {
       @Nullable final float[] array) throws IOException {
     if (! writeNullMark(out, array)) {
       writeVarInt(out, array.length);
-      for (final float value : array) {
-        writeFloat(out, value);
+      if (out instanceof BinaryOutput) {
+        ((BinaryOutput) out).writeFloats(array, 0, array.length);
+      } else {
+        for (final float value : array) {
+          writeFloat(out, value);
+        }
       }
     }
   }
@@ -642,6 +697,10 @@ public final class OutputUtils {
       throw new IndexOutOfBoundsException();
     }
     writeVarInt(out, len);
+    if (out instanceof BinaryOutput) {
+      ((BinaryOutput) out).writeFloats(array, off, len);
+      return;
+    }
     final int end = off + len;
     for (int i = off; i < end; ++i) {
       writeFloat(out, array[i]);
@@ -664,8 +723,12 @@ public final class OutputUtils {
       @Nullable final double[] array) throws IOException {
     if (! writeNullMark(out, array)) {
       writeVarInt(out, array.length);
-      for (final double value : array) {
-        writeDouble(out, value);
+      if (out instanceof BinaryOutput) {
+        ((BinaryOutput) out).writeDoubles(array, 0, array.length);
+      } else {
+        for (final double value : array) {
+          writeDouble(out, value);
+        }
       }
     }
   }
@@ -676,6 +739,10 @@ public final class OutputUtils {
       throw new IndexOutOfBoundsException();
     }
     writeVarInt(out, len);
+    if (out instanceof BinaryOutput) {
+      ((BinaryOutput) out).writeDoubles(array, off, len);
+      return;
+    }
     final int end = off + len;
     for (int i = off; i < end; ++i) {
       writeDouble(out, array[i]);
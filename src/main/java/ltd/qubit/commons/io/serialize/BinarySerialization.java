@@ -8,10 +8,6 @@
 ////////////////////////////////////////////////////////////////////////////////
 package ltd.qubit.commons.io.serialize;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -23,17 +19,26 @@ import java.math.BigInteger;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nullable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import ltd.qubit.commons.io.BinaryInput;
+import ltd.qubit.commons.io.BinaryOutput;
 import ltd.qubit.commons.io.FileUtils;
 import ltd.qubit.commons.io.IoUtils;
+import ltd.qubit.commons.io.MappedBinaryInput;
 import ltd.qubit.commons.io.error.SerializationException;
 import ltd.qubit.commons.io.serialize.predefined.BigDecimalBinarySerializer;
 import ltd.qubit.commons.io.serialize.predefined.BigIntegerBinarySerializer;
@@ -72,6 +77,12 @@ public final class BinarySerialization {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(BinarySerialization.class);
 
+  /**
+   * The initial capacity of the buffer used to serialize an object to a byte
+   * array.
+   */
+  private static final int INITIAL_BYTES_CAPACITY = 256;
+
   private static final Map<ClassKey, BinarySerializer> REGISTRY = new ConcurrentHashMap<>();
 
   // register the binary serializer for classes of common data types
@@ -99,6 +110,43 @@ public final class BinarySerialization {
     REGISTRY.put(new ClassKey(double[].class), DoubleArrayBinarySerializer.INSTANCE);
   }
 
+  /**
+   * The resolved serializers of classes.
+   *
+   * <p>The resolution of a class is computed only once: it initializes the
+   * class, so that the register code in its static initialization block could
+   * be run, and then looks up the serializer registered for the class, its
+   * superclasses and its interfaces. Since the registration of a new
+   * serializer may change the result of resolution, each resolution records
+   * the generation of the registry it was computed from, and is recomputed if
+   * the registry has been changed since then.
+   */
+  private static final ClassValue<Resolution> RESOLUTIONS = new ClassValue<>() {
+    @Override
+    protected Resolution computeValue(final Class<?> type) {
+      initialize(type);
+      final int generation = GENERATION.get();
+      return new Resolution(generation, resolve(type));
+    }
+  };
+
+  /**
+   * The generation of the registry, which is increased each time a serializer
+   * is registered.
+   */
+  private static final AtomicInteger GENERATION = new AtomicInteger();
+
+  private static final class Resolution {
+    final int generation;
+    @Nullable
+    final BinarySerializer serializer;
+
+    Resolution(final int generation, @Nullable final BinarySerializer serializer) {
+      this.generation = generation;
+      this.serializer = serializer;
+    }
+  }
+
   /**
    * Registers a binary serializer for a class.
    *
@@ -113,11 +161,22 @@ public final class BinarySerialization {
     requireNonNull("serializer", serializer);
     LOGGER.debug("Registering a binary serializer for class {}.", objClass);
     REGISTRY.put(new ClassKey(objClass), serializer);
+    GENERATION.incrementAndGet();
   }
 
   /**
    * Gets the registered binary serializer for a specified class.
    *
+   * <p>If no binary serializer was registered for the specified class itself,
+   * the binary serializer registered for its nearest superclass is returned;
+   * if there is still none, the binary serializer registered for the first
+   * found interface implemented by the class or its superclasses is returned.
+   *
+   * <p>The class is initialized before the first lookup, such that the
+   * register code in its static initialization block could be run. The result
+   * of the lookup is cached, therefore the subsequent calls with the same class
+   * are cheap.
+   *
    * @param objClass
    *     The class object.
    * @return The registered binary serializer for the specified class, or null
@@ -125,16 +184,74 @@ public final class BinarySerialization {
    */
   public static BinarySerializer getSerializer(final Class<?> objClass) {
     requireNonNull("objClass", objClass);
-    LOGGER.debug("Getting the binary serializer for class {}.", objClass);
-    // ensure the objClass has been load, such that the register code in
-    // the static initialization block of the class could be run.
-    final String className = objClass.getName();
+    Resolution resolution = RESOLUTIONS.get(objClass);
+    if (resolution.generation != GENERATION.get()) {
+      RESOLUTIONS.remove(objClass);
+      resolution = RESOLUTIONS.get(objClass);
+    }
+    return resolution.serializer;
+  }
+
+  /**
+   * Resolves and caches the binary serializers of the specified classes in
+   * advance.
+   *
+   * <p>This function could be called at the startup of an application, so that
+   * the initialization of the classes and the lookup of their serializers do
+   * not occur in the first serialization or deserialization.
+   *
+   * @param classes
+   *     The classes to be resolved.
+   * @return The number of the specified classes which have a binary serializer.
+   */
+  public static int warmUp(final Class<?>... classes) {
+    requireNonNull("classes", classes);
+    int count = 0;
+    for (final Class<?> cls : classes) {
+      if (getSerializer(cls) != null) {
+        ++count;
+      } else {
+        LOGGER.debug("No binary serializer was registered for class {}.", cls);
+      }
+    }
+    return count;
+  }
+
+  private static void initialize(final Class<?> type) {
+    if (type.isPrimitive() || type.isArray()) {
+      return;
+    }
     try {
-      Class.forName(className);
-    } catch (final ClassNotFoundException e) {
-      LOGGER.error("Failed to load the class {}", className);
+      Class.forName(type.getName(), true, type.getClassLoader());
+    } catch (final ClassNotFoundException | LinkageError e) {
+      LOGGER.error("Failed to initialize the class {}", type.getName(), e);
+    }
+  }
+
+  @Nullable
+  private static BinarySerializer resolve(final Class<?> type) {
+    for (Class<?> cls = type; cls != null; cls = cls.getSuperclass()) {
+      final BinarySerializer serializer = REGISTRY.get(new ClassKey(cls));
+      if (serializer != null) {
+        return serializer;
+      }
     }
-    return REGISTRY.get(new ClassKey(objClass));
+    final Set<Class<?>> visited = new HashSet<>();
+    final Deque<Class<?>> queue = new ArrayDeque<>();
+    for (Class<?> cls = type; cls != null; cls = cls.getSuperclass()) {
+      Collections.addAll(queue, cls.getInterfaces());
+    }
+    while (!queue.isEmpty()) {
+      final Class<?> iface = queue.removeFirst();
+      if (visited.add(iface)) {
+        final BinarySerializer serializer = REGISTRY.get(new ClassKey(iface));
+        if (serializer != null) {
+          return serializer;
+        }
+        Collections.addAll(queue, iface.getInterfaces());
+      }
+    }
+    return null;
   }
 
   /**
@@ -189,8 +306,7 @@ public final class BinarySerialization {
     OutputStream out = null;
     try {
       FileUtils.ensureParentExist(file);
-      out = new FileOutputStream(file);
-      out = new BufferedOutputStream(out);
+      out = new BinaryOutput(new FileOutputStream(file));
       serializer.serialize(out, obj);
     } finally {
       IoUtils.closeQuietly(out);
@@ -217,9 +333,9 @@ public final class BinarySerialization {
     if (serializer == null) {
       throw new NoBinarySerializerRegisteredException(objClass);
     }
-    ByteArrayOutputStream out = null;
+    BinaryOutput out = null;
     try {
-      out = new ByteArrayOutputStream();
+      out = new BinaryOutput(INITIAL_BYTES_CAPACITY);
       serializer.serialize(out, obj);
       return out.toByteArray();
     } finally {
@@ -283,8 +399,7 @@ public final class BinarySerialization {
     }
     InputStream in = null;
     try {
-      in = new FileInputStream(file);
-      in = new BufferedInputStream(in);
+      in = new BinaryInput(new FileInputStream(file));
       return (T) serializer.deserialize(in, allowNull);
     } catch (final ClassCastException e) {
       throw new SerializationException(e);
@@ -293,6 +408,41 @@ public final class BinarySerialization {
     }
   }
 
+  /**
+   * Deserializes an object from a local file mapped into memory.
+   *
+   * <p>Unlike {@link #deserialize(Class, File, boolean)}, this function does
+   * not copy the content of the file into a buffer, but decodes the object
+   * directly from the memory mapping of the file, which is preferable for
+   * large files. Use {@link MappedBinaryInput} directly to read several
+   * objects stored at different offsets of the file.
+   *
+   * @param <T>
+   *     The type of the class.
+   * @param objClass
+   *     The class of the objects to serialize.
+   * @param file
+   *     An abstract path of a local file.
+   * @param allowNull
+   *     Indicates whether to allowed the serialized object to be null.
+   * @return The deserialized object.
+   * @throws IOException
+   *     If any I/O error occurred.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T deserializeMapped(final Class<T> objClass, final File file,
+      final boolean allowNull) throws IOException {
+    final BinarySerializer serializer = getSerializer(objClass);
+    if (serializer == null) {
+      throw new NoBinarySerializerRegisteredException(objClass);
+    }
+    try (final MappedBinaryInput in = new MappedBinaryInput(file)) {
+      return (T) serializer.deserialize(in, allowNull);
+    } catch (final ClassCastException e) {
+      throw new SerializationException(e);
+    }
+  }
+
   /**
    * Deserializes an object from a URL.
    *
@@ -318,9 +468,7 @@ public final class BinarySerialization {
     InputStream in = null;
     try {
       in = UrlUtils.openStream(url);
-      if (!(in instanceof BufferedInputStream)) {
-        in = new BufferedInputStream(in);
-      }
+      in = new BinaryInput(in);
       return (T) serializer.deserialize(in, allowNull);
     } catch (final ClassCastException e) {
       throw new SerializationException(e);
@@ -355,9 +503,7 @@ public final class BinarySerialization {
     try {
       final URL url = uri.toURL();
       in = UrlUtils.openStream(url);
-      if (!(in instanceof BufferedInputStream)) {
-        in = new BufferedInputStream(in);
-      }
+      in = new BinaryInput(in);
       return (T) serializer.deserialize(in, allowNull);
     } catch (final ClassCastException | MalformedURLException e) {
       throw new SerializationException(e);
@@ -391,9 +537,7 @@ public final class BinarySerialization {
     InputStream in = null;
     try {
       in = url.openStream();
-      if (!(in instanceof BufferedInputStream)) {
-        in = new BufferedInputStream(in);
-      }
+      in = new BinaryInput(in);
       return (T) serializer.deserialize(in, allowNull);
     } catch (final ClassCastException e) {
       throw new SerializationException(e);
@@ -424,9 +568,9 @@ public final class BinarySerialization {
     if (serializer == null) {
       throw new NoBinarySerializerRegisteredException(objClass);
     }
-    ByteArrayInputStream in = null;
+    BinaryInput in = null;
     try {
-      in = new ByteArrayInputStream(data);
+      in = new BinaryInput(data);
       return (T) serializer.deserialize(in, allowNull);
     } catch (final ClassCastException e) {
       throw new SerializationException(e);
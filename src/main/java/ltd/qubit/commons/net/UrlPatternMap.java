@@ -80,6 +80,20 @@ public class UrlPatternMap<VALUE> {
     size++;
   }
 
+  /**
+   * 预先编译此映射中的正则表达式和通配符模式的查找结构。
+   *
+   * <p>查找结构会在映射被修改后的第一次查找时自动编译；在放置完所有模式之后调用此函数，
+   * 可以避免在第一次查找时进行编译。
+   */
+  public void compile() {
+    for (final PatternMap<VALUE> map : maps) {
+      if (map != null) {
+        map.compile();
+      }
+    }
+  }
+
   /**
    * 获取与指定 URL 匹配的模式所关联的值。
    *
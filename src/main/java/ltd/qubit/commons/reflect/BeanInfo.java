@@ -229,6 +229,24 @@ public class BeanInfo {
     return propertyMap.get(name);
   }
 
+  /**
+   * Gets the compiled accessor of the property of the beans with the specified
+   * name.
+   *
+   * @param name
+   *     the name of the property.
+   * @return
+   *     the compiled accessor of the property of the beans with the specified
+   *     name, or {@code null} if the bean class does not have a property with
+   *     the specified name.
+   * @see Property#getAccessor()
+   */
+  @Nullable
+  public PropertyAccessor getAccessor(final String name) {
+    final Property property = propertyMap.get(name);
+    return (property == null ? null : property.getAccessor());
+  }
+
   /**
    * Gets the property of the beans with the specified getter method.
    *
@@ -10,6 +10,8 @@ package ltd.qubit.commons.reflect;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.annotation.Nullable;
 
@@ -360,22 +362,7 @@ public class ObjectGraphUtils {
     if (isEmpty(path)) {
       return false;
     }
-    int index = path.indexOf('.');
-    Class<?> c = cls;
-    String p = path;
-    while (index >= 0) {
-      final String name = p.substring(0, index);
-      // 使用BeanInfo，从而支持计算属性
-      final BeanInfo info = BeanInfo.of(c);
-      final Property prop = info.getProperty(name);
-      if (prop == null) {
-        return false;
-      }
-      c = prop.getType();
-      p = p.substring(index + 1);
-      index = p.indexOf('.');
-    }
-    return BeanInfo.of(c).hasProperty(p);
+    return PropertyPath.of(cls, path).isResolved();
   }
 
   /**
@@ -401,40 +388,51 @@ public class ObjectGraphUtils {
     if (obj == null) {
       return null;
     }
-    final Class<?> originalClass = obj.getClass();
-    final StringBuilder pathBuilder = new StringBuilder();
-    Object currentObject = obj;
-    String currentPath = path;
-    Class<?> currentClass = originalClass;
-    int index = currentPath.indexOf('.');
-    while (index >= 0) {
-      final String fieldName = currentPath.substring(0, index);
-      if (pathBuilder.length() > 0) {
-        pathBuilder.append('.');
-      }
-      pathBuilder.append(fieldName);
-      // 使用 BeanInfo 来获取 Property，从而支持可计算属性
-      final BeanInfo info = BeanInfo.of(currentClass);
-      final Property prop = info.getProperty(fieldName);
-      if (prop == null) {
-        throw new FieldNotExistException(originalClass, pathBuilder.toString());
+    return PropertyPath.of(obj.getClass(), path).getValue(obj);
+  }
+
+  /**
+   * Gets the values of a property of the specified objects specified by an
+   * object graph path.
+   *
+   * <p>The path is compiled into a {@link PropertyPath} once for each class of
+   * the objects, therefore this function is much faster than calling
+   * {@link #getPropertyValue(Object, String)} for each object.
+   *
+   * @param <T>
+   *     the type of the objects.
+   * @param objects
+   *     the specified objects, which may contain {@code null} elements.
+   * @param path
+   *     the specified path in the object graph. The path <b>may</b> contain
+   *     computed properties.
+   * @return
+   *     the list of values of the property of the specified objects specified
+   *     by the object graph path, in the same order as the objects. The value
+   *     is {@code null} if the object or any intermediate object in the path is
+   *     {@code null}.
+   * @throws FieldNotExistException
+   *     if there is no such path exist in the object graph.
+   */
+  public static <T> List<Object> getPropertyValues(final List<T> objects,
+      final String path) {
+    final List<Object> result = new ArrayList<>(objects.size());
+    if (isEmpty(path)) {
+      result.addAll(objects);
+      return result;
+    }
+    PropertyPath compiled = null;
+    for (final T obj : objects) {
+      if (obj == null) {
+        result.add(null);
+        continue;
       }
-      final Object fieldValue = prop.getValue(currentObject);
-      if (fieldValue == null) {
-        return null;
+      if ((compiled == null) || (compiled.getRootClass() != obj.getClass())) {
+        compiled = PropertyPath.of(obj.getClass(), path);
       }
-      currentClass = prop.getType();
-      currentObject = fieldValue;
-      currentPath = currentPath.substring(index + 1);
-      index = currentPath.indexOf('.');
-    }
-    // 使用 BeanInfo 来获取 Property，从而支持可计算属性
-    final BeanInfo info = BeanInfo.of(currentClass);
-    final Property prop = info.getProperty(currentPath);
-    if (prop == null) {
-      throw new FieldNotExistException(originalClass, path);
+      result.add(compiled.getValue(obj));
     }
-    return info.get(currentObject, prop);
+    return result;
   }
 
   /**
@@ -456,33 +454,7 @@ public class ObjectGraphUtils {
     if (isEmpty(path)) {
       return cls;
     }
-    final StringBuilder pathBuilder = new StringBuilder();
-    String currentPath = path;
-    Class<?> currentClass = cls;
-    int index = currentPath.indexOf('.');
-    while (index >= 0) {
-      final String fieldName = currentPath.substring(0, index);
-      if (pathBuilder.length() > 0) {
-        pathBuilder.append('.');
-      }
-      pathBuilder.append(fieldName);
-      // 使用 BeanInfo 来获取 Property，从而支持可计算属性
-      final BeanInfo info = BeanInfo.of(currentClass);
-      final Property prop = info.getProperty(fieldName);
-      if (prop == null) {
-        throw new FieldNotExistException(cls, pathBuilder.toString());
-      }
-      currentClass = prop.getType();
-      currentPath = currentPath.substring(index + 1);
-      index = currentPath.indexOf('.');
-    }
-    // 使用 BeanInfo 来获取 Property，从而支持可计算属性
-    final BeanInfo info = BeanInfo.of(currentClass);
-    final Property prop = info.getProperty(currentPath);
-    if (prop == null) {
-      throw new FieldNotExistException(cls, path);
-    }
-    return prop.getType();
+    return PropertyPath.of(cls, path).getType();
   }
 
   /**
@@ -541,46 +513,6 @@ public class ObjectGraphUtils {
     if (obj == null) {
       throw new NullPointerException("object cannot be null.");
     }
-    final Class<?> originalClass = obj.getClass();
-    final StringBuilder pathBuilder = new StringBuilder();
-    Class<?> currentClass = originalClass;
-    String currentPath = path;
-    Object currentObject = obj;
-    int index = currentPath.indexOf('.');
-    while (index >= 0) {
-      final String fieldName = currentPath.substring(0, index);
-      if (pathBuilder.length() > 0) {
-        pathBuilder.append('.');
-      }
-      pathBuilder.append(fieldName);
-      // 使用 BeanInfo 来获取 Property
-      final BeanInfo info = BeanInfo.of(currentClass);
-      final Property prop = info.getProperty(fieldName);
-      if (prop == null) {
-        throw new FieldNotExistException(originalClass, pathBuilder.toString());
-      }
-      if (prop.isReadonly() || prop.isComputed()) {
-        throw new ReflectionException("Cannot write a read-only or computed property:" + pathBuilder);
-      }
-      Object fieldValue = prop.getValue(currentObject);
-      if (fieldValue == null) {
-        if (createIntermediate) {
-          fieldValue = ConstructorUtils.newInstance(prop.getType());
-          prop.setValue(currentObject, fieldValue);
-        } else {
-          throw new NullPointerException("The " + pathBuilder + " of the specified object is null.");
-        }
-      }
-      currentClass = prop.getType();
-      currentObject = fieldValue;
-      currentPath = currentPath.substring(index + 1);
-      index = currentPath.indexOf('.');
-    }
-    final BeanInfo info = BeanInfo.of(currentClass);
-    final Property prop = info.getProperty(currentPath);
-    if (prop == null) {
-      throw new FieldNotExistException(originalClass, path);
-    }
-    prop.setValue(currentObject, value);
+    PropertyPath.of(obj.getClass(), path).setValue(obj, value, createIntermediate);
   }
 }
\ No newline at end of file
@@ -159,6 +159,9 @@ public class Property {
 
   private final String referencePath;
 
+  @Nullable
+  private volatile PropertyAccessor accessor;
+
   /**
    * Constructs a {@link Property} object.
    *
@@ -776,6 +779,25 @@ public class Property {
     return ClassUtils.getFullCanonicalName(ownerClass) + "." + name;
   }
 
+  /**
+   * Gets the compiled accessor of this bean property.
+   *
+   * <p>The accessor is built on the first call and cached by this property.
+   * The accessors are immutable, so the concurrent first calls may build
+   * equivalent accessors without locking, and any of them could be used.
+   *
+   * @return
+   *     the compiled accessor of this bean property.
+   */
+  public PropertyAccessor getAccessor() {
+    PropertyAccessor result = accessor;
+    if (result == null) {
+      result = new PropertyAccessor(this);
+      accessor = result;
+    }
+    return result;
+  }
+
   /**
    * Gets the value of this bean property of the specified object.
    *
@@ -787,6 +809,10 @@ public class Property {
    *     if any reflection error occurs.
    */
   public Object getValue(final Object owner) {
+    return getAccessor().get(owner);
+  }
+
+  Object getValueByReflection(final Object owner) {
     if (readMethod != null) {
       return MethodUtils.invokeMethod(readMethod, owner);
     } else if (field != null) {
@@ -807,6 +833,10 @@ public class Property {
    *     if any reflection error occurs.
    */
   public void setValue(final Object owner, @Nullable final Object value) {
+    getAccessor().set(owner, value);
+  }
+
+  void setValueByReflection(final Object owner, @Nullable final Object value) {
     if (writeMethod != null) {
       MethodUtils.invokeMethod(writeMethod, owner, value);
     } else if (field != null) {
@@ -0,0 +1,748 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.reflect;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ltd.qubit.commons.lang.ClassUtils;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * The compiled accessor of a bean {@link Property}.
+ *
+ * <p>The getter and setter methods of the property are bound to generated
+ * {@link Function} and {@link BiConsumer} objects by the
+ * {@link LambdaMetafactory}, and the fields of the property are accessed by
+ * {@link MethodHandle}s. Therefore, accessing the property neither changes the
+ * accessibility of the reflection objects nor boxes the arguments into arrays,
+ * as {@link Method#invoke(Object, Object...)} and {@link Field#get(Object)} do.
+ * The properties of primitive types could be accessed without boxing by the
+ * primitive-specialized methods, such as {@link #getInt(Object)} and
+ * {@link #setInt(Object, int)}.
+ *
+ * <p>If the getter, setter or field of the property could not be accessed by
+ * the method handles, for example, when it belongs to a module which is not
+ * opened to this library, the accessor falls back to the reflection.
+ *
+ * <p>The accessor of a property is built once and cached by the property. Use
+ * {@link Property#getAccessor()} to get it.
+ *
+ * @author Haixing Hu
+ */
+@Immutable
+public final class PropertyAccessor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PropertyAccessor.class);
+
+  private static final MethodType GETTER_TYPE = methodType(Object.class, Object.class);
+
+  private static final MethodType SETTER_TYPE = methodType(void.class, Object.class, Object.class);
+
+  private final Property property;
+
+  private final Class<?> type;
+
+  /**
+   * The generated getter, or {@code null} if the property is read by the
+   * {@link #getHandle} or by the reflection.
+   */
+  @Nullable
+  private final Function<Object, Object> getter;
+
+  /**
+   * The generated setter, or {@code null} if the property is written by the
+   * {@link #setHandle} or by the reflection.
+   */
+  @Nullable
+  private final BiConsumer<Object, Object> setter;
+
+  /**
+   * The method handle of type {@code (Object)Object} reading the property, or
+   * {@code null} if not available.
+   */
+  @Nullable
+  private final MethodHandle getHandle;
+
+  /**
+   * The method handle of type {@code (Object, Object)void} writing the
+   * property, or {@code null} if not available.
+   */
+  @Nullable
+  private final MethodHandle setHandle;
+
+  /**
+   * The method handle of type {@code (Object)type} reading the property of a
+   * primitive type, or {@code null} if not available.
+   */
+  @Nullable
+  private final MethodHandle primitiveGetHandle;
+
+  /**
+   * The method handle of type {@code (Object, type)void} writing the property
+   * of a primitive type, or {@code null} if not available.
+   */
+  @Nullable
+  private final MethodHandle primitiveSetHandle;
+
+  PropertyAccessor(final Property property) {
+    this.property = requireNonNull("property", property);
+    this.type = property.getType();
+    final Method readMethod = property.getReadMethod();
+    final Method writeMethod = property.getWriteMethod();
+    final Field field = property.getField();
+    //  the same precedence as Property.getValue() and Property.setValue()
+    final Member readMember = (readMethod != null ? readMethod : field);
+    final Member writeMember = (writeMethod != null ? writeMethod : field);
+    final MethodHandle read = unreflectGetter(readMember);
+    final MethodHandle write = unreflectSetter(writeMember);
+    getter = (readMethod != null && read != null ? bindGetter(readMethod, read) : null);
+    setter = (writeMethod != null && write != null ? bindSetter(writeMethod, write) : null);
+    getHandle = asType(read, GETTER_TYPE);
+    setHandle = asType(write, SETTER_TYPE);
+    //  the getter and setter may use a type different from the field type, and
+    //  the primitive-specialized handles are used only if they use exactly the
+    //  primitive type of the property
+    if (type.isPrimitive() && (read != null) && (read.type().returnType() == type)) {
+      primitiveGetHandle = asType(read, methodType(type, Object.class));
+    } else {
+      primitiveGetHandle = null;
+    }
+    if (type.isPrimitive() && (write != null) && (write.type().parameterType(1) == type)) {
+      primitiveSetHandle = asType(write, methodType(void.class, Object.class, type));
+    } else {
+      primitiveSetHandle = null;
+    }
+  }
+
+  @Nullable
+  private MethodHandle asType(@Nullable final MethodHandle handle, final MethodType newType) {
+    if (handle == null) {
+      return null;
+    }
+    try {
+      return handle.asType(newType);
+    } catch (final WrongMethodTypeException e) {
+      LOGGER.debug("Cannot convert the method handle of the property {} to {}, "
+          + "fall back to the reflection: {}", property.getFullname(), newType, e.toString());
+      return null;
+    }
+  }
+
+  @Nullable
+  private MethodHandle unreflectGetter(@Nullable final Member member) {
+    if (member == null) {
+      return null;
+    }
+    try {
+      final MethodHandles.Lookup lookup = lookupIn(member.getDeclaringClass());
+      if (member instanceof Method) {
+        return lookup.unreflect((Method) member);
+      } else {
+        return lookup.unreflectGetter((Field) member);
+      }
+    } catch (final IllegalAccessException | RuntimeException e) {
+      LOGGER.debug("Cannot access the property {} by the method handle, "
+          + "fall back to the reflection: {}", property.getFullname(), e.toString());
+      return null;
+    }
+  }
+
+  @Nullable
+  private MethodHandle unreflectSetter(@Nullable final Member member) {
+    if (member == null) {
+      return null;
+    }
+    try {
+      final MethodHandles.Lookup lookup = lookupIn(member.getDeclaringClass());
+      if (member instanceof Method) {
+        return lookup.unreflect((Method) member);
+      } else {
+        //  the final fields could only be written by the reflection
+        return lookup.unreflectSetter((Field) member);
+      }
+    } catch (final IllegalAccessException | RuntimeException e) {
+      LOGGER.debug("Cannot access the property {} by the method handle, "
+          + "fall back to the reflection: {}", property.getFullname(), e.toString());
+      return null;
+    }
+  }
+
+  private static MethodHandles.Lookup lookupIn(final Class<?> cls)
+      throws IllegalAccessException {
+    return MethodHandles.privateLookupIn(cls, MethodHandles.lookup());
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  private Function<Object, Object> bindGetter(final Method method,
+      final MethodHandle handle) {
+    final Class<?> declaringClass = method.getDeclaringClass();
+    final Class<?> returnType = ClassUtils.primitiveToWrapper(method.getReturnType());
+    try {
+      final CallSite site = LambdaMetafactory.metafactory(
+          lookupIn(declaringClass),
+          "apply",
+          methodType(Function.class),
+          GETTER_TYPE,
+          handle,
+          methodType(returnType, declaringClass));
+      return (Function<Object, Object>) site.getTarget().invoke();
+    } catch (final Throwable e) {
+      LOGGER.debug("Cannot generate the getter of the property {}, "
+          + "fall back to the method handle: {}", property.getFullname(), e.toString());
+      return null;
+    }
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  private BiConsumer<Object, Object> bindSetter(final Method method,
+      final MethodHandle handle) {
+    final Class<?> declaringClass = method.getDeclaringClass();
+    final Class<?> paramType = ClassUtils.primitiveToWrapper(method.getParameterTypes()[0]);
+    try {
+      final CallSite site = LambdaMetafactory.metafactory(
+          lookupIn(declaringClass),
+          "accept",
+          methodType(BiConsumer.class),
+          SETTER_TYPE,
+          handle,
+          methodType(void.class, declaringClass, paramType));
+      return (BiConsumer<Object, Object>) site.getTarget().invoke();
+    } catch (final Throwable e) {
+      LOGGER.debug("Cannot generate the setter of the property {}, "
+          + "fall back to the method handle: {}", property.getFullname(), e.toString());
+      return null;
+    }
+  }
+
+  /**
+   * Gets the property accessed by this accessor.
+   *
+   * @return
+   *     the property accessed by this accessor.
+   */
+  public Property getProperty() {
+    return property;
+  }
+
+  /**
+   * Tests whether this accessor reads the property without the reflection.
+   *
+   * @return
+   *     {@code true} if this accessor reads the property by the generated
+   *     getter or the method handle; {@code false} if it falls back to the
+   *     reflection.
+   */
+  public boolean isReadCompiled() {
+    return (getHandle != null);
+  }
+
+  /**
+   * Tests whether this accessor writes the property without the reflection.
+   *
+   * @return
+   *     {@code true} if this accessor writes the property by the generated
+   *     setter or the method handle; {@code false} if it falls back to the
+   *     reflection.
+   */
+  public boolean isWriteCompiled() {
+    return (setHandle != null);
+  }
+
+  /**
+   * Gets the value of the property of the specified object.
+   *
+   * @param owner
+   *     the specified object.
+   * @return
+   *     the value of the property of the specified object.
+   * @throws ReflectionException
+   *     if any reflection error occurs.
+   */
+  public Object get(final Object owner) {
+    requireNonNull("owner", owner);
+    if (getter != null) {
+      try {
+        return getter.apply(owner);
+      } catch (final Throwable e) {
+        throw readFailed(owner, e);
+      }
+    } else if (getHandle != null) {
+      try {
+        return (Object) getHandle.invokeExact(owner);
+      } catch (final Throwable e) {
+        throw readFailed(owner, e);
+      }
+    } else {
+      return property.getValueByReflection(owner);
+    }
+  }
+
+  /**
+   * Sets the value of the property of the specified object.
+   *
+   * @param owner
+   *     the specified object.
+   * @param value
+   *     the specified value.
+   * @throws ReflectionException
+   *     if any reflection error occurs.
+   */
+  public void set(final Object owner, @Nullable final Object value) {
+    requireNonNull("owner", owner);
+    if (setter != null) {
+      try {
+        setter.accept(owner, value);
+      } catch (final Throwable e) {
+        throw writeFailed(owner, value, e);
+      }
+    } else if (setHandle != null) {
+      try {
+        setHandle.invokeExact(owner, value);
+      } catch (final Throwable e) {
+        throw writeFailed(owner, value, e);
+      }
+    } else {
+      property.setValueByReflection(owner, value);
+    }
+  }
+
+  /**
+   * Gets the value of a {@code boolean} or {@link Boolean} property of the
+   * specified object.
+   *
+   * @param owner
+   *     the specified object.
+   * @return
+   *     the value of the property of the specified object.
+   * @throws ReflectionException
+   *     if any reflection error occurs, or the value is not a non-null
+   *     {@link Boolean}.
+   */
+  public boolean getBoolean(final Object owner) {
+    if ((type == boolean.class) && (primitiveGetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        return (boolean) primitiveGetHandle.invokeExact(owner);
+      } catch (final Throwable e) {
+        throw readFailed(owner, e);
+      }
+    }
+    return getAs(owner, Boolean.class);
+  }
+
+  /**
+   * Gets the value of a {@code char} or {@link Character} property of the
+   * specified object.
+   *
+   * @param owner
+   *     the specified object.
+   * @return
+   *     the value of the property of the specified object.
+   * @throws ReflectionException
+   *     if any reflection error occurs, or the value is not a non-null
+   *     {@link Character}.
+   */
+  public char getChar(final Object owner) {
+    if ((type == char.class) && (primitiveGetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        return (char) primitiveGetHandle.invokeExact(owner);
+      } catch (final Throwable e) {
+        throw readFailed(owner, e);
+      }
+    }
+    return getAs(owner, Character.class);
+  }
+
+  /**
+   * Gets the value of a {@code byte} or {@link Byte} property of the specified
+   * object.
+   *
+   * @param owner
+   *     the specified object.
+   * @return
+   *     the value of the property of the specified object.
+   * @throws ReflectionException
+   *     if any reflection error occurs, or the value is not a non-null
+   *     {@link Byte}.
+   */
+  public byte getByte(final Object owner) {
+    if ((type == byte.class) && (primitiveGetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        return (byte) primitiveGetHandle.invokeExact(owner);
+      } catch (final Throwable e) {
+        throw readFailed(owner, e);
+      }
+    }
+    return getAs(owner, Byte.class);
+  }
+
+  /**
+   * Gets the value of a {@code short} or {@link Short} property of the
+   * specified object.
+   *
+   * @param owner
+   *     the specified object.
+   * @return
+   *     the value of the property of the specified object.
+   * @throws ReflectionException
+   *     if any reflection error occurs, or the value is not a non-null
+   *     {@link Short}.
+   */
+  public short getShort(final Object owner) {
+    if ((type == short.class) && (primitiveGetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        return (short) primitiveGetHandle.invokeExact(owner);
+      } catch (final Throwable e) {
+        throw readFailed(owner, e);
+      }
+    }
+    return getAs(owner, Short.class);
+  }
+
+  /**
+   * Gets the value of an {@code int} or {@link Integer} property of the
+   * specified object.
+   *
+   * @param owner
+   *     the specified object.
+   * @return
+   *     the value of the property of the specified object.
+   * @throws ReflectionException
+   *     if any reflection error occurs, or the value is not a non-null
+   *     {@link Integer}.
+   */
+  public int getInt(final Object owner) {
+    if ((type == int.class) && (primitiveGetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        return (int) primitiveGetHandle.invokeExact(owner);
+      } catch (final Throwable e) {
+        throw readFailed(owner, e);
+      }
+    }
+    return getAs(owner, Integer.class);
+  }
+
+  /**
+   * Gets the value of a {@code long} or {@link Long} property of the specified
+   * object.
+   *
+   * @param owner
+   *     the specified object.
+   * @return
+   *     the value of the property of the specified object.
+   * @throws ReflectionException
+   *     if any reflection error occurs, or the value is not a non-null
+   *     {@link Long}.
+   */
+  public long getLong(final Object owner) {
+    if ((type == long.class) && (primitiveGetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        return (long) primitiveGetHandle.invokeExact(owner);
+      } catch (final Throwable e) {
+        throw readFailed(owner, e);
+      }
+    }
+    return getAs(owner, Long.class);
+  }
+
+  /**
+   * Gets the value of a {@code float} or {@link Float} property of the
+   * specified object.
+   *
+   * @param owner
+   *     the specified object.
+   * @return
+   *     the value of the property of the specified object.
+   * @throws ReflectionException
+   *     if any reflection error occurs, or the value is not a non-null
+   *     {@link Float}.
+   */
+  public float getFloat(final Object owner) {
+    if ((type == float.class) && (primitiveGetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        return (float) primitiveGetHandle.invokeExact(owner);
+      } catch (final Throwable e) {
+        throw readFailed(owner, e);
+      }
+    }
+    return getAs(owner, Float.class);
+  }
+
+  /**
+   * Gets the value of a {@code double} or {@link Double} property of the
+   * specified object.
+   *
+   * @param owner
+   *     the specified object.
+   * @return
+   *     the value of the property of the specified object.
+   * @throws ReflectionException
+   *     if any reflection error occurs, or the value is not a non-null
+   *     {@link Double}.
+   */
+  public double getDouble(final Object owner) {
+    if ((type == double.class) && (primitiveGetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        return (double) primitiveGetHandle.invokeExact(owner);
+      } catch (final Throwable e) {
+        throw readFailed(owner, e);
+      }
+    }
+    return getAs(owner, Double.class);
+  }
+
+  /**
+   * Sets the value of a {@code boolean} or {@link Boolean} property of the
+   * specified object.
+   *
+   * @param owner
+   *     the specified object.
+   * @param value
+   *     the specified value.
+   * @throws ReflectionException
+   *     if any reflection error occurs.
+   */
+  public void setBoolean(final Object owner, final boolean value) {
+    if ((type == boolean.class) && (primitiveSetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        primitiveSetHandle.invokeExact(owner, value);
+      } catch (final Throwable e) {
+        throw writeFailed(owner, value, e);
+      }
+    } else {
+      set(owner, value);
+    }
+  }
+
+  /**
+   * Sets the value of a {@code char} or {@link Character} property of the
+   * specified object.
+   *
+   * @param owner
+   *     the specified object.
+   * @param value
+   *     the specified value.
+   * @throws ReflectionException
+   *     if any reflection error occurs.
+   */
+  public void setChar(final Object owner, final char value) {
+    if ((type == char.class) && (primitiveSetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        primitiveSetHandle.invokeExact(owner, value);
+      } catch (final Throwable e) {
+        throw writeFailed(owner, value, e);
+      }
+    } else {
+      set(owner, value);
+    }
+  }
+
+  /**
+   * Sets the value of a {@code byte} or {@link Byte} property of the specified
+   * object.
+   *
+   * @param owner
+   *     the specified object.
+   * @param value
+   *     the specified value.
+   * @throws ReflectionException
+   *     if any reflection error occurs.
+   */
+  public void setByte(final Object owner, final byte value) {
+    if ((type == byte.class) && (primitiveSetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        primitiveSetHandle.invokeExact(owner, value);
+      } catch (final Throwable e) {
+        throw writeFailed(owner, value, e);
+      }
+    } else {
+      set(owner, value);
+    }
+  }
+
+  /**
+   * Sets the value of a {@code short} or {@link Short} property of the
+   * specified object.
+   *
+   * @param owner
+   *     the specified object.
+   * @param value
+   *     the specified value.
+   * @throws ReflectionException
+   *     if any reflection error occurs.
+   */
+  public void setShort(final Object owner, final short value) {
+    if ((type == short.class) && (primitiveSetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        primitiveSetHandle.invokeExact(owner, value);
+      } catch (final Throwable e) {
+        throw writeFailed(owner, value, e);
+      }
+    } else {
+      set(owner, value);
+    }
+  }
+
+  /**
+   * Sets the value of an {@code int} or {@link Integer} property of the
+   * specified object.
+   *
+   * @param owner
+   *     the specified object.
+   * @param value
+   *     the specified value.
+   * @throws ReflectionException
+   *     if any reflection error occurs.
+   */
+  public void setInt(final Object owner, final int value) {
+    if ((type == int.class) && (primitiveSetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        primitiveSetHandle.invokeExact(owner, value);
+      } catch (final Throwable e) {
+        throw writeFailed(owner, value, e);
+      }
+    } else {
+      set(owner, value);
+    }
+  }
+
+  /**
+   * Sets the value of a {@code long} or {@link Long} property of the specified
+   * object.
+   *
+   * @param owner
+   *     the specified object.
+   * @param value
+   *     the specified value.
+   * @throws ReflectionException
+   *     if any reflection error occurs.
+   */
+  public void setLong(final Object owner, final long value) {
+    if ((type == long.class) && (primitiveSetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        primitiveSetHandle.invokeExact(owner, value);
+      } catch (final Throwable e) {
+        throw writeFailed(owner, value, e);
+      }
+    } else {
+      set(owner, value);
+    }
+  }
+
+  /**
+   * Sets the value of a {@code float} or {@link Float} property of the
+   * specified object.
+   *
+   * @param owner
+   *     the specified object.
+   * @param value
+   *     the specified value.
+   * @throws ReflectionException
+   *     if any reflection error occurs.
+   */
+  public void setFloat(final Object owner, final float value) {
+    if ((type == float.class) && (primitiveSetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        primitiveSetHandle.invokeExact(owner, value);
+      } catch (final Throwable e) {
+        throw writeFailed(owner, value, e);
+      }
+    } else {
+      set(owner, value);
+    }
+  }
+
+  /**
+   * Sets the value of a {@code double} or {@link Double} property of the
+   * specified object.
+   *
+   * @param owner
+   *     the specified object.
+   * @param value
+   *     the specified value.
+   * @throws ReflectionException
+   *     if any reflection error occurs.
+   */
+  public void setDouble(final Object owner, final double value) {
+    if ((type == double.class) && (primitiveSetHandle != null)) {
+      requireNonNull("owner", owner);
+      try {
+        primitiveSetHandle.invokeExact(owner, value);
+      } catch (final Throwable e) {
+        throw writeFailed(owner, value, e);
+      }
+    } else {
+      set(owner, value);
+    }
+  }
+
+  private <T> T getAs(final Object owner, final Class<T> wrapperClass) {
+    final Object value = get(owner);
+    if (!wrapperClass.isInstance(value)) {
+      throw new ReflectionException("The value of the property "
+          + property.getFullQualifiedName() + " is not a "
+          + wrapperClass.getSimpleName() + ": " + value);
+    }
+    return wrapperClass.cast(value);
+  }
+
+  private ReflectionException readFailed(final Object owner, final Throwable e) {
+    final Method readMethod = property.getReadMethod();
+    if (readMethod != null) {
+      return new InvokingMethodFailedException(owner, readMethod, new Object[0], e);
+    } else {
+      return new ReflectionException(e);
+    }
+  }
+
+  private ReflectionException writeFailed(final Object owner,
+      @Nullable final Object value, final Throwable e) {
+    final Method writeMethod = property.getWriteMethod();
+    if (writeMethod != null) {
+      return new InvokingMethodFailedException(owner, writeMethod, new Object[]{ value }, e);
+    } else {
+      return new ReflectionException(e);
+    }
+  }
+}
@@ -0,0 +1,351 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.reflect;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import ltd.qubit.commons.lang.Equality;
+import ltd.qubit.commons.lang.Hash;
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * The compiled form of a property path in an object graph, such as
+ * {@code "address.city.name"}.
+ *
+ * <p>The chain of {@link Property} objects of a path is resolved once when the
+ * path is compiled, and the values of the path are then evaluated by the
+ * compiled {@link PropertyAccessor}s of the properties, without splitting the
+ * path or looking up the properties again. The compiled paths are cached for
+ * each root class, use {@link #of(Class, String)} to get them.
+ *
+ * <p>Like {@link ObjectGraphUtils}, the first property of a path is resolved
+ * in the root class, and each following property is resolved in the declared
+ * type of its previous property. A path containing a non-existing property
+ * could still be compiled, and the {@link FieldNotExistException} is thrown
+ * only when the non-existing property is reached during an evaluation. Such
+ * paths are not cached.
+ *
+ * @author Haixing Hu
+ */
+@Immutable
+public final class PropertyPath {
+
+  /**
+   * The maximum number of compiled paths cached for each root class.
+   *
+   * <p>The paths may come from the clients, e.g., the sorting or filtering
+   * fields of a request, so the cache must be bounded. The paths compiled
+   * after the cache of a class is full are still usable, but not cached.
+   */
+  static final int MAX_CACHED_PATHS = 1024;
+
+  private static final ClassValue<Map<String, PropertyPath>> CACHE = new ClassValue<>() {
+    @Override
+    protected Map<String, PropertyPath> computeValue(final Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  /**
+   * Gets the compiled property path.
+   *
+   * @param rootClass
+   *     the class of the root objects of the path.
+   * @param path
+   *     the path in the object graph, whose properties are separated by
+   *     {@code '.'}. The path <b>may</b> contain computed properties. An empty
+   *     path denotes the root object itself.
+   * @return
+   *     the compiled property path. The paths whose properties all exist are
+   *     cached, until the cache of the root class is full.
+   */
+  public static PropertyPath of(final Class<?> rootClass, final String path) {
+    requireNonNull("rootClass", rootClass);
+    requireNonNull("path", path);
+    final Map<String, PropertyPath> map = CACHE.get(rootClass);
+    final PropertyPath cached = map.get(path);
+    if (cached != null) {
+      return cached;
+    }
+    final PropertyPath result = new PropertyPath(rootClass, path);
+    if ((result.missingPath != null) || (map.size() >= MAX_CACHED_PATHS)) {
+      //  do not cache the paths containing non-existing properties, since
+      //  arbitrary such paths may be passed in
+      return result;
+    }
+    final PropertyPath existing = map.putIfAbsent(path, result);
+    return (existing == null ? result : existing);
+  }
+
+  static int cachedCount(final Class<?> rootClass) {
+    return CACHE.get(rootClass).size();
+  }
+
+  private final Class<?> rootClass;
+
+  private final String path;
+
+  /**
+   * The resolved properties of the path. If the path contains a non-existing
+   * property, only the properties before it are resolved.
+   */
+  private final Property[] properties;
+
+  private final PropertyAccessor[] accessors;
+
+  /**
+   * The prefix of the path ending with the first non-existing property, or
+   * {@code null} if all properties of the path exist.
+   */
+  @Nullable
+  private final String missingPath;
+
+  private PropertyPath(final Class<?> rootClass, final String path) {
+    this.rootClass = rootClass;
+    this.path = path;
+    final List<Property> list = new ArrayList<>();
+    String missing = null;
+    if (!path.isEmpty()) {
+      Class<?> currentClass = rootClass;
+      int start = 0;
+      while (true) {
+        final int index = path.indexOf('.', start);
+        final int end = (index < 0 ? path.length() : index);
+        // 使用 BeanInfo 来获取 Property，从而支持可计算属性
+        final Property prop = BeanInfo.of(currentClass).getProperty(path.substring(start, end));
+        if (prop == null) {
+          missing = path.substring(0, end);
+          break;
+        }
+        list.add(prop);
+        if (index < 0) {
+          break;
+        }
+        currentClass = prop.getType();
+        start = index + 1;
+      }
+    }
+    this.properties = list.toArray(new Property[0]);
+    this.accessors = new PropertyAccessor[properties.length];
+    for (int i = 0; i < properties.length; ++i) {
+      accessors[i] = properties[i].getAccessor();
+    }
+    this.missingPath = missing;
+  }
+
+  /**
+   * Gets the compiled form of this path for the root objects of the specified
+   * class.
+   *
+   * <p>Like {@link ObjectGraphUtils#getPropertyValue(Object, String)}, the path
+   * should be resolved in the actual class of a root object, which may be a
+   * subclass of the root class of this path.
+   *
+   * @param type
+   *     the actual class of the root objects.
+   * @return
+   *     this path if the specified class is the root class of this path;
+   *     otherwise the compiled path with the same string representation for
+   *     the specified class.
+   */
+  public PropertyPath forClass(final Class<?> type) {
+    return (type == rootClass ? this : of(type, path));
+  }
+
+  /**
+   * Gets the class of the root objects of this path.
+   *
+   * @return
+   *     the class of the root objects of this path.
+   */
+  public Class<?> getRootClass() {
+    return rootClass;
+  }
+
+  /**
+   * Gets the string representation of this path.
+   *
+   * @return
+   *     the string representation of this path.
+   */
+  public String getPath() {
+    return path;
+  }
+
+  /**
+   * Tests whether all properties of this path exist.
+   *
+   * @return
+   *     {@code true} if all properties of this path exist; {@code false}
+   *     otherwise.
+   */
+  public boolean isResolved() {
+    return (missingPath == null);
+  }
+
+  /**
+   * Gets the resolved properties of this path.
+   *
+   * @return
+   *     the list of the properties of this path, from the root object to the
+   *     last property. If this path contains a non-existing property, only the
+   *     properties before it are returned.
+   */
+  public List<Property> getProperties() {
+    return List.of(properties);
+  }
+
+  /**
+   * Gets the type of the property specified by this path.
+   *
+   * @return
+   *     the declared type of the last property of this path, or the root class
+   *     if this path is empty.
+   * @throws FieldNotExistException
+   *     if this path contains a non-existing property.
+   */
+  public Class<?> getType() {
+    if (missingPath != null) {
+      throw new FieldNotExistException(rootClass, missingPath);
+    }
+    final int n = properties.length;
+    return (n == 0 ? rootClass : properties[n - 1].getType());
+  }
+
+  /**
+   * Gets the value of this path of the specified object.
+   *
+   * @param root
+   *     the specified root object, which must be an instance of the root class
+   *     of this path.
+   * @return
+   *     the value of the property specified by this path, or {@code null} if
+   *     the root object or any intermediate object in the path is
+   *     {@code null}.
+   * @throws FieldNotExistException
+   *     if a non-existing property of this path is reached.
+   */
+  @Nullable
+  public Object getValue(@Nullable final Object root) {
+    Object current = root;
+    final int n = accessors.length;
+    for (int i = 0; i < n; ++i) {
+      if (current == null) {
+        return null;
+      }
+      current = accessors[i].get(current);
+    }
+    if (missingPath != null && current != null) {
+      throw new FieldNotExistException(rootClass, missingPath);
+    }
+    return current;
+  }
+
+  /**
+   * Sets the value of this path of the specified object.
+   *
+   * @param root
+   *     the specified root object, which must be an instance of the root class
+   *     of this path.
+   * @param value
+   *     the value to be set.
+   * @param createIntermediate
+   *     whether to create intermediate objects if they are {@code null}.
+   * @throws FieldNotExistException
+   *     if a non-existing property of this path is reached.
+   * @throws NullPointerException
+   *     if the {@code createIntermediate} argument is {@code false} and any
+   *     intermediate object in the path is {@code null}.
+   * @throws ReflectionException
+   *     if an intermediate property is read-only or computed.
+   */
+  public void setValue(final Object root, @Nullable final Object value,
+      final boolean createIntermediate) {
+    if (root == null) {
+      throw new NullPointerException("object cannot be null.");
+    }
+    if (path.isEmpty()) {
+      throw new FieldNotExistException(rootClass, path);
+    }
+    Object current = root;
+    final int last = (missingPath == null ? properties.length - 1 : properties.length);
+    for (int i = 0; i < last; ++i) {
+      final Property prop = properties[i];
+      if (prop.isReadonly() || prop.isComputed()) {
+        throw new ReflectionException("Cannot write a read-only or computed property:"
+            + getPrefix(i));
+      }
+      Object next = accessors[i].get(current);
+      if (next == null) {
+        if (createIntermediate) {
+          next = ConstructorUtils.newInstance(prop.getType());
+          accessors[i].set(current, next);
+        } else {
+          throw new NullPointerException("The " + getPrefix(i)
+              + " of the specified object is null.");
+        }
+      }
+      current = next;
+    }
+    if (missingPath != null) {
+      throw new FieldNotExistException(rootClass, missingPath);
+    }
+    accessors[last].set(current, value);
+  }
+
+  private String getPrefix(final int index) {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i <= index; ++i) {
+      if (i > 0) {
+        builder.append('.');
+      }
+      builder.append(properties[i].getName());
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public boolean equals(@Nullable final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if ((o == null) || (getClass() != o.getClass())) {
+      return false;
+    }
+    final PropertyPath other = (PropertyPath) o;
+    return Equality.equals(rootClass, other.rootClass)
+        && Equality.equals(path, other.path);
+  }
+
+  @Override
+  public int hashCode() {
+    final int multiplier = 7;
+    int result = 3;
+    result = Hash.combine(result, multiplier, rootClass);
+    result = Hash.combine(result, multiplier, path);
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("rootClass", rootClass)
+        .append("path", path)
+        .append("resolved", isResolved())
+        .toString();
+  }
+}
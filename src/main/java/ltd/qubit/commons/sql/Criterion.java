@@ -9,6 +9,11 @@
 package ltd.qubit.commons.sql;
 
 import java.sql.SQLSyntaxErrorException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import ltd.qubit.commons.util.filter.Filter;
 
@@ -43,4 +48,55 @@ public interface Criterion<T> extends Filter<T> {
    */
   String toSql() throws SQLSyntaxErrorException;
 
+  /**
+   * 将此条件编译为内存中的谓词。
+   *
+   * <p>编译所得的谓词对任意对象的判定结果与{@link #accept(Object)}相同，但条件的合法性
+   * 只在编译时检查一次，属性路径也只在编译时解析一次，因此适合用于过滤大量对象。编译所得
+   * 的谓词是不可变的，可以被多个线程同时使用；此后对此条件的修改不会影响已编译的谓词。</p>
+   *
+   * <p>此默认实现直接返回以{@link #accept(Object)}实现的谓词。</p>
+   *
+   * @return
+   *     此条件编译所得的谓词。
+   */
+  default Predicate<T> compile() {
+    return this::accept;
+  }
+
+  /**
+   * 使用此条件过滤指定的对象集合。
+   *
+   * @param objects
+   *     待过滤的对象集合。
+   * @return
+   *     指定的集合中被此条件接受的对象所构成的列表，其顺序与集合的迭代顺序相同。
+   */
+  default List<T> filter(final Collection<? extends T> objects) {
+    final Predicate<T> predicate = compile();
+    final List<T> result = new ArrayList<>();
+    for (final T obj : objects) {
+      if (predicate.test(obj)) {
+        result.add(obj);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 使用此条件并行地过滤指定的对象集合。
+   *
+   * <p>此函数使用并行流对编译所得的谓词进行求值，适合用于过滤较大的集合。</p>
+   *
+   * @param objects
+   *     待过滤的对象集合。
+   * @return
+   *     指定的集合中被此条件接受的对象所构成的列表，其顺序与集合的迭代顺序相同。
+   */
+  default List<T> parallelFilter(final Collection<? extends T> objects) {
+    final Predicate<T> predicate = compile();
+    return objects.parallelStream()
+                  .filter(predicate)
+                  .collect(Collectors.toList());
+  }
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.sql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.PriorityQueue;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import ltd.qubit.commons.reflect.PropertyPath;
+
+import static ltd.qubit.commons.sql.impl.CriterionImplUtils.toComparableValue;
+
+/**
+ * 按照一组排序要求对实体进行排序的排序器。
+ *
+ * <p>此排序器对每个元素只提取一次排序键（即先将元素与其排序键组合在一起，排序后再取出
+ * 元素），而不是在每次比较时重新通过属性路径获取属性值并将其转换为可比较的值。多个排序
+ * 要求依次作为第一、第二……排序键。</p>
+ *
+ * <p>此排序器的排序结果与依次使用各个排序要求的{@link SortRequest#getComparator()}
+ * 作为主次比较器进行稳定排序的结果相同。</p>
+ *
+ * @param <T>
+ *     待排序的实体的类型。
+ * @author 胡海星
+ */
+@Immutable
+final class KeyExtractingSorter<T> {
+
+  /**
+   * 元素及其排序键的组合。
+   */
+  private static final class Entry<T> {
+    final T value;
+    final Object[] keys;
+    final int index;
+
+    Entry(final T value, final Object[] keys, final int index) {
+      this.value = value;
+      this.keys = keys;
+      this.index = index;
+    }
+  }
+
+  private final PropertyPath[] paths;
+  private final SortOrder[] orders;
+  private final NullSortOption[] nullSortOptions;
+
+  /**
+   * 创建一个排序器。
+   *
+   * @param requests
+   *     排序要求的列表，依次作为第一、第二……排序键。每个排序要求必须能提供
+   *     {@link SortRequest#getComparator()}。
+   */
+  KeyExtractingSorter(final List<SortRequest<T>> requests) {
+    final int n = requests.size();
+    this.paths = new PropertyPath[n];
+    this.orders = new SortOrder[n];
+    this.nullSortOptions = new NullSortOption[n];
+    for (int i = 0; i < n; ++i) {
+      final SortRequest<T> request = requests.get(i);
+      request.checkComparable();
+      paths[i] = PropertyPath.of(request.getEntityClass(), request.getProperty());
+      orders[i] = request.getOrder();
+      nullSortOptions[i] = request.getNullSortOption();
+    }
+  }
+
+  /**
+   * 对指定的列表中的元素进行排序。
+   *
+   * @param list
+   *     待排序的列表。
+   */
+  void sort(final List<T> list) {
+    final Entry<T>[] entries = extract(list);
+    Arrays.sort(entries, this::compareEntries);
+    final ListIterator<T> iter = list.listIterator();
+    for (final Entry<T> entry : entries) {
+      iter.next();
+      iter.set(entry.value);
+    }
+  }
+
+  /**
+   * 获取指定的集合中的元素排序后位于指定范围内的元素。
+   *
+   * <p>若指定的范围只是整个集合的一小部分，此函数使用一个容量为{@code offset + limit}
+   * 的堆来选出排在前面的元素，而不对整个集合进行排序。</p>
+   *
+   * @param collection
+   *     指定的集合。
+   * @param offset
+   *     待获取的元素在排序后的序列中的起始位置。
+   * @param limit
+   *     待获取的元素的最大数目。
+   * @return
+   *     指定的集合中的元素排序后，位于{@code [offset, offset + limit)}范围内的元素
+   *     构成的列表。
+   */
+  List<T> select(final Collection<? extends T> collection, final long offset,
+      final int limit) {
+    final int n = collection.size();
+    if (offset >= n || limit == 0) {
+      return new ArrayList<>();
+    }
+    final int end = (int) Math.min(n, offset + limit);
+    final Entry<T>[] entries;
+    if (end * 2L >= n) {
+      entries = extract(collection);
+      Arrays.sort(entries, this::compareEntries);
+    } else {
+      //  最大堆：堆顶是当前已选出的元素中排在最后的元素
+      final PriorityQueue<Entry<T>> heap = new PriorityQueue<>(end + 1,
+          (x, y) -> compareEntries(y, x));
+      int index = 0;
+      for (final T value : collection) {
+        final Entry<T> entry = new Entry<>(value, extractKeys(value), index++);
+        if (heap.size() < end) {
+          heap.add(entry);
+        } else if (compareEntries(entry, heap.peek()) < 0) {
+          heap.poll();
+          heap.add(entry);
+        }
+      }
+      entries = toArray(heap);
+      Arrays.sort(entries, this::compareEntries);
+    }
+    final List<T> result = new ArrayList<>(end - (int) offset);
+    for (int i = (int) offset; i < end; ++i) {
+      result.add(entries[i].value);
+    }
+    return result;
+  }
+
+  /**
+   * 获取比较实体的比较器。
+   *
+   * @return
+   *     按照此排序器的排序要求比较实体的比较器。
+   */
+  Comparator<T> getComparator() {
+    return (x, y) -> compareKeys(extractKeys(x), extractKeys(y));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Entry<T>[] extract(final Collection<? extends T> collection) {
+    final Entry<T>[] entries = new Entry[collection.size()];
+    int index = 0;
+    for (final T value : collection) {
+      entries[index] = new Entry<>(value, extractKeys(value), index);
+      ++index;
+    }
+    return entries;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Entry<T>[] toArray(final Collection<Entry<T>> entries) {
+    return entries.toArray(new Entry[0]);
+  }
+
+  private Object[] extractKeys(@Nullable final T value) {
+    final Object[] keys = new Object[paths.length];
+    if (value != null) {
+      for (int i = 0; i < paths.length; ++i) {
+        final Object key = paths[i].forClass(value.getClass()).getValue(value);
+        keys[i] = (key == null ? null : toComparableValue(key));
+      }
+    }
+    return keys;
+  }
+
+  /**
+   * 比较两个元素；排序键相同的元素按照其原始位置比较，以保证排序的稳定性。
+   */
+  private int compareEntries(final Entry<T> x, final Entry<T> y) {
+    final int rc = compareKeys(x.keys, y.keys);
+    return (rc != 0 ? rc : Integer.compare(x.index, y.index));
+  }
+
+  @SuppressWarnings("unchecked")
+  private int compareKeys(final Object[] x, final Object[] y) {
+    for (int i = 0; i < paths.length; ++i) {
+      final Object keyX = x[i];
+      final Object keyY = y[i];
+      final int rc;
+      if (keyX == null || keyY == null) {
+        rc = nullSortOptions[i].compare(keyX, keyY, orders[i]);
+      } else {
+        final int cmp = ((Comparable<Object>) keyX).compareTo(keyY);
+        rc = (orders[i] == SortOrder.DESC ? -cmp : cmp);
+      }
+      if (rc != 0) {
+        return rc;
+      }
+    }
+    return 0;
+  }
+}
@@ -9,12 +9,14 @@
 package ltd.qubit.commons.sql;
 
 import java.sql.SQLSyntaxErrorException;
+import java.util.function.Predicate;
 
 import javax.annotation.Nullable;
 
 import ltd.qubit.commons.lang.Equality;
 import ltd.qubit.commons.lang.Hash;
 import ltd.qubit.commons.reflect.impl.GetterMethod;
+import ltd.qubit.commons.sql.impl.CriterionPredicates;
 import ltd.qubit.commons.text.tostring.ToStringBuilder;
 import ltd.qubit.commons.util.ComparisonOperator;
 
@@ -350,6 +352,11 @@ public class SimpleCriterion<T> implements Criterion<T> {
     return operator.test(lhsValue, rhsValue);
   }
 
+  @Override
+  public Predicate<T> compile() {
+    return CriterionPredicates.compile(this);
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
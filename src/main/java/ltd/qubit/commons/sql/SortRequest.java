@@ -10,6 +10,7 @@ package ltd.qubit.commons.sql;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 
@@ -26,11 +27,9 @@ import static ltd.qubit.commons.lang.Argument.requireNonNull;
 import static ltd.qubit.commons.lang.ObjectUtils.defaultIfNull;
 import static ltd.qubit.commons.reflect.FieldUtils.getFieldName;
 import static ltd.qubit.commons.reflect.ObjectGraphUtils.getPropertyType;
-import static ltd.qubit.commons.reflect.ObjectGraphUtils.getPropertyValue;
 import static ltd.qubit.commons.reflect.ObjectGraphUtils.hasProperty;
 import static ltd.qubit.commons.sql.impl.CriterionImplUtils.isPartialOrderComparable;
 import static ltd.qubit.commons.sql.impl.CriterionImplUtils.isSupportedDataType;
-import static ltd.qubit.commons.sql.impl.CriterionImplUtils.toComparableValue;
 import static ltd.qubit.commons.text.NamingStyleUtils.propertyPathToDatabaseField;
 
 /**
@@ -440,6 +439,8 @@ public class SortRequest<T> implements Serializable {
   /**
    * 按照此排序要求，对指定的列表中的元素进行排序。
    *
+   * <p>排序时每个元素的排序键只被提取一次，而不是在每次比较时重新提取。</p>
+   *
    * @param list
    *     指定的列表。
    */
@@ -447,7 +448,25 @@ public class SortRequest<T> implements Serializable {
     if (list == null || list.isEmpty()) {
       return;
     }
-    list.sort(getComparator());
+    new KeyExtractingSorter<>(List.of(this)).sort(list);
+  }
+
+  /**
+   * 按照此排序要求，获取指定的集合中的元素排序后位于指定分页中的元素。
+   *
+   * <p>若指定的分页只是整个集合的一小部分，此函数使用一个有界的堆选出排在该分页及其之前
+   * 的元素，而不对整个集合进行排序。指定的集合不会被修改。</p>
+   *
+   * @param collection
+   *     指定的集合。
+   * @param pageRequest
+   *     分页要求。
+   * @return
+   *     指定的集合按此排序要求排序后，位于指定分页中的元素构成的分页。
+   */
+  public final Page<T> getPage(final Collection<? extends T> collection,
+      final PageRequest pageRequest) {
+    return getPage(collection, List.of(this), pageRequest);
   }
 
   /**
@@ -457,6 +476,18 @@ public class SortRequest<T> implements Serializable {
    *     按照此排序要求，用于比较列表中元素的{@link Comparator}。
    */
   public Comparator<T> getComparator() {
+    return new KeyExtractingSorter<>(List.of(this)).getComparator();
+  }
+
+  /**
+   * 检查此排序要求是否可以用于比较实体。
+   *
+   * @throws FieldNotExistException
+   *     如果排序依据的属性不存在。
+   * @throws IllegalArgumentException
+   *     如果排序依据的属性不可比较。
+   */
+  final void checkComparable() {
     if (! hasProperty(entityClass, property)) {
       throw new FieldNotExistException(entityClass, property);
     }
@@ -465,26 +496,69 @@ public class SortRequest<T> implements Serializable {
       throw new IllegalArgumentException("The property '" + property
           + "' of the class " + entityClass.getName() + " must be comparable.");
     }
-    return (x, y) -> {
-      final Object keyX = getPropertyValue(x, property);
-      final Object keyY = getPropertyValue(y, property);
-      if (keyX == null || keyY == null) {
-        return nullSortOption.compare(keyX, keyY, order);
-      } else {
-        @SuppressWarnings({"unchecked"})
-        final Comparable<Object> cpX = (Comparable<Object>) toComparableValue(keyX);
-        final Object cpY = toComparableValue(keyY);
-        final int rc = cpX.compareTo(cpY);
-        switch (order) {
-          case ASC:
-            return rc;
-          case DESC:
-            return -rc;
-          default:
-            throw new AssertionError("Unknown sort order: " + order);
-        }
-      }
-    };
+  }
+
+  /**
+   * 按照一组排序要求，对指定的列表中的元素进行排序。
+   *
+   * <p>排序要求依次作为第一、第二……排序键，即前面的排序要求无法区分的元素再按照后面的
+   * 排序要求排序。排序是稳定的，且每个元素的排序键只被提取一次。</p>
+   *
+   * @param <T>
+   *     待排序的实体的类型。
+   * @param list
+   *     指定的列表。
+   * @param requests
+   *     排序要求的列表。
+   */
+  public static <T> void sort(final List<T> list, final List<SortRequest<T>> requests) {
+    requireNonNull("requests", requests);
+    if (list == null || list.isEmpty()) {
+      return;
+    }
+    new KeyExtractingSorter<>(requests).sort(list);
+  }
+
+  /**
+   * 按照一组排序要求，返回用于比较列表中元素的{@link Comparator}。
+   *
+   * @param <T>
+   *     待排序的实体的类型。
+   * @param requests
+   *     排序要求的列表，依次作为第一、第二……排序键。
+   * @return
+   *     按照指定的排序要求，用于比较列表中元素的{@link Comparator}。
+   */
+  public static <T> Comparator<T> getComparator(final List<SortRequest<T>> requests) {
+    requireNonNull("requests", requests);
+    return new KeyExtractingSorter<>(requests).getComparator();
+  }
+
+  /**
+   * 按照一组排序要求，获取指定的集合中的元素排序后位于指定分页中的元素。
+   *
+   * <p>若指定的分页只是整个集合的一小部分，此函数使用一个有界的堆选出排在该分页及其之前
+   * 的元素，而不对整个集合进行排序。指定的集合不会被修改。</p>
+   *
+   * @param <T>
+   *     待排序的实体的类型。
+   * @param collection
+   *     指定的集合。
+   * @param requests
+   *     排序要求的列表，依次作为第一、第二……排序键。
+   * @param pageRequest
+   *     分页要求。
+   * @return
+   *     指定的集合按指定的排序要求排序后，位于指定分页中的元素构成的分页。
+   */
+  public static <T> Page<T> getPage(final Collection<? extends T> collection,
+      final List<SortRequest<T>> requests, final PageRequest pageRequest) {
+    requireNonNull("collection", collection);
+    requireNonNull("requests", requests);
+    requireNonNull("pageRequest", pageRequest);
+    final List<T> content = new KeyExtractingSorter<>(requests)
+        .select(collection, pageRequest.getOffset(), pageRequest.getPageSize());
+    return pageRequest.getPage(collection.size(), content);
   }
 
   @Override
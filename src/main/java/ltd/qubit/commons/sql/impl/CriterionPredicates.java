@@ -0,0 +1,359 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.sql.impl;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+import ltd.qubit.commons.reflect.PropertyPath;
+import ltd.qubit.commons.sql.ComposedCriterion;
+import ltd.qubit.commons.sql.SimpleCriterion;
+import ltd.qubit.commons.text.SqlLikePattern;
+import ltd.qubit.commons.util.ComparisonOperator;
+
+import static ltd.qubit.commons.sql.impl.CriterionImplUtils.toComparableValue;
+
+/**
+ * 提供将{@link SimpleCriterion}和{@link ComposedCriterion}编译为内存中的谓词的
+ * 工具函数。
+ *
+ * <p>编译时只检查一次条件的合法性，预先解析条件中的属性路径，预先将条件右边的值转换为
+ * 可比较的值，并根据比较操作符选择专门的比较方式：整数类型的属性值直接与{@code long}
+ * 值比较而无需转换为{@link BigDecimal}；{@code IN}和{@code NOT IN}操作使用预先构造
+ * 的{@link Set}；{@code LIKE}和{@code NOT LIKE}操作使用预先编译的
+ * {@link SqlLikePattern}。编译所得谓词的结果与{@link SimpleCriterion#accept(Object)}
+ * 和{@link ComposedCriterion#accept(Object)}的结果完全相同。</p>
+ *
+ * <p>编译所得的谓词是不可变的，可以被多个线程同时使用。</p>
+ *
+ * @author 胡海星
+ */
+public class CriterionPredicates {
+
+  private static final Predicate<Object> REJECT_ALL = (obj) -> false;
+
+  /**
+   * 获取拒绝所有对象的谓词。
+   *
+   * @param <T>
+   *     待过滤的实体的类。
+   * @return
+   *     拒绝所有对象的谓词。
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> Predicate<T> rejectAll() {
+    return (Predicate<T>) REJECT_ALL;
+  }
+
+  /**
+   * 将一个简单条件编译为谓词。
+   *
+   * @param <T>
+   *     待过滤的实体的类。
+   * @param criterion
+   *     待编译的简单条件。
+   * @return
+   *     编译所得的谓词。若此条件不合法，返回拒绝所有对象的谓词。
+   */
+  public static <T> Predicate<T> compile(final SimpleCriterion<T> criterion) {
+    if (!criterion.isValid()) {
+      return rejectAll();
+    }
+    final Class<T> entityClass = criterion.getEntityClass();
+    final PropertyPath lhsPath = PropertyPath.of(entityClass, criterion.getProperty());
+    final ComparisonOperator operator = criterion.getOperator();
+    final Object value = criterion.getValue();
+    if (criterion.isCompareProperties()) {
+      final PropertyPath rhsPath = PropertyPath.of(entityClass, (String) value);
+      return (obj) -> (obj != null)
+          && operator.test(getValue(lhsPath, obj), getValue(rhsPath, obj));
+    }
+    if (value == null) {
+      //  与 ComparisonOperator.test() 的语义一致：null 只等于 null
+      final boolean whenNull = (operator == ComparisonOperator.EQUAL);
+      final boolean whenNonNull = (operator == ComparisonOperator.NOT_EQUAL);
+      return (obj) -> (obj != null)
+          && ((getValue(lhsPath, obj) == null) ? whenNull : whenNonNull);
+    }
+    final Object rhs = toComparableValue(value);
+    switch (operator) {
+      case EQUAL:
+        return compileEqual(lhsPath, rhs, false);
+      case NOT_EQUAL:
+        return compileEqual(lhsPath, rhs, true);
+      case LESS:
+      case LESS_EQUAL:
+      case GREATER:
+      case GREATER_EQUAL:
+        return compileCompare(lhsPath, operator, rhs);
+      case IN:
+      case NOT_IN:
+        if (rhs instanceof Object[]) {
+          return compileIn(lhsPath, (Object[]) rhs, operator == ComparisonOperator.NOT_IN);
+        }
+        break;
+      case LIKE:
+      case NOT_LIKE:
+        if (rhs instanceof String) {
+          return compileLike(lhsPath, (String) rhs, operator == ComparisonOperator.NOT_LIKE);
+        }
+        break;
+      default:
+        break;
+    }
+    //  其余的情况保留 ComparisonOperator.test() 的原有行为
+    return (obj) -> (obj != null) && operator.test(getValue(lhsPath, obj), value);
+  }
+
+  /**
+   * 将一个复合条件编译为谓词。
+   *
+   * <p>复合条件的子条件在编译时被逐一编译；此后对复合条件的子条件列表的修改不会
+   * 影响已编译的谓词。</p>
+   *
+   * @param <T>
+   *     待过滤的实体的类。
+   * @param criterion
+   *     待编译的复合条件。
+   * @return
+   *     编译所得的谓词。
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> Predicate<T> compile(final ComposedCriterion<T> criterion) {
+    final List<SimpleCriterion<T>> criteria = criterion.getCriteria();
+    final int n = criteria.size();
+    final Predicate<T>[] predicates = new Predicate[n];
+    for (int i = 0; i < n; ++i) {
+      predicates[i] = criteria.get(i).compile();
+    }
+    switch (criterion.getRelation()) {
+      case NOT:
+        if (n != 1) {
+          return rejectAll();
+        }
+        final Predicate<T> predicate = predicates[0];
+        return (obj) -> (obj != null) && (!predicate.test(obj));
+      case AND:
+        return (obj) -> {
+          if (obj == null) {
+            return false;
+          }
+          for (final Predicate<T> p : predicates) {
+            if (!p.test(obj)) {
+              return false;
+            }
+          }
+          return true;
+        };
+      case OR:
+        return (obj) -> {
+          if (obj == null) {
+            return false;
+          }
+          for (final Predicate<T> p : predicates) {
+            if (p.test(obj)) {
+              return true;
+            }
+          }
+          return false;
+        };
+      default:
+        return rejectAll();
+    }
+  }
+
+  /**
+   * 获取对象的属性值。
+   *
+   * <p>属性路径按照对象的实际类型解析，与{@code ObjectGraphUtils.getPropertyValue()}
+   * 的行为一致；对于最常见的对象类型等于实体类的情况，直接使用预先解析的属性路径。</p>
+   */
+  @Nullable
+  private static Object getValue(final PropertyPath path, final Object obj) {
+    return path.forClass(obj.getClass()).getValue(obj);
+  }
+
+  /**
+   * 判定一个值是否是转换为可比较的值后为整数的类型。
+   *
+   * <p>这些类型的值被{@code NumericUtils.toNumeric()}转换为{@code scale}为0的
+   * {@link BigDecimal}，因此可以直接与{@code long}值进行比较。</p>
+   */
+  private static boolean isIntegral(final Object value) {
+    return (value instanceof Integer)
+        || (value instanceof Long)
+        || (value instanceof Short)
+        || (value instanceof Byte)
+        || (value instanceof Boolean);
+  }
+
+  private static long toLong(final Object value) {
+    if (value instanceof Boolean) {
+      return ((Boolean) value ? 1L : 0L);
+    } else {
+      return ((Number) value).longValue();
+    }
+  }
+
+  /**
+   * 若指定的可比较的值是一个{@code scale}为0且可以用{@code long}表示的
+   * {@link BigDecimal}，返回其{@code long}值；否则返回{@code null}。
+   */
+  @Nullable
+  private static Long toExactLong(final Object comparable) {
+    if ((comparable instanceof BigDecimal) && (((BigDecimal) comparable).scale() == 0)) {
+      try {
+        return ((BigDecimal) comparable).longValueExact();
+      } catch (final ArithmeticException e) {
+        return null;
+      }
+    }
+    return null;
+  }
+
+  private static <T> Predicate<T> compileEqual(final PropertyPath lhsPath,
+      final Object rhs, final boolean negate) {
+    if (rhs instanceof BigDecimal) {
+      final Long exact = toExactLong(rhs);
+      //  整数类型的值转换为 scale 为 0 的 BigDecimal，它不可能等于 scale 不为 0 或
+      //  超出 long 范围的 BigDecimal
+      final boolean hasExact = (exact != null);
+      final long rhsLong = (hasExact ? exact : 0L);
+      return (obj) -> {
+        if (obj == null) {
+          return false;
+        }
+        final Object lhs = getValue(lhsPath, obj);
+        if (lhs == null) {
+          return false;
+        }
+        final boolean equal;
+        if (isIntegral(lhs)) {
+          equal = hasExact && (toLong(lhs) == rhsLong);
+        } else {
+          equal = toComparableValue(lhs).equals(rhs);
+        }
+        return (equal != negate);
+      };
+    } else if (rhs instanceof String) {
+      return (obj) -> {
+        if (obj == null) {
+          return false;
+        }
+        final Object lhs = getValue(lhsPath, obj);
+        if (lhs == null) {
+          return false;
+        }
+        final boolean equal = (lhs instanceof String)
+            ? lhs.equals(rhs)
+            : toComparableValue(lhs).equals(rhs);
+        return (equal != negate);
+      };
+    } else {
+      return (obj) -> {
+        if (obj == null) {
+          return false;
+        }
+        final Object lhs = getValue(lhsPath, obj);
+        return (lhs != null) && (toComparableValue(lhs).equals(rhs) != negate);
+      };
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static <T> Predicate<T> compileCompare(final PropertyPath lhsPath,
+      final ComparisonOperator operator, final Object rhs) {
+    final Long exact = toExactLong(rhs);
+    final boolean hasExact = (exact != null);
+    final long rhsLong = (hasExact ? exact : 0L);
+    final boolean isString = (rhs instanceof String);
+    return (obj) -> {
+      if (obj == null) {
+        return false;
+      }
+      final Object lhs = getValue(lhsPath, obj);
+      if (lhs == null) {
+        return false;
+      }
+      final int result;
+      if (hasExact && isIntegral(lhs)) {
+        result = Long.compare(toLong(lhs), rhsLong);
+      } else if (isString && (lhs instanceof String)) {
+        result = ((String) lhs).compareTo((String) rhs);
+      } else {
+        result = ((Comparable) toComparableValue(lhs)).compareTo(rhs);
+      }
+      switch (operator) {
+        case LESS:
+          return (result < 0);
+        case LESS_EQUAL:
+          return (result <= 0);
+        case GREATER:
+          return (result > 0);
+        default:    // GREATER_EQUAL
+          return (result >= 0);
+      }
+    };
+  }
+
+  private static <T> Predicate<T> compileIn(final PropertyPath lhsPath,
+      final Object[] rhs, final boolean negate) {
+    final Set<Object> values = new HashSet<>(Arrays.asList(rhs));
+    //  整数类型的值只可能等于 scale 为 0 且可以用 long 表示的 BigDecimal
+    final Set<Long> longValues = new HashSet<>();
+    for (final Object value : rhs) {
+      final Long exact = toExactLong(value);
+      if (exact != null) {
+        longValues.add(exact);
+      }
+    }
+    return (obj) -> {
+      if (obj == null) {
+        return false;
+      }
+      final Object lhs = getValue(lhsPath, obj);
+      if (lhs == null) {
+        return false;
+      }
+      final boolean contains;
+      if (isIntegral(lhs)) {
+        contains = longValues.contains(toLong(lhs));
+      } else if (lhs instanceof String) {
+        contains = values.contains(lhs);
+      } else {
+        contains = values.contains(toComparableValue(lhs));
+      }
+      return (contains != negate);
+    };
+  }
+
+  private static <T> Predicate<T> compileLike(final PropertyPath lhsPath,
+      final String rhs, final boolean negate) {
+    final SqlLikePattern pattern = new SqlLikePattern(rhs);
+    return (obj) -> {
+      if (obj == null) {
+        return false;
+      }
+      final Object lhs = getValue(lhsPath, obj);
+      if (lhs == null) {
+        return false;
+      }
+      final String str = (lhs instanceof String)
+          ? (String) lhs
+          : (String) toComparableValue(lhs);
+      return (pattern.match(str) != negate);
+    };
+  }
+}
@@ -0,0 +1,475 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import ltd.qubit.commons.datastructure.list.primitive.IntList;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * A compiled Aho-Corasick automaton used to search for any of a set of
+ * substrings in a single pass over the source string.
+ *
+ * <p>Searching a string of length {@code n} costs {@code O(n + m)}, where
+ * {@code m} is the number of matches found, no matter how many substrings the
+ * automaton was built from; while testing the substrings one by one costs
+ * {@code O(n * k)} for {@code k} substrings.
+ *
+ * <p>The results of the searching functions are exactly the same as those of
+ * the corresponding functions in {@link ltd.qubit.commons.text.impl.SearcherImpl}:
+ * the occurrences of each substring are counted from left to right without
+ * overlapping each other, while the occurrences of different substrings may
+ * overlap. The {@code null} substrings are ignored.
+ *
+ * <p>An automaton is immutable once built, and could be shared by multiple
+ * threads and reused for any number of searches, for example, via
+ * {@link Searcher#forSubstringsIn(AhoCorasickAutomaton)}.
+ *
+ * @author Haixing Hu
+ */
+@Immutable
+public final class AhoCorasickAutomaton {
+
+  private static final int ROOT = 0;
+
+  private final CharSequence[] substrings;
+  private final boolean ignoreCase;
+  private final int[] lengths;
+  private final int emptyCount;
+  private final int maxLength;
+
+  //  the transitions of node i are stored in the range
+  //  [edgeStart[i], edgeStart[i + 1]) of edgeLabels and edgeTargets, sorted
+  //  by their labels
+  private final int[] edgeStart;
+  private final char[] edgeLabels;
+  private final int[] edgeTargets;
+  private final int[] failure;
+
+  //  the indexes of the substrings ending at node i are stored in the range
+  //  [outputStart[i], outputStart[i + 1]) of outputs; outputLink[i] is the
+  //  nearest node in the failure chain of node i having any output, or -1.
+  private final int[] outputStart;
+  private final int[] outputs;
+  private final int[] outputLink;
+
+  //  the slot used to track the end of the last counted occurrence of each
+  //  substring whose occurrences may overlap with each other, or -1 for the
+  //  substrings whose occurrences never overlap.
+  private final int[] overlapSlot;
+  private final int overlapCount;
+
+  /**
+   * Builds an automaton.
+   *
+   * @param substrings
+   *     the array of substrings to search. The {@code null} elements are
+   *     ignored.
+   * @param ignoreCase
+   *     whether to ignore the case while searching for substrings.
+   */
+  public AhoCorasickAutomaton(final CharSequence[] substrings, final boolean ignoreCase) {
+    requireNonNull("substrings", substrings);
+    this.substrings = substrings.clone();
+    this.ignoreCase = ignoreCase;
+    final int n = substrings.length;
+    this.lengths = new int[n];
+    this.overlapSlot = new int[n];
+    // build the trie
+    final List<TreeMap<Character, Integer>> children = new ArrayList<>();
+    final List<List<Integer>> nodeOutputs = new ArrayList<>();
+    children.add(new TreeMap<>());
+    nodeOutputs.add(null);
+    int empty = 0;
+    int maxLen = 0;
+    int overlaps = 0;
+    for (int i = 0; i < n; ++i) {
+      overlapSlot[i] = -1;
+      final CharSequence substring = this.substrings[i];
+      if (substring == null) {
+        lengths[i] = -1;
+        continue;
+      }
+      final int len = substring.length();
+      lengths[i] = len;
+      if (len == 0) {
+        ++empty;
+        continue;
+      }
+      maxLen = Math.max(maxLen, len);
+      final char[] folded = new char[len];
+      int node = ROOT;
+      for (int j = 0; j < len; ++j) {
+        final char ch = fold(substring.charAt(j));
+        folded[j] = ch;
+        final Integer child = children.get(node).get(ch);
+        if (child == null) {
+          final int next = children.size();
+          children.add(new TreeMap<>());
+          nodeOutputs.add(null);
+          children.get(node).put(ch, next);
+          node = next;
+        } else {
+          node = child;
+        }
+      }
+      List<Integer> list = nodeOutputs.get(node);
+      if (list == null) {
+        list = new ArrayList<>(1);
+        nodeOutputs.set(node, list);
+      }
+      list.add(i);
+      if (hasBorder(folded)) {
+        overlapSlot[i] = overlaps++;
+      }
+    }
+    this.emptyCount = empty;
+    this.maxLength = maxLen;
+    this.overlapCount = overlaps;
+    // compact the trie
+    final int nodes = children.size();
+    int edges = 0;
+    int outputCount = 0;
+    for (int i = 0; i < nodes; ++i) {
+      edges += children.get(i).size();
+      final List<Integer> list = nodeOutputs.get(i);
+      outputCount += (list == null ? 0 : list.size());
+    }
+    this.edgeStart = new int[nodes + 1];
+    this.edgeLabels = new char[edges];
+    this.edgeTargets = new int[edges];
+    this.outputStart = new int[nodes + 1];
+    this.outputs = new int[outputCount];
+    int e = 0;
+    int o = 0;
+    for (int i = 0; i < nodes; ++i) {
+      edgeStart[i] = e;
+      for (final Map.Entry<Character, Integer> entry : children.get(i).entrySet()) {
+        edgeLabels[e] = entry.getKey();
+        edgeTargets[e] = entry.getValue();
+        ++e;
+      }
+      outputStart[i] = o;
+      final List<Integer> list = nodeOutputs.get(i);
+      if (list != null) {
+        for (final int index : list) {
+          outputs[o++] = index;
+        }
+      }
+    }
+    edgeStart[nodes] = e;
+    outputStart[nodes] = o;
+    // compute the failure links and output links in the BFS order
+    this.failure = new int[nodes];
+    this.outputLink = new int[nodes];
+    outputLink[ROOT] = -1;
+    final int[] queue = new int[nodes];
+    int head = 0;
+    int tail = 0;
+    for (int k = edgeStart[ROOT]; k < edgeStart[ROOT + 1]; ++k) {
+      final int child = edgeTargets[k];
+      failure[child] = ROOT;
+      outputLink[child] = -1;
+      queue[tail++] = child;
+    }
+    while (head < tail) {
+      final int node = queue[head++];
+      for (int k = edgeStart[node]; k < edgeStart[node + 1]; ++k) {
+        final char ch = edgeLabels[k];
+        final int child = edgeTargets[k];
+        int f = failure[node];
+        int next;
+        while ((next = transit(f, ch)) < 0 && f != ROOT) {
+          f = failure[f];
+        }
+        final int fail = (next < 0 ? ROOT : next);
+        failure[child] = fail;
+        outputLink[child] = (hasOutput(fail) ? fail : outputLink[fail]);
+        queue[tail++] = child;
+      }
+    }
+  }
+
+  private static boolean hasBorder(final char[] str) {
+    //  computes the KMP prefix function; a string has a non-empty proper
+    //  border iff two of its occurrences could overlap
+    final int[] pi = new int[str.length];
+    for (int i = 1; i < str.length; ++i) {
+      int k = pi[i - 1];
+      while (k > 0 && str[i] != str[k]) {
+        k = pi[k - 1];
+      }
+      if (str[i] == str[k]) {
+        ++k;
+      }
+      pi[i] = k;
+    }
+    return pi[str.length - 1] > 0;
+  }
+
+  /**
+   * Gets a copy of the substrings this automaton was built from.
+   *
+   * @return
+   *     a copy of the substrings this automaton was built from.
+   */
+  public CharSequence[] getSubstrings() {
+    return substrings.clone();
+  }
+
+  /**
+   * Tests whether this automaton ignores the case while searching.
+   *
+   * @return
+   *     whether this automaton ignores the case while searching.
+   */
+  public boolean isIgnoreCase() {
+    return ignoreCase;
+  }
+
+  private char fold(final char ch) {
+    //  two characters are equal ignoring case iff their folded forms are equal;
+    //  this is the same rule as String.regionMatches(true, ...)
+    return (ignoreCase ? Character.toLowerCase(Character.toUpperCase(ch)) : ch);
+  }
+
+  private boolean hasOutput(final int node) {
+    return outputStart[node] < outputStart[node + 1];
+  }
+
+  private int transit(final int node, final char ch) {
+    int low = edgeStart[node];
+    int high = edgeStart[node + 1] - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final char label = edgeLabels[mid];
+      if (label < ch) {
+        low = mid + 1;
+      } else if (label > ch) {
+        high = mid - 1;
+      } else {
+        return edgeTargets[mid];
+      }
+    }
+    return -1;
+  }
+
+  private int next(final int node, final char ch) {
+    int state = node;
+    while (true) {
+      final int target = transit(state, ch);
+      if (target >= 0) {
+        return target;
+      }
+      if (state == ROOT) {
+        return ROOT;
+      }
+      state = failure[state];
+    }
+  }
+
+  private int firstOutputNode(final int state) {
+    return (hasOutput(state) ? state : outputLink[state]);
+  }
+
+  /**
+   * Finds the first index of any substring of this automaton in the specified
+   * range of a string.
+   *
+   * @param str
+   *     the source string.
+   * @param start
+   *     the starting index of the range, inclusive.
+   * @param end
+   *     the ending index of the range, exclusive.
+   * @return
+   *     the smallest index in {@code [start, end)} where any substring occurs,
+   *     or {@code end} if no substring found.
+   */
+  public int firstIndexIn(final CharSequence str, final int start, final int end) {
+    assert (str != null && start >= 0 && start <= end && end <= str.length());
+    if (emptyCount > 0) {
+      return start;
+    }
+    int result = end;
+    int state = ROOT;
+    for (int i = start; i < end; ++i) {
+      // a match ending after i starts at least at (i + 1 - maxLength)
+      if (i + 1 - maxLength >= result) {
+        break;
+      }
+      state = next(state, fold(str.charAt(i)));
+      for (int node = firstOutputNode(state); node >= 0; node = outputLink[node]) {
+        // all the substrings ending at the same node have the same length
+        final int index = i + 1 - lengths[outputs[outputStart[node]]];
+        if (index < result) {
+          result = index;
+          if (result == start) {
+            return start;
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Counts the occurrences of the substrings of this automaton in the specified
+   * range of a string.
+   *
+   * <p>The occurrences of each substring are counted without overlapping each
+   * other, and the counts of all substrings are summed up.
+   *
+   * @param str
+   *     the source string.
+   * @param start
+   *     the starting index of the range, inclusive.
+   * @param end
+   *     the ending index of the range, exclusive.
+   * @return
+   *     the number of occurrences of the substrings in the specified range.
+   */
+  public int countMatchesIn(final CharSequence str, final int start, final int end) {
+    assert (str != null && start >= 0 && start <= end && end <= str.length());
+    int count = emptyCount * (end - start);
+    final int[] nextAllowed = (overlapCount > 0 ? new int[overlapCount] : null);
+    int state = ROOT;
+    for (int i = start; i < end; ++i) {
+      state = next(state, fold(str.charAt(i)));
+      for (int node = firstOutputNode(state); node >= 0; node = outputLink[node]) {
+        for (int k = outputStart[node]; k < outputStart[node + 1]; ++k) {
+          final int substring = outputs[k];
+          final int slot = overlapSlot[substring];
+          if (slot < 0) {
+            ++count;
+          } else {
+            final int index = i + 1 - lengths[substring];
+            if (index >= nextAllowed[slot]) {
+              ++count;
+              nextAllowed[slot] = i + 1;
+            }
+          }
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Gets the indexes of the occurrences of the substrings of this automaton in
+   * the specified range of a string.
+   *
+   * <p>The occurrences of each substring are found without overlapping each
+   * other. The indexes are appended to the specified list, which is then
+   * sorted and has its duplicated elements removed.
+   *
+   * @param str
+   *     the source string.
+   * @param start
+   *     the starting index of the range, inclusive.
+   * @param end
+   *     the ending index of the range, exclusive.
+   * @param result
+   *     the list where to append the indexes.
+   */
+  public void getOccurrencesIn(final CharSequence str, final int start,
+      final int end, final IntList result) {
+    assert (str != null && start >= 0 && start <= end && end <= str.length());
+    if (start >= end) {
+      return;
+    }
+    if (emptyCount > 0) {
+      for (int i = start; i < end; ++i) {
+        result.add(i);
+      }
+    }
+    final int[] nextAllowed = (overlapCount > 0 ? new int[overlapCount] : null);
+    int state = ROOT;
+    for (int i = start; i < end; ++i) {
+      state = next(state, fold(str.charAt(i)));
+      for (int node = firstOutputNode(state); node >= 0; node = outputLink[node]) {
+        for (int k = outputStart[node]; k < outputStart[node + 1]; ++k) {
+          final int substring = outputs[k];
+          final int index = i + 1 - lengths[substring];
+          final int slot = overlapSlot[substring];
+          if (slot < 0) {
+            result.add(index);
+          } else if (index >= nextAllowed[slot]) {
+            result.add(index);
+            nextAllowed[slot] = i + 1;
+          }
+        }
+      }
+    }
+    result.sort();
+    result.unique();
+  }
+
+  /**
+   * Finds which substrings of this automaton occur in the specified range of a
+   * string.
+   *
+   * @param str
+   *     the source string.
+   * @param start
+   *     the starting index of the range, inclusive.
+   * @param end
+   *     the ending index of the range, exclusive.
+   * @param result
+   *     the bit set where to store the result. For each substring occurring in
+   *     the specified range, the bit whose index is the index of the substring
+   *     in the array this automaton was built from is set.
+   */
+  public void getMatchedSubstringsIn(final CharSequence str, final int start,
+      final int end, final BitSet result) {
+    assert (str != null && start >= 0 && start <= end && end <= str.length());
+    if (emptyCount > 0) {
+      for (int i = 0; i < lengths.length; ++i) {
+        if (lengths[i] == 0) {
+          result.set(i);
+        }
+      }
+    }
+    int state = ROOT;
+    for (int i = start; i < end; ++i) {
+      state = next(state, fold(str.charAt(i)));
+      for (int node = firstOutputNode(state); node >= 0; node = outputLink[node]) {
+        for (int k = outputStart[node]; k < outputStart[node + 1]; ++k) {
+          result.set(outputs[k]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests whether any substring of this automaton occurs in the specified
+   * string.
+   *
+   * @param str
+   *     the source string, which may be {@code null}.
+   * @return
+   *     whether any substring of this automaton occurs in the specified string.
+   */
+  public boolean isContainedIn(@Nullable final CharSequence str) {
+    if (str == null) {
+      return false;
+    }
+    final int len = str.length();
+    return firstIndexIn(str, 0, len) < len;
+  }
+}
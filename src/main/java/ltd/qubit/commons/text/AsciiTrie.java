@@ -10,6 +10,8 @@ package ltd.qubit.commons.text;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
+import ltd.qubit.commons.datastructure.list.primitive.impl.IntArrayList;
+
 /**
  * A tree based trie for ASCII strings.
  *
@@ -54,6 +56,29 @@ public class AsciiTrie {
     }
   }
 
+  private static final DoubleArrayTrie.Source<Node> NODE_SOURCE =
+      new DoubleArrayTrie.Source<>() {
+        @Override
+        public int childCount(final Node node) {
+          return (node.children == null ? 0 : node.children.length);
+        }
+
+        @Override
+        public char childChar(final Node node, final int index) {
+          return (char) index;
+        }
+
+        @Override
+        public Node child(final Node node, final int index) {
+          return node.children[index];
+        }
+
+        @Override
+        public boolean isTerminal(final Node node) {
+          return (node.occurrence > 0);
+        }
+      };
+
   private final Node root;
   private int size;
   private final boolean caseInsensitive;
@@ -148,6 +173,45 @@ public class AsciiTrie {
     return false;
   }
 
+  /**
+   * Tests whether this trie contains a non-empty prefix of the reversed string
+   * of the specified string.
+   *
+   * <p>This function is equivalent to
+   * {@code containsPrefixOf(StringUtils.reverse(str))}, but it does not
+   * allocate the reversed string. It is used to test whether a string ends with
+   * any suffix in a trie whose strings are reversed.
+   *
+   * @param str
+   *     the specified string.
+   * @return
+   *     {@code true} if this trie contains a non-empty prefix of the reversed
+   *     string of the specified string; {@code false} otherwise.
+   */
+  public boolean containsPrefixOfReversed(final String str) {
+    if (str == null) {
+      return false;
+    }
+    Node node = root;
+    for (int i = str.length() - 1; i >= 0; --i) {
+      char ch = str.charAt(i);
+      if (! Ascii.isAscii(ch)) {
+        return false;
+      }
+      if (caseInsensitive) {
+        ch = Ascii.toLowerCase(ch);
+      }
+      node = node.children[ch];
+      if (node == null) {
+        return false;
+      }
+      if (node.occurrence > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public int count(final String str) {
     final Node node = getNode(str);
     if (node == null) {
@@ -258,4 +322,20 @@ public class AsciiTrie {
   public void compact() {
     root.compact();
   }
+
+  /**
+   * Compiles this trie into an immutable {@link FrozenTrie}.
+   *
+   * <p>The frozen trie takes much less memory and can be queried by multiple
+   * threads concurrently. Later modifications of this trie do not affect it.
+   *
+   * @return
+   *     the immutable trie containing the same strings as this trie.
+   */
+  public FrozenTrie freeze() {
+    final IntArrayList counts = new IntArrayList();
+    final DoubleArrayTrie trie = DoubleArrayTrie.build(NODE_SOURCE, root,
+        caseInsensitive, true, (node) -> counts.add(node.occurrence));
+    return new FrozenTrie(trie, counts.toArray());
+  }
 }
\ No newline at end of file
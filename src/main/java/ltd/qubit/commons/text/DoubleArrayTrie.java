@@ -0,0 +1,581 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.annotation.concurrent.Immutable;
+
+import ltd.qubit.commons.datastructure.list.primitive.impl.IntArrayList;
+
+/**
+ * An immutable double-array trie compiled from a tree based trie.
+ *
+ * <p>The transitions of the trie are stored in two flat arrays: the child of the
+ * state {@code s} labelled by the character {@code ch} is the state
+ * {@code t = base[s] + code(ch)} if {@code check[t] == s}, where the codes of
+ * the characters are assigned in the descending order of their frequencies to
+ * keep the arrays dense. The root is the state 0.
+ *
+ * <p>The keys are numbered in the lexicographical order, so the keys with a
+ * common prefix form a contiguous range of entries, which is recorded for every
+ * state. The payload of the keys is stored by the callers in arrays indexed by
+ * the entry numbers.
+ *
+ * @author Haixing Hu
+ */
+@Immutable
+final class DoubleArrayTrie {
+
+  /**
+   * The adaptor of the nodes of a tree based trie.
+   *
+   * @param <N>
+   *     the type of the nodes.
+   */
+  interface Source<N> {
+
+    /**
+     * Gets the number of child slots of a node.
+     */
+    int childCount(N node);
+
+    /**
+     * Gets the character labelling the child in the specified slot.
+     */
+    char childChar(N node, int index);
+
+    /**
+     * Gets the child in the specified slot, or {@code null} if the slot is empty.
+     * The children must be in the ascending order of their characters.
+     */
+    N child(N node, int index);
+
+    /**
+     * Tests whether a node is the end of a key.
+     */
+    boolean isTerminal(N node);
+  }
+
+  private static final int ROOT = 0;
+
+  private static final int NIL = -1;
+
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+  /**
+   * The number of free slots a base search may skip before the later searches
+   * for states with several children start after them.
+   */
+  private static final int MAX_FAILED = 64;
+
+  private final boolean caseInsensitive;
+  private final boolean asciiOnly;
+  private final int[] codes;
+  private final char[] alphabet;
+  private final int[] base;
+  private final int[] check;
+  private final int[] entryStart;
+  private final int[] entryEnd;
+  private final int[] entryStates;
+  private final int stateCount;
+
+  private DoubleArrayTrie(final Builder<?> builder) {
+    caseInsensitive = builder.caseInsensitive;
+    asciiOnly = builder.asciiOnly;
+    codes = builder.codes;
+    alphabet = builder.alphabet;
+    final int length = builder.maxState + 1;
+    base = Arrays.copyOf(builder.base, length);
+    check = Arrays.copyOf(builder.check, length);
+    entryStart = Arrays.copyOf(builder.entryStart, length);
+    entryEnd = Arrays.copyOf(builder.entryEnd, length);
+    entryStates = builder.entryStates.toArray();
+    stateCount = builder.stateCount;
+  }
+
+  /**
+   * Compiles a tree based trie.
+   *
+   * @param source
+   *     the adaptor of the nodes of the tree based trie.
+   * @param root
+   *     the root of the tree based trie.
+   * @param caseInsensitive
+   *     whether the characters of the keys have been converted to lower case.
+   * @param asciiOnly
+   *     whether the keys contain only ASCII characters and are converted to
+   *     lower case with {@link Ascii#toLowerCase(char)}.
+   * @param entryConsumer
+   *     the consumer called on the terminal nodes in the order of the entry
+   *     numbers.
+   * @return
+   *     the compiled double-array trie.
+   */
+  static <N> DoubleArrayTrie build(final Source<N> source, final N root,
+      final boolean caseInsensitive, final boolean asciiOnly,
+      final Consumer<? super N> entryConsumer) {
+    final Builder<N> builder = new Builder<>(source, caseInsensitive, asciiOnly);
+    builder.build(root, entryConsumer);
+    return new DoubleArrayTrie(builder);
+  }
+
+  boolean isCaseInsensitive() {
+    return caseInsensitive;
+  }
+
+  int stateCount() {
+    return stateCount;
+  }
+
+  int entryCount() {
+    return entryStates.length;
+  }
+
+  /**
+   * Gets the child of a state labelled by a character, or {@link #NIL} if no
+   * such child.
+   */
+  private int next(final int state, final char ch) {
+    final int code = (ch < codes.length ? codes[ch] : 0);
+    if (code == 0) {
+      return NIL;
+    }
+    final int child = base[state] + code;
+    return ((child < check.length) && (check[child] == state) ? child : NIL);
+  }
+
+  private char fold(final char ch) {
+    if (!caseInsensitive) {
+      return ch;
+    } else if (asciiOnly) {
+      return Ascii.toLowerCase(ch);
+    } else {
+      return Character.toLowerCase(ch);
+    }
+  }
+
+  /**
+   * Gets the state reached by a string, or {@link #NIL} if no such state.
+   */
+  int find(final String str) {
+    final int len = str.length();
+    int state = ROOT;
+    for (int i = 0; (i < len) && (state != NIL); ++i) {
+      state = next(state, fold(str.charAt(i)));
+    }
+    return state;
+  }
+
+  /**
+   * Gets the entry number of a state, or {@link #NIL} if the state is not the
+   * end of a key.
+   */
+  int entryOf(final int state) {
+    return (state == NIL ? NIL : Math.max(entryStart[state], NIL));
+  }
+
+  /**
+   * Gets the number of keys starting with the string of a state.
+   */
+  int countFrom(final int state) {
+    if (state == NIL) {
+      return 0;
+    }
+    final int start = entryStart[state];
+    return entryEnd[state] - (start >= 0 ? start : ~start);
+  }
+
+  /**
+   * Gets the first entry number of the keys starting with the string of a state.
+   */
+  int firstEntryFrom(final int state) {
+    final int start = entryStart[state];
+    return (start >= 0 ? start : ~start);
+  }
+
+  /**
+   * Gets the entry number of the longest key which is a prefix of the substring
+   * of a string starting at the specified index, or {@link #NIL} if no such key.
+   */
+  int longestPrefix(final String str, final int start, final boolean includeEmpty) {
+    final int len = str.length();
+    int state = ROOT;
+    int result = (includeEmpty ? entryOf(ROOT) : NIL);
+    for (int i = start; i < len; ++i) {
+      state = next(state, fold(str.charAt(i)));
+      if (state == NIL) {
+        break;
+      }
+      if (entryStart[state] >= 0) {
+        result = entryStart[state];
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the entry number of the shortest non-empty key which is a prefix of a
+   * string, or {@link #NIL} if no such key.
+   */
+  int shortestPrefix(final String str) {
+    final int len = str.length();
+    int state = ROOT;
+    for (int i = 0; i < len; ++i) {
+      state = next(state, fold(str.charAt(i)));
+      if (state == NIL) {
+        return NIL;
+      }
+      if (entryStart[state] >= 0) {
+        return entryStart[state];
+      }
+    }
+    return NIL;
+  }
+
+  /**
+   * Gets the entry number of the longest key, or the shortest non-empty key if
+   * {@code shortest} is {@code true}, which is a prefix of the reversed string
+   * of a string, or {@link #NIL} if no such key.
+   *
+   * <p>As {@link StringBuilder#reverse()}, the order of the surrogate pairs is
+   * kept in the reversed string.
+   */
+  int longestPrefixOfReversed(final String str, final boolean includeEmpty,
+      final boolean shortest) {
+    int state = ROOT;
+    int result = (includeEmpty ? entryOf(ROOT) : NIL);
+    int i = str.length() - 1;
+    while (i >= 0) {
+      final char ch = str.charAt(i);
+      if (Character.isLowSurrogate(ch) && (i > 0)
+          && Character.isHighSurrogate(str.charAt(i - 1))) {
+        state = next(state, str.charAt(i - 1));
+        if (state == NIL) {
+          return result;
+        }
+        if (entryStart[state] >= 0) {
+          result = entryStart[state];
+          if (shortest) {
+            return result;
+          }
+        }
+        --i;
+        state = next(state, ch);
+      } else {
+        state = next(state, fold(ch));
+      }
+      if (state == NIL) {
+        return result;
+      }
+      if (entryStart[state] >= 0) {
+        result = entryStart[state];
+        if (shortest) {
+          return result;
+        }
+      }
+      --i;
+    }
+    return result;
+  }
+
+  /**
+   * Gets the length of the key of an entry.
+   */
+  int keyLength(final int entry) {
+    int state = entryStates[entry];
+    int len = 0;
+    while (state != ROOT) {
+      state = check[state];
+      ++len;
+    }
+    return len;
+  }
+
+  /**
+   * Gets the key of an entry.
+   */
+  String keyOf(final int entry) {
+    final char[] chars = new char[keyLength(entry)];
+    int state = entryStates[entry];
+    for (int i = chars.length - 1; i >= 0; --i) {
+      final int parent = check[state];
+      chars[i] = alphabet[state - base[parent]];
+      state = parent;
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Gets the keys starting with the string of a state, in the lexicographical
+   * order.
+   */
+  List<String> keysFrom(final int state) {
+    final int count = countFrom(state);
+    final List<String> result = new ArrayList<>(count);
+    if (count > 0) {
+      final int first = firstEntryFrom(state);
+      for (int entry = first; entry < first + count; ++entry) {
+        result.add(keyOf(entry));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Builds the double-array trie from a tree based trie.
+   *
+   * <p>The free slots of the arrays are linked in a doubly linked list, so that
+   * searching the base of a state skips the used slots.
+   */
+  private static final class Builder<N> {
+
+    final Source<N> source;
+    final boolean caseInsensitive;
+    final boolean asciiOnly;
+    int[] codes;
+    char[] alphabet;
+    int[] base;
+    int[] check;
+    int[] entryStart;
+    int[] entryEnd;
+    final IntArrayList entryStates = new IntArrayList();
+    int maxState;
+    int stateCount;
+    private int[] nextFree;
+    private int[] prevFree;
+    private int freeHead;
+    private int freeTail;
+    private int searchStart = NIL;
+
+    Builder(final Source<N> source, final boolean caseInsensitive,
+        final boolean asciiOnly) {
+      this.source = source;
+      this.caseInsensitive = caseInsensitive;
+      this.asciiOnly = asciiOnly;
+    }
+
+    void build(final N root, final Consumer<? super N> entryConsumer) {
+      final int nodeCount = buildAlphabet(root);
+      allocate(Math.max(nodeCount + (nodeCount >>> 2), 2 * alphabet.length));
+      useSlot(ROOT, NIL);
+      //  traverses the trie in pre-order to number the keys in the lexicographical
+      //  order; a frame with a negative state records the end of a subtree
+      final List<N> nodeStack = new ArrayList<>();
+      final IntArrayList stateStack = new IntArrayList();
+      final List<N> children = new ArrayList<>();
+      final IntArrayList childCodes = new IntArrayList();
+      nodeStack.add(root);
+      stateStack.add(ROOT);
+      int entryCount = 0;
+      while (!nodeStack.isEmpty()) {
+        final N node = nodeStack.remove(nodeStack.size() - 1);
+        final int state = stateStack.removeAt(stateStack.size() - 1);
+        if (state < 0) {
+          entryEnd[~state] = entryCount;
+          continue;
+        }
+        if (source.isTerminal(node)) {
+          entryStart[state] = entryCount++;
+          entryStates.add(state);
+          entryConsumer.accept(node);
+        } else {
+          entryStart[state] = ~entryCount;
+        }
+        nodeStack.add(node);
+        stateStack.add(~state);
+        children.clear();
+        childCodes.clear();
+        final int n = source.childCount(node);
+        for (int i = 0; i < n; ++i) {
+          final N child = source.child(node, i);
+          if (child != null) {
+            children.add(child);
+            childCodes.add(codes[source.childChar(node, i)]);
+          }
+        }
+        if (children.isEmpty()) {
+          continue;
+        }
+        final int b = findBase(childCodes);
+        base[state] = b;
+        for (int i = 0; i < childCodes.size(); ++i) {
+          useSlot(b + childCodes.get(i), state);
+        }
+        for (int i = children.size() - 1; i >= 0; --i) {
+          nodeStack.add(children.get(i));
+          stateStack.add(b + childCodes.get(i));
+        }
+      }
+    }
+
+    /**
+     * Assigns the codes of the characters in the descending order of their
+     * frequencies, and returns the number of nodes.
+     */
+    private int buildAlphabet(final N root) {
+      final int[] freq = new int[Character.MAX_VALUE + 1];
+      final List<N> stack = new ArrayList<>();
+      stack.add(root);
+      int nodeCount = 0;
+      int maxChar = -1;
+      int distinct = 0;
+      while (!stack.isEmpty()) {
+        final N node = stack.remove(stack.size() - 1);
+        ++nodeCount;
+        final int n = source.childCount(node);
+        for (int i = 0; i < n; ++i) {
+          final N child = source.child(node, i);
+          if (child != null) {
+            final char ch = source.childChar(node, i);
+            if (freq[ch]++ == 0) {
+              ++distinct;
+              maxChar = Math.max(maxChar, ch);
+            }
+            stack.add(child);
+          }
+        }
+      }
+      final long[] sorted = new long[distinct];
+      int k = 0;
+      for (int ch = 0; ch <= maxChar; ++ch) {
+        if (freq[ch] > 0) {
+          //  sorts by the descending frequency and then the ascending character
+          sorted[k++] = ((long) (Integer.MAX_VALUE - freq[ch]) << 16) | ch;
+        }
+      }
+      Arrays.sort(sorted);
+      codes = new int[maxChar + 1];
+      alphabet = new char[distinct + 1];
+      for (int i = 0; i < distinct; ++i) {
+        final char ch = (char) (sorted[i] & 0xFFFF);
+        codes[ch] = i + 1;
+        alphabet[i + 1] = ch;
+      }
+      return nodeCount;
+    }
+
+    private void allocate(final int capacity) {
+      base = new int[capacity];
+      check = new int[capacity];
+      entryStart = new int[capacity];
+      entryEnd = new int[capacity];
+      nextFree = new int[capacity];
+      prevFree = new int[capacity];
+      Arrays.fill(check, NIL);
+      freeHead = NIL;
+      freeTail = NIL;
+      linkFreeSlots(0, capacity);
+    }
+
+    private void grow(final int minCapacity) {
+      final int oldCapacity = check.length;
+      if (minCapacity <= oldCapacity) {
+        return;
+      }
+      if (oldCapacity == MAX_CAPACITY) {
+        throw new OutOfMemoryError("The double-array trie is too large.");
+      }
+      final int capacity = (int) Math.min(Math.max(minCapacity, 2L * oldCapacity),
+          MAX_CAPACITY);
+      base = Arrays.copyOf(base, capacity);
+      check = Arrays.copyOf(check, capacity);
+      entryStart = Arrays.copyOf(entryStart, capacity);
+      entryEnd = Arrays.copyOf(entryEnd, capacity);
+      nextFree = Arrays.copyOf(nextFree, capacity);
+      prevFree = Arrays.copyOf(prevFree, capacity);
+      Arrays.fill(check, oldCapacity, capacity, NIL);
+      linkFreeSlots(oldCapacity, capacity);
+    }
+
+    private void linkFreeSlots(final int from, final int to) {
+      for (int i = from; i < to; ++i) {
+        prevFree[i] = freeTail;
+        nextFree[i] = NIL;
+        if (freeTail == NIL) {
+          freeHead = i;
+        } else {
+          nextFree[freeTail] = i;
+        }
+        freeTail = i;
+      }
+    }
+
+    private void useSlot(final int slot, final int parent) {
+      grow(slot + 1);
+      assert check[slot] == NIL;
+      check[slot] = parent;
+      final int prev = prevFree[slot];
+      final int next = nextFree[slot];
+      if (searchStart == slot) {
+        searchStart = next;
+      }
+      if (prev == NIL) {
+        freeHead = next;
+      } else {
+        nextFree[prev] = next;
+      }
+      if (next == NIL) {
+        freeTail = prev;
+      } else {
+        prevFree[next] = prev;
+      }
+      maxState = Math.max(maxState, slot);
+      ++stateCount;
+    }
+
+    /**
+     * Finds a base such that the slots of all children are free.
+     *
+     * <p>A state with a single child fits in any free slot, so it takes the
+     * first one. A state with several children starts from {@link #searchStart}
+     * instead; once a search has to skip too many free slots, the free slots
+     * before the found one are left to the single-child states, so that the
+     * later searches do not scan them again and again.
+     */
+    private int findBase(final IntArrayList childCodes) {
+      int minCode = Integer.MAX_VALUE;
+      for (int i = 0; i < childCodes.size(); ++i) {
+        minCode = Math.min(minCode, childCodes.get(i));
+      }
+      int slot = ((childCodes.size() == 1) || (searchStart == NIL)
+                  ? freeHead : searchStart);
+      int failed = 0;
+      while (true) {
+        if (slot == NIL) {
+          //  all slots are used, appends new free slots
+          slot = check.length;
+          grow(slot + 1);
+        }
+        final int b = slot - minCode;
+        if ((b >= 0) && fits(b, childCodes)) {
+          if (failed >= MAX_FAILED) {
+            searchStart = slot;
+          }
+          return b;
+        }
+        ++failed;
+        slot = nextFree[slot];
+      }
+    }
+
+    private boolean fits(final int b, final IntArrayList childCodes) {
+      for (int i = 0; i < childCodes.size(); ++i) {
+        final int slot = b + childCodes.get(i);
+        if ((slot < check.length) && (check[slot] != NIL)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -14,8 +14,8 @@ import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import ltd.qubit.commons.lang.StringUtils;
-import ltd.qubit.commons.text.translate.AggregateTranslator;
 import ltd.qubit.commons.text.translate.CharSequenceTranslator;
+import ltd.qubit.commons.text.translate.CompiledTranslator;
 import ltd.qubit.commons.text.translate.CsvEscaper;
 import ltd.qubit.commons.text.translate.CsvUnescaper;
 import ltd.qubit.commons.text.translate.EntityArrays;
@@ -119,7 +119,7 @@ public class EscapeUtils {
    * as the foundation for a custom translator.
    */
   public static final CharSequenceTranslator ESCAPE_JAVA =
-      new AggregateTranslator(
+      new CompiledTranslator(
         new LookupTranslator(Map.of(
             "\"", "\\\"",
             "\\", "\\\\"
@@ -136,7 +136,7 @@ public class EscapeUtils {
    * as the foundation for a custom translator.
    */
   public static final CharSequenceTranslator ESCAPE_ECMASCRIPT =
-      new AggregateTranslator(
+      new CompiledTranslator(
         new LookupTranslator(Map.of(
             "'", "\\'",
             "\"", "\\\"",
@@ -155,7 +155,7 @@ public class EscapeUtils {
    * as the foundation for a custom translator.
    */
   public static final CharSequenceTranslator ESCAPE_JSON =
-      new AggregateTranslator(
+      new CompiledTranslator(
         new LookupTranslator(Map.of(
             "\"", "\\\"",
             "\\", "\\\\",
@@ -173,7 +173,7 @@ public class EscapeUtils {
    * as the foundation for a custom translator.
    */
   public static final CharSequenceTranslator ESCAPE_XML10 =
-      new AggregateTranslator(
+      new CompiledTranslator(
         new LookupTranslator(EntityArrays.BASIC_ESCAPE),
         new LookupTranslator(EntityArrays.APOS_ESCAPE),
         new LookupTranslator(Map.ofEntries(
@@ -222,7 +222,7 @@ public class EscapeUtils {
    * as the foundation for a custom translator.
    */
   public static final CharSequenceTranslator ESCAPE_XML11 =
-      new AggregateTranslator(
+      new CompiledTranslator(
         new LookupTranslator(EntityArrays.BASIC_ESCAPE),
         new LookupTranslator(EntityArrays.APOS_ESCAPE),
         new LookupTranslator(Map.of(
@@ -247,7 +247,7 @@ public class EscapeUtils {
    * as the foundation for a custom translator.
    */
   public static final CharSequenceTranslator ESCAPE_HTML3 =
-      new AggregateTranslator(
+      new CompiledTranslator(
           new LookupTranslator(EntityArrays.BASIC_ESCAPE),
           new LookupTranslator(EntityArrays.ISO8859_1_ESCAPE)
       );
@@ -260,7 +260,7 @@ public class EscapeUtils {
    * as the foundation for a custom translator.
    */
   public static final CharSequenceTranslator ESCAPE_HTML4 =
-      new AggregateTranslator(
+      new CompiledTranslator(
           new LookupTranslator(EntityArrays.BASIC_ESCAPE),
           new LookupTranslator(EntityArrays.ISO8859_1_ESCAPE),
           new LookupTranslator(EntityArrays.HTML40_EXTENDED_ESCAPE)
@@ -316,7 +316,7 @@ public class EscapeUtils {
    * as the foundation for a custom translator.
    */
   public static final CharSequenceTranslator UNESCAPE_JAVA =
-      new AggregateTranslator(
+      new CompiledTranslator(
         new OctalUnescaper(),     // .between('\1', '\377'),
         new UnicodeUnescaper(),
         new LookupTranslator(EntityArrays.JAVA_CTRL_CHARS_UNESCAPE),
@@ -354,7 +354,7 @@ public class EscapeUtils {
    * as the foundation for a custom translator.
    */
   public static final CharSequenceTranslator UNESCAPE_HTML3 =
-      new AggregateTranslator(
+      new CompiledTranslator(
           new LookupTranslator(EntityArrays.BASIC_UNESCAPE),
           new LookupTranslator(EntityArrays.ISO8859_1_UNESCAPE),
           new NumericEntityUnescaper()
@@ -368,7 +368,7 @@ public class EscapeUtils {
    * as the foundation for a custom translator.
    */
   public static final CharSequenceTranslator UNESCAPE_HTML4 =
-      new AggregateTranslator(
+      new CompiledTranslator(
           new LookupTranslator(EntityArrays.BASIC_UNESCAPE),
           new LookupTranslator(EntityArrays.ISO8859_1_UNESCAPE),
           new LookupTranslator(EntityArrays.HTML40_EXTENDED_UNESCAPE),
@@ -383,7 +383,7 @@ public class EscapeUtils {
    * as the foundation for a custom translator.
    */
   public static final CharSequenceTranslator UNESCAPE_XML =
-      new AggregateTranslator(
+      new CompiledTranslator(
           new LookupTranslator(EntityArrays.BASIC_UNESCAPE),
           new LookupTranslator(EntityArrays.APOS_UNESCAPE),
           new NumericEntityUnescaper()
@@ -0,0 +1,200 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text;
+
+import java.util.List;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An immutable trie compiled from a {@link Trie} or an {@link AsciiTrie}.
+ *
+ * <p>The trie is stored as a double-array trie in a few flat primitive arrays,
+ * which takes much less memory than the tree based tries and looks up a
+ * character with a single array access instead of a binary search. Since it
+ * is immutable, it can be safely shared and queried by multiple threads without
+ * locking.
+ *
+ * <p>If the trie is case insensitive, the keys returned by the prefix
+ * enumeration functions are in lower case.
+ *
+ * @author Haixing Hu
+ * @see Trie#freeze()
+ * @see AsciiTrie#freeze()
+ */
+@Immutable
+public final class FrozenTrie {
+
+  private final DoubleArrayTrie trie;
+  private final int[] counts;
+  private final int size;
+
+  FrozenTrie(final DoubleArrayTrie trie, final int[] counts) {
+    this.trie = trie;
+    this.counts = counts;
+    int total = 0;
+    for (final int count : counts) {
+      total += count;
+    }
+    this.size = total;
+  }
+
+  public boolean isCaseInsensitive() {
+    return trie.isCaseInsensitive();
+  }
+
+  /**
+   * Gets the total number of occurrences of the strings in this trie.
+   *
+   * @return
+   *     the total number of occurrences of the strings in this trie.
+   */
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return (size == 0);
+  }
+
+  /**
+   * Gets the number of distinct strings in this trie.
+   *
+   * @return
+   *     the number of distinct strings in this trie.
+   */
+  public int keyCount() {
+    return counts.length;
+  }
+
+  public int nodeCount() {
+    return trie.stateCount();
+  }
+
+  public boolean contains(final String str) {
+    return (trie.entryOf(trie.find(str)) >= 0);
+  }
+
+  public int count(final String str) {
+    final int entry = trie.entryOf(trie.find(str));
+    return (entry < 0 ? 0 : counts[entry]);
+  }
+
+  /**
+   * Tests whether this trie contains a string starting with the specified
+   * prefix.
+   *
+   * @param prefix
+   *     the specified prefix.
+   * @return
+   *     {@code true} if this trie contains a string starting with the
+   *     specified prefix; {@code false} otherwise.
+   */
+  public boolean containsPrefix(final String prefix) {
+    return (trie.countFrom(trie.find(prefix)) > 0);
+  }
+
+  /**
+   * Tests whether this trie contains a non-empty prefix of the specified string.
+   *
+   * @param str
+   *     the specified string.
+   * @return
+   *     {@code true} if this trie contains a non-empty prefix of the specified
+   *     string; {@code false} otherwise.
+   */
+  public boolean containsPrefixOf(final String str) {
+    if (str == null) {
+      return false;
+    }
+    return (trie.shortestPrefix(str) >= 0);
+  }
+
+  /**
+   * Tests whether this trie contains a non-empty prefix of the reversed string
+   * of the specified string.
+   *
+   * @param str
+   *     the specified string.
+   * @return
+   *     {@code true} if this trie contains a non-empty prefix of the reversed
+   *     string of the specified string; {@code false} otherwise.
+   * @see AsciiTrie#containsPrefixOfReversed(String)
+   */
+  public boolean containsPrefixOfReversed(final String str) {
+    if (str == null) {
+      return false;
+    }
+    return (trie.longestPrefixOfReversed(str, false, true) >= 0);
+  }
+
+  /**
+   * Gets the length of the longest string in this trie which is a prefix of the
+   * specified string.
+   *
+   * @param str
+   *     the specified string.
+   * @return
+   *     the length of the longest string in this trie which is a prefix of the
+   *     specified string, or -1 if no such string.
+   */
+  public int longestPrefixLength(final String str) {
+    return longestPrefixLength(str, 0);
+  }
+
+  /**
+   * Gets the length of the longest string in this trie which is a prefix of the
+   * substring of the specified string starting at the specified index.
+   *
+   * <p>This function can be used to segment a text with a dictionary without
+   * allocating the substrings.
+   *
+   * @param str
+   *     the specified string.
+   * @param start
+   *     the index where the substring starts.
+   * @return
+   *     the length of the longest string in this trie which is a prefix of the
+   *     substring of the specified string starting at {@code start}, or -1 if
+   *     no such string.
+   */
+  public int longestPrefixLength(final String str, final int start) {
+    final int entry = trie.longestPrefix(str, start, true);
+    return (entry < 0 ? -1 : trie.keyLength(entry));
+  }
+
+  /**
+   * Counts the distinct strings in this trie starting with the specified prefix.
+   *
+   * <p>This operation takes O(m) time, where m is the length of the prefix.
+   *
+   * @param prefix
+   *     the specified prefix.
+   * @return
+   *     the number of the distinct strings in this trie starting with the
+   *     specified prefix.
+   */
+  public int countWithPrefix(final String prefix) {
+    return trie.countFrom(trie.find(prefix));
+  }
+
+  /**
+   * Gets the distinct strings in this trie starting with the specified prefix.
+   *
+   * @param prefix
+   *     the specified prefix.
+   * @return
+   *     the list of the distinct strings in this trie starting with the
+   *     specified prefix, in the lexicographical order.
+   */
+  public List<String> keysWithPrefix(final String prefix) {
+    final int state = trie.find(prefix);
+    return trie.keysFrom(state);
+  }
+}
@@ -0,0 +1,186 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An immutable map compiled from a {@link TrieMap}.
+ *
+ * <p>The trie is stored as a double-array trie in a few flat primitive arrays,
+ * which takes much less memory than the tree based trie and looks up a
+ * character with a single array access instead of a binary search. Since it is
+ * immutable, it can be safely shared and queried by multiple threads without
+ * locking, provided that the values themselves are thread-safe.
+ *
+ * <p>If the map is case insensitive, the keys returned by the prefix
+ * enumeration functions are in lower case.
+ *
+ * @author Haixing Hu
+ * @see TrieMap#freeze()
+ */
+@Immutable
+public final class FrozenTrieMap<VALUE> {
+
+  private final DoubleArrayTrie trie;
+  private final Object[] values;
+
+  FrozenTrieMap(final DoubleArrayTrie trie, final Object[] values) {
+    this.trie = trie;
+    this.values = values;
+  }
+
+  public boolean isCaseInsensitive() {
+    return trie.isCaseInsensitive();
+  }
+
+  public int size() {
+    return values.length;
+  }
+
+  public boolean isEmpty() {
+    return (values.length == 0);
+  }
+
+  public int nodeCount() {
+    return trie.stateCount();
+  }
+
+  @SuppressWarnings("unchecked")
+  private VALUE valueOf(final int entry) {
+    return (entry < 0 ? null : (VALUE) values[entry]);
+  }
+
+  public VALUE get(final String str) {
+    return valueOf(trie.entryOf(trie.find(str)));
+  }
+
+  public boolean contains(final String str) {
+    return (trie.entryOf(trie.find(str)) >= 0);
+  }
+
+  /**
+   * Tests whether this map contains a key starting with the specified prefix.
+   *
+   * @param prefix
+   *     the specified prefix.
+   * @return
+   *     {@code true} if this map contains a key starting with the specified
+   *     prefix; {@code false} otherwise.
+   */
+  public boolean containsPrefix(final String prefix) {
+    return (trie.countFrom(trie.find(prefix)) > 0);
+  }
+
+  /**
+   * Gets the value associated with the longest key in this map which is a
+   * prefix of the specified string.
+   *
+   * @param str
+   *     the specified string.
+   * @return
+   *     the value associated with the longest key in this map which is a prefix
+   *     of the specified string, or {@code null} if no such key.
+   */
+  public VALUE getPrefixOf(final String str) {
+    return valueOf(trie.longestPrefix(str, 0, true));
+  }
+
+  public boolean containsPrefixOf(final String str) {
+    return (trie.longestPrefix(str, 0, true) >= 0);
+  }
+
+  /**
+   * Gets the value associated with the longest key in this map which is a
+   * prefix of the reversed string of the specified string.
+   *
+   * @param str
+   *     the specified string.
+   * @return
+   *     the value associated with the longest key in this map which is a prefix
+   *     of the reversed string of the specified string, or {@code null} if no
+   *     such key.
+   * @see TrieMap#getPrefixOfReversed(String)
+   */
+  public VALUE getPrefixOfReversed(final String str) {
+    return valueOf(trie.longestPrefixOfReversed(str, true, false));
+  }
+
+  /**
+   * Gets the length of the longest key in this map which is a prefix of the
+   * substring of the specified string starting at the specified index.
+   *
+   * <p>This function can be used to segment a text with a dictionary without
+   * allocating the substrings.
+   *
+   * @param str
+   *     the specified string.
+   * @param start
+   *     the index where the substring starts.
+   * @return
+   *     the length of the longest key in this map which is a prefix of the
+   *     substring of the specified string starting at {@code start}, or -1 if
+   *     no such key.
+   */
+  public int longestPrefixLength(final String str, final int start) {
+    final int entry = trie.longestPrefix(str, start, true);
+    return (entry < 0 ? -1 : trie.keyLength(entry));
+  }
+
+  /**
+   * Counts the keys in this map starting with the specified prefix.
+   *
+   * <p>This operation takes O(m) time, where m is the length of the prefix.
+   *
+   * @param prefix
+   *     the specified prefix.
+   * @return
+   *     the number of the keys in this map starting with the specified prefix.
+   */
+  public int countWithPrefix(final String prefix) {
+    return trie.countFrom(trie.find(prefix));
+  }
+
+  /**
+   * Gets the keys in this map starting with the specified prefix.
+   *
+   * @param prefix
+   *     the specified prefix.
+   * @return
+   *     the list of the keys in this map starting with the specified prefix, in
+   *     the lexicographical order.
+   */
+  public List<String> keysWithPrefix(final String prefix) {
+    return trie.keysFrom(trie.find(prefix));
+  }
+
+  /**
+   * Performs the specified action on each entry of this map whose key starts
+   * with the specified prefix, in the lexicographical order of the keys.
+   *
+   * @param prefix
+   *     the specified prefix.
+   * @param action
+   *     the action to be performed on the keys and values of the entries.
+   */
+  public void forEachWithPrefix(final String prefix,
+      final BiConsumer<? super String, ? super VALUE> action) {
+    final int state = trie.find(prefix);
+    final int count = trie.countFrom(state);
+    if (count > 0) {
+      final int first = trie.firstEntryFrom(state);
+      for (int entry = first; entry < first + count; ++entry) {
+        action.accept(trie.keyOf(entry), valueOf(entry));
+      }
+    }
+  }
+}
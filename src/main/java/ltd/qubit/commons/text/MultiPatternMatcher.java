@@ -0,0 +1,199 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * Tests whether a string matches any of a set of {@link PatternMatcher}s.
+ *
+ * <p>The patterns are compiled into the following structures when this object
+ * is constructed:
+ * <ul>
+ * <li>the ASCII regular expressions without any meta character, and the ASCII
+ * glob patterns without any special character, are stored in
+ * {@link AsciiTrie}s of literals;</li>
+ * <li>the ASCII glob patterns of the form {@code "literal*"} are stored in
+ * {@link AsciiTrie}s of prefixes;</li>
+ * <li>the ASCII glob patterns of the form {@code "*literal"} are stored in
+ * {@link AsciiTrie}s of reversed suffixes;</li>
+ * <li>the other patterns are tested one by one, but the patterns whose required
+ * literals do not occur in the string are skipped without running their
+ * matchers.</li>
+ * </ul>
+ * The case insensitive regular expressions and glob patterns only fold the
+ * case of ASCII letters, which is exactly how the {@link AsciiTrie} folds the
+ * case, therefore the result is the same as testing the patterns one by one.
+ *
+ * <p>A {@link MultiPatternMatcher} is immutable, therefore its
+ * {@link #matchesAny(String)} method could be called concurrently by any
+ * number of threads.
+ *
+ * @author Haixing Hu
+ */
+@Immutable
+public final class MultiPatternMatcher {
+
+  private static final String REGEX_META_CHARS = "\\.[]{}()*+?^$|";
+
+  private final List<PatternMatcher> matchers;
+  private final AsciiTrie literals;
+  private final AsciiTrie ignoreCaseLiterals;
+  private final AsciiTrie prefixes;
+  private final AsciiTrie ignoreCasePrefixes;
+  private final AsciiTrie reversedSuffixes;
+  private final AsciiTrie ignoreCaseReversedSuffixes;
+  private final PrefilteredMatchers others;
+
+  /**
+   * Compiles a set of patterns.
+   *
+   * @param matchers
+   *     the compiled patterns.
+   */
+  public MultiPatternMatcher(final Collection<PatternMatcher> matchers) {
+    this.matchers = List.copyOf(requireNonNull("matchers", matchers));
+    literals = new AsciiTrie(false);
+    ignoreCaseLiterals = new AsciiTrie(true);
+    prefixes = new AsciiTrie(false);
+    ignoreCasePrefixes = new AsciiTrie(true);
+    reversedSuffixes = new AsciiTrie(false);
+    ignoreCaseReversedSuffixes = new AsciiTrie(true);
+    final List<PatternMatcher> rest = new ArrayList<>();
+    for (final PatternMatcher matcher : this.matchers) {
+      if (!addToTries(matcher)) {
+        rest.add(matcher);
+      }
+    }
+    others = new PrefilteredMatchers(rest);
+  }
+
+  private boolean addToTries(final PatternMatcher matcher) {
+    final boolean ignoreCase = matcher.isIgnoreCase();
+    switch (matcher.getType()) {
+      case REGEX: {
+        final String regex = matcher.getExpression();
+        if (!isAscii(regex) || !isLiteralRegex(regex)) {
+          return false;
+        }
+        return (ignoreCase ? ignoreCaseLiterals : literals).add(regex);
+      }
+      case GLOB: {
+        final String[] segments = matcher.getGlobSegments();
+        if ((segments == null) || (segments.length > 2)) {
+          return false;
+        }
+        final String first = segments[0];
+        if (segments.length == 1) {
+          return isAscii(first)
+              && (ignoreCase ? ignoreCaseLiterals : literals).add(first);
+        }
+        final String last = segments[1];
+        if (last.isEmpty() && !first.isEmpty() && isAscii(first)) {
+          return (ignoreCase ? ignoreCasePrefixes : prefixes).add(first);
+        }
+        if (first.isEmpty() && !last.isEmpty() && isAscii(last)) {
+          final String reversed = new StringBuilder(last).reverse().toString();
+          return (ignoreCase ? ignoreCaseReversedSuffixes : reversedSuffixes).add(reversed);
+        }
+        return false;
+      }
+      default:
+        return false;
+    }
+  }
+
+  private static boolean isAscii(final String str) {
+    for (int i = 0; i < str.length(); ++i) {
+      if (!Ascii.isAscii(str.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isLiteralRegex(final String regex) {
+    for (int i = 0; i < regex.length(); ++i) {
+      if (REGEX_META_CHARS.indexOf(regex.charAt(i)) >= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the compiled patterns.
+   *
+   * @return
+   *     the unmodifiable list of the compiled patterns.
+   */
+  public List<PatternMatcher> getMatchers() {
+    return matchers;
+  }
+
+  public int size() {
+    return matchers.size();
+  }
+
+  public boolean isEmpty() {
+    return matchers.isEmpty();
+  }
+
+  /**
+   * Tests whether a string matches any pattern.
+   *
+   * @param str
+   *     the string to be tested, which may be {@code null}.
+   * @return
+   *     {@code true} if the string matches any pattern; {@code false} if the
+   *     string is {@code null} or does not match any pattern.
+   */
+  public boolean matchesAny(@Nullable final String str) {
+    if (str == null) {
+      return false;
+    }
+    if (literals.contains(str) || ignoreCaseLiterals.contains(str)) {
+      return true;
+    }
+    //  the '*' of a glob pattern could not match a line terminator
+    if (!hasLineTerminator(str)
+        && (prefixes.containsPrefixOf(str)
+            || ignoreCasePrefixes.containsPrefixOf(str)
+            || reversedSuffixes.containsPrefixOfReversed(str)
+            || ignoreCaseReversedSuffixes.containsPrefixOfReversed(str))) {
+      return true;
+    }
+    return (others.indexOfFirstMatch(str) >= 0);
+  }
+
+  private static boolean hasLineTerminator(final String str) {
+    for (int i = 0; i < str.length(); ++i) {
+      if (PatternMatcher.isLineTerminator(str.charAt(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("matchers", matchers)
+        .toString();
+  }
+}
@@ -22,8 +22,8 @@ import ltd.qubit.commons.text.tostring.ToStringBuilder;
 
 import static ltd.qubit.commons.lang.Argument.requireIndexInCloseRange;
 import static ltd.qubit.commons.lang.Argument.requireNonNull;
+import static ltd.qubit.commons.text.ErrorCode.EMPTY_VALUE;
 import static ltd.qubit.commons.text.ErrorCode.INVALID_SYNTAX;
-import static ltd.qubit.commons.text.ErrorCode.UNKNOWN_ERROR;
 import static ltd.qubit.commons.text.FormatUtils.putFormatResult;
 import static ltd.qubit.commons.text.FormatUtils.putIntBackward;
 import static ltd.qubit.commons.text.FormatUtils.putLongBackward;
@@ -68,11 +68,29 @@ public final class NumberFormat implements Assignable<NumberFormat> {
 
   public static final int DEFAULT_FILL = ' ';
 
+  /**
+   * The maximum number of significant digits of a decimal real number which
+   * are converted exactly by the fast algorithms.
+   */
+  private static final int MAX_EXACT_DIGIT_COUNT = 19;
+
+  /**
+   * The limit of the absolute value of the exponent of a decimal real number,
+   * beyond which the value is always zero or infinity.
+   */
+  private static final int MAX_EXPONENT_VALUE = 100000;
+
+  private static final String JAVA_INFINITY_SYMBOL = "Infinity";
+
+  private static final String JAVA_NAN_SYMBOL = "NaN";
+
   private NumberFormatSymbols symbols;
   private NumberFormatOptions options;
   private final transient ParsingPosition position;
   private final transient StringBuilder builder;
   private transient char[] buffer;
+  private final transient RealConversion.Decimal decimal;
+  private final transient char[] realDigits;
 
   public NumberFormat() {
     symbols = new NumberFormatSymbols();
@@ -80,6 +98,8 @@ public final class NumberFormat implements Assignable<NumberFormat> {
     position = new ParsingPosition();
     builder = new StringBuilder();
     buffer = ArrayUtils.EMPTY_CHAR_ARRAY;
+    decimal = new RealConversion.Decimal();
+    realDigits = new char[MAX_EXACT_DIGIT_COUNT];
   }
 
   public NumberFormat(final Locale locale) {
@@ -88,6 +108,8 @@ public final class NumberFormat implements Assignable<NumberFormat> {
     position = new ParsingPosition();
     builder = new StringBuilder();
     buffer = ArrayUtils.EMPTY_CHAR_ARRAY;
+    decimal = new RealConversion.Decimal();
+    realDigits = new char[MAX_EXACT_DIGIT_COUNT];
   }
 
   public NumberFormat(final NumberFormat other) {
@@ -513,15 +535,7 @@ public final class NumberFormat implements Assignable<NumberFormat> {
         return 0;
       }
     }
-    // TODO: implement the parsing of float numbers.
-    final String num_str = str.subSequence(position.getIndex(), endIndex).toString();
-    try {
-      return Float.valueOf(num_str);
-    } catch (final NumberFormatException e) {
-      position.setErrorCode(UNKNOWN_ERROR);
-      position.setErrorIndex(position.getIndex());
-      return 0.0f;
-    }
+    return (float) parseReal(str, endIndex, true);
   }
 
   /**
@@ -579,17 +593,262 @@ public final class NumberFormat implements Assignable<NumberFormat> {
         return 0;
       }
     }
-    // TODO: implement the parsing of double numbers.
-    final String num_str = str.subSequence(position.getIndex(), endIndex).toString();
+    return parseReal(str, endIndex, false);
+  }
+
+  /**
+   * Parses a {@code float} or {@code double} value, after the leading blanks
+   * have been skipped.
+   *
+   * <p>The value consists of an optional sign, followed by the infinity symbol,
+   * the NaN symbol, a hexadecimal floating point literal of Java (if the radix
+   * option is not specified or is hexadecimal), or a decimal number with an
+   * optional radix separator and an optional exponent. The grouping separators
+   * are allowed in the integral part of a decimal number if the grouping option
+   * is set. For the compatibility with {@link Double#parseDouble(String)}, the
+   * symbols {@code "Infinity"} and {@code "NaN"} and the type suffixes
+   * {@code 'f'}, {@code 'F'}, {@code 'd'} and {@code 'D'} are also accepted. The
+   * whole text segment, except the trailing blanks if the blanks are not kept,
+   * must be a valid value.</p>
+   *
+   * <p>The decimal number is converted directly from the text segment, without
+   * creating intermediate strings, except for the rare numbers whose conversion
+   * cannot be decided by the fast algorithms of {@link RealConversion}.</p>
+   *
+   * @param str
+   *     the text segment to be parsed.
+   * @param endIndex
+   *     the index where to end parsing.
+   * @param isFloat
+   *     whether to parse a {@code float} value.
+   * @return the parsed value. If {@code isFloat} is {@code true}, the returned
+   *     value is exactly a {@code float} value.
+   */
+  private double parseReal(final CharSequence str, final int endIndex,
+      final boolean isFloat) {
+    // get the sign
+    final int sign = getSign(position, str, endIndex,
+        symbols.getPositiveSign(), symbols.getNegativeSign());
+    final int index = position.getIndex();
+    final double value;
+    if (skipSymbol(str, endIndex, symbols.getInfinitySymbol())
+        || skipSymbol(str, endIndex, JAVA_INFINITY_SYMBOL)) {
+      value = Double.POSITIVE_INFINITY;
+    } else if (skipSymbol(str, endIndex, symbols.getNanSymbol())
+        || skipSymbol(str, endIndex, JAVA_NAN_SYMBOL)) {
+      value = Double.NaN;
+    } else if (isHexReal(str, index, endIndex)) {
+      value = parseHexReal(str, endIndex, isFloat);
+    } else {
+      value = parseDecimalReal(str, endIndex, isFloat);
+    }
+    if (position.fail()) {
+      return 0;
+    }
+    // skip the trailing white space if necessary
+    if (! options.isKeepBlank()) {
+      ParseUtils.skipBlanks(position, str, endIndex);
+    }
+    if (position.getIndex() < endIndex) {
+      position.setErrorCode(INVALID_SYNTAX);
+      position.setErrorIndex(position.getIndex());
+      return 0;
+    }
+    return (sign < 0 ? -value : value);
+  }
+
+  private boolean skipSymbol(final CharSequence str, final int endIndex,
+      final String symbol) {
+    final int index = position.getIndex();
+    final int n = symbol.length();
+    if ((n == 0) || (endIndex - index < n)) {
+      return false;
+    }
+    for (int i = 0; i < n; ++i) {
+      if (str.charAt(index + i) != symbol.charAt(i)) {
+        return false;
+      }
+    }
+    position.setIndex(index + n);
+    return true;
+  }
+
+  private static boolean matchesIgnoreCase(final CharSequence str,
+      final int index, final String symbol) {
+    for (int i = 0; i < symbol.length(); ++i) {
+      final char ch = str.charAt(index + i);
+      final char expected = symbol.charAt(i);
+      if ((ch != expected)
+          && (Character.toUpperCase(ch) != Character.toUpperCase(expected))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isHexReal(final CharSequence str, final int index,
+      final int endIndex) {
+    final int radix = options.getFlags() & FormatFlag.RADIX_MASK;
+    if ((radix != 0) && (radix != FormatFlag.HEX)) {
+      return false;
+    }
+    if (endIndex - index < 2 || str.charAt(index) != '0') {
+      return false;
+    }
+    final char ch = str.charAt(index + 1);
+    return (ch == 'x') || (ch == 'X');
+  }
+
+  private double parseHexReal(final CharSequence str, final int endIndex,
+      final boolean isFloat) {
+    final int start = position.getIndex();
+    int index = start + 2;
+    while (index < endIndex) {
+      final char ch = str.charAt(index);
+      if ((Character.digit(ch, HEX_RADIX) < 0) && (ch != '.') && (ch != 'p')
+          && (ch != 'P') && (ch != '+') && (ch != '-')) {
+        break;
+      }
+      ++index;
+    }
+    final String text = str.subSequence(start, index).toString();
     try {
-      return Double.valueOf(num_str);
+      final double value = (isFloat ? Float.parseFloat(text) : Double.parseDouble(text));
+      position.setIndex(index);
+      return value;
     } catch (final NumberFormatException e) {
-      position.setErrorCode(UNKNOWN_ERROR);
-      position.setErrorIndex(position.getIndex());
-      return 0.0f;
+      position.setErrorCode(INVALID_SYNTAX);
+      position.setErrorIndex(start);
+      return 0;
     }
   }
 
+  private double parseDecimalReal(final CharSequence str, final int endIndex,
+      final boolean isFloat) {
+    final boolean useGrouping = options.isGrouping();
+    final char groupChar = symbols.getGroupingSeparator();
+    final int start = position.getIndex();
+    int index = start;
+    long significand = 0;
+    int digitCount = 0;
+    int exponent = 0;
+    boolean hasDigits = false;
+    boolean truncated = false;
+    // parse the integral part
+    for (; index < endIndex; ++index) {
+      final char ch = str.charAt(index);
+      if (useGrouping && ch == groupChar) {
+        continue;
+      }
+      final int digit = Character.digit(ch, DECIMAL_RADIX);
+      if (digit < 0) {
+        break;
+      }
+      hasDigits = true;
+      if (digitCount < MAX_EXACT_DIGIT_COUNT) {
+        if ((significand != 0) || (digit != 0)) {
+          significand = significand * DECIMAL_RADIX + digit;
+          ++digitCount;
+        }
+      } else {
+        ++exponent;
+        truncated |= (digit != 0);
+      }
+    }
+    final int integralEnd = index;
+    // parse the fractional part
+    int fractionEnd = index;
+    if ((index < endIndex) && (str.charAt(index) == symbols.getRadixSeparator())) {
+      for (++index; index < endIndex; ++index) {
+        final int digit = Character.digit(str.charAt(index), DECIMAL_RADIX);
+        if (digit < 0) {
+          break;
+        }
+        hasDigits = true;
+        if (digitCount < MAX_EXACT_DIGIT_COUNT) {
+          if ((significand != 0) || (digit != 0)) {
+            significand = significand * DECIMAL_RADIX + digit;
+            ++digitCount;
+          }
+          --exponent;
+        } else {
+          truncated |= (digit != 0);
+        }
+      }
+      fractionEnd = index;
+    }
+    if (! hasDigits) {
+      position.setErrorCode(EMPTY_VALUE);
+      position.setErrorIndex(index);
+      return 0;
+    }
+    // parse the exponent
+    int explicitExponent = 0;
+    final String exponentSeparator = symbols.getExponentSeparator();
+    final int n = exponentSeparator.length();
+    if ((n > 0) && (endIndex - index > n)
+        && matchesIgnoreCase(str, index, exponentSeparator)) {
+      index += n;
+      int exponentSign = +1;
+      final char ch = str.charAt(index);
+      if (ch == symbols.getPositiveSign()) {
+        ++index;
+      } else if (ch == symbols.getNegativeSign()) {
+        exponentSign = -1;
+        ++index;
+      }
+      final int exponentStart = index;
+      for (; index < endIndex; ++index) {
+        final int digit = Character.digit(str.charAt(index), DECIMAL_RADIX);
+        if (digit < 0) {
+          break;
+        }
+        if (explicitExponent < MAX_EXPONENT_VALUE) {
+          explicitExponent = explicitExponent * DECIMAL_RADIX + digit;
+        }
+      }
+      if (index == exponentStart) {
+        position.setErrorCode(INVALID_SYNTAX);
+        position.setErrorIndex(index);
+        return 0;
+      }
+      explicitExponent *= exponentSign;
+      exponent += explicitExponent;
+    }
+    // skip the type suffix
+    if (index < endIndex) {
+      final char ch = str.charAt(index);
+      if ((ch == 'f') || (ch == 'F') || (ch == 'd') || (ch == 'D')) {
+        ++index;
+      }
+    }
+    position.setIndex(index);
+    final double value;
+    if (truncated) {
+      value = Double.NaN;
+    } else if (isFloat) {
+      value = RealConversion.toFloat(significand, exponent);
+    } else {
+      value = RealConversion.toDouble(significand, exponent);
+    }
+    if (! Double.isNaN(value)) {
+      return value;
+    }
+    // fall back to the JDK for the rare undecided cases
+    builder.setLength(0);
+    for (int i = start; i < fractionEnd; ++i) {
+      final char ch = str.charAt(i);
+      if (i == integralEnd) {
+        builder.append('.');
+      } else if (! useGrouping || ch != groupChar) {
+        builder.append((char) ('0' + Character.digit(ch, DECIMAL_RADIX)));
+      }
+    }
+    builder.append('e').append(explicitExponent);
+    final String text = builder.toString();
+    return (isFloat ? Float.parseFloat(text) : Double.parseDouble(text));
+  }
+
   /**
    * Parses a {@code BigInteger} value.
    *
@@ -892,10 +1151,15 @@ public final class NumberFormat implements Assignable<NumberFormat> {
    * @return the output {@link StringBuilder}.
    */
   public StringBuilder formatFloat(final float value, final StringBuilder output) {
-    // FIXME: apply the format options and symbols
-    final String str = Float.toString(value);
-    output.append(str);
-    return output;
+    if (Float.isNaN(value) || Float.isInfinite(value)) {
+      return formatSpecialReal(value, output);
+    }
+    if (value == 0) {
+      decimal.set(0, 0);
+    } else {
+      RealConversion.toShortestDecimal(Math.abs(value), decimal);
+    }
+    return formatDecimalReal(Float.floatToRawIntBits(value) < 0, output);
   }
 
   /**
@@ -921,9 +1185,132 @@ public final class NumberFormat implements Assignable<NumberFormat> {
    * @return the output {@link StringBuilder}.
    */
   public StringBuilder formatDouble(final double value, final StringBuilder output) {
-    // FIXME: apply the format options and symbols
-    final String str = Double.toString(value);
-    output.append(str);
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return formatSpecialReal(value, output);
+    }
+    if (value == 0) {
+      decimal.set(0, 0);
+    } else {
+      RealConversion.toShortestDecimal(Math.abs(value), decimal);
+    }
+    return formatDecimalReal(Double.doubleToRawLongBits(value) < 0, output);
+  }
+
+  private StringBuilder formatSpecialReal(final double value,
+      final StringBuilder output) {
+    final String str;
+    if (Double.isNaN(value)) {
+      str = symbols.getNanSymbol();
+    } else if (value < 0) {
+      str = symbols.getNegativeSign() + symbols.getInfinitySymbol();
+    } else if (options.isShowPositive()) {
+      str = symbols.getPositiveSign() + symbols.getInfinitySymbol();
+    } else {
+      str = symbols.getInfinitySymbol();
+    }
+    final int n = str.length();
+    if (buffer.length < n) {
+      buffer = new char[n];
+    }
+    str.getChars(0, n, buffer, 0);
+    putFormatResult(options.getFlags(), options.getWidth(), options.getFill(),
+        buffer, 0, n, output);
+    return output;
+  }
+
+  /**
+   * Formats the shortest decimal stored in {@link #decimal}.
+   *
+   * <p>The decimal is formatted in the scientific notation if the scientific
+   * option is set, or if the short real option is set and its absolute value is
+   * less than 10<sup>-3</sup> or greater than or equal to 10<sup>7</sup>, like
+   * {@link Double#toString(double)}; otherwise it is formatted in the fixed
+   * point notation.</p>
+   */
+  private StringBuilder formatDecimalReal(final boolean negative,
+      final StringBuilder output) {
+    final char[] digits = symbols.getDigits(options.isUppercase());
+    final int digitCount = decimal.digitCount;
+    // the number of digits before the radix separator in the fixed point notation
+    final int pointPosition = digitCount + decimal.exponent;
+    final boolean scientific = options.isScientific()
+        || ((! options.isFixPoint()) && (decimal.significand != 0)
+            && ((pointPosition < -2) || (pointPosition > 7)));
+    final String exponentSeparator = symbols.getExponentSeparator();
+    final int bufferSize = digitCount + Math.abs(pointPosition)
+        + exponentSeparator.length() + 10;
+    if (buffer.length < bufferSize) {
+      buffer = new char[bufferSize];
+    }
+    // put the digits of the significand
+    long significand = decimal.significand;
+    for (int i = digitCount - 1; i >= 0; --i) {
+      realDigits[i] = digits[(int) (significand % DECIMAL_RADIX)];
+      significand /= DECIMAL_RADIX;
+    }
+    int end = 0;
+    // put the sign
+    if (negative) {
+      buffer[end++] = symbols.getNegativeSign();
+    } else if (options.isShowPositive()) {
+      buffer[end++] = symbols.getPositiveSign();
+    } else if (options.isShowSpace()) {
+      buffer[end++] = Ascii.SPACE;
+    }
+    final char radixSeparator = symbols.getRadixSeparator();
+    final boolean showPoint = options.isShowPoint();
+    if (scientific) {
+      buffer[end++] = realDigits[0];
+      if (digitCount > 1) {
+        buffer[end++] = radixSeparator;
+        for (int i = 1; i < digitCount; ++i) {
+          buffer[end++] = realDigits[i];
+        }
+      } else if (showPoint) {
+        buffer[end++] = radixSeparator;
+        buffer[end++] = digits[0];
+      }
+      exponentSeparator.getChars(0, exponentSeparator.length(), buffer, end);
+      end += exponentSeparator.length();
+      final int exponent = pointPosition - 1;
+      if (exponent < 0) {
+        buffer[end++] = symbols.getNegativeSign();
+      }
+      final int abs = Math.abs(exponent);
+      for (int p = (abs >= 100 ? 100 : (abs >= 10 ? 10 : 1)); p > 0; p /= DECIMAL_RADIX) {
+        buffer[end++] = digits[(abs / p) % DECIMAL_RADIX];
+      }
+    } else if (pointPosition <= 0) {
+      buffer[end++] = digits[0];
+      buffer[end++] = radixSeparator;
+      for (int i = pointPosition; i < 0; ++i) {
+        buffer[end++] = digits[0];
+      }
+      for (int i = 0; i < digitCount; ++i) {
+        buffer[end++] = realDigits[i];
+      }
+    } else if (pointPosition >= digitCount) {
+      for (int i = 0; i < digitCount; ++i) {
+        buffer[end++] = realDigits[i];
+      }
+      for (int i = digitCount; i < pointPosition; ++i) {
+        buffer[end++] = digits[0];
+      }
+      if (showPoint) {
+        buffer[end++] = radixSeparator;
+        buffer[end++] = digits[0];
+      }
+    } else {
+      for (int i = 0; i < pointPosition; ++i) {
+        buffer[end++] = realDigits[i];
+      }
+      buffer[end++] = radixSeparator;
+      for (int i = pointPosition; i < digitCount; ++i) {
+        buffer[end++] = realDigits[i];
+      }
+    }
+    putFormatResult(options.getFlags(), options.getWidth(), options.getFill(),
+        buffer, 0, end, output);
     return output;
   }
 
@@ -10,10 +10,8 @@ package ltd.qubit.commons.text;
 
 import java.io.Serial;
 import java.io.Serializable;
-import java.util.regex.Matcher;
 
 import javax.annotation.Nullable;
-import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 import jakarta.xml.bind.annotation.XmlAttribute;
@@ -36,7 +34,8 @@ import static ltd.qubit.commons.lang.ObjectUtils.defaultIfNull;
  * A {@link Pattern} object represents a generic pattern of strings.
  *
  * <p>NOTE: This class is thread safe. The {@link #matches(String)} method can
- * be called concurrently by multiple threads.</p>
+ * be called concurrently by multiple threads without any locking, since it
+ * uses the immutable compiled form returned by {@link #compile()}.</p>
  *
  * @author Haixing Hu
  */
@@ -65,27 +64,27 @@ public final class Pattern implements CloneableEx<Pattern>, Serializable {
   @XmlValue
   private String expression;
 
-  private transient volatile Matcher matcher;
+  private transient volatile PatternMatcher compiled;
 
   public Pattern() {
     type = null;
     ignoreCase = null;
     expression = StringUtils.EMPTY;
-    matcher = null;
+    compiled = null;
   }
 
   public Pattern(final String expression) {
     type = null;
     ignoreCase = null;
     this.expression = requireNonNull("expression", expression);
-    matcher = null;
+    compiled = null;
   }
 
   public Pattern(final PatternType type, final String expression) {
     this.type = type;
     ignoreCase = null;
     this.expression = requireNonNull("expression", expression);
-    matcher = null;
+    compiled = null;
   }
 
   public Pattern(final PatternType type, final Boolean ignoreCase,
@@ -93,7 +92,7 @@ public final class Pattern implements CloneableEx<Pattern>, Serializable {
     this.type = type;
     this.ignoreCase = ignoreCase;
     this.expression = requireNonNull("expression", expression);
-    matcher = null;
+    compiled = null;
   }
 
   public PatternType getType() {
@@ -102,7 +101,7 @@ public final class Pattern implements CloneableEx<Pattern>, Serializable {
 
   public void setType(final PatternType type) {
     this.type = type;
-    matcher = null;
+    compiled = null;
   }
 
   public Boolean getIgnoreCase() {
@@ -111,7 +110,7 @@ public final class Pattern implements CloneableEx<Pattern>, Serializable {
 
   public void setIgnoreCase(final Boolean ignoreCase) {
     this.ignoreCase = ignoreCase;
-    matcher = null;
+    compiled = null;
   }
 
   public String getExpression() {
@@ -120,7 +119,30 @@ public final class Pattern implements CloneableEx<Pattern>, Serializable {
 
   public void setExpression(final String expression) {
     this.expression = requireNonNull("expression", expression);
-    matcher = null;
+    compiled = null;
+  }
+
+  /**
+   * Gets the compiled form of this pattern.
+   *
+   * <p>The compiled form is cached until this pattern is modified. It is
+   * immutable, and could be used to match strings concurrently without any
+   * locking.
+   *
+   * @return
+   *     the compiled form of this pattern.
+   * @throws java.util.regex.PatternSyntaxException
+   *     if this pattern is a regular expression or glob pattern, and its
+   *     expression has syntax errors.
+   */
+  public PatternMatcher compile() {
+    PatternMatcher result = compiled;
+    if (result == null) {
+      result = new PatternMatcher(defaultIfNull(type, DEFAULT_TYPE),
+          defaultIfNull(ignoreCase, DEFAULT_IGNORE_CASE), expression);
+      compiled = result;
+    }
+    return result;
   }
 
   public boolean matches(@Nullable final String str) {
@@ -128,72 +150,13 @@ public final class Pattern implements CloneableEx<Pattern>, Serializable {
       return false;
     }
     try {
-      switch (defaultIfNull(type, DEFAULT_TYPE)) {
-        case LITERAL:
-          if (defaultIfNull(ignoreCase, DEFAULT_IGNORE_CASE)) {
-            return expression.equalsIgnoreCase(str);
-          } else {
-            return expression.equals(str);
-          }
-        case PREFIX:
-          return new Searcher()
-              .forSubstring(expression)
-              .ignoreCase(defaultIfNull(ignoreCase, DEFAULT_IGNORE_CASE))
-              .isAtStartOf(str);
-        case SUFFIX:
-          return new Searcher()
-              .forSubstring(expression)
-              .ignoreCase(defaultIfNull(ignoreCase, DEFAULT_IGNORE_CASE))
-              .isAtEndOf(str);
-        case SUBSTRING:
-          return new Searcher()
-              .forSubstring(expression)
-              .ignoreCase(defaultIfNull(ignoreCase, DEFAULT_IGNORE_CASE))
-              .isContainedIn(str);
-        case REGEX:
-          synchronized (this) {
-            if (matcher == null) {
-              setRegexMatcher();
-            }
-            return matcher.reset(str).matches();
-          }
-        case GLOB:
-          synchronized (this) {
-            if (matcher == null) {
-              setGlobMatcher();
-            }
-            return matcher.reset(str).matches();
-          }
-        default:
-          return false;
-      }
+      return compile().matches(str);
     } catch (final Exception e) {
       logger.error("Failed to match pattern: pattern = {}, str = '{}'", this, str, e);
       return false;
     }
   }
 
-  @GuardedBy("this")
-  private void setRegexMatcher() {
-    int flags = 0;
-    if (defaultIfNull(ignoreCase, DEFAULT_IGNORE_CASE)) {
-      flags = java.util.regex.Pattern.CASE_INSENSITIVE;
-    }
-    matcher = java.util.regex.Pattern.compile(expression, flags)
-                                     .matcher(StringUtils.EMPTY);
-  }
-
-  @GuardedBy("this")
-  private void setGlobMatcher() {
-    int flags = 0;
-    if (defaultIfNull(ignoreCase, DEFAULT_IGNORE_CASE)) {
-      flags = java.util.regex.Pattern.CASE_INSENSITIVE;
-    }
-    final String regex = Glob.toRegex(expression);
-    matcher = java.util.regex.Pattern.compile(regex, flags)
-                                     .matcher(StringUtils.EMPTY);
-  }
-
   @Override
   public Pattern cloneEx() {
     return new Pattern(type, ignoreCase, expression);
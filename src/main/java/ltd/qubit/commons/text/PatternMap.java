@@ -8,13 +8,13 @@
 ////////////////////////////////////////////////////////////////////////////////
 package ltd.qubit.commons.text;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
 
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
 
 import ltd.qubit.commons.lang.StringUtils;
 import ltd.qubit.commons.text.tostring.ToStringBuilder;
@@ -25,13 +25,53 @@ import static ltd.qubit.commons.lang.Argument.requireNonNull;
  * The {@link PatternMap} maps a {@link String} to an object according to
  * predefined patterns.
  *
+ * <p>The regular expression and glob patterns are tested in the order they
+ * were put into the map. Before testing them, the literals required by them
+ * are searched in a single pass over the string, and the patterns whose
+ * required literals do not occur in the string are skipped without running
+ * their regular expressions. This lookup structure is compiled on demand after
+ * the map is modified, or explicitly by {@link #compile()}.
+ *
+ * <p>NOTE: The {@link #get(String)} method could be called concurrently by
+ * multiple threads, provided that the map is not modified concurrently.
+ *
  * @author Haixing Hu
  */
 public class PatternMap<VALUE> {
 
+  @Immutable
   private final class RegexEntry {
-    Matcher matcher;
-    VALUE value;
+    final PatternMatcher matcher;
+    final VALUE value;
+
+    RegexEntry(final PatternMatcher matcher, final VALUE value) {
+      this.matcher = matcher;
+      this.value = value;
+    }
+  }
+
+  /**
+   * The compiled lookup structure of the regular expression and glob patterns.
+   */
+  @Immutable
+  private final class RegexLookup {
+    final List<RegexEntry> entries;
+    final PrefilteredMatchers matchers;
+
+    RegexLookup(final List<RegexEntry> entries) {
+      this.entries = new ArrayList<>(entries);
+      final List<PatternMatcher> list = new ArrayList<>(entries.size());
+      for (final RegexEntry entry : this.entries) {
+        list.add(entry.matcher);
+      }
+      this.matchers = new PrefilteredMatchers(list);
+    }
+
+    @Nullable
+    VALUE get(final String str) {
+      final int index = matchers.indexOfFirstMatch(str);
+      return (index < 0 ? null : entries.get(index).value);
+    }
   }
 
   private Map<String, VALUE> caseSensitiveStringMap;
@@ -41,6 +81,12 @@ public class PatternMap<VALUE> {
   private TrieMap<VALUE> caseSensitiveSuffixMap;
   private TrieMap<VALUE> caseInsensitiveSuffixMap;
   private List<RegexEntry> regexEntries;
+  /**
+   * The lookup structure of the regular expression and glob patterns, created
+   * lazily as described in {@link PatternMatcher}.
+   */
+  @Nullable
+  private volatile RegexLookup regexLookup;
   private Map<Pattern, VALUE> patternMap;
   private int size;
 
@@ -51,7 +97,7 @@ public class PatternMap<VALUE> {
     caseInsensitivePrefixMap = new TrieMap<>(true);
     caseSensitiveSuffixMap = new TrieMap<>(false);
     caseInsensitiveSuffixMap = new TrieMap<>(true);
-    regexEntries = new LinkedList<>();
+    regexEntries = new ArrayList<>();
     patternMap = new HashMap<>();
     size = 0;
   }
@@ -79,6 +125,7 @@ public class PatternMap<VALUE> {
     caseSensitiveSuffixMap.clear();
     caseInsensitiveSuffixMap.clear();
     regexEntries.clear();
+    regexLookup = null;
     patternMap.clear();
     size = 0;
   }
@@ -112,29 +159,11 @@ public class PatternMap<VALUE> {
         }
         break;
       }
-      case REGEX: {
-        int flags = 0;
-        if (caseInsensitive) {
-          flags = java.util.regex.Pattern.CASE_INSENSITIVE;
-        }
-        final RegexEntry entry = new RegexEntry();
-        entry.matcher = java.util.regex.Pattern.compile(expression, flags)
-                                               .matcher(StringUtils.EMPTY);
-        entry.value = value;
-        regexEntries.add(entry);
-        break;
-      }
+      case REGEX:
       case GLOB: {
-        int flags = 0;
-        if (caseInsensitive) {
-          flags = java.util.regex.Pattern.CASE_INSENSITIVE;
-        }
-        final String regex = Glob.toRegex(expression);
-        final RegexEntry entry = new RegexEntry();
-        entry.matcher = java.util.regex.Pattern.compile(regex, flags)
-                                               .matcher(StringUtils.EMPTY);
-        entry.value = value;
-        regexEntries.add(entry);
+        regexEntries.add(new RegexEntry(
+            new PatternMatcher(type, caseInsensitive, expression), value));
+        regexLookup = null;
         break;
       }
       default:
@@ -166,23 +195,42 @@ public class PatternMap<VALUE> {
     if (result != null) {
       return result;
     }
-    // check the suffix patterns
-    final String reversedStr = StringUtils.reverse(str);
-    result = caseSensitiveSuffixMap.getPrefixOf(reversedStr);
+    // check the suffix patterns, whose keys are reversed
+    result = caseSensitiveSuffixMap.getPrefixOfReversed(str);
     if (result != null) {
       return result;
     }
-    result = caseInsensitiveSuffixMap.getPrefixOf(reversedStr);
+    result = caseInsensitiveSuffixMap.getPrefixOfReversed(str);
     if (result != null) {
       return result;
     }
     // now check the regex and glob patterns
-    for (final RegexEntry entry : regexEntries) {
-      if (entry.matcher.reset(str).matches()) {
-        return entry.value;
-      }
+    if (regexEntries.isEmpty()) {
+      return null;
+    }
+    return compileRegexLookup().get(str);
+  }
+
+  /**
+   * Compiles the lookup structure of the regular expression and glob patterns
+   * in this map.
+   *
+   * <p>The lookup structure is compiled on demand by {@link #get(String)}
+   * after this map is modified. This function could be called after all the
+   * patterns were put into this map, to avoid the compilation in the first
+   * lookup.
+   */
+  public void compile() {
+    compileRegexLookup();
+  }
+
+  private RegexLookup compileRegexLookup() {
+    RegexLookup lookup = regexLookup;
+    if (lookup == null) {
+      lookup = new RegexLookup(regexEntries);
+      regexLookup = lookup;
     }
-    return null;
+    return lookup;
   }
 
   public Map<Pattern, VALUE> getPatternMap() {
@@ -205,6 +253,7 @@ public class PatternMap<VALUE> {
     caseSensitiveSuffixMap = other.caseSensitiveSuffixMap;
     caseInsensitiveSuffixMap = other.caseInsensitiveSuffixMap;
     regexEntries = other.regexEntries;
+    regexLookup = other.regexLookup;
     patternMap = other.patternMap;
     size = other.size;
   }
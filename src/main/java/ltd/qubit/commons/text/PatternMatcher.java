@@ -0,0 +1,630 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * The compiled form of a {@link Pattern}.
+ *
+ * <p>A {@link PatternMatcher} is immutable, and its {@link #matches(String)}
+ * method never allocates any searcher or takes any lock, therefore it could be
+ * called concurrently by any number of threads.
+ *
+ * <p>The compiled objects, i.e., the {@link PatternMatcher} of a {@link Pattern},
+ * and the lookup structures built from the matchers of a {@link PatternMap} or
+ * a string filter, are all immutable. Their owners create them lazily on the
+ * first use and publish them through {@code volatile} fields without locking.
+ * Racing threads may create equivalent objects more than once, and any of
+ * them could be used.
+ *
+ * <p>The regular expression patterns are compiled into a
+ * {@link java.util.regex.Pattern}, which creates a new
+ * {@link java.util.regex.Matcher} for each matching. The glob patterns without
+ * any special character other than {@code '*'} are matched directly against
+ * their literal segments, without using the regular expression at all; the
+ * other glob patterns are converted to regular expressions by
+ * {@link Glob#toRegex(String)}.
+ *
+ * @author Haixing Hu
+ */
+@Immutable
+public final class PatternMatcher {
+
+  private final PatternType type;
+  private final boolean ignoreCase;
+  private final String expression;
+
+  /**
+   * The compiled regular expression, or {@code null} if not needed.
+   */
+  @Nullable
+  private final java.util.regex.Pattern regex;
+
+  /**
+   * The literal segments of a glob pattern separated by {@code '*'}, or
+   * {@code null} if the glob pattern must be matched by the regular expression.
+   */
+  @Nullable
+  private final String[] segments;
+
+  /**
+   * The case folded first character of the expression, used to quickly skip
+   * the mismatched positions while searching for a substring ignoring case.
+   */
+  private final char foldedFirst;
+
+  /**
+   * Compiles a pattern.
+   *
+   * @param type
+   *     the type of the pattern.
+   * @param ignoreCase
+   *     whether to ignore the case while matching.
+   * @param expression
+   *     the expression of the pattern.
+   * @throws java.util.regex.PatternSyntaxException
+   *     if the pattern is a regular expression or glob pattern, and the
+   *     expression has syntax errors.
+   */
+  public PatternMatcher(final PatternType type, final boolean ignoreCase,
+      final String expression) {
+    this.type = requireNonNull("type", type);
+    this.ignoreCase = ignoreCase;
+    this.expression = requireNonNull("expression", expression);
+    final int flags = (ignoreCase ? java.util.regex.Pattern.CASE_INSENSITIVE : 0);
+    switch (type) {
+      case REGEX:
+        regex = java.util.regex.Pattern.compile(expression, flags);
+        segments = null;
+        break;
+      case GLOB:
+        segments = splitSimpleGlob(expression);
+        regex = (segments == null
+                 ? java.util.regex.Pattern.compile(Glob.toRegex(expression), flags)
+                 : null);
+        break;
+      default:
+        regex = null;
+        segments = null;
+        break;
+    }
+    foldedFirst = (expression.isEmpty() ? 0 : fold(expression.charAt(0)));
+  }
+
+  /**
+   * Splits a glob pattern into the literal segments separated by {@code '*'}.
+   *
+   * @param glob
+   *     a glob pattern.
+   * @return
+   *     the literal segments of the glob pattern, or {@code null} if the glob
+   *     pattern contains any character which has special meaning in the
+   *     regular expression converted from it.
+   */
+  @Nullable
+  private static String[] splitSimpleGlob(final String glob) {
+    final List<String> result = new ArrayList<>();
+    int segmentStart = 0;
+    for (int i = 0; i < glob.length(); ++i) {
+      final char ch = glob.charAt(i);
+      switch (ch) {
+        case '*':
+          result.add(glob.substring(segmentStart, i));
+          segmentStart = i + 1;
+          break;
+        case '\\':
+        case '?':
+        case '|':
+        case '{':
+        case '}':
+        case '[':
+        case ']':
+        case '^':
+        case '$':
+          return null;
+        default:
+          if (isLineTerminator(ch)) {
+            return null;
+          }
+          break;
+      }
+    }
+    result.add(glob.substring(segmentStart));
+    return result.toArray(new String[0]);
+  }
+
+  /**
+   * Tests whether a character is a line terminator, which could not be matched
+   * by the {@code '.'} in a regular expression.
+   */
+  static boolean isLineTerminator(final char ch) {
+    return (ch == '\n') || (ch == '\r') || (ch == '\u0085')
+        || (ch == '\u2028') || (ch == '\u2029');
+  }
+
+  private static char fold(final char ch) {
+    //  the same rule as String.regionMatches(true, ...)
+    return Character.toLowerCase(Character.toUpperCase(ch));
+  }
+
+  /**
+   * Gets the literal segments of a glob pattern separated by {@code '*'}.
+   *
+   * <p>The returned array is shared and must not be modified.
+   *
+   * @return
+   *     the literal segments of this glob pattern, or {@code null} if this is
+   *     not a glob pattern, or it contains any special character other than
+   *     {@code '*'}.
+   */
+  @Nullable
+  String[] getGlobSegments() {
+    return segments;
+  }
+
+  public PatternType getType() {
+    return type;
+  }
+
+  public boolean isIgnoreCase() {
+    return ignoreCase;
+  }
+
+  public String getExpression() {
+    return expression;
+  }
+
+  /**
+   * Gets a literal string which must occur in every string matching this
+   * pattern.
+   *
+   * <p>The literal could be used to quickly filter out the strings which
+   * could not match this pattern, for example, by searching for the literals
+   * of many patterns in a single pass with an {@link AhoCorasickAutomaton}.
+   * If this pattern ignores the case, the literal should also be searched
+   * ignoring the case.
+   *
+   * @return
+   *     the longest literal string found which must occur in every string
+   *     matching this pattern, or {@code null} if no such literal could be
+   *     found.
+   */
+  @Nullable
+  public String getRequiredLiteral() {
+    final String result;
+    switch (type) {
+      case LITERAL:
+      case PREFIX:
+      case SUFFIX:
+      case SUBSTRING:
+        result = expression;
+        break;
+      case REGEX:
+        result = findRequiredLiteral(expression);
+        break;
+      case GLOB:
+        if (segments == null) {
+          result = findRequiredLiteral(Glob.toRegex(expression));
+        } else {
+          String longest = segments[0];
+          for (final String segment : segments) {
+            if (segment.length() > longest.length()) {
+              longest = segment;
+            }
+          }
+          result = longest;
+        }
+        break;
+      default:
+        result = null;
+        break;
+    }
+    return ((result == null || result.isEmpty()) ? null : result);
+  }
+
+  /**
+   * Finds the longest run of literal characters which must occur in every
+   * string matching a regular expression.
+   *
+   * <p>The analysis is conservative: the regular expressions containing
+   * alternations, inline flags or quotations are not analyzed, and the
+   * contents of groups and character classes are skipped.
+   *
+   * @param regex
+   *     a regular expression.
+   * @return
+   *     the longest run of required literal characters, or {@code null} if
+   *     no such literal could be found.
+   */
+  @Nullable
+  private static String findRequiredLiteral(final String regex) {
+    if ((regex.indexOf('|') >= 0)
+        || regex.contains("(?")
+        || regex.contains("\\Q")) {
+      return null;
+    }
+    final int n = regex.length();
+    final StringBuilder run = new StringBuilder();
+    String best = null;
+    int i = 0;
+    while (i < n) {
+      final char ch = regex.charAt(i);
+      final char literal;
+      switch (ch) {
+        case '\\': {
+          if (i + 1 >= n) {
+            return null;
+          }
+          final char escaped = regex.charAt(i + 1);
+          if (Character.isLetterOrDigit(escaped)) {
+            // a predefined character class, a back reference, an escaped
+            // character code, etc., together with its operand
+            best = longer(best, run);
+            i = skipQuantifier(regex, skipEscape(regex, i));
+            continue;
+          }
+          i += 2;
+          literal = escaped;
+          break;
+        }
+        case '[':
+          best = longer(best, run);
+          i = skipQuantifier(regex, skipCharClass(regex, i));
+          if (i < 0) {
+            return null;
+          }
+          continue;
+        case '(':
+          best = longer(best, run);
+          i = skipGroup(regex, i);
+          if (i < 0) {
+            return null;
+          }
+          i = skipQuantifier(regex, i);
+          continue;
+        case '.':
+        case '^':
+        case '$':
+        case ']':
+        case '}':
+          best = longer(best, run);
+          i = skipQuantifier(regex, i + 1);
+          continue;
+        case '*':
+        case '+':
+        case '?':
+        case '{':
+        case ')':
+          return null;
+        default:
+          literal = ch;
+          ++i;
+          break;
+      }
+      // check the quantifier following the literal character
+      if (i < n) {
+        final char q = regex.charAt(i);
+        if ((q == '?') || (q == '*')
+            || ((q == '{') && (i + 1 < n) && (regex.charAt(i + 1) == '0'))) {
+          // the literal character is optional
+          best = longer(best, run);
+          i = skipQuantifier(regex, i);
+          continue;
+        } else if ((q == '+') || (q == '{')) {
+          // the literal character occurs at least once
+          run.append(literal);
+          best = longer(best, run);
+          i = skipQuantifier(regex, i);
+          continue;
+        }
+      }
+      run.append(literal);
+    }
+    return longer(best, run);
+  }
+
+  private static String longer(@Nullable final String best, final StringBuilder run) {
+    final String result;
+    if ((best == null) || (run.length() > best.length())) {
+      result = run.toString();
+    } else {
+      result = best;
+    }
+    run.setLength(0);
+    return result;
+  }
+
+  private static int skipQuantifier(final String regex, final int start) {
+    final int n = regex.length();
+    if (start < 0 || start >= n) {
+      return start;
+    }
+    int i = start;
+    final char ch = regex.charAt(i);
+    if ((ch == '?') || (ch == '*') || (ch == '+')) {
+      ++i;
+    } else if (ch == '{') {
+      final int close = regex.indexOf('}', i);
+      if (close < 0) {
+        return i;
+      }
+      i = close + 1;
+    } else {
+      return i;
+    }
+    // the reluctant or possessive quantifiers
+    if ((i < n) && ((regex.charAt(i) == '?') || (regex.charAt(i) == '+'))) {
+      ++i;
+    }
+    return i;
+  }
+
+  /**
+   * Skips an escape sequence in a regular expression.
+   *
+   * @param regex
+   *     a regular expression.
+   * @param start
+   *     the index of the backslash starting the escape sequence.
+   * @return
+   *     the index right after the escape sequence, including the operand of
+   *     the hexadecimal, Unicode, octal and control character escapes, the
+   *     character properties, the named characters and the back references.
+   */
+  private static int skipEscape(final String regex, final int start) {
+    final int n = regex.length();
+    int i = start + 2;
+    if (i > n) {
+      return n;
+    }
+    switch (regex.charAt(start + 1)) {
+      case 'x':
+        i = ((i < n) && (regex.charAt(i) == '{') ? skipTo(regex, i, '}') : i + 2);
+        break;
+      case 'u':
+        i += 4;
+        break;
+      case '0':
+        for (int k = 0; (k < 3) && (i < n) && (regex.charAt(i) >= '0')
+            && (regex.charAt(i) <= '7'); ++k) {
+          ++i;
+        }
+        break;
+      case 'c':
+        ++i;
+        break;
+      case 'p':
+      case 'P':
+        i = ((i < n) && (regex.charAt(i) == '{') ? skipTo(regex, i, '}') : i + 1);
+        break;
+      case 'b':
+      case 'B':
+      case 'N':
+        if ((i < n) && (regex.charAt(i) == '{')) {
+          i = skipTo(regex, i, '}');
+        }
+        break;
+      case 'k':
+        if ((i < n) && (regex.charAt(i) == '<')) {
+          i = skipTo(regex, i, '>');
+        }
+        break;
+      case '1':
+      case '2':
+      case '3':
+      case '4':
+      case '5':
+      case '6':
+      case '7':
+      case '8':
+      case '9':
+        // the following digits may belong to the back reference
+        while ((i < n) && Character.isDigit(regex.charAt(i))) {
+          ++i;
+        }
+        break;
+      default:
+        break;
+    }
+    return Math.min(i, n);
+  }
+
+  private static int skipTo(final String regex, final int start, final char close) {
+    final int pos = regex.indexOf(close, start);
+    return (pos < 0 ? regex.length() : pos + 1);
+  }
+
+  private static int skipCharClass(final String regex, final int start) {
+    final int n = regex.length();
+    int depth = 0;
+    int i = start;
+    while (i < n) {
+      final char ch = regex.charAt(i);
+      if (ch == '\\') {
+        i = skipEscape(regex, i);
+        continue;
+      }
+      if (ch == '[') {
+        ++depth;
+        // a ']' right after the '[' or "[^" is a literal
+        if ((i + 1 < n) && (regex.charAt(i + 1) == '^')) {
+          ++i;
+        }
+        if ((i + 1 < n) && (regex.charAt(i + 1) == ']')) {
+          ++i;
+        }
+      } else if (ch == ']') {
+        if (--depth == 0) {
+          return i + 1;
+        }
+      }
+      ++i;
+    }
+    return -1;
+  }
+
+  private static int skipGroup(final String regex, final int start) {
+    final int n = regex.length();
+    int depth = 0;
+    int i = start;
+    while (i < n) {
+      final char ch = regex.charAt(i);
+      if (ch == '\\') {
+        i = skipEscape(regex, i);
+        continue;
+      }
+      if (ch == '[') {
+        i = skipCharClass(regex, i);
+        if (i < 0) {
+          return -1;
+        }
+        continue;
+      }
+      if (ch == '(') {
+        ++depth;
+      } else if ((ch == ')') && (--depth == 0)) {
+        return i + 1;
+      }
+      ++i;
+    }
+    return -1;
+  }
+
+  /**
+   * Tests whether a string matches this pattern.
+   *
+   * @param str
+   *     the string to be tested, which may be {@code null}.
+   * @return
+   *     {@code true} if the string matches this pattern; {@code false} if the
+   *     string is {@code null} or does not match this pattern.
+   */
+  public boolean matches(@Nullable final String str) {
+    if (str == null) {
+      return false;
+    }
+    final int len = expression.length();
+    switch (type) {
+      case LITERAL:
+        return (ignoreCase ? expression.equalsIgnoreCase(str) : expression.equals(str));
+      case PREFIX:
+        return str.regionMatches(ignoreCase, 0, expression, 0, len);
+      case SUFFIX:
+        return str.regionMatches(ignoreCase, str.length() - len, expression, 0, len);
+      case SUBSTRING:
+        return (!str.isEmpty()) && containsExpression(str);
+      case REGEX:
+        return regex.matcher(str).matches();
+      case GLOB:
+        return (segments == null ? regex.matcher(str).matches() : matchesSegments(str));
+      default:
+        return false;
+    }
+  }
+
+  private boolean containsExpression(final String str) {
+    if (!ignoreCase) {
+      return str.contains(expression);
+    }
+    final int len = expression.length();
+    if (len == 0) {
+      return true;
+    }
+    final int stop = str.length() - len;
+    for (int i = 0; i <= stop; ++i) {
+      if ((fold(str.charAt(i)) == foldedFirst)
+          && str.regionMatches(true, i, expression, 0, len)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean matchesSegments(final String str) {
+    final int n = segments.length;
+    if (n == 1) {
+      return regionMatches(str, 0, segments[0]) && (str.length() == segments[0].length());
+    }
+    //  the literal segments contain no line terminator, so a line terminator
+    //  could only be matched by a '*', which is converted to ".*" in regex
+    for (int i = 0; i < str.length(); ++i) {
+      if (isLineTerminator(str.charAt(i))) {
+        return false;
+      }
+    }
+    final String first = segments[0];
+    final String last = segments[n - 1];
+    int pos = first.length();
+    final int stop = str.length() - last.length();
+    if ((pos > stop)
+        || (!regionMatches(str, 0, first))
+        || (!regionMatches(str, stop, last))) {
+      return false;
+    }
+    for (int k = 1; k < n - 1; ++k) {
+      final String segment = segments[k];
+      final int index = indexOf(str, pos, stop, segment);
+      if (index < 0) {
+        return false;
+      }
+      pos = index + segment.length();
+    }
+    return true;
+  }
+
+  private int indexOf(final String str, final int start, final int end,
+      final String segment) {
+    final int last = end - segment.length();
+    for (int i = start; i <= last; ++i) {
+      if (regionMatches(str, i, segment)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private boolean regionMatches(final String str, final int offset, final String segment) {
+    final int len = segment.length();
+    if (offset + len > str.length()) {
+      return false;
+    }
+    if (!ignoreCase) {
+      return str.startsWith(segment, offset);
+    }
+    //  the CASE_INSENSITIVE flag of the regular expression only folds the
+    //  ASCII letters
+    for (int i = 0; i < len; ++i) {
+      final char c1 = str.charAt(offset + i);
+      final char c2 = segment.charAt(i);
+      if ((c1 != c2)
+          && ((c1 >= 128) || (c2 >= 128) || (Ascii.toLowerCase(c1) != Ascii.toLowerCase(c2)))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("type", type)
+        .append("ignoreCase", ignoreCase)
+        .append("expression", expression)
+        .toString();
+  }
+}
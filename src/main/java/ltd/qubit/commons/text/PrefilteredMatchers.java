@@ -0,0 +1,124 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A sequence of {@link PatternMatcher}s prefiltered by their required literals.
+ *
+ * <p>The literals required by the patterns (see
+ * {@link PatternMatcher#getRequiredLiteral()}) are searched in a single pass
+ * over the string with {@link AhoCorasickAutomaton}s, and the patterns whose
+ * required literals do not occur in the string are skipped without running
+ * their matchers.
+ *
+ * @author Haixing Hu
+ */
+@Immutable
+final class PrefilteredMatchers {
+
+  private final PatternMatcher[] matchers;
+
+  /**
+   * The index of the required literal of each matcher in the automaton, or -1
+   * if the matcher has no required literal.
+   */
+  private final int[] literalIndexes;
+
+  /**
+   * Whether the required literal of each matcher ignores the case.
+   */
+  private final boolean[] literalIgnoreCase;
+
+  @Nullable
+  private final AhoCorasickAutomaton caseSensitiveLiterals;
+
+  @Nullable
+  private final AhoCorasickAutomaton caseInsensitiveLiterals;
+
+  PrefilteredMatchers(final List<PatternMatcher> matchers) {
+    this.matchers = matchers.toArray(new PatternMatcher[0]);
+    final int n = this.matchers.length;
+    literalIndexes = new int[n];
+    literalIgnoreCase = new boolean[n];
+    final List<String> caseSensitive = new ArrayList<>();
+    final List<String> caseInsensitive = new ArrayList<>();
+    for (int i = 0; i < n; ++i) {
+      final PatternMatcher matcher = this.matchers[i];
+      final String literal = matcher.getRequiredLiteral();
+      if (literal == null) {
+        literalIndexes[i] = -1;
+      } else if (matcher.isIgnoreCase()) {
+        literalIgnoreCase[i] = true;
+        literalIndexes[i] = caseInsensitive.size();
+        caseInsensitive.add(literal);
+      } else {
+        literalIndexes[i] = caseSensitive.size();
+        caseSensitive.add(literal);
+      }
+    }
+    caseSensitiveLiterals = (caseSensitive.isEmpty() ? null
+        : new AhoCorasickAutomaton(caseSensitive.toArray(new String[0]), false));
+    caseInsensitiveLiterals = (caseInsensitive.isEmpty() ? null
+        : new AhoCorasickAutomaton(caseInsensitive.toArray(new String[0]), true));
+  }
+
+  int size() {
+    return matchers.length;
+  }
+
+  /**
+   * Finds the first matcher matching the specified string.
+   *
+   * @param str
+   *     the specified string.
+   * @return
+   *     the index of the first matcher matching the specified string, or -1 if
+   *     no matcher matches it.
+   */
+  int indexOfFirstMatch(final String str) {
+    final int n = matchers.length;
+    if (n == 0) {
+      return -1;
+    }
+    final BitSet caseSensitiveFound = find(caseSensitiveLiterals, str);
+    final BitSet caseInsensitiveFound = find(caseInsensitiveLiterals, str);
+    for (int i = 0; i < n; ++i) {
+      final int literal = literalIndexes[i];
+      if (literal >= 0) {
+        final BitSet found = (literalIgnoreCase[i] ? caseInsensitiveFound
+                                                    : caseSensitiveFound);
+        if (!found.get(literal)) {
+          continue;   // the required literal does not occur
+        }
+      }
+      if (matchers[i].matches(str)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Nullable
+  private static BitSet find(@Nullable final AhoCorasickAutomaton automaton,
+      final String str) {
+    if (automaton == null) {
+      return null;
+    }
+    final BitSet result = new BitSet();
+    automaton.getMatchedSubstringsIn(str, 0, str.length(), result);
+    return result;
+  }
+}
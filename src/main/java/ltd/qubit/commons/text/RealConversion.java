@@ -0,0 +1,508 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text;
+
+import java.math.BigInteger;
+
+/**
+ * Provides functions for converting between decimal numbers and binary floating
+ * point numbers.
+ *
+ * <p>The decimal to binary conversion first tries the exact fast path of
+ * Clinger, which is applicable if both the decimal significand and the power of
+ * ten are exactly representable; then tries the algorithm of Eisel and Lemire,
+ * which multiplies the significand by a 128-bit approximation of the power of
+ * five. The later is used only if the truncation error of the approximation
+ * cannot affect the rounding, i.e., if the product is not too close to a
+ * halfway point between two floating point numbers; otherwise, or if the result
+ * is a subnormal number, the conversion is reported as undecided and the caller
+ * should fall back to {@link Double#parseDouble(String)} or
+ * {@link Float#parseFloat(String)}.</p>
+ *
+ * <p>The binary to decimal conversion computes the shortest decimal which is
+ * converted back to the same floating point number. It tries the candidate
+ * decimals with increasing number of fractional digits, and falls back to the
+ * exact free-format algorithm of Steele, White, Burger and Dybvig with big
+ * integers if the candidate cannot be decided by the fast path.</p>
+ *
+ * @author Haixing Hu
+ * @see <a href="https://arxiv.org/abs/2101.11408">Number Parsing at a Gigabyte
+ *     per Second</a>
+ * @see <a href="https://doi.org/10.1145/231379.231397">Printing Floating-Point
+ *     Numbers Quickly and Accurately</a>
+ */
+final class RealConversion {
+
+  /**
+   * A decimal number {@code significand * 10^exponent}.
+   */
+  static final class Decimal {
+
+    /**
+     * The significand, without trailing zeros unless it is zero.
+     */
+    long significand;
+
+    /**
+     * The exponent of ten.
+     */
+    int exponent;
+
+    /**
+     * The number of digits of the significand.
+     */
+    int digitCount;
+
+    void set(final long significand, final int exponent) {
+      long s = significand;
+      int e = exponent;
+      while ((s != 0) && (s % 10 == 0)) {
+        s /= 10;
+        ++e;
+      }
+      this.significand = s;
+      this.exponent = e;
+      int n = 1;
+      for (long t = s / 10; t != 0; t /= 10) {
+        ++n;
+      }
+      this.digitCount = n;
+    }
+  }
+
+  private static final int MIN_POWER = -342;
+
+  private static final int MAX_POWER = 308;
+
+  private static final double[] DOUBLE_POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+      1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22,
+  };
+
+  private static final float[] FLOAT_POWERS_OF_TEN = {
+      1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f,
+  };
+
+  private static final long DOUBLE_EXACT_LIMIT = 1L << 53;
+
+  private static final long FLOAT_EXACT_LIMIT = 1L << 24;
+
+  private static final int DOUBLE_PRECISION = 53;
+
+  private static final int FLOAT_PRECISION = 24;
+
+  /**
+   * The table of the 128-bit approximations of the powers of five.
+   *
+   * <p>For {@code MIN_POWER <= q <= MAX_POWER}, the value
+   * {@code T = POWERS_OF_FIVE_HIGH[i] * 2^64 + POWERS_OF_FIVE_LOW[i]}, where
+   * {@code i = q - MIN_POWER}, satisfies {@code 2^127 <= T < 2^128}, and
+   * {@code 10^q} is approximately {@code T * 2^POWERS_OF_TEN_EXPONENT[i]}. The
+   * approximation is truncated for the non-negative {@code q}, and rounded up
+   * for the negative {@code q}; in both cases the error is less than one.</p>
+   */
+  private static final long[] POWERS_OF_FIVE_HIGH;
+  private static final long[] POWERS_OF_FIVE_LOW;
+  private static final int[] POWERS_OF_TEN_EXPONENT;
+
+  static {
+    final int n = MAX_POWER - MIN_POWER + 1;
+    POWERS_OF_FIVE_HIGH = new long[n];
+    POWERS_OF_FIVE_LOW = new long[n];
+    POWERS_OF_TEN_EXPONENT = new int[n];
+    final BigInteger five = BigInteger.valueOf(5);
+    BigInteger power = BigInteger.ONE;
+    for (int q = 0; q <= MAX_POWER; ++q) {
+      final int bits = power.bitLength();
+      final BigInteger t = (bits >= 128
+                            ? power.shiftRight(bits - 128)
+                            : power.shiftLeft(128 - bits));
+      setPower(q, t, bits - 128 + q);
+      power = power.multiply(five);
+    }
+    power = five;
+    for (int q = -1; q >= MIN_POWER; --q) {
+      //  T = ceil(2^k / 5^(-q)), where k = 127 + bitLength(5^(-q))
+      final int k = 127 + power.bitLength();
+      final BigInteger t = BigInteger.ONE.shiftLeft(k).subtract(BigInteger.ONE)
+                                         .divide(power).add(BigInteger.ONE);
+      setPower(q, t, q - k);
+      power = power.multiply(five);
+    }
+  }
+
+  private static void setPower(final int q, final BigInteger t, final int exponent) {
+    final int i = q - MIN_POWER;
+    POWERS_OF_FIVE_HIGH[i] = t.shiftRight(64).longValue();
+    POWERS_OF_FIVE_LOW[i] = t.longValue();
+    POWERS_OF_TEN_EXPONENT[i] = exponent;
+  }
+
+  private RealConversion() {}
+
+  /**
+   * Converts a decimal number to the nearest {@code double} value.
+   *
+   * @param significand
+   *     the significand of the decimal number, which is treated as an unsigned
+   *     integer.
+   * @param exponent
+   *     the exponent of ten of the decimal number.
+   * @return
+   *     the non-negative {@code double} value nearest to
+   *     {@code significand * 10^exponent}, with ties rounded to even; or
+   *     {@link Double#NaN} if the result cannot be decided by this function.
+   */
+  static double toDouble(final long significand, final int exponent) {
+    if (significand == 0) {
+      return 0.0;
+    }
+    if ((exponent >= -22) && (exponent <= 22)
+        && (significand > 0) && (significand <= DOUBLE_EXACT_LIMIT)) {
+      //  both operands are exact, so the result is correctly rounded
+      final double value = (double) significand;
+      return (exponent >= 0
+              ? value * DOUBLE_POWERS_OF_TEN[exponent]
+              : value / DOUBLE_POWERS_OF_TEN[-exponent]);
+    }
+    final long bits = compute(significand, exponent, DOUBLE_PRECISION);
+    return (bits < 0 ? Double.NaN : Double.longBitsToDouble(bits));
+  }
+
+  /**
+   * Converts a decimal number to the nearest {@code float} value.
+   *
+   * @param significand
+   *     the significand of the decimal number, which is treated as an unsigned
+   *     integer.
+   * @param exponent
+   *     the exponent of ten of the decimal number.
+   * @return
+   *     the non-negative {@code float} value nearest to
+   *     {@code significand * 10^exponent}, with ties rounded to even; or
+   *     {@link Float#NaN} if the result cannot be decided by this function.
+   */
+  static float toFloat(final long significand, final int exponent) {
+    if (significand == 0) {
+      return 0.0f;
+    }
+    if ((exponent >= -10) && (exponent <= 10)
+        && (significand > 0) && (significand <= FLOAT_EXACT_LIMIT)) {
+      final float value = (float) significand;
+      return (exponent >= 0
+              ? value * FLOAT_POWERS_OF_TEN[exponent]
+              : value / FLOAT_POWERS_OF_TEN[-exponent]);
+    }
+    final long bits = compute(significand, exponent, FLOAT_PRECISION);
+    return (bits < 0 ? Float.NaN : Float.intBitsToFloat((int) bits));
+  }
+
+  /**
+   * Computes the bits of the floating point number nearest to a decimal number
+   * with the algorithm of Eisel and Lemire.
+   *
+   * @param significand
+   *     the non-zero significand, treated as an unsigned integer.
+   * @param exponent
+   *     the exponent of ten.
+   * @param precision
+   *     the precision of the floating point number, which is 53 for
+   *     {@code double} and 24 for {@code float}.
+   * @return
+   *     the bits of the floating point number, or -1 if the result cannot be
+   *     decided.
+   */
+  private static long compute(final long significand, final int exponent,
+      final int precision) {
+    final int exponentBits = (precision == DOUBLE_PRECISION ? 11 : 8);
+    final int bias = (1 << (exponentBits - 1)) - 1;
+    final int maxBiased = (1 << exponentBits) - 1;
+    final long infinity = ((long) maxBiased) << (precision - 1);
+    if (exponent < MIN_POWER) {
+      return 0;   //  less than half of the minimum subnormal number
+    }
+    if (exponent > MAX_POWER) {
+      return infinity;
+    }
+    final int lz = Long.numberOfLeadingZeros(significand);
+    final long w = significand << lz;
+    final int i = exponent - MIN_POWER;
+    final long th = POWERS_OF_FIVE_HIGH[i];
+    final long tl = POWERS_OF_FIVE_LOW[i];
+    //  the upper 128 bits of the 192-bit product w * T
+    final long hi1 = unsignedMultiplyHigh(w, th);
+    final long lo1 = w * th;
+    final long hi2 = unsignedMultiplyHigh(w, tl);
+    final long mid = lo1 + hi2;
+    final long hi = hi1 + (Long.compareUnsigned(mid, lo1) < 0 ? 1 : 0);
+    //  the number of bits below the significand of the result in hi
+    final int upper = (int) (hi >>> 63);
+    final int shift = 64 - precision - 1 + upper;
+    final long rest = hi & ((1L << shift) - 1);
+    final long half = 1L << (shift - 1);
+    //  the truncation error of the product is less than 2^64, so it changes
+    //  the upper 128 bits by at most one.
+    if (((rest == half) && (mid == 0)) || ((rest == half - 1) && (mid == -1L))) {
+      return -1;
+    }
+    long mantissa = (hi >>> shift) + ((rest & half) != 0 ? 1 : 0);
+    //  value = mantissa * 2^e2
+    int e2 = shift + 128 + POWERS_OF_TEN_EXPONENT[i] - lz;
+    if (mantissa == (1L << precision)) {
+      mantissa >>>= 1;
+      ++e2;
+    }
+    final int biased = e2 + precision - 1 + bias;
+    if (biased >= maxBiased) {
+      return infinity;
+    }
+    if (biased <= 0) {
+      return -1;    //  subnormal numbers are not supported
+    }
+    return (((long) biased) << (precision - 1)) | (mantissa & ((1L << (precision - 1)) - 1));
+  }
+
+  private static long unsignedMultiplyHigh(final long x, final long y) {
+    return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+  }
+
+  /**
+   * Computes the shortest decimal which is converted back to the specified
+   * {@code double} value.
+   *
+   * @param value
+   *     a finite positive {@code double} value.
+   * @param result
+   *     the {@link Decimal} object where to store the result. Among the
+   *     shortest decimals, the one nearest to the value is selected.
+   */
+  static void toShortestDecimal(final double value, final Decimal result) {
+    if (value < DOUBLE_EXACT_LIMIT) {
+      for (int k = 0; k <= 17; ++k) {
+        final double scaled = value * DOUBLE_POWERS_OF_TEN[k];
+        if (scaled >= DOUBLE_EXACT_LIMIT - 1) {
+          break;
+        }
+        final long n = Math.round(scaled);
+        if (n == 0) {
+          continue;
+        }
+        final int rc = checkCandidates(value, n, k);
+        if (rc > 0) {
+          result.set(n, -k);
+          return;
+        } else if (rc < 0) {
+          break;
+        }
+      }
+    }
+    final long bits = Double.doubleToRawLongBits(value);
+    final int biased = (int) (bits >>> 52);
+    final long fraction = bits & ((1L << 52) - 1);
+    if (biased == 0) {
+      freeFormat(fraction, -1074, value, DOUBLE_PRECISION, false, result);
+    } else {
+      freeFormat(fraction | (1L << 52), biased - 1075, value, DOUBLE_PRECISION,
+          biased > 1, result);
+    }
+  }
+
+  /**
+   * Computes the shortest decimal which is converted back to the specified
+   * {@code float} value.
+   *
+   * @param value
+   *     a finite positive {@code float} value.
+   * @param result
+   *     the {@link Decimal} object where to store the result. Among the
+   *     shortest decimals, the one nearest to the value is selected.
+   */
+  static void toShortestDecimal(final float value, final Decimal result) {
+    if (value < FLOAT_EXACT_LIMIT) {
+      for (int k = 0; k <= 12; ++k) {
+        final double scaled = value * DOUBLE_POWERS_OF_TEN[k];
+        if (scaled >= DOUBLE_EXACT_LIMIT - 1) {
+          break;
+        }
+        final long n = Math.round(scaled);
+        if (n == 0) {
+          continue;
+        }
+        final int rc = checkCandidates(value, n, k);
+        if (rc > 0) {
+          result.set(n, -k);
+          return;
+        } else if (rc < 0) {
+          break;
+        }
+      }
+    }
+    final int bits = Float.floatToRawIntBits(value);
+    final int biased = bits >>> 23;
+    final long fraction = bits & ((1 << 23) - 1);
+    if (biased == 0) {
+      freeFormat(fraction, -149, value, FLOAT_PRECISION, false, result);
+    } else {
+      freeFormat(fraction | (1L << 23), biased - 150, value, FLOAT_PRECISION,
+          biased > 1, result);
+    }
+  }
+
+  /**
+   * Checks whether {@code n * 10^(-k)} is the only decimal with {@code k}
+   * fractional digits which is converted back to the value.
+   *
+   * @return
+   *     1 if it is; 0 if no such decimal is converted back to the value; -1 if
+   *     it cannot be decided.
+   */
+  private static int checkCandidates(final double value, final long n, final int k) {
+    final double prev = toDouble(n - 1, -k);
+    final double current = toDouble(n, -k);
+    final double next = toDouble(n + 1, -k);
+    if (Double.isNaN(prev) || Double.isNaN(current) || Double.isNaN(next)) {
+      return -1;
+    }
+    final boolean matched = (current == value);
+    if ((prev == value) || (next == value)) {
+      return -1;
+    }
+    return (matched ? 1 : 0);
+  }
+
+  private static int checkCandidates(final float value, final long n, final int k) {
+    final float prev = toFloat(n - 1, -k);
+    final float current = toFloat(n, -k);
+    final float next = toFloat(n + 1, -k);
+    if (Float.isNaN(prev) || Float.isNaN(current) || Float.isNaN(next)) {
+      return -1;
+    }
+    final boolean matched = (current == value);
+    if ((prev == value) || (next == value)) {
+      return -1;
+    }
+    return (matched ? 1 : 0);
+  }
+
+  /**
+   * Computes the shortest decimal of the value {@code f * 2^e} with the
+   * free-format algorithm of Steele, White, Burger and Dybvig.
+   *
+   * @param f
+   *     the significand of the value.
+   * @param e
+   *     the binary exponent of the value.
+   * @param value
+   *     the value, used to estimate the decimal exponent.
+   * @param precision
+   *     the precision of the floating point number.
+   * @param hasNarrowLowerGap
+   *     whether the gap between the value and its predecessor is half of the
+   *     gap between the value and its successor.
+   * @param result
+   *     the {@link Decimal} object where to store the result.
+   */
+  private static void freeFormat(final long f, final int e, final double value,
+      final int precision, final boolean hasNarrowLowerGap, final Decimal result) {
+    final boolean even = ((f & 1) == 0);
+    final boolean unequal = hasNarrowLowerGap && (f == (1L << (precision - 1)));
+    //  value = r / s, the upper gap is mp / s, and the lower gap is mm / s,
+    //  where the gaps are the half distances to the adjacent numbers.
+    BigInteger r;
+    BigInteger s;
+    BigInteger mp;
+    BigInteger mm;
+    final BigInteger bf = BigInteger.valueOf(f);
+    if (e >= 0) {
+      final BigInteger be = BigInteger.ONE.shiftLeft(e);
+      if (unequal) {
+        r = bf.shiftLeft(e + 2);
+        s = BigInteger.valueOf(4);
+        mp = be.shiftLeft(1);
+      } else {
+        r = bf.shiftLeft(e + 1);
+        s = BigInteger.TWO;
+        mp = be;
+      }
+      mm = be;
+    } else {
+      if (unequal) {
+        r = bf.shiftLeft(2);
+        s = BigInteger.ONE.shiftLeft(2 - e);
+        mp = BigInteger.TWO;
+      } else {
+        r = bf.shiftLeft(1);
+        s = BigInteger.ONE.shiftLeft(1 - e);
+        mp = BigInteger.ONE;
+      }
+      mm = BigInteger.ONE;
+    }
+    int k = (int) Math.ceil(Math.log10(value));
+    if (k >= 0) {
+      s = s.multiply(BigInteger.TEN.pow(k));
+    } else {
+      final BigInteger scale = BigInteger.TEN.pow(-k);
+      r = r.multiply(scale);
+      mp = mp.multiply(scale);
+      mm = mm.multiply(scale);
+    }
+    //  fix the estimated exponent, so that 1/10 <= (r + mp) / s < 1
+    for (;;) {
+      final int c = r.add(mp).compareTo(s);
+      if (even ? (c >= 0) : (c > 0)) {
+        s = s.multiply(BigInteger.TEN);
+        ++k;
+      } else {
+        break;
+      }
+    }
+    for (;;) {
+      final int c = r.add(mp).multiply(BigInteger.TEN).compareTo(s);
+      if (even ? (c < 0) : (c <= 0)) {
+        r = r.multiply(BigInteger.TEN);
+        mp = mp.multiply(BigInteger.TEN);
+        mm = mm.multiply(BigInteger.TEN);
+        --k;
+      } else {
+        break;
+      }
+    }
+    //  generate the digits
+    long digits = 0;
+    int n = 0;
+    for (;;) {
+      r = r.multiply(BigInteger.TEN);
+      mp = mp.multiply(BigInteger.TEN);
+      mm = mm.multiply(BigInteger.TEN);
+      final BigInteger[] qr = r.divideAndRemainder(s);
+      int d = qr[0].intValue();
+      r = qr[1];
+      final int c1 = r.compareTo(mm);
+      final int c2 = r.add(mp).compareTo(s);
+      final boolean low = (even ? (c1 <= 0) : (c1 < 0));
+      final boolean high = (even ? (c2 >= 0) : (c2 > 0));
+      ++n;
+      if (!low && !high) {
+        digits = digits * 10 + d;
+        continue;
+      }
+      if (low && high) {
+        final int c = r.shiftLeft(1).compareTo(s);
+        if ((c > 0) || ((c == 0) && ((d & 1) != 0))) {
+          ++d;
+        }
+      } else if (high) {
+        ++d;
+      }
+      digits = digits * 10 + d;
+      break;
+    }
+    result.set(digits, k - n);
+  }
+}
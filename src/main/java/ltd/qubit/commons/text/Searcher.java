@@ -61,6 +61,13 @@ import static ltd.qubit.commons.text.impl.SearcherImpl.startsWithSubstring;
  */
 public class Searcher {
 
+  /**
+   * The minimum number of substrings for which a compiled
+   * {@link AhoCorasickAutomaton} is used to search for the substrings, instead
+   * of testing the substrings one by one.
+   */
+  public static final int MIN_SUBSTRINGS_FOR_AUTOMATON = 8;
+
   private enum Target {
     CHAR,
     CODE_POINT,
@@ -72,6 +79,8 @@ public class Searcher {
   private CodePointFilter codePointFilter;
   private CharSequence substring;
   private CharSequence[] substrings;
+  @Nullable
+  private AhoCorasickAutomaton automaton;
   private int startIndex = 0;
   private int endIndex = Integer.MAX_VALUE;
   private boolean ignoreCase = false;
@@ -84,6 +93,7 @@ public class Searcher {
     codePointFilter = null;
     substring = null;
     substrings = null;
+    automaton = null;
     target = null;
   }
 
@@ -471,6 +481,28 @@ public class Searcher {
     return this;
   }
 
+  /**
+   * Search for any substring in a set of potential substrings, using a compiled
+   * automaton.
+   *
+   * <p>The automaton could be built once and shared by many {@link Searcher}
+   * objects, even in different threads. This function also sets whether to
+   * ignore the case according to the automaton.
+   *
+   * @param automaton
+   *     the automaton compiled from the substrings to search.
+   * @return
+   *     the reference to this {@link Searcher} object.
+   */
+  public Searcher forSubstringsIn(final AhoCorasickAutomaton automaton) {
+    this.clearStrategies();
+    this.substrings = automaton.getSubstrings();
+    this.automaton = automaton;
+    this.ignoreCase = automaton.isIgnoreCase();
+    this.target = Target.SUBSTRINGS;
+    return this;
+  }
+
   /**
    * Sets the starting index of the source string where to start searching.
    *
@@ -506,10 +538,25 @@ public class Searcher {
    *     the reference to this {@link Searcher} object.
    */
   public Searcher ignoreCase(final boolean ignoreCase) {
+    if ((automaton != null) && (automaton.isIgnoreCase() != ignoreCase)) {
+      automaton = null;   // will be rebuilt on demand
+    }
     this.ignoreCase = ignoreCase;
     return this;
   }
 
+  private boolean useAutomaton() {
+    if (automaton != null) {
+      return true;
+    }
+    if (substrings.length < MIN_SUBSTRINGS_FOR_AUTOMATON) {
+      return false;
+    }
+    // built once and reused by the subsequent searches
+    automaton = new AhoCorasickAutomaton(substrings, ignoreCase);
+    return true;
+  }
+
   /**
    * Finds the first index of the specified target (which may be a character,
    * a Unicode code point, or a substring) in the specified source string.
@@ -547,7 +594,11 @@ public class Searcher {
         result = firstIndexOf(str, start, end, substring, ignoreCase);
         break;
       case SUBSTRINGS:
-        result = firstIndexOfAnySubstring(str, start, end, substrings, ignoreCase);
+        if (useAutomaton()) {
+          result = automaton.firstIndexIn(str, start, end);
+        } else {
+          result = firstIndexOfAnySubstring(str, start, end, substrings, ignoreCase);
+        }
         break;
       default:
         throw new IllegalStateException("No searching strategy was specified.");
@@ -655,6 +706,9 @@ public class Searcher {
         }
         return countMatchesOfSubstring(str, start, end, substring, ignoreCase);
       case SUBSTRINGS:
+        if (useAutomaton()) {
+          return automaton.countMatchesIn(str, start, end);
+        }
         return countMatchesOfAnySubstring(str, start, end, substrings, ignoreCase);
       default:
         throw new IllegalStateException("No searching strategy was specified.");
@@ -699,7 +753,11 @@ public class Searcher {
         getOccurrencesOfSubstring(str, start, end, substring, ignoreCase, result);
         break;
       case SUBSTRINGS:
-        getOccurrencesOfAnySubstring(str, start, end, substrings, ignoreCase, result);
+        if (useAutomaton()) {
+          automaton.getOccurrencesIn(str, start, end, result);
+        } else {
+          getOccurrencesOfAnySubstring(str, start, end, substrings, ignoreCase, result);
+        }
         break;
       default:
         throw new IllegalStateException("No searching strategy was specified.");
@@ -754,7 +812,11 @@ public class Searcher {
         getOccurrencesOfSubstring(str, start, end, substring, ignoreCase, result);
         break;
       case SUBSTRINGS:
-        getOccurrencesOfAnySubstring(str, start, end, substrings, ignoreCase, result);
+        if (useAutomaton()) {
+          automaton.getOccurrencesIn(str, start, end, result);
+        } else {
+          getOccurrencesOfAnySubstring(str, start, end, substrings, ignoreCase, result);
+        }
         break;
       default:
         throw new IllegalStateException("No searching strategy was specified.");
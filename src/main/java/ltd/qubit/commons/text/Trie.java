@@ -10,6 +10,7 @@ package ltd.qubit.commons.text;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
+import ltd.qubit.commons.datastructure.list.primitive.impl.IntArrayList;
 import ltd.qubit.commons.util.expand.ExpansionPolicy;
 
 /**
@@ -157,6 +158,29 @@ public class Trie {
     }
   }
 
+  private static final DoubleArrayTrie.Source<Node> NODE_SOURCE =
+      new DoubleArrayTrie.Source<>() {
+        @Override
+        public int childCount(final Node node) {
+          return node.childrenCount;
+        }
+
+        @Override
+        public char childChar(final Node node, final int index) {
+          return node.children[index].ch;
+        }
+
+        @Override
+        public Node child(final Node node, final int index) {
+          return node.children[index];
+        }
+
+        @Override
+        public boolean isTerminal(final Node node) {
+          return (node.occurence > 0);
+        }
+      };
+
   private final Node root;
   private int size;
   private final boolean caseInsensitive;
@@ -336,4 +360,20 @@ public class Trie {
   public void compact() {
     root.compact();
   }
+
+  /**
+   * Compiles this trie into an immutable {@link FrozenTrie}.
+   *
+   * <p>The frozen trie takes much less memory and can be queried by multiple
+   * threads concurrently. Later modifications of this trie do not affect it.
+   *
+   * @return
+   *     the immutable trie containing the same strings as this trie.
+   */
+  public FrozenTrie freeze() {
+    final IntArrayList counts = new IntArrayList();
+    final DoubleArrayTrie trie = DoubleArrayTrie.build(NODE_SOURCE, root,
+        caseInsensitive, false, (node) -> counts.add(node.occurence));
+    return new FrozenTrie(trie, counts.toArray());
+  }
 }
\ No newline at end of file
@@ -9,6 +9,8 @@
 package ltd.qubit.commons.text;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import ltd.qubit.commons.lang.Argument;
@@ -271,6 +273,62 @@ public final class TrieMap<VALUE> {
     return (node.value != null);
   }
 
+  private Node getNodeByPrefixOfReversed(final String str) {
+    Node node = root;
+    // note that is str is empty, the root is returned
+    Node target = root;
+    int i = str.length() - 1;
+    while (i >= 0) {
+      char ch = str.charAt(i);
+      if (Character.isLowSurrogate(ch) && (i > 0)
+          && Character.isHighSurrogate(str.charAt(i - 1))) {
+        // StringBuilder.reverse() keeps the order of the surrogate pairs
+        node = node.getChild(str.charAt(i - 1));
+        if (node == null) {
+          return target;
+        }
+        if (node.value != null) {
+          target = node;
+        }
+        --i;
+      } else if (caseInsensitive) {
+        ch = Character.toLowerCase(ch);
+      }
+      node = node.getChild(ch);
+      if (node == null) {
+        return target;
+      }
+      // remember the last node which contains a value
+      if (node.value != null) {
+        target = node;
+      }
+      --i;
+    }
+    return target;
+  }
+
+  /**
+   * Gets the value associated with the longest key in this trie which is a
+   * prefix of the reversed string of the specified string.
+   *
+   * <p>This function is equivalent to
+   * {@code getPrefixOf(StringUtils.reverse(str))}, but it does not allocate the
+   * reversed string. It is used to find the longest suffix of a string in a
+   * trie whose keys are reversed strings.
+   *
+   * @param str
+   *     the specified string.
+   * @return
+   *     the value associated with the longest key in this trie which is a
+   *     prefix of the reversed string of the specified string, or {@code null}
+   *     if no such key.
+   */
+  public VALUE getPrefixOfReversed(final String str) {
+    final Node node = getNodeByPrefixOfReversed(str);
+    assert (node != null);
+    return node.value;
+  }
+
   private Node getOrAddNode(final String str) {
     final int len = str.length();
     Node node = root;
@@ -318,4 +376,41 @@ public final class TrieMap<VALUE> {
   public void compact() {
     root.compact();
   }
+
+  /**
+   * Compiles this map into an immutable {@link FrozenTrieMap}.
+   *
+   * <p>The frozen map takes much less memory and can be queried by multiple
+   * threads concurrently. Later modifications of this map do not affect it.
+   *
+   * @return
+   *     the immutable map containing the same mappings as this map.
+   */
+  public FrozenTrieMap<VALUE> freeze() {
+    final List<VALUE> values = new ArrayList<>(size);
+    final DoubleArrayTrie.Source<Node> source = new DoubleArrayTrie.Source<>() {
+      @Override
+      public int childCount(final Node node) {
+        return node.childrenCount;
+      }
+
+      @Override
+      public char childChar(final Node node, final int index) {
+        return node.children[index].ch;
+      }
+
+      @Override
+      public Node child(final Node node, final int index) {
+        return node.children[index];
+      }
+
+      @Override
+      public boolean isTerminal(final Node node) {
+        return (node.value != null);
+      }
+    };
+    final DoubleArrayTrie trie = DoubleArrayTrie.build(source, root, caseInsensitive,
+        false, (node) -> values.add(node.value));
+    return new FrozenTrieMap<>(trie, values.toArray());
+  }
 }
\ No newline at end of file
@@ -0,0 +1,178 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text.jackson;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * 共享的、预先配置好的 {@link CustomizedJsonMapper} 对象池。
+ *
+ * <p>每次构造新的 {@link CustomizedJsonMapper} 对象，Jackson 都需要重新构建其内部的
+ * 序列化器和反序列化器缓存，代价很高。此类持有若干个预先配置好的共享 mapper，并为每个
+ * 目标类型缓存预先构建好的 {@link ObjectReader} 和 {@link ObjectWriter}。
+ * {@link ObjectReader} 和 {@link ObjectWriter} 都是不可变且线程安全的，因此可以被
+ * 多个线程并发使用。
+ *
+ * <p>此类持有的 mapper 在构造之后不再修改，也不对外暴露；若需要在其基础上进行定制，
+ * 请使用 {@link #copyMapper()} 获得其副本。
+ *
+ * @author 胡海星
+ */
+@ThreadSafe
+public final class JsonMapperPool {
+
+  /**
+   * 默认配置的 mapper 池。
+   */
+  public static final JsonMapperPool DEFAULT = new JsonMapperPool(new CustomizedJsonMapper());
+
+  /**
+   * 正则化输出的 mapper 池，其输出的属性和 map entry 都按照字典序排列，且不进行
+   * pretty print。
+   */
+  public static final JsonMapperPool NORMALIZED =
+      new JsonMapperPool(CustomizedJsonMapper.createNormalized());
+
+  /**
+   * 进行 pretty print 输出的 mapper 池。
+   */
+  public static final JsonMapperPool PRETTY = new JsonMapperPool(createPrettyMapper());
+
+  private static CustomizedJsonMapper createPrettyMapper() {
+    final CustomizedJsonMapper mapper = new CustomizedJsonMapper();
+    mapper.setPrettyPrint(true);
+    return mapper;
+  }
+
+  private final CustomizedJsonMapper mapper;
+
+  private final ObjectWriter writer;
+
+  private final ClassValue<ObjectReader> readers = new ClassValue<>() {
+    @Override
+    protected ObjectReader computeValue(final Class<?> type) {
+      return mapper.readerFor(type);
+    }
+  };
+
+  private final ClassValue<ObjectReader> listReaders = new ClassValue<>() {
+    @Override
+    protected ObjectReader computeValue(final Class<?> type) {
+      final JavaType listType = mapper.getTypeFactory()
+          .constructCollectionType(List.class, type);
+      return mapper.readerFor(listType);
+    }
+  };
+
+  private final ClassValue<ObjectWriter> writers = new ClassValue<>() {
+    @Override
+    protected ObjectWriter computeValue(final Class<?> type) {
+      return mapper.writerFor(type);
+    }
+  };
+
+  private JsonMapperPool(final CustomizedJsonMapper mapper) {
+    this.mapper = mapper;
+    this.writer = mapper.writer();
+  }
+
+  /**
+   * 获取用于反序列化指定类型对象的 {@link ObjectReader}。
+   *
+   * @param type
+   *     待反序列化的对象的类对象。
+   * @return
+   *     用于反序列化指定类型对象的 {@link ObjectReader}，此对象被缓存并共享。
+   */
+  public ObjectReader readerFor(final Class<?> type) {
+    return readers.get(requireNonNull("type", type));
+  }
+
+  /**
+   * 获取用于反序列化指定类型对象的列表的 {@link ObjectReader}。
+   *
+   * @param elementType
+   *     列表元素的类对象。
+   * @return
+   *     用于反序列化 {@code List<elementType>} 的 {@link ObjectReader}，此对象被
+   *     缓存并共享。
+   */
+  public ObjectReader listReaderFor(final Class<?> elementType) {
+    return listReaders.get(requireNonNull("elementType", elementType));
+  }
+
+  /**
+   * 获取用于序列化任意对象的 {@link ObjectWriter}。
+   *
+   * @return
+   *     用于序列化任意对象的 {@link ObjectWriter}，此对象被共享。
+   */
+  public ObjectWriter writer() {
+    return writer;
+  }
+
+  /**
+   * 获取用于序列化指定类型对象的 {@link ObjectWriter}。
+   *
+   * @param type
+   *     待序列化的对象的类对象。
+   * @return
+   *     用于序列化指定类型对象的 {@link ObjectWriter}，此对象被缓存并共享。
+   */
+  public ObjectWriter writerFor(final Class<?> type) {
+    return writers.get(requireNonNull("type", type));
+  }
+
+  /**
+   * 获取用于序列化指定对象的 {@link ObjectWriter}。
+   *
+   * @param obj
+   *     待序列化的对象，可以为 {@code null}。
+   * @return
+   *     用于序列化指定对象的 {@link ObjectWriter}，此对象根据该对象的运行时类型
+   *     被缓存并共享。
+   */
+  public ObjectWriter writerForValue(@Nullable final Object obj) {
+    return (obj == null ? writer : writers.get(obj.getClass()));
+  }
+
+  /**
+   * 将指定的对象转换为 JSON 树。
+   *
+   * @param obj
+   *     待转换的对象，可以为 {@code null}。
+   * @return
+   *     转换得到的 JSON 树。
+   */
+  public JsonNode valueToTree(@Nullable final Object obj) {
+    return mapper.valueToTree(obj);
+  }
+
+  /**
+   * 获取此对象池所使用的 mapper 的一个副本。
+   *
+   * <p>对返回的副本的修改不会影响此对象池。
+   *
+   * @return
+   *     此对象池所使用的 mapper 的一个副本。
+   */
+  public CustomizedJsonMapper copyMapper() {
+    return mapper.copy();
+  }
+}
@@ -13,7 +13,9 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.net.URL;
 import java.util.Collections;
@@ -21,6 +23,10 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Nullable;
 
@@ -33,7 +39,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -66,7 +74,7 @@ public class JsonMapperUtils {
    */
   public static <T> T parse(final File file, final Class<T> cls)
       throws IOException {
-    return parse(file, cls, new CustomizedJsonMapper());
+    return JsonMapperPool.DEFAULT.readerFor(cls).readValue(file);
   }
 
   /**
@@ -107,7 +115,7 @@ public class JsonMapperUtils {
    */
   public static <T> T parse(final URL url, final Class<T> cls)
       throws IOException {
-    return parse(url, cls, new CustomizedJsonMapper());
+    return JsonMapperPool.DEFAULT.readerFor(cls).readValue(url);
   }
 
   /**
@@ -147,7 +155,7 @@ public class JsonMapperUtils {
    */
   public static <T> T parse(final InputStream in, final Class<T> cls)
       throws IOException {
-    return parse(in, cls, new CustomizedJsonMapper());
+    return JsonMapperPool.DEFAULT.readerFor(cls).readValue(in);
   }
 
   /**
@@ -187,7 +195,7 @@ public class JsonMapperUtils {
    */
   public static <T> T parse(final Reader reader, final Class<T> cls)
       throws IOException {
-    return parse(reader, cls, new CustomizedJsonMapper());
+    return JsonMapperPool.DEFAULT.readerFor(cls).readValue(reader);
   }
 
   /**
@@ -227,7 +235,7 @@ public class JsonMapperUtils {
    */
   public static <T> T parse(final String json, final Class<T> cls)
       throws JsonProcessingException {
-    return parse(json, cls, new CustomizedJsonMapper());
+    return JsonMapperPool.DEFAULT.readerFor(cls).readValue(json);
   }
 
   /**
@@ -265,7 +273,13 @@ public class JsonMapperUtils {
    */
   @Nullable
   public static <T> T parseNoThrow(final String json, final Class<T> cls) {
-    return parseNoThrow(json, cls, new CustomizedJsonMapper());
+    try {
+      return JsonMapperPool.DEFAULT.readerFor(cls).readValue(json);
+    } catch (final JsonProcessingException e) {
+      LOGGER.error("Failed to parse the object {} from the JSON: {}",
+              cls.getName(), json, e);
+      return null;
+    }
   }
 
   /**
@@ -296,7 +310,9 @@ public class JsonMapperUtils {
 
   public static <T> List<T> parseList(final File file, final Class<T> cls)
       throws IOException {
-    return parseList(file, cls, new CustomizedJsonMapper());
+    try (final InputStream in = new FileInputStream(file)) {
+      return parseList(in, cls);
+    }
   }
 
   public static <T> List<T> parseList(final File file, final Class<T> cls,
@@ -308,7 +324,9 @@ public class JsonMapperUtils {
 
   public static <T> List<T> parseList(final URL url, final Class<T> cls)
       throws IOException {
-    return parseList(url, cls, new CustomizedJsonMapper());
+    try (final InputStream in = url.openStream()) {
+      return parseList(in, cls);
+    }
   }
 
   public static <T> List<T> parseList(final URL url, final Class<T> cls,
@@ -320,7 +338,8 @@ public class JsonMapperUtils {
 
   public static <T> List<T> parseList(final InputStream in, final Class<T> cls)
       throws IOException {
-    return parseList(in, cls, new CustomizedJsonMapper());
+    final InputStreamReader reader = new InputStreamReader(in, UTF_8);
+    return parseList(reader, cls);
   }
 
   public static <T> List<T> parseList(final InputStream in, final Class<T> cls,
@@ -331,7 +350,7 @@ public class JsonMapperUtils {
 
   public static <T> List<T> parseList(final Reader reader, final Class<T> cls)
       throws IOException {
-    return parseList(reader, cls, new CustomizedJsonMapper());
+    return JsonMapperPool.DEFAULT.listReaderFor(cls).readValue(reader);
   }
 
   public static <T> List<T> parseList(final Reader reader, final Class<T> cls,
@@ -343,7 +362,7 @@ public class JsonMapperUtils {
 
   public static <T> List<T> parseList(final String json, final Class<T> cls)
       throws JsonProcessingException {
-    return parseList(json, cls, new CustomizedJsonMapper());
+    return JsonMapperPool.DEFAULT.listReaderFor(cls).readValue(json);
   }
 
   public static <T> List<T> parseList(final String json, final Class<T> cls,
@@ -354,7 +373,13 @@ public class JsonMapperUtils {
   }
 
   public static <T> List<T> parseListNoThrow(final Reader reader, final Class<T> cls) {
-    return parseListNoThrow(reader, cls, new CustomizedJsonMapper());
+    try {
+      return parseList(reader, cls);
+    } catch (final IOException e) {
+      LOGGER.error("Failed to parse the object {} from the JSON: {}",
+          cls.getName(), reader, e);
+      return null;
+    }
   }
 
   public static <T> List<T> parseListNoThrow(final Reader reader, final Class<T> cls,
@@ -369,7 +394,13 @@ public class JsonMapperUtils {
   }
 
   public static <T> List<T> parseListNoThrow(final String json, final Class<T> cls) {
-    return parseListNoThrow(json, cls, new CustomizedJsonMapper());
+    try {
+      return parseList(json, cls);
+    } catch (final JsonProcessingException e) {
+      LOGGER.error("Failed to parse the object {} from the JSON: {}",
+          cls.getName(), json, e);
+      return null;
+    }
   }
 
   public static <T> List<T> parseListNoThrow(final String json, final Class<T> cls,
@@ -383,6 +414,308 @@ public class JsonMapperUtils {
     }
   }
 
+  /**
+   * 以流式的方式从JSON数组中逐个解析对象。
+   *
+   * <p>此函数不会将整个JSON数组读入内存，而是在遍历返回的迭代器时逐个解析数组中的
+   * 元素，适用于解析非常大的JSON数组。使用完毕后必须关闭返回的迭代器，关闭迭代器
+   * 将同时关闭该文件。
+   *
+   * @param <T>
+   *     待解析的对象的类型。
+   * @param file
+   *     指定的JSON文件，其内容是一个JSON数组。
+   * @param cls
+   *     待解析的对象的类对象。
+   * @return
+   *     遍历数组中对象的迭代器。
+   * @throws IOException
+   *     若发生任何解析错误或I/O错误。
+   */
+  public static <T> MappingIterator<T> parseListIterator(final File file,
+      final Class<T> cls) throws IOException {
+    return JsonMapperPool.DEFAULT.readerFor(cls).readValues(file);
+  }
+
+  /**
+   * 以流式的方式从JSON数组中逐个解析对象。
+   *
+   * <p>此函数不会将整个JSON数组读入内存，而是在遍历返回的迭代器时逐个解析数组中的
+   * 元素，适用于解析非常大的JSON数组。使用完毕后必须关闭返回的迭代器，关闭迭代器
+   * 将同时关闭该文件。
+   *
+   * @param <T>
+   *     待解析的对象的类型。
+   * @param file
+   *     指定的JSON文件，其内容是一个JSON数组。
+   * @param cls
+   *     待解析的对象的类对象。
+   * @param mapper
+   *     用于进行JSON反序列化的mapper。
+   * @return
+   *     遍历数组中对象的迭代器。
+   * @throws IOException
+   *     若发生任何解析错误或I/O错误。
+   */
+  public static <T> MappingIterator<T> parseListIterator(final File file,
+      final Class<T> cls, final JsonMapper mapper) throws IOException {
+    return mapper.readerFor(cls).readValues(file);
+  }
+
+  /**
+   * 以流式的方式从JSON数组中逐个解析对象。
+   *
+   * <p>此函数不会将整个JSON数组读入内存，而是在遍历返回的迭代器时逐个解析数组中的
+   * 元素，适用于解析非常大的JSON数组。使用完毕后必须关闭返回的迭代器，关闭迭代器
+   * 将同时关闭该输入流。
+   *
+   * @param <T>
+   *     待解析的对象的类型。
+   * @param in
+   *     指定的输入流，其内容是一个UTF-8编码的JSON数组。
+   * @param cls
+   *     待解析的对象的类对象。
+   * @return
+   *     遍历数组中对象的迭代器。
+   * @throws IOException
+   *     若发生任何解析错误或I/O错误。
+   */
+  public static <T> MappingIterator<T> parseListIterator(final InputStream in,
+      final Class<T> cls) throws IOException {
+    final InputStreamReader reader = new InputStreamReader(in, UTF_8);
+    return parseListIterator(reader, cls);
+  }
+
+  /**
+   * 以流式的方式从JSON数组中逐个解析对象。
+   *
+   * <p>此函数不会将整个JSON数组读入内存，而是在遍历返回的迭代器时逐个解析数组中的
+   * 元素，适用于解析非常大的JSON数组。使用完毕后必须关闭返回的迭代器，关闭迭代器
+   * 将同时关闭该输入流。
+   *
+   * @param <T>
+   *     待解析的对象的类型。
+   * @param in
+   *     指定的输入流，其内容是一个UTF-8编码的JSON数组。
+   * @param cls
+   *     待解析的对象的类对象。
+   * @param mapper
+   *     用于进行JSON反序列化的mapper。
+   * @return
+   *     遍历数组中对象的迭代器。
+   * @throws IOException
+   *     若发生任何解析错误或I/O错误。
+   */
+  public static <T> MappingIterator<T> parseListIterator(final InputStream in,
+      final Class<T> cls, final JsonMapper mapper) throws IOException {
+    final InputStreamReader reader = new InputStreamReader(in, UTF_8);
+    return parseListIterator(reader, cls, mapper);
+  }
+
+  /**
+   * 以流式的方式从JSON数组中逐个解析对象。
+   *
+   * <p>此函数不会将整个JSON数组读入内存，而是在遍历返回的迭代器时逐个解析数组中的
+   * 元素，适用于解析非常大的JSON数组。使用完毕后必须关闭返回的迭代器，关闭迭代器
+   * 将同时关闭该输入流。
+   *
+   * @param <T>
+   *     待解析的对象的类型。
+   * @param reader
+   *     指定的输入流，其内容是一个JSON数组。
+   * @param cls
+   *     待解析的对象的类对象。
+   * @return
+   *     遍历数组中对象的迭代器。
+   * @throws IOException
+   *     若发生任何解析错误或I/O错误。
+   */
+  public static <T> MappingIterator<T> parseListIterator(final Reader reader,
+      final Class<T> cls) throws IOException {
+    return JsonMapperPool.DEFAULT.readerFor(cls).readValues(reader);
+  }
+
+  /**
+   * 以流式的方式从JSON数组中逐个解析对象。
+   *
+   * <p>此函数不会将整个JSON数组读入内存，而是在遍历返回的迭代器时逐个解析数组中的
+   * 元素，适用于解析非常大的JSON数组。使用完毕后必须关闭返回的迭代器，关闭迭代器
+   * 将同时关闭该输入流。
+   *
+   * @param <T>
+   *     待解析的对象的类型。
+   * @param reader
+   *     指定的输入流，其内容是一个JSON数组。
+   * @param cls
+   *     待解析的对象的类对象。
+   * @param mapper
+   *     用于进行JSON反序列化的mapper。
+   * @return
+   *     遍历数组中对象的迭代器。
+   * @throws IOException
+   *     若发生任何解析错误或I/O错误。
+   */
+  public static <T> MappingIterator<T> parseListIterator(final Reader reader,
+      final Class<T> cls, final JsonMapper mapper) throws IOException {
+    return mapper.readerFor(cls).readValues(reader);
+  }
+
+  /**
+   * 以流式的方式从JSON数组中逐个解析对象。
+   *
+   * <p>此函数返回的流在被消费时逐个解析数组中的元素。使用完毕后必须关闭返回的流，
+   * 关闭流将同时关闭该文件。解析过程中发生的错误将以
+   * {@link com.fasterxml.jackson.databind.RuntimeJsonMappingException} 的形式抛出。
+   *
+   * @param <T>
+   *     待解析的对象的类型。
+   * @param file
+   *     指定的JSON文件，其内容是一个JSON数组。
+   * @param cls
+   *     待解析的对象的类对象。
+   * @return
+   *     数组中对象组成的流。
+   * @throws IOException
+   *     若发生任何解析错误或I/O错误。
+   */
+  public static <T> Stream<T> parseListStream(final File file, final Class<T> cls)
+      throws IOException {
+    return toStream(parseListIterator(file, cls));
+  }
+
+  /**
+   * 以流式的方式从JSON数组中逐个解析对象。
+   *
+   * <p>此函数返回的流在被消费时逐个解析数组中的元素。使用完毕后必须关闭返回的流，
+   * 关闭流将同时关闭该文件。解析过程中发生的错误将以
+   * {@link com.fasterxml.jackson.databind.RuntimeJsonMappingException} 的形式抛出。
+   *
+   * @param <T>
+   *     待解析的对象的类型。
+   * @param file
+   *     指定的JSON文件，其内容是一个JSON数组。
+   * @param cls
+   *     待解析的对象的类对象。
+   * @param mapper
+   *     用于进行JSON反序列化的mapper。
+   * @return
+   *     数组中对象组成的流。
+   * @throws IOException
+   *     若发生任何解析错误或I/O错误。
+   */
+  public static <T> Stream<T> parseListStream(final File file, final Class<T> cls,
+      final JsonMapper mapper) throws IOException {
+    return toStream(parseListIterator(file, cls, mapper));
+  }
+
+  /**
+   * 以流式的方式从JSON数组中逐个解析对象。
+   *
+   * <p>此函数返回的流在被消费时逐个解析数组中的元素。使用完毕后必须关闭返回的流，
+   * 关闭流将同时关闭该输入流。解析过程中发生的错误将以
+   * {@link com.fasterxml.jackson.databind.RuntimeJsonMappingException} 的形式抛出。
+   *
+   * @param <T>
+   *     待解析的对象的类型。
+   * @param in
+   *     指定的输入流，其内容是一个UTF-8编码的JSON数组。
+   * @param cls
+   *     待解析的对象的类对象。
+   * @return
+   *     数组中对象组成的流。
+   * @throws IOException
+   *     若发生任何解析错误或I/O错误。
+   */
+  public static <T> Stream<T> parseListStream(final InputStream in, final Class<T> cls)
+      throws IOException {
+    return toStream(parseListIterator(in, cls));
+  }
+
+  /**
+   * 以流式的方式从JSON数组中逐个解析对象。
+   *
+   * <p>此函数返回的流在被消费时逐个解析数组中的元素。使用完毕后必须关闭返回的流，
+   * 关闭流将同时关闭该输入流。解析过程中发生的错误将以
+   * {@link com.fasterxml.jackson.databind.RuntimeJsonMappingException} 的形式抛出。
+   *
+   * @param <T>
+   *     待解析的对象的类型。
+   * @param in
+   *     指定的输入流，其内容是一个UTF-8编码的JSON数组。
+   * @param cls
+   *     待解析的对象的类对象。
+   * @param mapper
+   *     用于进行JSON反序列化的mapper。
+   * @return
+   *     数组中对象组成的流。
+   * @throws IOException
+   *     若发生任何解析错误或I/O错误。
+   */
+  public static <T> Stream<T> parseListStream(final InputStream in, final Class<T> cls,
+      final JsonMapper mapper) throws IOException {
+    return toStream(parseListIterator(in, cls, mapper));
+  }
+
+  /**
+   * 以流式的方式从JSON数组中逐个解析对象。
+   *
+   * <p>此函数返回的流在被消费时逐个解析数组中的元素。使用完毕后必须关闭返回的流，
+   * 关闭流将同时关闭该输入流。解析过程中发生的错误将以
+   * {@link com.fasterxml.jackson.databind.RuntimeJsonMappingException} 的形式抛出。
+   *
+   * @param <T>
+   *     待解析的对象的类型。
+   * @param reader
+   *     指定的输入流，其内容是一个JSON数组。
+   * @param cls
+   *     待解析的对象的类对象。
+   * @return
+   *     数组中对象组成的流。
+   * @throws IOException
+   *     若发生任何解析错误或I/O错误。
+   */
+  public static <T> Stream<T> parseListStream(final Reader reader, final Class<T> cls)
+      throws IOException {
+    return toStream(parseListIterator(reader, cls));
+  }
+
+  /**
+   * 以流式的方式从JSON数组中逐个解析对象。
+   *
+   * <p>此函数返回的流在被消费时逐个解析数组中的元素。使用完毕后必须关闭返回的流，
+   * 关闭流将同时关闭该输入流。解析过程中发生的错误将以
+   * {@link com.fasterxml.jackson.databind.RuntimeJsonMappingException} 的形式抛出。
+   *
+   * @param <T>
+   *     待解析的对象的类型。
+   * @param reader
+   *     指定的输入流，其内容是一个JSON数组。
+   * @param cls
+   *     待解析的对象的类对象。
+   * @param mapper
+   *     用于进行JSON反序列化的mapper。
+   * @return
+   *     数组中对象组成的流。
+   * @throws IOException
+   *     若发生任何解析错误或I/O错误。
+   */
+  public static <T> Stream<T> parseListStream(final Reader reader, final Class<T> cls,
+      final JsonMapper mapper) throws IOException {
+    return toStream(parseListIterator(reader, cls, mapper));
+  }
+
+  private static <T> Stream<T> toStream(final MappingIterator<T> iterator) {
+    final Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+        Spliterator.ORDERED);
+    return StreamSupport.stream(spliterator, false).onClose(() -> {
+      try {
+        iterator.close();
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
   /**
    * 将指定的对象格式化为JSON字符串。
    *
@@ -395,7 +728,7 @@ public class JsonMapperUtils {
    */
   @Nullable
   public static <T> String formatNoThrow(final T obj) {
-    return formatNoThrow(obj, new CustomizedJsonMapper());
+    return formatNoThrow(obj, JsonMapperPool.DEFAULT);
   }
 
   /**
@@ -432,9 +765,7 @@ public class JsonMapperUtils {
    */
   @Nullable
   public static <T> String prettyFormatNoThrow(final T obj) {
-    final CustomizedJsonMapper mapper = new CustomizedJsonMapper();
-    mapper.setPrettyPrint(true);
-    return formatNoThrow(obj, mapper);
+    return formatNoThrow(obj, JsonMapperPool.PRETTY);
   }
 
   /**
@@ -454,6 +785,16 @@ public class JsonMapperUtils {
     return (pretty ? prettyFormatNoThrow(obj) : formatNoThrow(obj));
   }
 
+  @Nullable
+  private static <T> String formatNoThrow(final T obj, final JsonMapperPool pool) {
+    try {
+      return pool.writerForValue(obj).writeValueAsString(obj);
+    } catch (final JsonProcessingException e) {
+      LOGGER.error("Failed to format the object {} to JSON: {}", obj.getClass().getName(), obj, e);
+      return null;
+    }
+  }
+
   // stop checkstyle: LineLength
   /**
    * 将指定的对象格式化为正则化的JSON字符串。
@@ -538,8 +879,7 @@ public class JsonMapperUtils {
   @NotNull
   public static <T> String formatNormalized(final T obj)
       throws JsonProcessingException {
-    final JsonMapper mapper = CustomizedJsonMapper.createNormalized();
-    return mapper.writeValueAsString(obj);
+    return JsonMapperPool.NORMALIZED.writerForValue(obj).writeValueAsString(obj);
   }
 
   /**
@@ -707,9 +1047,8 @@ public class JsonMapperUtils {
    */
   @Nullable
   public static <T> String formatNormalizedNoThrow(final T obj) {
-    final JsonMapper mapper = CustomizedJsonMapper.createNormalized();
     try {
-      return formatNormalized(obj, mapper);
+      return formatNormalized(obj);
     } catch (final JsonProcessingException e) {
       LOGGER.error("Failed to format the object {} to normalized JSON: {}",
           obj.getClass().getName(), obj, e);
@@ -802,7 +1141,7 @@ public class JsonMapperUtils {
 
   public static <T> String formatList(final List<T> list)
       throws JsonProcessingException {
-    return formatList(list, new CustomizedJsonMapper());
+    return JsonMapperPool.DEFAULT.writerForValue(list).writeValueAsString(list);
   }
 
   public static <T> String formatList(final List<T> list, final JsonMapper mapper)
@@ -835,7 +1174,7 @@ public class JsonMapperUtils {
   @Nullable
   public static <T> String formatListNoThrow(final List<T> list) {
     try {
-      return formatList(list, new CustomizedJsonMapper());
+      return formatList(list);
     } catch (final JsonProcessingException e) {
       LOGGER.error("Failed to format the list to JSON: {}", list, e);
       return null;
@@ -852,6 +1191,87 @@ public class JsonMapperUtils {
     }
   }
 
+  /**
+   * 创建一个以增量方式输出JSON数组的写入器。
+   *
+   * <p>通过返回的 {@link SequenceWriter} 的 {@code write()} 方法可以逐个输出数组的
+   * 元素，而无需将所有元素都保存在内存中；关闭该写入器时将输出数组的结束标记，并
+   * 同时关闭输出流。
+   *
+   * @param output
+   *     输出流。
+   * @return
+   *     以增量方式输出JSON数组的写入器。
+   * @throws IOException
+   *     若发生 I/O 错误。
+   */
+  public static SequenceWriter createListWriter(final Writer output) throws IOException {
+    return JsonMapperPool.DEFAULT.writer().writeValuesAsArray(output);
+  }
+
+  /**
+   * 创建一个以增量方式输出JSON数组的写入器。
+   *
+   * <p>通过返回的 {@link SequenceWriter} 的 {@code write()} 方法可以逐个输出数组的
+   * 元素，而无需将所有元素都保存在内存中；关闭该写入器时将输出数组的结束标记，并
+   * 同时关闭输出流。数组元素的序列化遵循指定的 mapper 的配置，包括属性命名策略、
+   * 正则化和 pretty print 等设置。
+   *
+   * @param output
+   *     输出流。
+   * @param mapper
+   *     用于进行JSON序列化的mapper。
+   * @return
+   *     以增量方式输出JSON数组的写入器。
+   * @throws IOException
+   *     若发生 I/O 错误。
+   */
+  public static SequenceWriter createListWriter(final Writer output,
+      final JsonMapper mapper) throws IOException {
+    return mapper.writer().writeValuesAsArray(output);
+  }
+
+  /**
+   * 创建一个以增量方式输出JSON数组的写入器。
+   *
+   * <p>通过返回的 {@link SequenceWriter} 的 {@code write()} 方法可以逐个输出数组的
+   * 元素，而无需将所有元素都保存在内存中；关闭该写入器时将输出数组的结束标记，并
+   * 同时关闭输出流。输出使用UTF-8编码。
+   *
+   * @param output
+   *     输出流。
+   * @return
+   *     以增量方式输出JSON数组的写入器。
+   * @throws IOException
+   *     若发生 I/O 错误。
+   */
+  public static SequenceWriter createListWriter(final OutputStream output)
+      throws IOException {
+    return JsonMapperPool.DEFAULT.writer().writeValuesAsArray(output);
+  }
+
+  /**
+   * 创建一个以增量方式输出JSON数组的写入器。
+   *
+   * <p>通过返回的 {@link SequenceWriter} 的 {@code write()} 方法可以逐个输出数组的
+   * 元素，而无需将所有元素都保存在内存中；关闭该写入器时将输出数组的结束标记，并
+   * 同时关闭输出流。输出使用UTF-8编码。数组元素的序列化遵循指定的 mapper 的配置，
+   * 包括属性命名策略、正则化和 pretty print 等设置。
+   *
+   * @param output
+   *     输出流。
+   * @param mapper
+   *     用于进行JSON序列化的mapper。
+   * @return
+   *     以增量方式输出JSON数组的写入器。
+   * @throws IOException
+   *     若发生 I/O 错误。
+   */
+  public static SequenceWriter createListWriter(final OutputStream output,
+      final JsonMapper mapper) throws IOException {
+    return mapper.writer().writeValuesAsArray(output);
+  }
+
   /**
    * 输出 JSON 数组的开始标记。
    *
@@ -923,7 +1343,13 @@ public class JsonMapperUtils {
    */
   public static <T> Map<String, String> toPathValueMap(@Nullable final T obj)
       throws JsonProcessingException {
-    return toPathValueMap(obj, new CustomizedJsonMapper());
+    if (obj == null) {
+      return Collections.emptyMap();
+    }
+    final Map<String, String> result = new HashMap<>();
+    final JsonNode node = JsonMapperPool.DEFAULT.valueToTree(obj);
+    addPathValues("", node, result);
+    return result;
   }
 
   /**
@@ -939,7 +1365,15 @@ public class JsonMapperUtils {
    */
   @Nullable
   public static <T> Map<String, String> toPathValueMapNoThrow(@Nullable final T obj) {
-    return toPathValueMapNoThrow(obj, new CustomizedJsonMapper());
+    if (obj == null) {
+      return Collections.emptyMap();
+    }
+    try {
+      return toPathValueMap(obj);
+    } catch (final Exception e) {
+      LOGGER.error("Failed to convert object to path-value map", e);
+      return null;
+    }
   }
 
   /**
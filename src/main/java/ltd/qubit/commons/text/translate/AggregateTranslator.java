@@ -69,6 +69,26 @@ public class AggregateTranslator extends CharSequenceTranslator {
     return 0;
   }
 
+  @Override
+  public boolean mayTranslate(final char ch) {
+    for (final CharSequenceTranslator translator : translators) {
+      if (translator.mayTranslate(ch)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the aggregated translators.
+   *
+   * @return
+   *     the list of the aggregated translators, in the order of execution.
+   */
+  List<CharSequenceTranslator> getTranslators() {
+    return translators;
+  }
+
   @Override
   public AggregateTranslator cloneEx() {
     return new AggregateTranslator(this);
@@ -9,8 +9,8 @@
 package ltd.qubit.commons.text.translate;
 
 import java.io.IOException;
-import java.io.StringWriter;
 import java.io.UncheckedIOException;
+import java.io.Writer;
 
 import ltd.qubit.commons.util.transformer.string.StringTransformer;
 
@@ -51,6 +51,33 @@ public abstract class CharSequenceTranslator implements StringTransformer {
   public abstract int translate(CharSequence input, int index, Appendable appendable)
       throws IOException;
 
+  /**
+   * Tests whether this translator may consume code points from an input at a
+   * position of the specified character.
+   *
+   * <p>If this function returns {@code false} for a character, the
+   * {@link #translate(CharSequence, int, Appendable)} function must return 0
+   * for every position of that character in every input, and the character is
+   * then copied to the output unchanged without calling the
+   * {@link #translate(CharSequence, int, Appendable)} function. This allows the
+   * runs of characters not affected by this translator to be copied in bulk.
+   * The character may be a high surrogate, in which case the translator may
+   * either see it as an unpaired surrogate or as the start of a supplementary
+   * code point.</p>
+   *
+   * <p>The default implementation always returns {@code true}.</p>
+   *
+   * @param ch
+   *     the character at the position of the input.
+   * @return
+   *     {@code false} if this translator will never consume any code point
+   *     from an input at a position of the specified character; {@code true}
+   *     otherwise.
+   */
+  public boolean mayTranslate(final char ch) {
+    return true;
+  }
+
   /**
    * Transform an input character sequence and append the result to an
    * {@link Appendable} object.
@@ -72,30 +99,47 @@ public abstract class CharSequenceTranslator implements StringTransformer {
       return;
     }
     int pos = 0;
+    int start = 0;    // the start of the run of characters to be copied unchanged
     final int len = input.length();
     while (pos < len) {
-      final int consumed = translate(input, pos, appendable);
-      if (consumed == 0) {
-        // inlined implementation of Character.toChars(Character.codePointAt(input, pos))
-        // avoids allocating temp char arrays and duplicate checks
-        final char c1 = input.charAt(pos);
-        appendable.append(c1);
-        pos++;
-        if (Character.isHighSurrogate(c1) && pos < len) {
-          final char c2 = input.charAt(pos);
-          if (Character.isLowSurrogate(c2)) {
-            appendable.append(c2);
-            pos++;
+      final char c1 = input.charAt(pos);
+      if (mayTranslate(c1)) {
+        if (start < pos) {
+          appendRun(input, start, pos, appendable);
+        }
+        final int consumed = translate(input, pos, appendable);
+        if (consumed != 0) {
+          // contract with translators is that they have to understand code points
+          // and they just took care of a surrogate pair
+          for (int pt = 0; pt < consumed; pt++) {
+            pos += Character.charCount(Character.codePointAt(input, pos));
           }
+          start = pos;
+          continue;
         }
-        continue;
+        start = pos;
       }
-      // contract with translators is that they have to understand code points
-      // and they just took care of a surrogate pair
-      for (int pt = 0; pt < consumed; pt++) {
-        pos += Character.charCount(Character.codePointAt(input, pos));
+      // the untranslated code point is copied later as a part of the run
+      pos++;
+      if (Character.isHighSurrogate(c1)
+          && pos < len
+          && Character.isLowSurrogate(input.charAt(pos))) {
+        pos++;
       }
     }
+    if (start < len) {
+      appendRun(input, start, len, appendable);
+    }
+  }
+
+  private static void appendRun(final CharSequence input, final int start,
+      final int end, final Appendable appendable) throws IOException {
+    if ((appendable instanceof Writer) && (input instanceof String)) {
+      // Writer.append(CharSequence, int, int) creates a temporary string
+      ((Writer) appendable).write((String) input, start, end - start);
+    } else {
+      appendable.append(input, start, end);
+    }
   }
 
   /**
@@ -124,14 +168,9 @@ public abstract class CharSequenceTranslator implements StringTransformer {
     if (str == null) {
       return null;
     }
-    try {
-      final StringWriter writer = new StringWriter(str.length() * 2);
-      transform(str, writer);
-      return writer.toString();
-    } catch (final IOException ioe) {
-      // this should never ever happen while writing to a StringWriter
-      throw new UncheckedIOException(ioe);
-    }
+    final StringBuilder builder = new StringBuilder(str.length() + (str.length() >> 3) + 16);
+    transform(str, builder);
+    return builder.toString();
   }
 
   /**
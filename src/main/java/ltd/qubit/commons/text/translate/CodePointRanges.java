@@ -0,0 +1,77 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text.translate;
+
+/**
+ * Provides the range checks shared by the translators which translate the code
+ * points either between or outside of a range.
+ *
+ * @author Haixing Hu
+ */
+final class CodePointRanges {
+
+  private CodePointRanges() {}
+
+  /**
+   * Tests whether a range translator may translate a character.
+   *
+   * <p>A high surrogate may start a supplementary code point, therefore it may
+   * be translated if any of the code points it starts is translated.
+   *
+   * @param below
+   *     the lowest code point of the range of the translator.
+   * @param above
+   *     the highest code point of the range of the translator.
+   * @param between
+   *     whether the translator translates the code points between the range
+   *     (inclusive) or outside of the range (exclusive).
+   * @param ch
+   *     the character to test.
+   * @return
+   *     {@code true} if the translator may translate the character;
+   *     {@code false} otherwise.
+   */
+  static boolean mayTranslate(final int below, final int above,
+      final boolean between, final char ch) {
+    if (translatesAny(below, above, between, ch, ch)) {
+      return true;
+    }
+    return Character.isHighSurrogate(ch)
+        && translatesAny(below, above, between,
+            Character.toCodePoint(ch, Character.MIN_LOW_SURROGATE),
+            Character.toCodePoint(ch, Character.MAX_LOW_SURROGATE));
+  }
+
+  /**
+   * Tests whether a range translator translates any code point in a range.
+   *
+   * @param below
+   *     the lowest code point of the range of the translator.
+   * @param above
+   *     the highest code point of the range of the translator.
+   * @param between
+   *     whether the translator translates the code points between the range
+   *     (inclusive) or outside of the range (exclusive).
+   * @param low
+   *     the lowest code point of the range to test, inclusive.
+   * @param high
+   *     the highest code point of the range to test, inclusive.
+   * @return
+   *     {@code true} if the translator translates any code point in the
+   *     range to test; {@code false} otherwise.
+   */
+  static boolean translatesAny(final int below, final int above,
+      final boolean between, final int low, final int high) {
+    if (between) {
+      return (low <= above) && (high >= below);
+    } else {
+      return (low < below) || (high > above);
+    }
+  }
+}
@@ -0,0 +1,172 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text.translate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.concurrent.Immutable;
+
+import ltd.qubit.commons.lang.Equality;
+import ltd.qubit.commons.lang.Hash;
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+/**
+ * Executes a sequence of translators one after the other, like an
+ * {@link AggregateTranslator}, with the dispatching tables precomputed.
+ *
+ * <p>The translators are flattened when this translator is created, i.e., the
+ * translators aggregated by an {@link AggregateTranslator} or another
+ * {@link CompiledTranslator} are executed directly. The set of characters at
+ * which any of the translators may consume code points is computed from their
+ * {@link CharSequenceTranslator#mayTranslate(char)} functions and stored in a
+ * bitmap, so the runs of characters not affected by any translator are copied
+ * in bulk in a single pass over the input. For the ASCII characters, only the
+ * translators which may consume code points at that character are invoked.</p>
+ *
+ * <p>This translator produces exactly the same result as an
+ * {@link AggregateTranslator} of the same translators.</p>
+ *
+ * @author Haixing Hu
+ */
+@Immutable
+public class CompiledTranslator extends CharSequenceTranslator {
+
+  private static final int ASCII_SIZE = 128;
+
+  /**
+   * The flattened translators, in the order of execution.
+   */
+  private final CharSequenceTranslator[] translators;
+
+  /**
+   * The bitmap of the characters at which any translator may consume code
+   * points.
+   */
+  private final long[] triggers;
+
+  /**
+   * The translators which may consume code points at each ASCII character.
+   */
+  private final CharSequenceTranslator[][] asciiTranslators;
+
+  /**
+   * Specify the translators to be used at creation time.
+   *
+   * @param translators
+   *     {@link CharSequenceTranslator} array to aggregate.
+   */
+  public CompiledTranslator(final CharSequenceTranslator... translators) {
+    final List<CharSequenceTranslator> list = new ArrayList<>();
+    if (translators != null) {
+      for (final CharSequenceTranslator translator : translators) {
+        flatten(translator, list);
+      }
+    }
+    this.translators = list.toArray(new CharSequenceTranslator[0]);
+    this.triggers = new long[(Character.MAX_VALUE + 1) >>> 6];
+    for (int ch = 0; ch <= Character.MAX_VALUE; ++ch) {
+      for (final CharSequenceTranslator translator : this.translators) {
+        if (translator.mayTranslate((char) ch)) {
+          triggers[ch >>> 6] |= (1L << ch);
+          break;
+        }
+      }
+    }
+    this.asciiTranslators = new CharSequenceTranslator[ASCII_SIZE][];
+    for (int ch = 0; ch < ASCII_SIZE; ++ch) {
+      final List<CharSequenceTranslator> candidates = new ArrayList<>();
+      for (final CharSequenceTranslator translator : this.translators) {
+        if (translator.mayTranslate((char) ch)) {
+          candidates.add(translator);
+        }
+      }
+      asciiTranslators[ch] = candidates.toArray(new CharSequenceTranslator[0]);
+    }
+  }
+
+  public CompiledTranslator(final CompiledTranslator other) {
+    this.translators = other.translators;
+    this.triggers = other.triggers;
+    this.asciiTranslators = other.asciiTranslators;
+  }
+
+  private static void flatten(final CharSequenceTranslator translator,
+      final List<CharSequenceTranslator> list) {
+    if (translator == null) {
+      return;
+    }
+    if (translator instanceof AggregateTranslator) {
+      for (final CharSequenceTranslator t : ((AggregateTranslator) translator).getTranslators()) {
+        flatten(t, list);
+      }
+    } else if (translator instanceof CompiledTranslator) {
+      list.addAll(Arrays.asList(((CompiledTranslator) translator).translators));
+    } else {
+      list.add(translator);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The first translator to consume code points from the input is the 'winner'.
+   * Execution stops with the number of consumed code points being returned.</p>
+   */
+  @Override
+  public int translate(final CharSequence input, final int index,
+      final Appendable appendable) throws IOException {
+    final char ch = input.charAt(index);
+    final CharSequenceTranslator[] candidates =
+        (ch < ASCII_SIZE ? asciiTranslators[ch] : translators);
+    for (final CharSequenceTranslator translator : candidates) {
+      final int consumed = translator.translate(input, index, appendable);
+      if (consumed != 0) {
+        return consumed;
+      }
+    }
+    return 0;
+  }
+
+  @Override
+  public boolean mayTranslate(final char ch) {
+    return (triggers[ch >>> 6] & (1L << ch)) != 0;
+  }
+
+  @Override
+  public CompiledTranslator cloneEx() {
+    return new CompiledTranslator(this);
+  }
+
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if ((o == null) || (getClass() != o.getClass())) {
+      return false;
+    }
+    final CompiledTranslator other = (CompiledTranslator) o;
+    return Equality.equals(translators, other.translators);
+  }
+
+  public int hashCode() {
+    final int multiplier = 7;
+    int result = 3;
+    result = Hash.combine(result, multiplier, translators);
+    return result;
+  }
+
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("translators", translators)
+        .toString();
+  }
+}
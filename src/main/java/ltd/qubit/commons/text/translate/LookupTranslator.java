@@ -9,6 +9,7 @@
 package ltd.qubit.commons.text.translate;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
@@ -47,6 +48,66 @@ public class LookupTranslator extends CharSequenceTranslator {
    */
   private final int longest;
 
+  /**
+   * The root of the trie of the keys in the lookupMap, which is immutable
+   * once built and shared by the copies of this translator.
+   */
+  private final Node root;
+
+  /**
+   * A node of the trie of the keys.
+   */
+  private static final class Node {
+
+    private static final char[] NO_CHARS = new char[0];
+
+    private static final Node[] NO_NODES = new Node[0];
+
+    /**
+     * The sorted characters of the edges to the children.
+     */
+    private char[] chars = NO_CHARS;
+
+    private Node[] children = NO_NODES;
+
+    /**
+     * The translation of the key ending at this node, or {@code null} if no
+     * key ends at this node.
+     */
+    private String value;
+
+    /**
+     * The number of code points of the key ending at this node.
+     */
+    private int codePoints;
+
+    private Node getChild(final char ch) {
+      final int i = Arrays.binarySearch(chars, ch);
+      return (i >= 0 ? children[i] : null);
+    }
+
+    private Node getOrAddChild(final char ch) {
+      final int i = Arrays.binarySearch(chars, ch);
+      if (i >= 0) {
+        return children[i];
+      }
+      final int pos = -(i + 1);
+      final int n = chars.length;
+      final char[] newChars = new char[n + 1];
+      final Node[] newChildren = new Node[n + 1];
+      System.arraycopy(chars, 0, newChars, 0, pos);
+      System.arraycopy(children, 0, newChildren, 0, pos);
+      System.arraycopy(chars, pos, newChars, pos + 1, n - pos);
+      System.arraycopy(children, pos, newChildren, pos + 1, n - pos);
+      final Node child = new Node();
+      newChars[pos] = ch;
+      newChildren[pos] = child;
+      chars = newChars;
+      children = newChildren;
+      return child;
+    }
+  }
+
   /**
    * Constructs the lookup table to be used in translation
    *
@@ -70,6 +131,7 @@ public class LookupTranslator extends CharSequenceTranslator {
     }
     this.shortest = currentShortest;
     this.longest = currentLongest;
+    this.root = buildTrie(this.lookupMap);
   }
 
   public LookupTranslator(final LookupTranslator other) {
@@ -77,6 +139,21 @@ public class LookupTranslator extends CharSequenceTranslator {
     this.prefixSet.or(other.prefixSet); // copy other.prefixSet to this.prefixSet
     this.shortest = other.shortest;
     this.longest = other.longest;
+    this.root = other.root;
+  }
+
+  private static Node buildTrie(final Map<String, String> lookupMap) {
+    final Node root = new Node();
+    for (final Entry<String, String> entry : lookupMap.entrySet()) {
+      final String key = entry.getKey();
+      Node node = root;
+      for (int i = 0; i < key.length(); ++i) {
+        node = node.getOrAddChild(key.charAt(i));
+      }
+      node.value = entry.getValue();
+      node.codePoints = key.codePointCount(0, key.length());
+    }
+    return root;
   }
 
   @Override
@@ -84,23 +161,32 @@ public class LookupTranslator extends CharSequenceTranslator {
       final Appendable appendable) throws IOException {
     // check if translation exists for the input at position index
     if (prefixSet.get(input.charAt(index))) {
-      int max = longest;
-      if (index + longest > input.length()) {
-        max = input.length() - index;
-      }
-      // implement greedy algorithm by trying maximum match first
-      for (int i = max; i >= shortest; i--) {
-        final CharSequence subSeq = input.subSequence(index, index + i);
-        final String result = lookupMap.get(subSeq.toString());
-        if (result != null) {
-          appendable.append(result);
-          return Character.codePointCount(subSeq, 0, subSeq.length());
+      final int end = Math.min(input.length(), index + longest);
+      // implement greedy algorithm by finding the longest match in the trie
+      Node node = root;
+      Node matched = null;
+      for (int i = index; i < end; ++i) {
+        node = node.getChild(input.charAt(i));
+        if (node == null) {
+          break;
         }
+        if (node.value != null) {
+          matched = node;
+        }
+      }
+      if (matched != null) {
+        appendable.append(matched.value);
+        return matched.codePoints;
       }
     }
     return 0;
   }
 
+  @Override
+  public boolean mayTranslate(final char ch) {
+    return prefixSet.get(ch);
+  }
+
   public boolean equals(final Object o) {
     if (this == o) {
       return true;
@@ -147,6 +147,11 @@ public class NumericEntityEscaper extends CodePointTranslator {
     return true;
   }
 
+  @Override
+  public boolean mayTranslate(final char ch) {
+    return CodePointRanges.mayTranslate(below, above, between, ch);
+  }
+
   public boolean equals(final Object o) {
     if (this == o) {
       return true;
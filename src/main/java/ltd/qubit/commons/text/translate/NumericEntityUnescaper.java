@@ -156,6 +156,11 @@ public class NumericEntityUnescaper extends CharSequenceTranslator {
     return 0;
   }
 
+  @Override
+  public boolean mayTranslate(final char ch) {
+    return (ch == '&');
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
@@ -60,6 +60,11 @@ public class OctalUnescaper extends CharSequenceTranslator {
     return 0;
   }
 
+  @Override
+  public boolean mayTranslate(final char ch) {
+    return (ch == '\\');
+  }
+
   private static boolean isZeroToThree(final char ch) {
     return ch >= '0' && ch <= '3';
   }
@@ -140,6 +140,11 @@ public class UnicodeEscaper extends CodePointTranslator {
     return true;
   }
 
+  @Override
+  public boolean mayTranslate(final char ch) {
+    return CodePointRanges.mayTranslate(below, above, between, ch);
+  }
+
   public boolean equals(final Object o) {
     if (this == o) {
       return true;
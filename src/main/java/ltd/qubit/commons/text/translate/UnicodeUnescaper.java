@@ -58,6 +58,11 @@ public class UnicodeUnescaper extends CharSequenceTranslator {
     return 0;
   }
 
+  @Override
+  public boolean mayTranslate(final char ch) {
+    return (ch == '\\');
+  }
+
   @Override
   public String toString() {
     return new ToStringBuilder(this)
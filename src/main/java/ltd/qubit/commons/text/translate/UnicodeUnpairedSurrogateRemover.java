@@ -31,6 +31,11 @@ public class UnicodeUnpairedSurrogateRemover extends CodePointTranslator {
     return (codePoint >= Character.MIN_SURROGATE) && (codePoint <= Character.MAX_SURROGATE);
   }
 
+  @Override
+  public boolean mayTranslate(final char ch) {
+    return Character.isSurrogate(ch);
+  }
+
   @Override
   public UnicodeUnpairedSurrogateRemover cloneEx() {
     return new UnicodeUnpairedSurrogateRemover();
@@ -16,6 +16,10 @@ import java.util.Date;
 import java.util.List;
 
 import javax.annotation.Nullable;
+import javax.xml.namespace.QName;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -440,6 +444,202 @@ public final class DomUtils {
     return result;
   }
 
+  /**
+   * Selects the first node matching an XPath expression.
+   *
+   * <p>The expression is compiled by {@link XmlUtils#getCompiledXPath(String)},
+   * therefore it is compiled only once in each thread.</p>
+   *
+   * @param root
+   *     the context node of the evaluation.
+   * @param xpath
+   *     the XPath expression.
+   * @return the first node matching the XPath expression, or {@code null} if
+   *     no node matches it.
+   * @throws InvalidXPathExpressionException
+   *     if the XPath expression is invalid.
+   * @throws XPathEvaluationException
+   *     if any error occurs during the evaluation.
+   */
+  @Nullable
+  public static Node selectNode(final Node root, final String xpath)
+      throws XmlException {
+    return (Node) evaluate(root, XmlUtils.getCompiledXPath(xpath), xpath,
+        XPathConstants.NODE);
+  }
+
+  /**
+   * Selects the first node matching a compiled XPath expression.
+   *
+   * @param root
+   *     the context node of the evaluation.
+   * @param expression
+   *     the compiled XPath expression.
+   * @return the first node matching the XPath expression, or {@code null} if
+   *     no node matches it.
+   * @throws XPathEvaluationException
+   *     if any error occurs during the evaluation.
+   */
+  @Nullable
+  public static Node selectNode(final Node root, final XPathExpression expression)
+      throws XmlException {
+    return (Node) evaluate(root, expression, null, XPathConstants.NODE);
+  }
+
+  /**
+   * Selects all the nodes matching an XPath expression.
+   *
+   * <p>The expression is compiled by {@link XmlUtils#getCompiledXPath(String)},
+   * therefore it is compiled only once in each thread.</p>
+   *
+   * @param root
+   *     the context node of the evaluation.
+   * @param xpath
+   *     the XPath expression.
+   * @return the list of nodes matching the XPath expression, in document order.
+   * @throws InvalidXPathExpressionException
+   *     if the XPath expression is invalid.
+   * @throws XPathEvaluationException
+   *     if any error occurs during the evaluation.
+   */
+  public static NodeList selectNodes(final Node root, final String xpath)
+      throws XmlException {
+    return (NodeList) evaluate(root, XmlUtils.getCompiledXPath(xpath), xpath,
+        XPathConstants.NODESET);
+  }
+
+  /**
+   * Selects all the nodes matching a compiled XPath expression.
+   *
+   * @param root
+   *     the context node of the evaluation.
+   * @param expression
+   *     the compiled XPath expression.
+   * @return the list of nodes matching the XPath expression, in document order.
+   * @throws XPathEvaluationException
+   *     if any error occurs during the evaluation.
+   */
+  public static NodeList selectNodes(final Node root,
+      final XPathExpression expression) throws XmlException {
+    return (NodeList) evaluate(root, expression, null, XPathConstants.NODESET);
+  }
+
+  /**
+   * Selects the element nodes matching an XPath expression.
+   *
+   * <p>The expression is compiled by {@link XmlUtils#getCompiledXPath(String)},
+   * therefore it is compiled only once in each thread.</p>
+   *
+   * @param root
+   *     the context node of the evaluation.
+   * @param xpath
+   *     the XPath expression.
+   * @param buffer
+   *     an optional list used to store the result; if it is not {@code null},
+   *     it is cleared and returned.
+   * @return the list of element nodes matching the XPath expression, in
+   *     document order; the matched nodes which are not elements are ignored.
+   * @throws InvalidXPathExpressionException
+   *     if the XPath expression is invalid.
+   * @throws XPathEvaluationException
+   *     if any error occurs during the evaluation.
+   */
+  public static List<Element> selectElements(final Node root, final String xpath,
+      @Nullable final List<Element> buffer) throws XmlException {
+    return toElements(selectNodes(root, xpath), buffer);
+  }
+
+  /**
+   * Selects the element nodes matching a compiled XPath expression.
+   *
+   * @param root
+   *     the context node of the evaluation.
+   * @param expression
+   *     the compiled XPath expression.
+   * @param buffer
+   *     an optional list used to store the result; if it is not {@code null},
+   *     it is cleared and returned.
+   * @return the list of element nodes matching the XPath expression, in
+   *     document order; the matched nodes which are not elements are ignored.
+   * @throws XPathEvaluationException
+   *     if any error occurs during the evaluation.
+   */
+  public static List<Element> selectElements(final Node root,
+      final XPathExpression expression, @Nullable final List<Element> buffer)
+      throws XmlException {
+    return toElements(selectNodes(root, expression), buffer);
+  }
+
+  private static List<Element> toElements(final NodeList nodes,
+      @Nullable final List<Element> buffer) {
+    final List<Element> result;
+    if (buffer != null) {
+      result = buffer;
+      result.clear();
+    } else {
+      result = new ArrayList<>();
+    }
+    final int count = nodes.getLength();
+    for (int i = 0; i < count; ++i) {
+      final Node node = nodes.item(i);
+      if (node.getNodeType() == Node.ELEMENT_NODE) {
+        result.add((Element) node);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Evaluates an XPath expression as a string.
+   *
+   * <p>The expression is compiled by {@link XmlUtils#getCompiledXPath(String)},
+   * therefore it is compiled only once in each thread.</p>
+   *
+   * @param root
+   *     the context node of the evaluation.
+   * @param xpath
+   *     the XPath expression.
+   * @return the string value of the XPath expression, which is an empty string
+   *     if no node matches it.
+   * @throws InvalidXPathExpressionException
+   *     if the XPath expression is invalid.
+   * @throws XPathEvaluationException
+   *     if any error occurs during the evaluation.
+   */
+  public static String selectString(final Node root, final String xpath)
+      throws XmlException {
+    return (String) evaluate(root, XmlUtils.getCompiledXPath(xpath), xpath,
+        XPathConstants.STRING);
+  }
+
+  /**
+   * Evaluates a compiled XPath expression as a string.
+   *
+   * @param root
+   *     the context node of the evaluation.
+   * @param expression
+   *     the compiled XPath expression.
+   * @return the string value of the XPath expression, which is an empty string
+   *     if no node matches it.
+   * @throws XPathEvaluationException
+   *     if any error occurs during the evaluation.
+   */
+  public static String selectString(final Node root,
+      final XPathExpression expression) throws XmlException {
+    return (String) evaluate(root, expression, null, XPathConstants.STRING);
+  }
+
+  private static Object evaluate(final Node root, final XPathExpression expression,
+      @Nullable final String xpath, final QName returnType)
+      throws XPathEvaluationException {
+    try {
+      return expression.evaluate(root, returnType);
+    } catch (final XPathExpressionException e) {
+      throw (xpath == null ? new XPathEvaluationException(e)
+                           : new XPathEvaluationException(xpath, e));
+    }
+  }
+
   public static boolean getOptBooleanAttr(final Element node,
       final String attrName, final boolean defaultValue) throws XmlException {
     if (! node.hasAttribute(attrName)) {
@@ -0,0 +1,63 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text.xml;
+
+import javax.annotation.Nullable;
+
+/**
+ * Thrown to indicate an error occurred while evaluating an X-Path expression.
+ *
+ * @author Haixing Hu
+ */
+public class XPathEvaluationException extends XmlException {
+
+  private static final long serialVersionUID = -4723150968219342537L;
+
+  private static final String MESSAGE_EVALUATION_FAILED =
+      "Evaluating the x-path expression failed. ";
+
+  @Nullable
+  private final String expression;
+
+  /**
+   * Constructs an exception for the evaluation of a compiled expression, whose
+   * text is not available.
+   *
+   * @param t
+   *     the cause of the failure.
+   */
+  public XPathEvaluationException(final Throwable t) {
+    super(MESSAGE_EVALUATION_FAILED + t.getMessage(), t);
+    this.expression = null;
+  }
+
+  /**
+   * Constructs an exception for the evaluation of an expression.
+   *
+   * @param expression
+   *     the text of the expression.
+   * @param t
+   *     the cause of the failure.
+   */
+  public XPathEvaluationException(final String expression, final Throwable t) {
+    super("Evaluating the x-path expression failed: " + expression, t);
+    this.expression = expression;
+  }
+
+  /**
+   * Gets the text of the expression whose evaluation failed.
+   *
+   * @return the text of the expression, or {@code null} if the exception was
+   *     thrown while evaluating a compiled expression.
+   */
+  @Nullable
+  public String getExpression() {
+    return expression;
+  }
+}
@@ -20,6 +20,8 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.net.URI;
 import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.annotation.concurrent.ThreadSafe;
 import javax.xml.parsers.DocumentBuilder;
@@ -76,6 +78,11 @@ public class XmlUtils {
 
   public static final String INDENT_AMOUNT = "2";
 
+  /**
+   * The maximum number of compiled XPath expressions cached by each thread.
+   */
+  public static final int XPATH_CACHE_SIZE = 256;
+
   private static final String CREATING_XML_BUILDER =
       "Creating the XML builder ...";
 
@@ -184,6 +191,25 @@ public class XmlUtils {
     }
   };
 
+  /**
+   * A global thread-local cache of the compiled XPath expressions, keyed by the
+   * text of the expressions.
+   *
+   * <p>The compiled {@link XPathExpression} objects are neither thread-safe nor
+   * reentrant, therefore each thread has its own cache. The cache keeps at most
+   * {@link #XPATH_CACHE_SIZE} expressions, and evicts the least recently used
+   * expression when it is full.</p>
+   */
+  private static final ThreadLocal<Map<String, XPathExpression>> XPATH_CACHE =
+      ThreadLocal.withInitial(() -> new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 6085712940453219847L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, XPathExpression> eldest) {
+          return size() > XPATH_CACHE_SIZE;
+        }
+      });
+
   /**
    * Creates a new XML document builder.
    *
@@ -686,4 +712,41 @@ public class XmlUtils {
       throw new InvalidXPathExpressionException(expression, e);
     }
   }
+
+  /**
+   * Gets the compiled XPath expression from the cache of the current thread,
+   * compiling and caching it if it was not compiled before.
+   *
+   * <p>Unlike {@link #compileXPath(String)}, this function returns the same
+   * {@link XPathExpression} object for the same expression text in the same
+   * thread. Since the compiled expressions are not thread-safe, the returned
+   * object must only be evaluated in the current thread, and should not be
+   * stored in objects shared with other threads; use
+   * {@link #compileXPath(String)} to get a private copy for that purpose.</p>
+   *
+   * @param expression
+   *     the expression of an XPath.
+   * @return the compiled {@link XPathExpression} object, cached by the current
+   *     thread.
+   * @throws InvalidXPathExpressionException
+   *     if any error occurs.
+   */
+  public static XPathExpression getCompiledXPath(final String expression)
+      throws InvalidXPathExpressionException {
+    requireNonNull("expression", expression);
+    final Map<String, XPathExpression> cache = XPATH_CACHE.get();
+    XPathExpression result = cache.get(expression);
+    if (result == null) {
+      result = compileXPath(expression);
+      cache.put(expression, result);
+    }
+    return result;
+  }
+
+  /**
+   * Clears the cache of the compiled XPath expressions of the current thread.
+   */
+  public static void clearXPathCache() {
+    XPATH_CACHE.get().clear();
+  }
 }
\ No newline at end of file
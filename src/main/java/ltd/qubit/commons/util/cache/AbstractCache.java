@@ -18,6 +18,8 @@ import java.util.stream.Collectors;
 import ltd.qubit.commons.io.error.AlreadyOpenedException;
 import ltd.qubit.commons.io.error.NotOpenedException;
 
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
 /**
  * 实现 {@link Cache} 接口的抽象基类。
  *
@@ -53,6 +55,7 @@ public abstract class AbstractCache<KEY, VALUE> implements Cache<KEY, VALUE> {
   protected boolean opened;
   protected int maxCached;
   protected Map<KEY, Data> cached;
+  protected StatsCounter statsCounter = DisabledStatsCounter.INSTANCE;
 
   /**
    * 构造一个具有默认设置的 {@link AbstractCache}。
@@ -106,6 +109,32 @@ public abstract class AbstractCache<KEY, VALUE> implements Cache<KEY, VALUE> {
     this.cached = new HashMap<>(intitalCapacity, loadFactor);
   }
 
+  /**
+   * 获取此缓存用于记录统计数据的计数器。
+   *
+   * @return 此缓存用于记录统计数据的计数器。
+   */
+  public StatsCounter getStatsCounter() {
+    return statsCounter;
+  }
+
+  /**
+   * 设置此缓存用于记录统计数据的计数器。
+   *
+   * <p>默认使用 {@link DisabledStatsCounter},即不记录统计数据。
+   *
+   * @param statsCounter
+   *     新的计数器。
+   */
+  public void setStatsCounter(final StatsCounter statsCounter) {
+    this.statsCounter = requireNonNull("statsCounter", statsCounter);
+  }
+
+  @Override
+  public CacheStats getStats() {
+    return statsCounter.snapshot();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -140,18 +169,41 @@ public abstract class AbstractCache<KEY, VALUE> implements Cache<KEY, VALUE> {
     }
     Data data = cached.get(key);
     if (data == null) {
+      statsCounter.recordMisses(1);
       data = new Data();
-      data.value = fetchValue(key);
+      data.value = load(key);
       if (cached.size() > maxCached - 1) {
-        cleanCache(cached.size() - 1);
+        final int oldSize = cached.size();
+        cleanCache(oldSize - 1);
+        final int evicted = oldSize - cached.size();
+        if (evicted > 0) {
+          statsCounter.recordEvictions(evicted, evicted);
+        }
       }
       cached.put(key, data);
+    } else {
+      statsCounter.recordHits(1);
     }
     ++data.accessFrequency;
     data.lastAccessTime = System.currentTimeMillis();
     return data.value;
   }
 
+  private VALUE load(final KEY key) throws IOException {
+    if (!statsCounter.isEnabled()) {
+      return fetchValue(key);
+    }
+    final long start = System.nanoTime();
+    try {
+      final VALUE value = fetchValue(key);
+      statsCounter.recordLoadSuccess(System.nanoTime() - start);
+      return value;
+    } catch (final IOException | RuntimeException | Error e) {
+      statsCounter.recordLoadFailure(System.nanoTime() - start);
+      throw e;
+    }
+  }
+
   /**
    * 从底层数据源获取指定键对应的值.
    *
@@ -0,0 +1,393 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ltd.qubit.commons.io.Openable;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * 一个线程安全的异步缓存,其读取操作返回 {@link CompletableFuture},调用者无需阻塞等待加载。
+ *
+ * <p>此类的缓存数据保存在一个 {@link ConcurrentCache} 中,缓存的值是加载结果的
+ * {@link CompletableFuture},因此其淘汰策略、生存时间、后台刷新以及统计数据的含义与
+ * {@link ConcurrentCache} 相同。此外:
+ * <ul>
+ *   <li>多个调用者同时请求同一个未缓存的键时,它们得到的是同一个 {@link CompletableFuture},
+ *   {@link #fetchValue(Object)} 只会被调用一次；</li>
+ *   <li>{@link #getAll(Iterable)} 只为尚未缓存且尚未在加载中的键调用一次
+ *   {@link #fetchValues(Set)},以便实现者批量访问底层数据源；</li>
+ *   <li>加载失败的结果不会被缓存,下一次请求将重新加载。</li>
+ * </ul>
+ *
+ * <p>加载操作在 {@link ConcurrentCacheOptions#getExecutor() 执行器} 中执行。若加载操作以阻塞
+ * I/O为主,应提供一个专用的执行器；在JDK 21及以上版本中,可以使用
+ * {@code Executors.newVirtualThreadPerTaskExecutor()} 为每个加载操作分配一个虚拟线程。
+ *
+ * <p>注意配置中的 {@link Weigher} 和 {@link Expiry} 是在加载开始时针对尚未完成的
+ * {@link CompletableFuture} 调用的。
+ *
+ * @param <KEY>
+ *     缓存的键的类型,不能为{@code null}。
+ * @param <VALUE>
+ *     缓存的值的类型,可以为{@code null}。
+ * @author 胡海星
+ */
+@ThreadSafe
+public abstract class AsyncCache<KEY, VALUE> implements Closeable, Openable {
+
+  private final class Delegate extends ConcurrentCache<KEY, CompletableFuture<VALUE>> {
+
+    Delegate(final ConcurrentCacheOptions<KEY, CompletableFuture<VALUE>> options) {
+      super(options, false);
+    }
+
+    @Override
+    protected void doOpen() throws IOException {
+      AsyncCache.this.doOpen();
+    }
+
+    @Override
+    protected CompletableFuture<VALUE> fetchValue(final KEY key) {
+      return AsyncCache.this.load(key);
+    }
+
+    @Override
+    protected void doClose() throws IOException {
+      AsyncCache.this.doClose();
+    }
+  }
+
+  protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final Delegate delegate;
+  private final Executor executor;
+
+  /**
+   * 构造一个容量无限的 {@link AsyncCache}。
+   */
+  protected AsyncCache() {
+    this(new ConcurrentCacheOptions<>());
+  }
+
+  /**
+   * 构造一个使用LRU淘汰策略的 {@link AsyncCache}。
+   *
+   * @param maxCached
+   *     最多缓存的对象的个数,必须为正数。
+   */
+  protected AsyncCache(final int maxCached) {
+    this(new ConcurrentCacheOptions<KEY, CompletableFuture<VALUE>>()
+        .setMaxWeight(maxCached));
+  }
+
+  /**
+   * 构造一个具有指定配置的 {@link AsyncCache}。
+   *
+   * @param options
+   *     缓存的配置,此函数会复制一份该配置。
+   */
+  protected AsyncCache(final ConcurrentCacheOptions<KEY, CompletableFuture<VALUE>> options) {
+    requireNonNull("options", options);
+    this.delegate = new Delegate(options);
+    this.executor = this.delegate.getOptions().getExecutor();
+  }
+
+  /**
+   * 获取此缓存的配置。
+   *
+   * @return 此缓存的配置的一个副本。
+   */
+  public ConcurrentCacheOptions<KEY, CompletableFuture<VALUE>> getOptions() {
+    return delegate.getOptions();
+  }
+
+  /**
+   * 获取此缓存的统计数据的快照。
+   *
+   * <p>只有当 {@link ConcurrentCacheOptions#isRecordStats()} 为{@code true}时才记录统计数据。
+   * 加载时间是从加载任务开始执行到其完成的时间,批量加载记为一次加载。
+   *
+   * @return 此缓存的统计数据的快照。
+   */
+  public CacheStats getStats() {
+    return delegate.getStats();
+  }
+
+  @Override
+  public boolean isOpened() {
+    return delegate.isOpened();
+  }
+
+  @Override
+  public void open() throws IOException {
+    delegate.open();
+  }
+
+  /**
+   * 执行打开操作。
+   *
+   * @throws IOException
+   *     如果发生任何I/O错误。
+   */
+  protected abstract void doOpen() throws IOException;
+
+  /**
+   * 从底层数据源获取指定键对应的值。
+   *
+   * <p>此函数在 {@link ConcurrentCacheOptions#getExecutor() 执行器} 的线程中被调用,
+   * 可能被多个线程同时调用(针对不同的键),因此实现必须是线程安全的。
+   *
+   * @param key
+   *     要获取的值的键。
+   * @return 从底层数据源获取的指定键对应的值。
+   * @throws IOException
+   *     如果发生任何I/O错误。
+   */
+  protected abstract VALUE fetchValue(KEY key) throws IOException;
+
+  /**
+   * 从底层数据源批量获取指定的键对应的值。
+   *
+   * <p>默认实现逐个调用 {@link #fetchValue(Object)}；若底层数据源支持批量读取,子类应覆盖此函数。
+   * 此函数在 {@link ConcurrentCacheOptions#getExecutor() 执行器} 的线程中被调用。
+   *
+   * @param keys
+   *     要获取的值的键的集合,不会为空。
+   * @return 一个映射,保存了获取到的键值对；其中不存在的键对应的值被视为{@code null}。
+   * @throws IOException
+   *     如果发生任何I/O错误。
+   */
+  protected Map<KEY, VALUE> fetchValues(final Set<KEY> keys) throws IOException {
+    final Map<KEY, VALUE> result = new LinkedHashMap<>();
+    for (final KEY key : keys) {
+      result.put(key, fetchValue(key));
+    }
+    return result;
+  }
+
+  /**
+   * 异步地获取给定键的值。
+   *
+   * <p>若该键已被缓存或正在加载,则直接返回其对应的 {@link CompletableFuture}；否则在执行器中
+   * 开始加载,并返回代表加载结果的 {@link CompletableFuture}。此函数不会阻塞。
+   *
+   * @param key
+   *     要获取的值的键。
+   * @return 代表给定键的值的 {@link CompletableFuture}；若此缓存尚未打开,或加载失败,
+   *     则该 {@link CompletableFuture} 以对应的异常结束。
+   */
+  public CompletableFuture<VALUE> get(final KEY key) {
+    requireNonNull("key", key);
+    final CompletableFuture<VALUE> future;
+    try {
+      future = delegate.get(key);
+    } catch (final IOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    if (future.isCompletedExceptionally()) {
+      // 加载同步失败时,失败的结果可能在其被放入缓存之后才被移除
+      delegate.invalidate(key, future);
+    }
+    return future;
+  }
+
+  /**
+   * 异步地批量获取给定的键的值。
+   *
+   * <p>已缓存或正在加载的键共享其已有的 {@link CompletableFuture}；其余的键通过一次
+   * {@link #fetchValues(Set)} 调用在执行器中批量加载。
+   *
+   * @param keys
+   *     要获取的值的键。
+   * @return 代表所有键的值的 {@link CompletableFuture},其结果是一个按{@code keys}的迭代顺序
+   *     保存键值对的映射；若任何一个键加载失败,则该 {@link CompletableFuture} 以对应的异常结束。
+   */
+  public CompletableFuture<Map<KEY, VALUE>> getAll(final Iterable<? extends KEY> keys) {
+    requireNonNull("keys", keys);
+    final Map<KEY, CompletableFuture<VALUE>> futures = new LinkedHashMap<>();
+    final Map<KEY, CompletableFuture<VALUE>> pending = new LinkedHashMap<>();
+    try {
+      for (final KEY key : keys) {
+        requireNonNull("key", key);
+        if (futures.containsKey(key)) {
+          continue;
+        }
+        CompletableFuture<VALUE> future = delegate.getIfPresent(key);
+        if (future != null && future.isCompletedExceptionally()) {
+          delegate.invalidate(key, future);
+          future = null;
+        }
+        if (future == null) {
+          final CompletableFuture<VALUE> promise = new CompletableFuture<>();
+          final CompletableFuture<CompletableFuture<VALUE>> existing =
+              delegate.putIfAbsentAndNotLoading(key, promise);
+          if (existing == null) {
+            pending.put(key, promise);
+            future = promise;
+          } else {
+            // 该键已被缓存,或正在被 get() 加载,此时共享其结果而不是再次加载
+            future = existing.thenCompose(Function.identity());
+          }
+        }
+        futures.put(key, future);
+      }
+    } catch (final IOException e) {
+      pending.values().forEach((promise) -> promise.completeExceptionally(e));
+      pending.forEach(delegate::invalidate);
+      return CompletableFuture.failedFuture(e);
+    }
+    if (!pending.isEmpty()) {
+      loadAll(pending);
+    }
+    final CompletableFuture<?>[] all = futures.values().toArray(new CompletableFuture<?>[0]);
+    return CompletableFuture.allOf(all).thenApply((ignored) -> {
+      final Map<KEY, VALUE> result = new LinkedHashMap<>();
+      futures.forEach((key, future) -> result.put(key, future.join()));
+      return result;
+    });
+  }
+
+  /**
+   * 从缓存中获取给定键的值,若该键未被缓存则不加载。
+   *
+   * @param key
+   *     要获取的值的键。
+   * @return 代表给定键的值的 {@link CompletableFuture}；若该键未被缓存、已过期或此缓存尚未打开,
+   *     则返回{@code null}。
+   */
+  @Nullable
+  public CompletableFuture<VALUE> getIfPresent(final KEY key) {
+    requireNonNull("key", key);
+    try {
+      return delegate.getIfPresent(key);
+    } catch (final IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * 将指定的键及其对应的值从此缓存中删除。
+   *
+   * <p>正在进行的加载不会被取消,但其结果不再被缓存。
+   *
+   * @param key
+   *     要删除的键。
+   */
+  public void invalidate(final KEY key) {
+    delegate.invalidate(key);
+  }
+
+  /**
+   * 清空此缓存。
+   */
+  public void invalidateAll() {
+    delegate.invalidateAll();
+  }
+
+  /**
+   * 获取此缓存中当前缓存的对象(包括正在加载的对象)的个数。
+   *
+   * @return 此缓存中当前缓存的对象的个数。
+   */
+  public int size() {
+    return delegate.size();
+  }
+
+  @Override
+  public void close() throws IOException {
+    delegate.close();
+  }
+
+  /**
+   * 执行关闭操作。
+   *
+   * @throws IOException
+   *     如果发生任何I/O错误。
+   */
+  protected abstract void doClose() throws IOException;
+
+  private CompletableFuture<VALUE> load(final KEY key) {
+    final CompletableFuture<VALUE> future = new CompletableFuture<>();
+    final Runnable task = () -> {
+      final StatsCounter stats = delegate.getStatsCounter();
+      final long start = System.nanoTime();
+      try {
+        final VALUE value = fetchValue(key);
+        stats.recordLoadSuccess(System.nanoTime() - start);
+        future.complete(value);
+      } catch (final Throwable e) {
+        stats.recordLoadFailure(System.nanoTime() - start);
+        future.completeExceptionally(e);
+      }
+    };
+    try {
+      executor.execute(task);
+    } catch (final RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+    future.whenComplete((value, error) -> {
+      if (error != null) {
+        delegate.invalidate(key, future);
+      }
+    });
+    return future;
+  }
+
+  private void loadAll(final Map<KEY, CompletableFuture<VALUE>> pending) {
+    final Runnable task = () -> {
+      final StatsCounter stats = delegate.getStatsCounter();
+      final Set<KEY> keys = new LinkedHashSet<>(pending.keySet());
+      final long start = System.nanoTime();
+      final Map<KEY, VALUE> values;
+      try {
+        values = fetchValues(keys);
+        stats.recordLoadSuccess(System.nanoTime() - start);
+      } catch (final Throwable e) {
+        stats.recordLoadFailure(System.nanoTime() - start);
+        fail(pending, e);
+        return;
+      }
+      pending.forEach((key, promise) ->
+          promise.complete(values == null ? null : values.get(key)));
+    };
+    try {
+      executor.execute(task);
+    } catch (final RejectedExecutionException e) {
+      fail(pending, e);
+    }
+  }
+
+  private void fail(final Map<KEY, CompletableFuture<VALUE>> pending, final Throwable error) {
+    final Throwable cause = (error instanceof CompletionException && error.getCause() != null
+                             ? error.getCause() : error);
+    pending.forEach((key, promise) -> {
+      delegate.invalidate(key, promise);
+      promise.completeExceptionally(cause);
+    });
+  }
+}
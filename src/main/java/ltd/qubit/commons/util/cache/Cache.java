@@ -28,6 +28,7 @@ import ltd.qubit.commons.io.Openable;
  * 如果客户端再次请求放弃的数据,则缓存将再次从底层数据源获取数据。
  *
  * <p>实现不需要是线程安全的。为了获得线程安全的缓存,请使用{@link SynchronizedCache}来包装非线程安全的{@link Cache}对象。
+ * 在高并发场景下,应直接继承{@link ConcurrentCache},它的读取操作无需加锁,且并发的缓存未命中只会加载一次。
  *
  * @author 胡海星
  */
@@ -103,6 +104,17 @@ public interface Cache<K, V> extends Closeable, Openable {
    */
   boolean cachesKey(K key) throws IOException;
 
+  /**
+   * 获取此缓存的统计数据的快照。
+   *
+   * <p>默认实现不记录任何统计数据,总是返回 {@link CacheStats#EMPTY}。
+   *
+   * @return 此缓存的统计数据的快照。
+   */
+  default CacheStats getStats() {
+    return CacheStats.EMPTY;
+  }
+
   /**
    * 关闭此缓存。
    *
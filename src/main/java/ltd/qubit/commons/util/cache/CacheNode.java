@@ -0,0 +1,80 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * {@link ConcurrentCache} 内部存储的缓存节点。
+ *
+ * <p>节点的键、值、权重和时间戳在创建后不再改变；更新缓存值时会创建新的节点替换旧节点。
+ * 节点的链表指针以及{@code queue}、{@code owner}、{@code linked}字段由节点所在分段的锁保护,
+ * 只能在持有该锁时访问。
+ *
+ * @author 胡海星
+ */
+final class CacheNode<KEY, VALUE> {
+
+  private static final AtomicIntegerFieldUpdater<CacheNode> REFRESHING =
+      AtomicIntegerFieldUpdater.newUpdater(CacheNode.class, "refreshing");
+
+  final KEY key;
+  final int hash;
+  final VALUE value;
+  final int weight;
+  final long writeTime;
+  final long expireTime;
+
+  /**
+   * 是否正在后台刷新,用于保证同一节点只触发一次刷新。
+   */
+  private volatile int refreshing;
+
+  CacheNode<KEY, VALUE> prev;
+  CacheNode<KEY, VALUE> next;
+
+  /**
+   * 节点所在的队列编号,由具体的淘汰队列解释。
+   */
+  int queue;
+
+  /**
+   * 节点的附属对象,由具体的淘汰队列解释。
+   */
+  Object owner;
+
+  /**
+   * 节点当前是否链接在淘汰队列中。
+   */
+  boolean linked;
+
+  CacheNode(final KEY key, final int hash, final VALUE value, final int weight,
+      final long writeTime, final long expireTime) {
+    this.key = key;
+    this.hash = hash;
+    this.value = value;
+    this.weight = weight;
+    this.writeTime = writeTime;
+    this.expireTime = expireTime;
+  }
+
+  boolean isExpired(final long now) {
+    return now >= expireTime;
+  }
+
+  @SuppressWarnings("unchecked")
+  boolean tryStartRefresh() {
+    return REFRESHING.compareAndSet(this, 0, 1);
+  }
+
+  @SuppressWarnings("unchecked")
+  void endRefresh() {
+    REFRESHING.set(this, 0);
+  }
+}
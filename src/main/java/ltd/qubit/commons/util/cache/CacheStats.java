@@ -0,0 +1,308 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+import java.util.Arrays;
+
+import javax.annotation.concurrent.Immutable;
+
+import ltd.qubit.commons.lang.Hash;
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+import static ltd.qubit.commons.lang.Argument.requireInCloseRange;
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * 缓存统计数据的不可变快照。
+ *
+ * <p>所有时间的单位都是纳秒。加载耗时的直方图按照 2 的幂次分桶:第 0 个桶记录耗时为 0 的加载,
+ * 第 {@code i} 个桶({@code i > 0})记录耗时在 [2<sup>i-1</sup>, 2<sup>i</sup>) 纳秒之间的加载。
+ *
+ * @author 胡海星
+ */
+@Immutable
+public final class CacheStats {
+
+  /**
+   * 加载耗时直方图中桶的个数。
+   */
+  public static final int LATENCY_BUCKETS = 64;
+
+  /**
+   * 所有计数均为0的统计数据。
+   */
+  public static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0, 0, 0,
+      new long[LATENCY_BUCKETS]);
+
+  private final long hitCount;
+  private final long missCount;
+  private final long loadSuccessCount;
+  private final long loadFailureCount;
+  private final long totalLoadTime;
+  private final long evictionCount;
+  private final long evictionWeight;
+  private final long[] loadLatencyHistogram;
+
+  /**
+   * 构造一个 {@link CacheStats}。
+   *
+   * @param hitCount
+   *     缓存命中的次数。
+   * @param missCount
+   *     缓存未命中的次数。
+   * @param loadSuccessCount
+   *     成功加载的次数。
+   * @param loadFailureCount
+   *     加载失败的次数。
+   * @param totalLoadTime
+   *     加载所用的总时间,单位为纳秒。
+   * @param evictionCount
+   *     淘汰的次数。
+   * @param evictionWeight
+   *     被淘汰对象的总权重。
+   * @param loadLatencyHistogram
+   *     加载耗时的直方图,其长度必须为 {@link #LATENCY_BUCKETS}。此函数会复制该数组。
+   */
+  public CacheStats(final long hitCount, final long missCount,
+      final long loadSuccessCount, final long loadFailureCount,
+      final long totalLoadTime, final long evictionCount,
+      final long evictionWeight, final long[] loadLatencyHistogram) {
+    requireNonNull("loadLatencyHistogram", loadLatencyHistogram);
+    if (loadLatencyHistogram.length != LATENCY_BUCKETS) {
+      throw new IllegalArgumentException("The length of the load latency histogram must be "
+          + LATENCY_BUCKETS + ", but it is " + loadLatencyHistogram.length);
+    }
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.loadSuccessCount = loadSuccessCount;
+    this.loadFailureCount = loadFailureCount;
+    this.totalLoadTime = totalLoadTime;
+    this.evictionCount = evictionCount;
+    this.evictionWeight = evictionWeight;
+    this.loadLatencyHistogram = loadLatencyHistogram.clone();
+  }
+
+  /**
+   * 获取指定加载耗时在直方图中所属的桶的下标。
+   *
+   * @param loadTime
+   *     加载耗时,单位为纳秒。
+   * @return 该耗时所属的桶的下标。
+   */
+  static int latencyBucketOf(final long loadTime) {
+    if (loadTime <= 0) {
+      return 0;
+    }
+    return Math.min(LATENCY_BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(loadTime));
+  }
+
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  public long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * 获取请求的总次数,即命中次数与未命中次数之和。
+   *
+   * @return 请求的总次数。
+   */
+  public long getRequestCount() {
+    return saturatedAdd(hitCount, missCount);
+  }
+
+  /**
+   * 获取命中率。
+   *
+   * @return 命中次数与请求总次数之比；若请求总次数为0,则返回1.0。
+   */
+  public double getHitRate() {
+    final long requestCount = getRequestCount();
+    return (requestCount == 0 ? 1.0 : (double) hitCount / requestCount);
+  }
+
+  /**
+   * 获取未命中率。
+   *
+   * @return 未命中次数与请求总次数之比；若请求总次数为0,则返回0.0。
+   */
+  public double getMissRate() {
+    final long requestCount = getRequestCount();
+    return (requestCount == 0 ? 0.0 : (double) missCount / requestCount);
+  }
+
+  public long getLoadSuccessCount() {
+    return loadSuccessCount;
+  }
+
+  public long getLoadFailureCount() {
+    return loadFailureCount;
+  }
+
+  /**
+   * 获取加载的总次数,即成功与失败的加载次数之和。
+   *
+   * @return 加载的总次数。
+   */
+  public long getLoadCount() {
+    return saturatedAdd(loadSuccessCount, loadFailureCount);
+  }
+
+  /**
+   * 获取加载失败率。
+   *
+   * @return 加载失败次数与加载总次数之比；若加载总次数为0,则返回0.0。
+   */
+  public double getLoadFailureRate() {
+    final long loadCount = getLoadCount();
+    return (loadCount == 0 ? 0.0 : (double) loadFailureCount / loadCount);
+  }
+
+  public long getTotalLoadTime() {
+    return totalLoadTime;
+  }
+
+  /**
+   * 获取平均每次加载所用的时间。
+   *
+   * @return 平均每次加载所用的时间,单位为纳秒；若加载总次数为0,则返回0.0。
+   */
+  public double getAverageLoadPenalty() {
+    final long loadCount = getLoadCount();
+    return (loadCount == 0 ? 0.0 : (double) totalLoadTime / loadCount);
+  }
+
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public long getEvictionWeight() {
+    return evictionWeight;
+  }
+
+  /**
+   * 获取加载耗时的直方图。
+   *
+   * @return 加载耗时的直方图的副本。
+   */
+  public long[] getLoadLatencyHistogram() {
+    return loadLatencyHistogram.clone();
+  }
+
+  /**
+   * 估计加载耗时的分位数。
+   *
+   * <p>由于直方图按 2 的幂次分桶,返回值是分位数所在的桶的上界,其误差不超过实际值的两倍。
+   *
+   * @param percentile
+   *     分位数,取值范围为 [0, 1],例如 0.99 表示第 99 百分位数。
+   * @return 加载耗时的分位数的估计值,单位为纳秒；若加载总次数为0,则返回0。
+   */
+  public long getLoadLatencyPercentile(final double percentile) {
+    requireInCloseRange("percentile", percentile, 0.0, 1.0, 0.0);
+    long total = 0;
+    for (final long count : loadLatencyHistogram) {
+      total += count;
+    }
+    if (total == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(percentile * total));
+    long accumulated = 0;
+    for (int i = 0; i < loadLatencyHistogram.length; ++i) {
+      accumulated += loadLatencyHistogram[i];
+      if (accumulated >= rank) {
+        return (i == 0 ? 0 : (i >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1));
+      }
+    }
+    return Long.MAX_VALUE;
+  }
+
+  /**
+   * 计算此统计数据与另一个统计数据的差值。
+   *
+   * <p>此函数通常用于计算两个时刻之间的统计数据。
+   *
+   * @param other
+   *     较早时刻的统计数据。
+   * @return 此统计数据减去{@code other}后的结果,其中负数被修正为0。
+   */
+  public CacheStats minus(final CacheStats other) {
+    final long[] histogram = new long[LATENCY_BUCKETS];
+    for (int i = 0; i < LATENCY_BUCKETS; ++i) {
+      histogram[i] = Math.max(0, loadLatencyHistogram[i] - other.loadLatencyHistogram[i]);
+    }
+    return new CacheStats(
+        Math.max(0, hitCount - other.hitCount),
+        Math.max(0, missCount - other.missCount),
+        Math.max(0, loadSuccessCount - other.loadSuccessCount),
+        Math.max(0, loadFailureCount - other.loadFailureCount),
+        Math.max(0, totalLoadTime - other.totalLoadTime),
+        Math.max(0, evictionCount - other.evictionCount),
+        Math.max(0, evictionWeight - other.evictionWeight),
+        histogram);
+  }
+
+  private static long saturatedAdd(final long a, final long b) {
+    final long result = a + b;
+    return (((a ^ result) & (b ^ result)) < 0 ? Long.MAX_VALUE : result);
+  }
+
+  @Override
+  public int hashCode() {
+    final int multiplier = 31;
+    int code = 3;
+    code = Hash.combine(code, multiplier, hitCount);
+    code = Hash.combine(code, multiplier, missCount);
+    code = Hash.combine(code, multiplier, loadSuccessCount);
+    code = Hash.combine(code, multiplier, loadFailureCount);
+    code = Hash.combine(code, multiplier, totalLoadTime);
+    code = Hash.combine(code, multiplier, evictionCount);
+    code = Hash.combine(code, multiplier, evictionWeight);
+    code = Hash.combine(code, multiplier, loadLatencyHistogram);
+    return code;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+    final CacheStats other = (CacheStats) obj;
+    return (hitCount == other.hitCount)
+        && (missCount == other.missCount)
+        && (loadSuccessCount == other.loadSuccessCount)
+        && (loadFailureCount == other.loadFailureCount)
+        && (totalLoadTime == other.totalLoadTime)
+        && (evictionCount == other.evictionCount)
+        && (evictionWeight == other.evictionWeight)
+        && Arrays.equals(loadLatencyHistogram, other.loadLatencyHistogram);
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("hitCount", hitCount)
+        .append("missCount", missCount)
+        .append("loadSuccessCount", loadSuccessCount)
+        .append("loadFailureCount", loadFailureCount)
+        .append("totalLoadTime", totalLoadTime)
+        .append("evictionCount", evictionCount)
+        .append("evictionWeight", evictionWeight)
+        .toString();
+  }
+}
@@ -0,0 +1,176 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+import java.lang.management.ManagementFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * 将 {@link Cache} 的统计数据通过 JMX 暴露的 {@link CacheStatsMXBean} 实现。
+ *
+ * <p>每次读取属性时都会调用 {@link Cache#getStats()} 获取最新的快照。使用示例:
+ * <pre><code>
+ * final ObjectName name = CacheStatsBean.register("userCache", cache);
+ * ...
+ * CacheStatsBean.unregister(name);
+ * </code></pre>
+ *
+ * @author 胡海星
+ */
+@ThreadSafe
+public class CacheStatsBean implements CacheStatsMXBean {
+
+  /**
+   * 注册的 MBean 的对象名称的域。
+   */
+  public static final String DOMAIN = "ltd.qubit.commons.util.cache";
+
+  private final Cache<?, ?> cache;
+
+  /**
+   * 构造一个 {@link CacheStatsBean}。
+   *
+   * @param cache
+   *     要暴露其统计数据的缓存。
+   */
+  public CacheStatsBean(final Cache<?, ?> cache) {
+    this.cache = requireNonNull("cache", cache);
+  }
+
+  /**
+   * 将指定缓存的统计数据注册到平台 {@link MBeanServer}。
+   *
+   * @param name
+   *     缓存的名称,用作对象名称中{@code name}属性的值。
+   * @param cache
+   *     要暴露其统计数据的缓存。
+   * @return 注册的 MBean 的对象名称。
+   * @throws IllegalStateException
+   *     若注册失败,例如已存在同名的 MBean。
+   */
+  public static ObjectName register(final String name, final Cache<?, ?> cache) {
+    requireNonNull("name", name);
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      final ObjectName objectName = new ObjectName(DOMAIN + ":type=Cache,name="
+          + ObjectName.quote(name));
+      server.registerMBean(new CacheStatsBean(cache), objectName);
+      return objectName;
+    } catch (final MalformedObjectNameException | InstanceAlreadyExistsException
+        | MBeanRegistrationException | NotCompliantMBeanException e) {
+      throw new IllegalStateException("Failed to register the statistics MBean of cache: "
+          + name, e);
+    }
+  }
+
+  /**
+   * 从平台 {@link MBeanServer} 中注销指定的 MBean。
+   *
+   * <p>若指定的 MBean 未注册,则此函数无效。
+   *
+   * @param objectName
+   *     由 {@link #register(String, Cache)} 返回的对象名称。
+   */
+  public static void unregister(final ObjectName objectName) {
+    requireNonNull("objectName", objectName);
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      server.unregisterMBean(objectName);
+    } catch (final InstanceNotFoundException e) {
+      // already unregistered
+    } catch (final MBeanRegistrationException e) {
+      throw new IllegalStateException("Failed to unregister the MBean: " + objectName, e);
+    }
+  }
+
+  @Override
+  public long getRequestCount() {
+    return cache.getStats().getRequestCount();
+  }
+
+  @Override
+  public long getHitCount() {
+    return cache.getStats().getHitCount();
+  }
+
+  @Override
+  public double getHitRate() {
+    return cache.getStats().getHitRate();
+  }
+
+  @Override
+  public long getMissCount() {
+    return cache.getStats().getMissCount();
+  }
+
+  @Override
+  public double getMissRate() {
+    return cache.getStats().getMissRate();
+  }
+
+  @Override
+  public long getLoadSuccessCount() {
+    return cache.getStats().getLoadSuccessCount();
+  }
+
+  @Override
+  public long getLoadFailureCount() {
+    return cache.getStats().getLoadFailureCount();
+  }
+
+  @Override
+  public double getLoadFailureRate() {
+    return cache.getStats().getLoadFailureRate();
+  }
+
+  @Override
+  public long getTotalLoadTime() {
+    return cache.getStats().getTotalLoadTime();
+  }
+
+  @Override
+  public double getAverageLoadPenalty() {
+    return cache.getStats().getAverageLoadPenalty();
+  }
+
+  @Override
+  public long getLoadLatencyP50() {
+    return cache.getStats().getLoadLatencyPercentile(0.5);
+  }
+
+  @Override
+  public long getLoadLatencyP90() {
+    return cache.getStats().getLoadLatencyPercentile(0.9);
+  }
+
+  @Override
+  public long getLoadLatencyP99() {
+    return cache.getStats().getLoadLatencyPercentile(0.99);
+  }
+
+  @Override
+  public long getEvictionCount() {
+    return cache.getStats().getEvictionCount();
+  }
+
+  @Override
+  public long getEvictionWeight() {
+    return cache.getStats().getEvictionWeight();
+  }
+}
@@ -0,0 +1,50 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+/**
+ * 通过 JMX 暴露缓存统计数据的管理接口。
+ *
+ * <p>所有时间的单位都是纳秒。
+ *
+ * @author 胡海星
+ * @see CacheStatsBean
+ */
+public interface CacheStatsMXBean {
+
+  long getRequestCount();
+
+  long getHitCount();
+
+  double getHitRate();
+
+  long getMissCount();
+
+  double getMissRate();
+
+  long getLoadSuccessCount();
+
+  long getLoadFailureCount();
+
+  double getLoadFailureRate();
+
+  long getTotalLoadTime();
+
+  double getAverageLoadPenalty();
+
+  long getLoadLatencyP50();
+
+  long getLoadLatencyP90();
+
+  long getLoadLatencyP99();
+
+  long getEvictionCount();
+
+  long getEvictionWeight();
+}
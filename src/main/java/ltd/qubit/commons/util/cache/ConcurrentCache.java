@@ -0,0 +1,757 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Serial;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ltd.qubit.commons.io.error.AlreadyOpenedException;
+import ltd.qubit.commons.io.error.NotOpenedException;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+
+/**
+ * 一个线程安全的、有界的 {@link Cache} 实现。
+ *
+ * <p>与使用 {@link SynchronizedCache} 包装 {@link AbstractCache} 不同,此类不会用一把锁串行化
+ * 所有的调用:
+ * <ul>
+ *   <li>缓存数据存储在 {@link ConcurrentHashMap} 中,缓存命中时的读取不需要加锁；</li>
+ *   <li>淘汰所需的访问记录按键的散列值分段,每段由独立的锁保护；读取时只尝试获取锁,
+ *   若锁正被其他线程持有则放弃本次记录,因此读取永不阻塞；</li>
+ *   <li>多个线程同时请求同一个未缓存的键时,只有一个线程调用 {@link #fetchValue(Object)},
+ *   其余线程等待并共享其结果。</li>
+ * </ul>
+ *
+ * <p>缓存的容量由 {@link ConcurrentCacheOptions#getMaxWeight() 最大权重} 限制,超出容量时按照
+ * {@link EvictionPolicy 淘汰策略} 淘汰对象；每个对象可以设置写入后的生存时间,也可以在写入后
+ * 一段时间自动在后台刷新。
+ *
+ * <p>为了保证并发性能,容量按分段平均分配,因此淘汰策略是在每个分段内部执行的。当最大权重较小时,
+ * 分段的个数会相应减少,以避免分段内的容量过小。
+ *
+ * @param <KEY>
+ *     缓存的键的类型,不能为{@code null}。
+ * @param <VALUE>
+ *     缓存的值的类型,可以为{@code null}。
+ * @author 胡海星
+ */
+@ThreadSafe
+public abstract class ConcurrentCache<KEY, VALUE> implements Cache<KEY, VALUE> {
+
+  /**
+   * 每个分段的最小权重。
+   */
+  private static final long MIN_SEGMENT_WEIGHT = 64;
+
+  /**
+   * 分段的最大个数。
+   */
+  private static final int MAX_SEGMENTS = 1 << 16;
+
+  private static final class Segment<KEY, VALUE> extends ReentrantLock {
+
+    @Serial
+    private static final long serialVersionUID = 5014473373212546582L;
+
+    final long maxWeight;
+    @Nullable
+    final transient EvictionQueue<KEY, VALUE> queue;
+    long weight;
+
+    Segment(final long maxWeight, @Nullable final EvictionQueue<KEY, VALUE> queue) {
+      this.maxWeight = maxWeight;
+      this.queue = queue;
+    }
+
+    void link(final CacheNode<KEY, VALUE> node) {
+      node.linked = true;
+      weight += node.weight;
+      if (queue != null) {
+        queue.add(node);
+      }
+    }
+
+    void unlink(final CacheNode<KEY, VALUE> node) {
+      if (node.linked) {
+        node.linked = false;
+        weight -= node.weight;
+        if (queue != null) {
+          queue.remove(node);
+        }
+      }
+    }
+
+    void clear() {
+      weight = 0;
+      if (queue != null) {
+        queue.clear();
+      }
+    }
+  }
+
+  protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final ConcurrentCacheOptions<KEY, VALUE> options;
+  private final ConcurrentHashMap<KEY, CacheNode<KEY, VALUE>> cached;
+  private final ConcurrentHashMap<KEY, CompletableFuture<VALUE>> loadings;
+  private final Segment<KEY, VALUE>[] segments;
+  private final int segmentMask;
+  private final boolean bounded;
+  private final boolean timed;
+  private final long refreshMillis;
+  private final Clock clock;
+  private final Executor executor;
+  private final StatsCounter stats;
+  private final boolean recordLoads;
+  private volatile boolean opened;
+
+  /**
+   * 构造一个具有默认设置的 {@link ConcurrentCache}。
+   */
+  protected ConcurrentCache() {
+    this(new ConcurrentCacheOptions<>());
+  }
+
+  /**
+   * 构造一个具有指定最大缓存数量的 {@link ConcurrentCache}。
+   *
+   * @param maxCached
+   *     所允许的缓存中对象的最大数量；若为负数,则不限制缓存的容量。
+   */
+  protected ConcurrentCache(final int maxCached) {
+    this(new ConcurrentCacheOptions<KEY, VALUE>().setMaxWeight(maxCached));
+  }
+
+  /**
+   * 构造一个具有指定配置的 {@link ConcurrentCache}。
+   *
+   * @param options
+   *     缓存的配置,此函数会复制一份该配置。
+   */
+  protected ConcurrentCache(final ConcurrentCacheOptions<KEY, VALUE> options) {
+    this(options, true);
+  }
+
+  /**
+   * 构造一个具有指定配置的 {@link ConcurrentCache}。
+   *
+   * @param options
+   *     缓存的配置,此函数会复制一份该配置。
+   * @param recordLoads
+   *     是否由此缓存记录 {@link #fetchValue(Object)} 的加载统计数据；若为{@code false},
+   *     则由子类通过 {@link #getStatsCounter()} 自行记录。
+   */
+  @SuppressWarnings("unchecked")
+  ConcurrentCache(final ConcurrentCacheOptions<KEY, VALUE> options, final boolean recordLoads) {
+    requireNonNull("options", options);
+    this.options = new ConcurrentCacheOptions<>(options);
+    final long maxWeight = this.options.getMaxWeight();
+    this.bounded = (maxWeight != Long.MAX_VALUE);
+    final int level = Math.min(this.options.getConcurrencyLevel(), MAX_SEGMENTS);
+    int n = 1;
+    while (n < level && (!bounded || maxWeight / (n << 1) >= MIN_SEGMENT_WEIGHT)) {
+      n <<= 1;
+    }
+    this.segments = new Segment[n];
+    for (int i = 0; i < n; ++i) {
+      final long segmentMaxWeight = (bounded ? maxWeight / n + (i < maxWeight % n ? 1 : 0)
+                                             : Long.MAX_VALUE);
+      segments[i] = new Segment<>(segmentMaxWeight, createQueue(segmentMaxWeight));
+    }
+    this.segmentMask = n - 1;
+    this.cached = new ConcurrentHashMap<>(16, 0.75f, n);
+    this.loadings = new ConcurrentHashMap<>(16, 0.75f, n);
+    final Duration refreshAfterWrite = this.options.getRefreshAfterWrite();
+    this.refreshMillis = (refreshAfterWrite == null ? Long.MAX_VALUE : toMillis(refreshAfterWrite));
+    this.timed = (refreshAfterWrite != null)
+        || (this.options.getExpireAfterWrite() != null)
+        || (this.options.getExpiry() != null);
+    this.clock = this.options.getClock();
+    this.executor = this.options.getExecutor();
+    this.stats = (this.options.isRecordStats() ? new ConcurrentStatsCounter()
+                                               : DisabledStatsCounter.INSTANCE);
+    this.recordLoads = recordLoads;
+    this.opened = false;
+  }
+
+  @Nullable
+  private EvictionQueue<KEY, VALUE> createQueue(final long maxWeight) {
+    if (!bounded) {
+      return null;
+    }
+    switch (options.getEvictionPolicy()) {
+      case LFU:
+        return new LfuEvictionQueue<>();
+      case TINY_LFU:
+        return new TinyLfuEvictionQueue<>(maxWeight);
+      case LRU:
+      default:
+        return new LruEvictionQueue<>();
+    }
+  }
+
+  /**
+   * 获取此缓存的配置。
+   *
+   * @return 此缓存的配置的副本。
+   */
+  public ConcurrentCacheOptions<KEY, VALUE> getOptions() {
+    return new ConcurrentCacheOptions<>(options);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>只有当 {@link ConcurrentCacheOptions#isRecordStats()} 为{@code true}时才记录统计数据。
+   */
+  @Override
+  public CacheStats getStats() {
+    return stats.snapshot();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isOpened() {
+    return opened;
+  }
+
+  @Override
+  public synchronized void open() throws IOException {
+    if (opened) {
+      throw new AlreadyOpenedException();
+    }
+    doOpen();
+    opened = true;
+  }
+
+  /**
+   * 执行打开操作。
+   *
+   * <p>实现可以初始化底层数据源, 打开底层数据源, 获取部分或全部数据.
+   *
+   * @throws IOException
+   *           如果发生任何I/O错误.
+   */
+  protected abstract void doOpen() throws IOException;
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>若多个线程同时请求同一个未缓存的键,只有一个线程会调用 {@link #fetchValue(Object)},
+   * 其余线程等待并共享其结果(或异常)。
+   */
+  @Override
+  public VALUE get(final KEY key) throws IOException {
+    checkOpened();
+    requireNonNull("key", key);
+    final CacheNode<KEY, VALUE> node = cached.get(key);
+    if (node != null) {
+      if (!timed) {
+        recordAccess(node);
+        stats.recordHits(1);
+        return node.value;
+      }
+      final long now = clock.millis();
+      if (!node.isExpired(now)) {
+        recordAccess(node);
+        stats.recordHits(1);
+        if (now - node.writeTime >= refreshMillis && node.tryStartRefresh()) {
+          scheduleRefresh(node);
+        }
+        return node.value;
+      }
+      expireNode(node);
+    }
+    stats.recordMisses(1);
+    return load(key);
+  }
+
+  /**
+   * 从底层数据源获取指定键对应的值.
+   *
+   * <p>此函数可能被多个线程同时调用(针对不同的键),也可能在后台刷新时被
+   * {@link ConcurrentCacheOptions#getExecutor() 执行器} 的线程调用,因此实现必须是线程安全的.
+   *
+   * @param key
+   *          要获取的值的键.
+   * @return 从底层数据源获取的指定键对应的值.
+   * @throws IOException
+   *           如果发生任何I/O错误.
+   */
+  protected abstract VALUE fetchValue(KEY key) throws IOException;
+
+  @Override
+  public Collection<VALUE> getAll() throws IOException {
+    checkOpened();
+    final long now = (timed ? clock.millis() : 0L);
+    final List<VALUE> result = new ArrayList<>(cached.size());
+    for (final CacheNode<KEY, VALUE> node : cached.values()) {
+      if (!timed || !node.isExpired(now)) {
+        result.add(node.value);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public Set<KEY> keySet() throws IOException {
+    checkOpened();
+    return Collections.unmodifiableSet(cached.keySet());
+  }
+
+  @Override
+  public boolean containsKey(final KEY key) throws IOException {
+    return cachesKey(key);
+  }
+
+  @Override
+  public boolean cachesKey(final KEY key) throws IOException {
+    checkOpened();
+    requireNonNull("key", key);
+    final CacheNode<KEY, VALUE> node = cached.get(key);
+    return (node != null) && (!timed || !node.isExpired(clock.millis()));
+  }
+
+  /**
+   * 从缓存中获取给定键的值,若该键未被缓存则不从底层数据源获取。
+   *
+   * @param key
+   *     要获取的值的键。
+   * @return 对应于键的缓存值；若该键未被缓存或已过期,则返回{@code null}。
+   * @throws IOException
+   *     如果发生任何I/O错误。
+   */
+  @Nullable
+  public VALUE getIfPresent(final KEY key) throws IOException {
+    checkOpened();
+    requireNonNull("key", key);
+    final CacheNode<KEY, VALUE> node = cached.get(key);
+    if (node != null && (!timed || !node.isExpired(clock.millis()))) {
+      recordAccess(node);
+      stats.recordHits(1);
+      return node.value;
+    }
+    stats.recordMisses(1);
+    return null;
+  }
+
+  /**
+   * 若指定的键既没有被缓存,也没有正在被加载,则将指定的值放入缓存。
+   *
+   * <p>此函数与 {@link #get(Object)} 的加载过程一样在{@code loadings}中登记该键,因此两者
+   * 不会为同一个键各自放入一个值,从而不会重复加载。
+   *
+   * @param key
+   *     缓存对象的键。
+   * @param value
+   *     缓存对象的值。
+   * @return 若放入了指定的值,则返回{@code null}；若该键已被缓存且未过期,则返回以其缓存值完成的
+   *     {@link CompletableFuture}；若该键正在被加载,则返回代表该加载结果的
+   *     {@link CompletableFuture}。
+   */
+  @Nullable
+  CompletableFuture<VALUE> putIfAbsentAndNotLoading(final KEY key, final VALUE value) {
+    final CompletableFuture<VALUE> future = new CompletableFuture<>();
+    final CompletableFuture<VALUE> existing = loadings.putIfAbsent(key, future);
+    if (existing != null) {
+      return existing;
+    }
+    try {
+      final CacheNode<KEY, VALUE> racing = insert(key, value, null, true);
+      future.complete(racing == null ? value : racing.value);
+      return (racing == null ? null : future);
+    } catch (final RuntimeException | Error e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      loadings.remove(key, future);
+    }
+  }
+
+  /**
+   * 若指定的键当前缓存的值是指定的对象,则将其从缓存中删除。
+   *
+   * @param key
+   *     要删除的键。
+   * @param value
+   *     期望的缓存值,使用{@code ==}进行比较。
+   * @return 若删除了该键则返回{@code true}；否则返回{@code false}。
+   */
+  boolean invalidate(final KEY key, final VALUE value) {
+    final Segment<KEY, VALUE> segment = segmentFor(spread(key.hashCode()));
+    segment.lock();
+    try {
+      final CacheNode<KEY, VALUE> node = cached.get(key);
+      if (node != null && node.value == value) {
+        cached.remove(key, node);
+        segment.unlink(node);
+        return true;
+      }
+      return false;
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 获取此缓存用于记录统计数据的计数器。
+   *
+   * @return 此缓存用于记录统计数据的计数器。
+   */
+  StatsCounter getStatsCounter() {
+    return stats;
+  }
+
+  /**
+   * 将指定的键及其对应的值从此缓存中删除。
+   *
+   * @param key
+   *     要删除的键。
+   */
+  public void invalidate(final KEY key) {
+    requireNonNull("key", key);
+    final Segment<KEY, VALUE> segment = segmentFor(spread(key.hashCode()));
+    segment.lock();
+    try {
+      final CacheNode<KEY, VALUE> node = cached.remove(key);
+      if (node != null) {
+        segment.unlink(node);
+      }
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  /**
+   * 删除此缓存中的所有对象。
+   */
+  public void invalidateAll() {
+    for (final Segment<KEY, VALUE> segment : segments) {
+      segment.lock();
+    }
+    try {
+      // 其他线程可能已经读取了某个节点但尚未记录对它的访问,因此必须将所有节点标记为已移出队列,
+      // 否则之后对它的访问记录或删除会基于其失效的链表指针而破坏新的队列
+      for (final CacheNode<KEY, VALUE> node : cached.values()) {
+        node.linked = false;
+      }
+      cached.clear();
+      for (final Segment<KEY, VALUE> segment : segments) {
+        segment.clear();
+      }
+    } finally {
+      for (final Segment<KEY, VALUE> segment : segments) {
+        segment.unlock();
+      }
+    }
+  }
+
+  /**
+   * 删除此缓存中所有已过期的对象。
+   *
+   * <p>已过期的对象在被访问时会被自动删除；对于很少被访问的对象,可以定期调用此函数释放其占用的内存。
+   */
+  public void cleanUp() {
+    if (!timed) {
+      return;
+    }
+    final long now = clock.millis();
+    for (final CacheNode<KEY, VALUE> node : cached.values()) {
+      if (node.isExpired(now)) {
+        expireNode(node);
+      }
+    }
+  }
+
+  /**
+   * 获取此缓存中对象的个数,其中可能包括已过期但尚未删除的对象。
+   *
+   * @return 此缓存中对象的个数。
+   */
+  public int size() {
+    return cached.size();
+  }
+
+  /**
+   * 获取此缓存中所有对象的权重之和,其中可能包括已过期但尚未删除的对象。
+   *
+   * @return 此缓存中所有对象的权重之和。
+   */
+  public long getWeightedSize() {
+    long result = 0;
+    for (final Segment<KEY, VALUE> segment : segments) {
+      segment.lock();
+      try {
+        result += segment.weight;
+      } finally {
+        segment.unlock();
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (!opened) {
+      return;
+    }
+    doClose();
+    opened = false;
+    invalidateAll();
+  }
+
+  /**
+   * 执行关闭操作.
+   *
+   * @throws IOException
+   *           如果发生任何I/O错误.
+   */
+  protected abstract void doClose() throws IOException;
+
+  private void checkOpened() throws NotOpenedException {
+    if (!opened) {
+      throw new NotOpenedException();
+    }
+  }
+
+  private VALUE load(final KEY key) throws IOException {
+    final CompletableFuture<VALUE> future = new CompletableFuture<>();
+    final CompletableFuture<VALUE> existing = loadings.putIfAbsent(key, future);
+    if (existing != null) {
+      return await(existing);
+    }
+    try {
+      // 另一个线程可能在本线程检查缓存之后、登记加载之前完成了加载
+      final CacheNode<KEY, VALUE> node = cached.get(key);
+      final VALUE value;
+      if (node != null && (!timed || !node.isExpired(clock.millis()))) {
+        value = node.value;
+      } else {
+        final VALUE fetched = fetch(key);
+        final CacheNode<KEY, VALUE> racing = insert(key, fetched, null, true);
+        value = (racing == null ? fetched : racing.value);
+      }
+      future.complete(value);
+      return value;
+    } catch (final IOException | RuntimeException | Error e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      loadings.remove(key, future);
+    }
+  }
+
+  private VALUE fetch(final KEY key) throws IOException {
+    if (!recordLoads || !stats.isEnabled()) {
+      return fetchValue(key);
+    }
+    final long start = System.nanoTime();
+    try {
+      final VALUE value = fetchValue(key);
+      stats.recordLoadSuccess(System.nanoTime() - start);
+      return value;
+    } catch (final IOException | RuntimeException | Error e) {
+      stats.recordLoadFailure(System.nanoTime() - start);
+      throw e;
+    }
+  }
+
+  private VALUE await(final CompletableFuture<VALUE> future) throws IOException {
+    try {
+      return future.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for the cached value.");
+    } catch (final ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      } else {
+        throw new IOException(cause);
+      }
+    }
+  }
+
+  /**
+   * 将指定的值放入缓存。
+   *
+   * @param key
+   *     缓存对象的键。
+   * @param value
+   *     缓存对象的值。
+   * @param expected
+   *     若不为{@code null},则只有当缓存中该键当前对应的节点是此节点时才替换。
+   * @param onlyIfAbsent
+   *     若为{@code true},则只有当缓存中该键没有未过期的节点时才放入。
+   * @return 若{@code onlyIfAbsent}为{@code true}且缓存中该键已有未过期的节点,则返回该节点；
+   *     否则返回{@code null}。
+   */
+  @Nullable
+  private CacheNode<KEY, VALUE> insert(final KEY key, final VALUE value,
+      @Nullable final CacheNode<KEY, VALUE> expected, final boolean onlyIfAbsent) {
+    final int hash = spread(key.hashCode());
+    final long now = (timed ? clock.millis() : 0L);
+    final CacheNode<KEY, VALUE> node = new CacheNode<>(key, hash, value,
+        weigh(key, value), now, expireTime(key, value, now));
+    final Segment<KEY, VALUE> segment = segmentFor(hash);
+    segment.lock();
+    try {
+      if (expected != null && cached.get(key) != expected) {
+        return null;
+      }
+      if (onlyIfAbsent) {
+        final CacheNode<KEY, VALUE> existing = cached.get(key);
+        if (existing != null && (!timed || !existing.isExpired(now))) {
+          return existing;
+        }
+      }
+      final CacheNode<KEY, VALUE> old = cached.put(key, node);
+      if (old != null) {
+        segment.unlink(old);
+      }
+      segment.link(node);
+      while (segment.weight > segment.maxWeight) {
+        final CacheNode<KEY, VALUE> victim = segment.queue.victim();
+        if (victim == null) {
+          break;
+        }
+        segment.unlink(victim);
+        cached.remove(victim.key, victim);
+        stats.recordEviction(victim.weight);
+      }
+    } finally {
+      segment.unlock();
+    }
+    return null;
+  }
+
+  private void expireNode(final CacheNode<KEY, VALUE> node) {
+    final Segment<KEY, VALUE> segment = segmentFor(node.hash);
+    segment.lock();
+    try {
+      if (cached.remove(node.key, node)) {
+        segment.unlink(node);
+        stats.recordEviction(node.weight);
+      }
+    } finally {
+      segment.unlock();
+    }
+  }
+
+  private void recordAccess(final CacheNode<KEY, VALUE> node) {
+    if (!bounded) {
+      return;
+    }
+    final Segment<KEY, VALUE> segment = segmentFor(node.hash);
+    // 访问记录允许丢失:若锁正被其他线程持有,则放弃本次记录而不是阻塞等待
+    if (segment.tryLock()) {
+      try {
+        if (node.linked) {
+          segment.queue.access(node);
+        }
+      } finally {
+        segment.unlock();
+      }
+    }
+  }
+
+  private void scheduleRefresh(final CacheNode<KEY, VALUE> node) {
+    try {
+      executor.execute(() -> refresh(node));
+    } catch (final RejectedExecutionException e) {
+      node.endRefresh();
+      logger.warn("Failed to schedule the refreshing of the cached key: {}", node.key, e);
+    }
+  }
+
+  private void refresh(final CacheNode<KEY, VALUE> node) {
+    try {
+      if (opened) {
+        final VALUE value = fetch(node.key);
+        insert(node.key, value, node, false);
+      }
+    } catch (final IOException | RuntimeException e) {
+      logger.error("Failed to refresh the cached key: {}", node.key, e);
+    } finally {
+      node.endRefresh();
+    }
+  }
+
+  private int weigh(final KEY key, final VALUE value) {
+    final Weigher<? super KEY, ? super VALUE> weigher = options.getWeigher();
+    if (weigher == null) {
+      return 1;
+    }
+    final int weight = weigher.weigh(key, value);
+    if (weight < 0) {
+      throw new IllegalStateException("The weight of a cached value must be non-negative: " + weight);
+    }
+    return weight;
+  }
+
+  private long expireTime(final KEY key, final VALUE value, final long now) {
+    Duration ttl = null;
+    final Expiry<? super KEY, ? super VALUE> expiry = options.getExpiry();
+    if (expiry != null) {
+      ttl = expiry.getTimeToLive(key, value);
+    }
+    if (ttl == null) {
+      ttl = options.getExpireAfterWrite();
+    }
+    if (ttl == null) {
+      return Long.MAX_VALUE;
+    }
+    final long millis = toMillis(ttl);
+    return (millis > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + millis);
+  }
+
+  private static long toMillis(final Duration duration) {
+    try {
+      return duration.toMillis();
+    } catch (final ArithmeticException e) {
+      return (duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE);
+    }
+  }
+
+  private Segment<KEY, VALUE> segmentFor(final int hash) {
+    return segments[hash & segmentMask];
+  }
+
+  private static int spread(final int h) {
+    final int x = (h ^ (h >>> 16)) * 0x45d9f3b;
+    return x ^ (x >>> 16);
+  }
+}
@@ -0,0 +1,390 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.annotation.Nullable;
+
+import ltd.qubit.commons.lang.Equality;
+import ltd.qubit.commons.lang.Hash;
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+import static ltd.qubit.commons.lang.Argument.requireNonNull;
+import static ltd.qubit.commons.lang.Argument.requirePositive;
+
+/**
+ * {@link ConcurrentCache} 的配置选项。
+ *
+ * <p><b>注意:</b> 此类<b>不是</b>线程安全的。缓存在构造时会复制一份配置,此后修改配置
+ * 不会影响已构造的缓存。
+ *
+ * @param <KEY>
+ *     缓存的键的类型。
+ * @param <VALUE>
+ *     缓存的值的类型。
+ * @author 胡海星
+ */
+public class ConcurrentCacheOptions<KEY, VALUE> {
+
+  /**
+   * 默认的最大权重, 值为 {@value}, 即不限制缓存的容量。
+   */
+  public static final long DEFAULT_MAX_WEIGHT = Long.MAX_VALUE;
+
+  /**
+   * 默认的并发级别, 值为 {@value}。
+   */
+  public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+  /**
+   * 默认的淘汰策略。
+   */
+  public static final EvictionPolicy DEFAULT_EVICTION_POLICY = EvictionPolicy.LRU;
+
+  private long maxWeight = DEFAULT_MAX_WEIGHT;
+  private int concurrencyLevel = DEFAULT_CONCURRENCY_LEVEL;
+  private EvictionPolicy evictionPolicy = DEFAULT_EVICTION_POLICY;
+  @Nullable
+  private Weigher<? super KEY, ? super VALUE> weigher;
+  @Nullable
+  private Duration expireAfterWrite;
+  @Nullable
+  private Expiry<? super KEY, ? super VALUE> expiry;
+  @Nullable
+  private Duration refreshAfterWrite;
+  private Executor executor = ForkJoinPool.commonPool();
+  private Clock clock = Clock.systemUTC();
+  private boolean recordStats = false;
+
+  /**
+   * 构造一个具有默认设置的 {@link ConcurrentCacheOptions}。
+   */
+  public ConcurrentCacheOptions() {}
+
+  /**
+   * 构造一个 {@link ConcurrentCacheOptions},作为指定配置的副本。
+   *
+   * @param other
+   *     被复制的配置。
+   */
+  public ConcurrentCacheOptions(final ConcurrentCacheOptions<KEY, VALUE> other) {
+    assign(other);
+  }
+
+  /**
+   * 获取缓存的最大权重。
+   *
+   * <p>若未设置 {@link #getWeigher() 权重函数},每个缓存对象的权重都为1,此时最大权重即为
+   * 缓存对象的最大个数。
+   *
+   * @return 缓存的最大权重。
+   */
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  /**
+   * 设置缓存的最大权重。
+   *
+   * @param maxWeight
+   *     新的最大权重；若为负数,则表示不限制缓存的容量。
+   * @return 此对象。
+   */
+  public ConcurrentCacheOptions<KEY, VALUE> setMaxWeight(final long maxWeight) {
+    this.maxWeight = (maxWeight < 0 ? Long.MAX_VALUE : maxWeight);
+    return this;
+  }
+
+  /**
+   * 获取缓存的并发级别,即缓存内部锁分段的个数的上限。
+   *
+   * @return 缓存的并发级别。
+   */
+  public int getConcurrencyLevel() {
+    return concurrencyLevel;
+  }
+
+  /**
+   * 设置缓存的并发级别。
+   *
+   * @param concurrencyLevel
+   *     新的并发级别,必须为正数。
+   * @return 此对象。
+   */
+  public ConcurrentCacheOptions<KEY, VALUE> setConcurrencyLevel(final int concurrencyLevel) {
+    this.concurrencyLevel = requirePositive("concurrencyLevel", concurrencyLevel);
+    return this;
+  }
+
+  /**
+   * 获取缓存的淘汰策略。
+   *
+   * @return 缓存的淘汰策略。
+   */
+  public EvictionPolicy getEvictionPolicy() {
+    return evictionPolicy;
+  }
+
+  /**
+   * 设置缓存的淘汰策略。
+   *
+   * @param evictionPolicy
+   *     新的淘汰策略。
+   * @return 此对象。
+   */
+  public ConcurrentCacheOptions<KEY, VALUE> setEvictionPolicy(final EvictionPolicy evictionPolicy) {
+    this.evictionPolicy = requireNonNull("evictionPolicy", evictionPolicy);
+    return this;
+  }
+
+  /**
+   * 获取计算缓存对象权重的函数。
+   *
+   * @return 计算缓存对象权重的函数；若为{@code null},则每个缓存对象的权重都为1。
+   */
+  @Nullable
+  public Weigher<? super KEY, ? super VALUE> getWeigher() {
+    return weigher;
+  }
+
+  /**
+   * 设置计算缓存对象权重的函数。
+   *
+   * @param weigher
+   *     新的权重函数；若为{@code null},则每个缓存对象的权重都为1。
+   * @return 此对象。
+   */
+  public ConcurrentCacheOptions<KEY, VALUE> setWeigher(
+      @Nullable final Weigher<? super KEY, ? super VALUE> weigher) {
+    this.weigher = weigher;
+    return this;
+  }
+
+  /**
+   * 获取缓存对象写入后的默认生存时间。
+   *
+   * @return 缓存对象写入后的默认生存时间；若为{@code null},则缓存对象永不过期。
+   */
+  @Nullable
+  public Duration getExpireAfterWrite() {
+    return expireAfterWrite;
+  }
+
+  /**
+   * 设置缓存对象写入后的默认生存时间。
+   *
+   * @param expireAfterWrite
+   *     新的默认生存时间；若为{@code null},则缓存对象永不过期。
+   * @return 此对象。
+   */
+  public ConcurrentCacheOptions<KEY, VALUE> setExpireAfterWrite(
+      @Nullable final Duration expireAfterWrite) {
+    this.expireAfterWrite = expireAfterWrite;
+    return this;
+  }
+
+  /**
+   * 获取计算每个缓存对象生存时间的函数。
+   *
+   * @return 计算每个缓存对象生存时间的函数；若为{@code null},则所有缓存对象都使用
+   *     {@link #getExpireAfterWrite()} 作为生存时间。
+   */
+  @Nullable
+  public Expiry<? super KEY, ? super VALUE> getExpiry() {
+    return expiry;
+  }
+
+  /**
+   * 设置计算每个缓存对象生存时间的函数。
+   *
+   * @param expiry
+   *     新的生存时间函数,可以为{@code null}。
+   * @return 此对象。
+   */
+  public ConcurrentCacheOptions<KEY, VALUE> setExpiry(
+      @Nullable final Expiry<? super KEY, ? super VALUE> expiry) {
+    this.expiry = expiry;
+    return this;
+  }
+
+  /**
+   * 获取缓存对象写入后自动刷新的时间间隔。
+   *
+   * <p>缓存对象写入后经过此时间间隔,下一次访问该对象时将在{@link #getExecutor() 执行器}
+   * 中异步地重新获取其值,在刷新完成前仍返回旧值。
+   *
+   * @return 缓存对象写入后自动刷新的时间间隔；若为{@code null},则不自动刷新。
+   */
+  @Nullable
+  public Duration getRefreshAfterWrite() {
+    return refreshAfterWrite;
+  }
+
+  /**
+   * 设置缓存对象写入后自动刷新的时间间隔。
+   *
+   * @param refreshAfterWrite
+   *     新的自动刷新时间间隔；若为{@code null},则不自动刷新。
+   * @return 此对象。
+   */
+  public ConcurrentCacheOptions<KEY, VALUE> setRefreshAfterWrite(
+      @Nullable final Duration refreshAfterWrite) {
+    this.refreshAfterWrite = refreshAfterWrite;
+    return this;
+  }
+
+  /**
+   * 获取执行后台任务(如自动刷新)的执行器。
+   *
+   * @return 执行后台任务的执行器。
+   */
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * 设置执行后台任务(如自动刷新)的执行器。
+   *
+   * @param executor
+   *     新的执行器。
+   * @return 此对象。
+   */
+  public ConcurrentCacheOptions<KEY, VALUE> setExecutor(final Executor executor) {
+    this.executor = requireNonNull("executor", executor);
+    return this;
+  }
+
+  /**
+   * 获取缓存用于计算过期和刷新时间的时钟。
+   *
+   * @return 缓存使用的时钟。
+   */
+  public Clock getClock() {
+    return clock;
+  }
+
+  /**
+   * 设置缓存用于计算过期和刷新时间的时钟。
+   *
+   * @param clock
+   *     新的时钟。
+   * @return 此对象。
+   */
+  public ConcurrentCacheOptions<KEY, VALUE> setClock(final Clock clock) {
+    this.clock = requireNonNull("clock", clock);
+    return this;
+  }
+
+  /**
+   * 测试缓存是否记录统计数据。
+   *
+   * @return 若缓存记录统计数据则返回{@code true}；否则返回{@code false}。
+   */
+  public boolean isRecordStats() {
+    return recordStats;
+  }
+
+  /**
+   * 设置缓存是否记录统计数据。
+   *
+   * <p>默认不记录统计数据,此时缓存的关键路径上没有任何统计开销。
+   *
+   * @param recordStats
+   *     缓存是否记录统计数据。
+   * @return 此对象。
+   * @see ConcurrentCache#getStats()
+   */
+  public ConcurrentCacheOptions<KEY, VALUE> setRecordStats(final boolean recordStats) {
+    this.recordStats = recordStats;
+    return this;
+  }
+
+  /**
+   * 将指定配置的值赋给此对象。
+   *
+   * @param other
+   *     指定的配置。
+   */
+  public void assign(final ConcurrentCacheOptions<KEY, VALUE> other) {
+    if (this == other) {
+      return;
+    }
+    maxWeight = other.maxWeight;
+    concurrencyLevel = other.concurrencyLevel;
+    evictionPolicy = other.evictionPolicy;
+    weigher = other.weigher;
+    expireAfterWrite = other.expireAfterWrite;
+    expiry = other.expiry;
+    refreshAfterWrite = other.refreshAfterWrite;
+    executor = other.executor;
+    clock = other.clock;
+    recordStats = other.recordStats;
+  }
+
+  @Override
+  public int hashCode() {
+    final int multiplier = 31;
+    int code = 3;
+    code = Hash.combine(code, multiplier, maxWeight);
+    code = Hash.combine(code, multiplier, concurrencyLevel);
+    code = Hash.combine(code, multiplier, evictionPolicy);
+    code = Hash.combine(code, multiplier, weigher);
+    code = Hash.combine(code, multiplier, expireAfterWrite);
+    code = Hash.combine(code, multiplier, expiry);
+    code = Hash.combine(code, multiplier, refreshAfterWrite);
+    code = Hash.combine(code, multiplier, executor);
+    code = Hash.combine(code, multiplier, clock);
+    code = Hash.combine(code, multiplier, recordStats);
+    return code;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+    final ConcurrentCacheOptions<?, ?> other = (ConcurrentCacheOptions<?, ?>) obj;
+    return (maxWeight == other.maxWeight)
+        && (concurrencyLevel == other.concurrencyLevel)
+        && (evictionPolicy == other.evictionPolicy)
+        && Equality.equals(weigher, other.weigher)
+        && Equality.equals(expireAfterWrite, other.expireAfterWrite)
+        && Equality.equals(expiry, other.expiry)
+        && Equality.equals(refreshAfterWrite, other.refreshAfterWrite)
+        && Equality.equals(executor, other.executor)
+        && Equality.equals(clock, other.clock)
+        && (recordStats == other.recordStats);
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("maxWeight", maxWeight)
+        .append("concurrencyLevel", concurrencyLevel)
+        .append("evictionPolicy", evictionPolicy)
+        .append("weigher", weigher)
+        .append("expireAfterWrite", expireAfterWrite)
+        .append("expiry", expiry)
+        .append("refreshAfterWrite", refreshAfterWrite)
+        .append("executor", executor)
+        .append("clock", clock)
+        .append("recordStats", recordStats)
+        .toString();
+  }
+}
@@ -0,0 +1,109 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import ltd.qubit.commons.text.tostring.ToStringBuilder;
+
+/**
+ * 使用 {@link LongAdder} 实现的线程安全的 {@link StatsCounter}。
+ *
+ * <p>{@link LongAdder} 在多个线程同时更新时将计数分散到多个单元,避免了对同一内存位置的竞争。
+ * 加载耗时按照 2 的幂次划分到 {@value CacheStats#LATENCY_BUCKETS} 个桶中,形成一个对数直方图,
+ * 用于估计加载耗时的分位数。
+ *
+ * @author 胡海星
+ */
+@ThreadSafe
+public final class ConcurrentStatsCounter implements StatsCounter {
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder loadSuccessCount = new LongAdder();
+  private final LongAdder loadFailureCount = new LongAdder();
+  private final LongAdder totalLoadTime = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+  private final LongAdder evictionWeight = new LongAdder();
+  private final LongAdder[] loadLatencies;
+
+  /**
+   * 构造一个 {@link ConcurrentStatsCounter}。
+   */
+  public ConcurrentStatsCounter() {
+    loadLatencies = new LongAdder[CacheStats.LATENCY_BUCKETS];
+    for (int i = 0; i < loadLatencies.length; ++i) {
+      loadLatencies[i] = new LongAdder();
+    }
+  }
+
+  @Override
+  public void recordHits(final int count) {
+    hitCount.add(count);
+  }
+
+  @Override
+  public void recordMisses(final int count) {
+    missCount.add(count);
+  }
+
+  @Override
+  public void recordLoadSuccess(final long loadTime) {
+    loadSuccessCount.increment();
+    recordLoadTime(loadTime);
+  }
+
+  @Override
+  public void recordLoadFailure(final long loadTime) {
+    loadFailureCount.increment();
+    recordLoadTime(loadTime);
+  }
+
+  private void recordLoadTime(final long loadTime) {
+    totalLoadTime.add(loadTime);
+    loadLatencies[CacheStats.latencyBucketOf(loadTime)].increment();
+  }
+
+  @Override
+  public void recordEviction(final int weight) {
+    evictionCount.increment();
+    evictionWeight.add(weight);
+  }
+
+  @Override
+  public void recordEvictions(final int count, final long weight) {
+    evictionCount.add(count);
+    evictionWeight.add(weight);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>快照中的各项计数是分别读取的,在并发更新时它们之间可能不完全一致。
+   */
+  @Override
+  public CacheStats snapshot() {
+    final long[] histogram = new long[loadLatencies.length];
+    for (int i = 0; i < histogram.length; ++i) {
+      histogram[i] = loadLatencies[i].sum();
+    }
+    return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(),
+        loadFailureCount.sum(), totalLoadTime.sum(), evictionCount.sum(),
+        evictionWeight.sum(), histogram);
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("stats", snapshot())
+        .toString();
+  }
+}
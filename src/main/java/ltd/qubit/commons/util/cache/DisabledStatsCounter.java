@@ -0,0 +1,63 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * 不记录任何统计数据的 {@link StatsCounter}。
+ *
+ * <p>所有方法都是空操作,缓存在检测到 {@link #isEnabled()} 为{@code false}时也不会为统计读取
+ * 系统时间,因此不会带来额外开销。
+ *
+ * @author 胡海星
+ */
+@Immutable
+public final class DisabledStatsCounter implements StatsCounter {
+
+  /**
+   * 此类的唯一实例。
+   */
+  public static final DisabledStatsCounter INSTANCE = new DisabledStatsCounter();
+
+  private DisabledStatsCounter() {}
+
+  @Override
+  public boolean isEnabled() {
+    return false;
+  }
+
+  @Override
+  public void recordHits(final int count) {}
+
+  @Override
+  public void recordMisses(final int count) {}
+
+  @Override
+  public void recordLoadSuccess(final long loadTime) {}
+
+  @Override
+  public void recordLoadFailure(final long loadTime) {}
+
+  @Override
+  public void recordEviction(final int weight) {}
+
+  @Override
+  public void recordEvictions(final int count, final long weight) {}
+
+  @Override
+  public CacheStats snapshot() {
+    return CacheStats.EMPTY;
+  }
+
+  @Override
+  public String toString() {
+    return "DisabledStatsCounter";
+  }
+}
@@ -0,0 +1,41 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+/**
+ * 此枚举表示 {@link ConcurrentCache} 的淘汰策略。
+ *
+ * @author 胡海星
+ */
+public enum EvictionPolicy {
+
+  /**
+   * 最近最少使用(Least Recently Used)策略。
+   *
+   * <p>当缓存超出容量时,淘汰最长时间未被访问的对象。
+   */
+  LRU,
+
+  /**
+   * 最不经常使用(Least Frequently Used)策略。
+   *
+   * <p>当缓存超出容量时,淘汰访问次数最少的对象；访问次数相同时,淘汰最长时间未被访问的对象。
+   */
+  LFU,
+
+  /**
+   * W-TinyLFU 策略。
+   *
+   * <p>新对象首先进入一个很小的 LRU 窗口区；对象离开窗口区时,通过一个近似频率统计
+   * (Count-Min Sketch)与主区中的候选淘汰对象进行比较,只有访问频率更高的对象才能进入
+   * 主区。主区采用分段 LRU (SLRU)组织。该策略对扫描型访问具有较好的抵抗力,命中率通常
+   * 高于 LRU 和 LFU。
+   */
+  TINY_LFU,
+}
@@ -0,0 +1,59 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+/**
+ * {@link ConcurrentCache} 的一个分段所使用的淘汰队列。
+ *
+ * <p>淘汰队列记录缓存节点的访问历史,并在缓存超出容量时选择被淘汰的节点。
+ * 所有方法都由分段的锁保护,实现不需要是线程安全的。
+ *
+ * @author 胡海星
+ */
+interface EvictionQueue<KEY, VALUE> {
+
+  /**
+   * 将新放入缓存的节点加入此队列。
+   *
+   * @param node
+   *     新放入缓存的节点。
+   */
+  void add(CacheNode<KEY, VALUE> node);
+
+  /**
+   * 记录对队列中节点的一次访问。
+   *
+   * @param node
+   *     被访问的节点,必须在此队列中。
+   */
+  void access(CacheNode<KEY, VALUE> node);
+
+  /**
+   * 将节点从此队列中移除。
+   *
+   * @param node
+   *     要移除的节点,必须在此队列中。
+   */
+  void remove(CacheNode<KEY, VALUE> node);
+
+  /**
+   * 选择下一个被淘汰的节点。
+   *
+   * <p>此函数只选择节点,并不将其从队列中移除；调用者随后应调用 {@link #remove(CacheNode)}。
+   * 实现可以在选择过程中调整队列内部的结构。
+   *
+   * @return 下一个被淘汰的节点；若队列为空则返回{@code null}。
+   */
+  CacheNode<KEY, VALUE> victim();
+
+  /**
+   * 清空此队列。
+   */
+  void clear();
+}
@@ -0,0 +1,41 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+import java.time.Duration;
+
+import javax.annotation.Nullable;
+
+/**
+ * 计算缓存对象生存时间的函数接口。
+ *
+ * <p>通过此接口可以为每个缓存对象单独指定生存时间(TTL)。
+ *
+ * @param <KEY>
+ *     缓存的键的类型。
+ * @param <VALUE>
+ *     缓存的值的类型。
+ * @author 胡海星
+ */
+@FunctionalInterface
+public interface Expiry<KEY, VALUE> {
+
+  /**
+   * 计算指定缓存对象在写入后的生存时间。
+   *
+   * @param key
+   *     缓存对象的键。
+   * @param value
+   *     缓存对象的值,可能为{@code null}。
+   * @return 该缓存对象在写入后的生存时间；若为{@code null},则使用缓存的默认设置
+   *     {@link ConcurrentCacheOptions#getExpireAfterWrite()}。
+   */
+  @Nullable
+  Duration getTimeToLive(KEY key, @Nullable VALUE value);
+}
@@ -0,0 +1,115 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+/**
+ * 一个近似统计元素访问频率的 Count-Min Sketch。
+ *
+ * <p>每个元素的频率由 4 个 4 位计数器估计,因此单个元素的频率最大为 15。当记录的访问次数
+ * 达到采样周期时,所有计数器减半,从而使频率统计随时间老化,能够反映访问模式的变化。
+ *
+ * <p>此类不是线程安全的,由调用者负责同步。
+ *
+ * @author 胡海星
+ */
+final class FrequencySketch {
+
+  private static final long[] SEEDS = {
+      0xc3a5c85c97cb3127L,
+      0xb492b66fbe98f273L,
+      0x9ae16a3b2f90404fL,
+      0xcbf29ce484222325L,
+  };
+
+  private static final long RESET_MASK = 0x7777777777777777L;
+
+  private static final long ONE_MASK = 0x1111111111111111L;
+
+  private static final int MAX_TABLE_SIZE = 1 << 24;
+
+  private final long[] table;
+  private final int tableMask;
+  private final int sampleSize;
+  private int size;
+
+  /**
+   * 构造一个 {@link FrequencySketch}。
+   *
+   * @param maximumSize
+   *     期望统计的不同元素的最大个数。
+   */
+  FrequencySketch(final long maximumSize) {
+    final int capacity = (int) Math.min(Math.max(maximumSize, 16), MAX_TABLE_SIZE);
+    final int length = Integer.highestOneBit(capacity - 1) << 1;
+    table = new long[length];
+    tableMask = length - 1;
+    sampleSize = 10 * length;
+  }
+
+  /**
+   * 估计指定元素的访问频率。
+   *
+   * @param hash
+   *     元素的散列值。
+   * @return 元素访问频率的估计值,取值范围为 [0, 15]。
+   */
+  int frequency(final int hash) {
+    final int start = (hash & 3) << 2;
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; ++i) {
+      final int index = indexOf(hash, i);
+      final int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * 将指定元素的访问频率加一。
+   *
+   * @param hash
+   *     元素的散列值。
+   */
+  void increment(final int hash) {
+    final int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; ++i) {
+      final int index = indexOf(hash, i);
+      added |= incrementAt(index, start + i);
+    }
+    if (added && (++size == sampleSize)) {
+      reset();
+    }
+  }
+
+  private boolean incrementAt(final int index, final int counter) {
+    final int offset = counter << 2;
+    final long mask = (0xfL << offset);
+    if ((table[index] & mask) != mask) {
+      table[index] += (1L << offset);
+      return true;
+    }
+    return false;
+  }
+
+  private int indexOf(final int hash, final int i) {
+    long h = (hash + SEEDS[i]) * SEEDS[i];
+    h += (h >>> 32);
+    return ((int) h) & tableMask;
+  }
+
+  private void reset() {
+    int odd = 0;
+    for (int i = 0; i < table.length; ++i) {
+      odd += Long.bitCount(table[i] & ONE_MASK);
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    size = (size >>> 1) - (odd >>> 2);
+  }
+}
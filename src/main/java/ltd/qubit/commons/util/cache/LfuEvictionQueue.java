@@ -0,0 +1,118 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+/**
+ * 实现 {@link EvictionPolicy#LFU} 策略的淘汰队列。
+ *
+ * <p>节点按照访问次数分组放入频率桶中,频率桶按访问次数递增的顺序链接,每个桶内的节点按
+ * 最近访问时间排序。因此添加、访问、删除和选择淘汰节点的时间复杂度都是 O(1)。
+ *
+ * @author 胡海星
+ */
+final class LfuEvictionQueue<KEY, VALUE> implements EvictionQueue<KEY, VALUE> {
+
+  private static final class Bucket<KEY, VALUE> {
+    final long frequency;
+    final NodeList<KEY, VALUE> nodes = new NodeList<>();
+    Bucket<KEY, VALUE> prev;
+    Bucket<KEY, VALUE> next;
+
+    Bucket(final long frequency) {
+      this.frequency = frequency;
+    }
+  }
+
+  /**
+   * 访问次数最少的频率桶。
+   */
+  private Bucket<KEY, VALUE> first;
+
+  @Override
+  public void add(final CacheNode<KEY, VALUE> node) {
+    Bucket<KEY, VALUE> bucket = first;
+    if (bucket == null || bucket.frequency != 1) {
+      bucket = new Bucket<>(1);
+      linkAfter(null, bucket);
+    }
+    bucket.nodes.addLast(node);
+    node.owner = bucket;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void access(final CacheNode<KEY, VALUE> node) {
+    final Bucket<KEY, VALUE> bucket = (Bucket<KEY, VALUE>) node.owner;
+    if (bucket.frequency == Long.MAX_VALUE) {
+      bucket.nodes.moveToLast(node);
+      return;
+    }
+    Bucket<KEY, VALUE> next = bucket.next;
+    if (next == null || next.frequency != bucket.frequency + 1) {
+      next = new Bucket<>(bucket.frequency + 1);
+      linkAfter(bucket, next);
+    }
+    bucket.nodes.remove(node);
+    next.nodes.addLast(node);
+    node.owner = next;
+    if (bucket.nodes.isEmpty()) {
+      unlink(bucket);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void remove(final CacheNode<KEY, VALUE> node) {
+    final Bucket<KEY, VALUE> bucket = (Bucket<KEY, VALUE>) node.owner;
+    bucket.nodes.remove(node);
+    node.owner = null;
+    if (bucket.nodes.isEmpty()) {
+      unlink(bucket);
+    }
+  }
+
+  @Override
+  public CacheNode<KEY, VALUE> victim() {
+    return (first == null ? null : first.nodes.head);
+  }
+
+  @Override
+  public void clear() {
+    first = null;
+  }
+
+  private void linkAfter(final Bucket<KEY, VALUE> prev, final Bucket<KEY, VALUE> bucket) {
+    final Bucket<KEY, VALUE> next = (prev == null ? first : prev.next);
+    bucket.prev = prev;
+    bucket.next = next;
+    if (prev == null) {
+      first = bucket;
+    } else {
+      prev.next = bucket;
+    }
+    if (next != null) {
+      next.prev = bucket;
+    }
+  }
+
+  private void unlink(final Bucket<KEY, VALUE> bucket) {
+    final Bucket<KEY, VALUE> prev = bucket.prev;
+    final Bucket<KEY, VALUE> next = bucket.next;
+    if (prev == null) {
+      first = next;
+    } else {
+      prev.next = next;
+    }
+    if (next != null) {
+      next.prev = prev;
+    }
+    bucket.prev = null;
+    bucket.next = null;
+  }
+}
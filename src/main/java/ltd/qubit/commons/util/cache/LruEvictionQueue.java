@@ -0,0 +1,44 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+/**
+ * 实现 {@link EvictionPolicy#LRU} 策略的淘汰队列。
+ *
+ * @author 胡海星
+ */
+final class LruEvictionQueue<KEY, VALUE> implements EvictionQueue<KEY, VALUE> {
+
+  private final NodeList<KEY, VALUE> list = new NodeList<>();
+
+  @Override
+  public void add(final CacheNode<KEY, VALUE> node) {
+    list.addLast(node);
+  }
+
+  @Override
+  public void access(final CacheNode<KEY, VALUE> node) {
+    list.moveToLast(node);
+  }
+
+  @Override
+  public void remove(final CacheNode<KEY, VALUE> node) {
+    list.remove(node);
+  }
+
+  @Override
+  public CacheNode<KEY, VALUE> victim() {
+    return list.head;
+  }
+
+  @Override
+  public void clear() {
+    list.clear();
+  }
+}
@@ -0,0 +1,70 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+/**
+ * 由 {@link CacheNode} 组成的侵入式双向链表,并记录链表中节点的权重之和。
+ *
+ * <p>此类不是线程安全的,由调用者负责同步。
+ *
+ * @author 胡海星
+ */
+final class NodeList<KEY, VALUE> {
+
+  CacheNode<KEY, VALUE> head;
+  CacheNode<KEY, VALUE> tail;
+  long weight;
+
+  boolean isEmpty() {
+    return head == null;
+  }
+
+  void addLast(final CacheNode<KEY, VALUE> node) {
+    node.prev = tail;
+    node.next = null;
+    if (tail == null) {
+      head = node;
+    } else {
+      tail.next = node;
+    }
+    tail = node;
+    weight += node.weight;
+  }
+
+  void remove(final CacheNode<KEY, VALUE> node) {
+    final CacheNode<KEY, VALUE> prev = node.prev;
+    final CacheNode<KEY, VALUE> next = node.next;
+    if (prev == null) {
+      head = next;
+    } else {
+      prev.next = next;
+    }
+    if (next == null) {
+      tail = prev;
+    } else {
+      next.prev = prev;
+    }
+    node.prev = null;
+    node.next = null;
+    weight -= node.weight;
+  }
+
+  void moveToLast(final CacheNode<KEY, VALUE> node) {
+    if (node != tail) {
+      remove(node);
+      addLast(node);
+    }
+  }
+
+  void clear() {
+    head = null;
+    tail = null;
+    weight = 0;
+  }
+}
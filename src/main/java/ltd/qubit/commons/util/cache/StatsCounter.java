@@ -0,0 +1,90 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+/**
+ * 记录缓存统计数据的接口。
+ *
+ * <p>缓存在命中、未命中、加载和淘汰时调用此接口的方法,实现必须是线程安全的,且应当尽量降低
+ * 开销,因为这些方法位于缓存访问的关键路径上。
+ *
+ * @author 胡海星
+ * @see ConcurrentStatsCounter
+ * @see DisabledStatsCounter
+ */
+public interface StatsCounter {
+
+  /**
+   * 测试此计数器是否真正记录统计数据。
+   *
+   * <p>若此函数返回{@code false},缓存可以跳过为统计而进行的额外计算(例如读取系统时间)。
+   *
+   * @return 若此计数器记录统计数据则返回{@code true}；否则返回{@code false}。
+   */
+  default boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * 记录缓存命中。
+   *
+   * @param count
+   *     命中的次数。
+   */
+  void recordHits(int count);
+
+  /**
+   * 记录缓存未命中。
+   *
+   * @param count
+   *     未命中的次数。
+   */
+  void recordMisses(int count);
+
+  /**
+   * 记录一次成功的加载,即一次成功的 {@code fetchValue} 调用。
+   *
+   * @param loadTime
+   *     加载所用的时间,单位为纳秒。
+   */
+  void recordLoadSuccess(long loadTime);
+
+  /**
+   * 记录一次失败的加载,即一次抛出异常的 {@code fetchValue} 调用。
+   *
+   * @param loadTime
+   *     加载所用的时间,单位为纳秒。
+   */
+  void recordLoadFailure(long loadTime);
+
+  /**
+   * 记录一次淘汰,包括因容量限制淘汰和因过期删除。
+   *
+   * @param weight
+   *     被淘汰对象的权重。
+   */
+  void recordEviction(int weight);
+
+  /**
+   * 记录多次淘汰,包括因容量限制淘汰和因过期删除。
+   *
+   * @param count
+   *     被淘汰对象的个数。
+   * @param weight
+   *     被淘汰对象的权重之和。
+   */
+  void recordEvictions(int count, long weight);
+
+  /**
+   * 获取此计数器当前统计数据的快照。
+   *
+   * @return 当前统计数据的快照。
+   */
+  CacheStats snapshot();
+}
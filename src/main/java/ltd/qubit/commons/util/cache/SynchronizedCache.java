@@ -92,6 +92,14 @@ public final class SynchronizedCache<KEY, VALUE> implements Cache<KEY, VALUE> {
     return cache.cachesKey(key);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public CacheStats getStats() {
+    return cache.getStats();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -0,0 +1,139 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+/**
+ * 实现 {@link EvictionPolicy#TINY_LFU} 策略的淘汰队列。
+ *
+ * <p>队列分为三个部分:
+ * <ul>
+ *   <li>窗口区(window):占总容量的 1%,采用 LRU 策略,所有新节点首先进入此区；</li>
+ *   <li>试用区(probation):主区中只被访问过一次的节点；</li>
+ *   <li>保护区(protected):主区中被再次访问过的节点,最多占主区容量的 80%。</li>
+ * </ul>
+ * 当缓存超出容量时,窗口区中最久未访问的节点(候选者)与试用区中最久未访问的节点(受害者)
+ * 进行比较,由 {@link FrequencySketch} 估计二者的访问频率,频率更高者留在缓存中。
+ *
+ * @author 胡海星
+ */
+final class TinyLfuEvictionQueue<KEY, VALUE> implements EvictionQueue<KEY, VALUE> {
+
+  private static final int WINDOW = 0;
+  private static final int PROBATION = 1;
+  private static final int PROTECTED = 2;
+
+  private static final int WINDOW_PERCENT = 1;
+  private static final int PROTECTED_PERCENT = 80;
+
+  private final NodeList<KEY, VALUE> window = new NodeList<>();
+  private final NodeList<KEY, VALUE> probation = new NodeList<>();
+  private final NodeList<KEY, VALUE> protect = new NodeList<>();
+  private final FrequencySketch sketch;
+  private final long maxWindow;
+  private final long maxMain;
+  private final long maxProtected;
+
+  /**
+   * 构造一个 {@link TinyLfuEvictionQueue}。
+   *
+   * @param maxWeight
+   *     此队列所在分段的最大权重。
+   */
+  TinyLfuEvictionQueue(final long maxWeight) {
+    maxWindow = Math.max(1, maxWeight / 100 * WINDOW_PERCENT);
+    maxMain = Math.max(0, maxWeight - maxWindow);
+    maxProtected = maxMain / 100 * PROTECTED_PERCENT;
+    sketch = new FrequencySketch(maxWeight);
+  }
+
+  @Override
+  public void add(final CacheNode<KEY, VALUE> node) {
+    sketch.increment(node.hash);
+    node.queue = WINDOW;
+    window.addLast(node);
+    // 主区尚有空闲时,直接将窗口区溢出的节点移入试用区
+    while (window.weight > maxWindow && window.head != node) {
+      final CacheNode<KEY, VALUE> candidate = window.head;
+      if (probation.weight + protect.weight + candidate.weight > maxMain) {
+        break;
+      }
+      window.remove(candidate);
+      candidate.queue = PROBATION;
+      probation.addLast(candidate);
+    }
+  }
+
+  @Override
+  public void access(final CacheNode<KEY, VALUE> node) {
+    sketch.increment(node.hash);
+    switch (node.queue) {
+      case WINDOW:
+        window.moveToLast(node);
+        break;
+      case PROBATION:
+        probation.remove(node);
+        node.queue = PROTECTED;
+        protect.addLast(node);
+        while (protect.weight > maxProtected && protect.head != node) {
+          final CacheNode<KEY, VALUE> demoted = protect.head;
+          protect.remove(demoted);
+          demoted.queue = PROBATION;
+          probation.addLast(demoted);
+        }
+        break;
+      default:
+        protect.moveToLast(node);
+        break;
+    }
+  }
+
+  @Override
+  public void remove(final CacheNode<KEY, VALUE> node) {
+    switch (node.queue) {
+      case WINDOW:
+        window.remove(node);
+        break;
+      case PROBATION:
+        probation.remove(node);
+        break;
+      default:
+        protect.remove(node);
+        break;
+    }
+  }
+
+  @Override
+  public CacheNode<KEY, VALUE> victim() {
+    final CacheNode<KEY, VALUE> victim = (probation.isEmpty() ? protect.head : probation.head);
+    if (window.weight <= maxWindow || window.isEmpty()) {
+      // 窗口区未溢出,从主区淘汰
+      return (victim != null ? victim : window.head);
+    }
+    final CacheNode<KEY, VALUE> candidate = window.head;
+    if (victim == null) {
+      return candidate;
+    }
+    // TinyLFU 准入:候选者频率更高时进入试用区,否则淘汰候选者
+    if (sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+      window.remove(candidate);
+      candidate.queue = PROBATION;
+      probation.addLast(candidate);
+      return victim;
+    } else {
+      return candidate;
+    }
+  }
+
+  @Override
+  public void clear() {
+    window.clear();
+    probation.clear();
+    protect.clear();
+  }
+}
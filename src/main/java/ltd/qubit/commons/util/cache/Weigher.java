@@ -0,0 +1,37 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+/**
+ * 计算缓存对象权重的函数接口。
+ *
+ * <p>{@link ConcurrentCache} 根据对象权重之和(而非对象个数)来限制缓存容量。
+ *
+ * @param <KEY>
+ *     缓存的键的类型。
+ * @param <VALUE>
+ *     缓存的值的类型。
+ * @author 胡海星
+ */
+@FunctionalInterface
+public interface Weigher<KEY, VALUE> {
+
+  /**
+   * 计算指定缓存对象的权重。
+   *
+   * <p>权重在对象被放入缓存时计算一次,此后不再改变。
+   *
+   * @param key
+   *     缓存对象的键。
+   * @param value
+   *     缓存对象的值,可能为{@code null}。
+   * @return 该缓存对象的权重,必须是非负数。
+   */
+  int weigh(KEY key, VALUE value);
+}
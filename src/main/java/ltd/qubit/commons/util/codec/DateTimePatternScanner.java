@@ -0,0 +1,412 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.codec;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A hand-written scanner which parses the texts of a simple date time pattern
+ * in a single pass, without creating the intermediate objects of a
+ * {@link DateTimeFormatter}.
+ *
+ * <p>Only a subset of the pattern syntax of {@link DateTimeFormatter} is
+ * supported: the year {@code uuuu}, the fields {@code M}, {@code MM}, {@code d},
+ * {@code dd}, {@code H}, {@code HH}, {@code m}, {@code mm}, {@code s},
+ * {@code ss}, the fraction of second {@code S...}, literal characters, quoted
+ * literals and optional sections. The scanner emulates the strict parsing and
+ * the {@link java.time.format.ResolverStyle#SMART SMART} resolving of the
+ * formatter created by {@link DateTimeFormatter#ofPattern(String)} from the
+ * same pattern. For the rare texts whose result it cannot decide by itself
+ * (e.g., signed years or the end-of-day time {@code 24:00}), the scanner
+ * returns {@code null} and the caller should fall back to the formatter.</p>
+ *
+ * @author Haixing Hu
+ */
+@Immutable
+final class DateTimePatternScanner {
+
+  /**
+   * The result returned by {@link #scan(CharSequence)} if the text does not
+   * match the pattern. It is compared by identity.
+   */
+  static final LocalDateTime MISMATCH = LocalDateTime.of(LocalDate.MIN, LocalTime.MIN);
+
+  private static final int YEAR = 0;
+  private static final int MONTH = 1;
+  private static final int DAY = 2;
+  private static final int HOUR = 3;
+  private static final int MINUTE = 4;
+  private static final int SECOND = 5;
+  private static final int NANO = 6;
+  private static final int FIELD_COUNT = 7;
+
+  /**
+   * The index of the bit mask of the parsed fields in the array of values.
+   */
+  private static final int MASK = FIELD_COUNT;
+
+  private static final int DATE_MASK = (1 << YEAR) | (1 << MONTH) | (1 << DAY);
+
+  /**
+   * The returned position indicating the result cannot be decided.
+   */
+  private static final int UNSURE = Integer.MIN_VALUE;
+
+  private static final int MAX_DIGITS = 19;
+
+  private static final int[] POWERS_OF_TEN = {
+      1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000, 1000000000,
+  };
+
+  private static final int LITERAL = 0;
+  private static final int NUMBER = 1;
+  private static final int FRACTION = 2;
+  private static final int OPTIONAL = 3;
+
+  /**
+   * An element of a compiled pattern.
+   */
+  private static final class Token {
+    final int kind;
+    final int field;
+    final int minWidth;
+    final int maxWidth;
+    final char literal;
+    final Token[] children;
+
+    Token(final int kind, final int field, final int minWidth, final int maxWidth,
+        final char literal, final Token[] children) {
+      this.kind = kind;
+      this.field = field;
+      this.minWidth = minWidth;
+      this.maxWidth = maxWidth;
+      this.literal = literal;
+      this.children = children;
+    }
+
+    boolean isValue() {
+      return (kind == NUMBER) || (kind == FRACTION);
+    }
+  }
+
+  private final Token[] tokens;
+
+  private DateTimePatternScanner(final Token[] tokens) {
+    this.tokens = tokens;
+  }
+
+  /**
+   * Compiles a date time pattern into a scanner.
+   *
+   * @param pattern
+   *     the pattern, in the syntax of {@link DateTimeFormatter#ofPattern(String)}.
+   * @return
+   *     the scanner of the pattern, or {@code null} if the pattern is not
+   *     supported by this scanner.
+   */
+  @Nullable
+  static DateTimePatternScanner compile(final String pattern) {
+    final List<List<Token>> stack = new ArrayList<>();
+    stack.add(new ArrayList<>());
+    int fields = 0;
+    final int n = pattern.length();
+    int pos = 0;
+    while (pos < n) {
+      final char ch = pattern.charAt(pos);
+      final List<Token> current = stack.get(stack.size() - 1);
+      if ((ch >= 'A' && ch <= 'Z') || (ch >= 'a' && ch <= 'z')) {
+        int end = pos + 1;
+        while (end < n && pattern.charAt(end) == ch) {
+          ++end;
+        }
+        final Token token = createField(ch, end - pos);
+        if (token == null || (fields & (1 << token.field)) != 0) {
+          return null;
+        }
+        fields |= (1 << token.field);
+        //  adjacent value parsing is not supported
+        if (!current.isEmpty() && current.get(current.size() - 1).isValue()) {
+          return null;
+        }
+        current.add(token);
+        pos = end;
+      } else if (ch == '\'') {
+        ++pos;
+        final int start = current.size();
+        for (;;) {
+          if (pos >= n) {
+            return null;
+          }
+          final char c = pattern.charAt(pos++);
+          if (c == '\'') {
+            if (pos < n && pattern.charAt(pos) == '\'') {
+              current.add(literal('\''));
+              ++pos;
+            } else {
+              break;
+            }
+          } else {
+            current.add(literal(c));
+          }
+        }
+        if (current.size() == start) {
+          //  the quoted "''" is a single quote literal
+          current.add(literal('\''));
+        }
+      } else if (ch == '[') {
+        stack.add(new ArrayList<>());
+        ++pos;
+      } else if (ch == ']') {
+        if (stack.size() == 1) {
+          return null;
+        }
+        final List<Token> children = stack.remove(stack.size() - 1);
+        stack.get(stack.size() - 1).add(new Token(OPTIONAL, -1, 0, 0, '\0',
+            children.toArray(new Token[0])));
+        ++pos;
+      } else if (ch == '{' || ch == '}' || ch == '#') {
+        return null;
+      } else {
+        current.add(literal(ch));
+        ++pos;
+      }
+    }
+    //  optional sections are closed at the end of the pattern
+    while (stack.size() > 1) {
+      final List<Token> children = stack.remove(stack.size() - 1);
+      stack.get(stack.size() - 1).add(new Token(OPTIONAL, -1, 0, 0, '\0',
+          children.toArray(new Token[0])));
+    }
+    return new DateTimePatternScanner(stack.get(0).toArray(new Token[0]));
+  }
+
+  private static Token literal(final char ch) {
+    return new Token(LITERAL, -1, 0, 0, ch, null);
+  }
+
+  @Nullable
+  private static Token createField(final char letter, final int count) {
+    switch (letter) {
+      case 'u':
+        return (count == 4 ? new Token(NUMBER, YEAR, 4, MAX_DIGITS, '\0', null) : null);
+      case 'M':
+        return createNumber(MONTH, count);
+      case 'd':
+        return createNumber(DAY, count);
+      case 'H':
+        return createNumber(HOUR, count);
+      case 'm':
+        return createNumber(MINUTE, count);
+      case 's':
+        return createNumber(SECOND, count);
+      case 'S':
+        return (count <= 9 ? new Token(FRACTION, NANO, count, count, '\0', null) : null);
+      default:
+        return null;
+    }
+  }
+
+  @Nullable
+  private static Token createNumber(final int field, final int count) {
+    switch (count) {
+      case 1:
+        return new Token(NUMBER, field, 1, MAX_DIGITS, '\0', null);
+      case 2:
+        return new Token(NUMBER, field, 2, 2, '\0', null);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Parses a text.
+   *
+   * @param text
+   *     the text to be parsed.
+   * @return
+   *     the parsed date time, where a parsed date without time is at the start
+   *     of the day; or {@link #MISMATCH} if the formatter of the pattern would
+   *     fail to parse the text; or {@code null} if the result cannot be decided
+   *     by this scanner.
+   */
+  @Nullable
+  LocalDateTime scan(final CharSequence text) {
+    final int[] values = new int[FIELD_COUNT + 1];
+    final int pos = parse(tokens, text, 0, values);
+    if (pos == UNSURE) {
+      return null;
+    }
+    if (pos != text.length()) {
+      return MISMATCH;
+    }
+    return resolve(values);
+  }
+
+  private static int parse(final Token[] tokens, final CharSequence text,
+      final int position, final int[] values) {
+    int pos = position;
+    for (final Token token : tokens) {
+      switch (token.kind) {
+        case LITERAL:
+          if (pos < text.length() && text.charAt(pos) == token.literal) {
+            ++pos;
+          } else {
+            return ~pos;
+          }
+          break;
+        case NUMBER:
+          pos = parseNumber(token, text, pos, values);
+          break;
+        case FRACTION:
+          pos = parseFraction(token, text, pos, values);
+          break;
+        default: {  // OPTIONAL
+          final int mask = values[MASK];
+          final int result = parse(token.children, text, pos, values);
+          if (result == UNSURE) {
+            return UNSURE;
+          } else if (result < 0) {
+            values[MASK] = mask;
+          } else {
+            pos = result;
+          }
+          break;
+        }
+      }
+      if (pos < 0) {
+        return pos;
+      }
+    }
+    return pos;
+  }
+
+  private static int parseNumber(final Token token, final CharSequence text,
+      final int position, final int[] values) {
+    final int length = text.length();
+    if (position == length) {
+      return ~position;
+    }
+    final char sign = text.charAt(position);
+    if (sign == '+' || sign == '-') {
+      //  a fixed width field never accepts a sign; a positive sign is rejected
+      //  by the strict parsing of other fields except the year.
+      if (token.field != YEAR && (sign == '+' || token.minWidth == token.maxWidth)) {
+        return ~position;
+      }
+      return UNSURE;
+    }
+    final int minEnd = position + token.minWidth;
+    if (minEnd > length) {
+      return ~position;
+    }
+    final int maxEnd = Math.min(position + token.maxWidth, length);
+    int pos = position;
+    long total = 0;
+    while (pos < maxEnd) {
+      final int digit = text.charAt(pos) - '0';
+      if (digit < 0 || digit > 9) {
+        break;
+      }
+      total = total * 10 + digit;
+      ++pos;
+    }
+    if (pos < minEnd) {
+      return ~position;
+    }
+    if (token.field == YEAR && pos - position > token.minWidth) {
+      //  more digits than the width require a positive sign
+      return ~position;
+    }
+    if (pos - position > 9) {
+      return UNSURE;
+    }
+    values[token.field] = (int) total;
+    values[MASK] |= (1 << token.field);
+    return pos;
+  }
+
+  private static int parseFraction(final Token token, final CharSequence text,
+      final int position, final int[] values) {
+    final int length = text.length();
+    final int minEnd = position + token.minWidth;
+    if (minEnd > length) {
+      return ~position;
+    }
+    final int maxEnd = Math.min(position + token.maxWidth, length);
+    int pos = position;
+    int total = 0;
+    while (pos < maxEnd) {
+      final int digit = text.charAt(pos) - '0';
+      if (digit < 0 || digit > 9) {
+        break;
+      }
+      total = total * 10 + digit;
+      ++pos;
+    }
+    if (pos < minEnd) {
+      return ~position;
+    }
+    values[NANO] = total * POWERS_OF_TEN[9 - (pos - position)];
+    values[MASK] |= (1 << NANO);
+    return pos;
+  }
+
+  @Nullable
+  private static LocalDateTime resolve(final int[] values) {
+    final int mask = values[MASK];
+    if ((mask & DATE_MASK) != DATE_MASK) {
+      return null;
+    }
+    final int year = values[YEAR];
+    final int month = values[MONTH];
+    int day = values[DAY];
+    if (month < 1 || month > 12 || day < 1 || day > 31) {
+      return MISMATCH;
+    }
+    //  the SMART resolver style uses the last valid day of the month
+    if (month == 4 || month == 6 || month == 9 || month == 11) {
+      day = Math.min(day, 30);
+    } else if (month == 2) {
+      day = Math.min(day, Month.FEBRUARY.length(Year.isLeap(year)));
+    }
+    if ((mask & (1 << HOUR)) == 0) {
+      if ((mask & ~DATE_MASK) != 0) {
+        return null;
+      }
+      return LocalDateTime.of(year, month, day, 0, 0);
+    }
+    final boolean hasSecond = (mask & (1 << SECOND)) != 0;
+    if ((mask & (1 << MINUTE)) == 0
+        || (!hasSecond && (mask & (1 << NANO)) != 0)) {
+      return null;
+    }
+    final int hour = values[HOUR];
+    final int minute = values[MINUTE];
+    final int second = (hasSecond ? values[SECOND] : 0);
+    if (hour == 24) {
+      //  the SMART resolver style may treat 24:00 as the end of day
+      return null;
+    }
+    if (hour > 23 || minute > 59 || second > 59) {
+      return MISMATCH;
+    }
+    final int nano = ((mask & (1 << NANO)) != 0 ? values[NANO] : 0);
+    return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+  }
+}
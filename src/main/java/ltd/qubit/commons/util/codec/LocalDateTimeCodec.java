@@ -83,6 +83,7 @@ public class LocalDateTimeCodec implements Codec<LocalDateTime, String> {
   private boolean trim;
   private transient DateTimeFormatter encodeFormatter;
   private transient DateTimeFormatter[] decodeFormatters;
+  private transient DateTimePatternScanner[] decodeScanners;
 
   public LocalDateTimeCodec() {
     this(DEFAULT_ENCODE_PATTERN, DEFAULT_DECODE_PATTERNS, DEFAULT_EMPTY_FOR_NULL, DEFAULT_STRIP_BEFORE_PARSING);
@@ -135,8 +136,10 @@ public class LocalDateTimeCodec implements Codec<LocalDateTime, String> {
     this.trim = trim;
     this.encodeFormatter = DateTimeFormatter.ofPattern(encodePattern);
     this.decodeFormatters = new DateTimeFormatter[decodePatterns.length];
+    this.decodeScanners = new DateTimePatternScanner[decodePatterns.length];
     for (int i = 0; i < decodePatterns.length; ++i) {
       this.decodeFormatters[i] = DateTimeFormatter.ofPattern(decodePatterns[i]);
+      this.decodeScanners[i] = DateTimePatternScanner.compile(decodePatterns[i]);
     }
   }
 
@@ -157,11 +160,14 @@ public class LocalDateTimeCodec implements Codec<LocalDateTime, String> {
   public final LocalDateTimeCodec setDecodePatterns(final String[] decodePatterns) {
     requireNonNull("decodePatterns", decodePatterns);
     final DateTimeFormatter[] formatters = new DateTimeFormatter[decodePatterns.length];
+    final DateTimePatternScanner[] scanners = new DateTimePatternScanner[decodePatterns.length];
     for (int i = 0; i < decodePatterns.length; ++i) {
       formatters[i] = DateTimeFormatter.ofPattern(decodePatterns[i]);
+      scanners[i] = DateTimePatternScanner.compile(decodePatterns[i]);
     }
     this.decodePatterns = decodePatterns;
     this.decodeFormatters = formatters;
+    this.decodeScanners = scanners;
     return this;
   }
 
@@ -219,8 +225,26 @@ public class LocalDateTimeCodec implements Codec<LocalDateTime, String> {
     }
   }
 
+  /**
+   * Parses the text with the decode patterns one by one.
+   *
+   * <p>The simple patterns, including all the default decode patterns, are
+   * parsed by the pre-compiled {@link DateTimePatternScanner}s in a single pass
+   * over the text, which is much faster than trying each formatter and catching
+   * its {@link DateTimeParseException}. The formatter is used only if the pattern
+   * is not supported by the scanner, or the scanner cannot decide the result.</p>
+   */
   private TemporalAccessor parseText(final String text) {
     for (int i = 0; i < decodeFormatters.length; ++i) {
+      final DateTimePatternScanner scanner = decodeScanners[i];
+      if (scanner != null) {
+        final LocalDateTime result = scanner.scan(text);
+        if (result == DateTimePatternScanner.MISMATCH) {
+          continue;
+        } else if (result != null) {
+          return result;
+        }
+      }
       final DateTimeFormatter formatter = decodeFormatters[i];
       try {
         return formatter.parseBest(text, ZonedDateTime::from, LocalDateTime::from, LocalDate::from);
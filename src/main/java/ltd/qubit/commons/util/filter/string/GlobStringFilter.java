@@ -8,22 +8,28 @@
 ////////////////////////////////////////////////////////////////////////////////
 package ltd.qubit.commons.util.filter.string;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
+import javax.annotation.Nullable;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import ltd.qubit.commons.lang.StringUtils;
-import ltd.qubit.commons.text.Glob;
+import ltd.qubit.commons.text.MultiPatternMatcher;
+import ltd.qubit.commons.text.PatternMatcher;
+import ltd.qubit.commons.text.PatternType;
 
 /**
  * The base for {@link GlobWhiteListStringFilter} and
  * {@link GlobBlackListStringFilter} classes.
  *
+ * <p>The glob patterns are compiled into a {@link MultiPatternMatcher} on
+ * demand after the list is modified, or explicitly by {@link #compile()}. The
+ * {@link #accept(String)} method could be called concurrently by multiple
+ * threads, provided that the list is not modified concurrently.
+ *
  * @author Haixing Hu
  */
 class GlobStringFilter implements StringFilter {
@@ -31,9 +37,15 @@ class GlobStringFilter implements StringFilter {
   private static final String ERROR_INVALID_PATTERN =
       "Invalid glob pattern '{}': {}";
 
-  protected List<Matcher> matcherList;
+  protected List<PatternMatcher> matcherList;
   protected boolean       matchReturn;
   protected boolean       caseInsensitive;
+  /**
+   * The compiled patterns, created lazily as described in
+   * {@link PatternMatcher}.
+   */
+  @Nullable
+  private volatile MultiPatternMatcher compiled;
 
   protected GlobStringFilter(final boolean matchReturn,
       final boolean caseInsensitive) {
@@ -58,6 +70,7 @@ class GlobStringFilter implements StringFilter {
     if (matcherList != null) {
       matcherList.clear();
     }
+    compiled = null;
   }
 
   public void setGlobList(final List<String> globList) {
@@ -66,33 +79,27 @@ class GlobStringFilter implements StringFilter {
     }
     if ((globList != null) && (globList.size() > 0)) {
       if (matcherList == null) {
-        matcherList = new LinkedList<>();
+        matcherList = new ArrayList<>();
       }
-      final int flags = (caseInsensitive ? Pattern.CASE_INSENSITIVE : 0);
       for (final String glob : globList) {
         try {
-          final String regex = Glob.toRegex(glob);
-          final Pattern pattern = Pattern.compile(regex, flags);
-          final Matcher matcher = pattern.matcher(StringUtils.EMPTY);
-          matcherList.add(matcher);
+          matcherList.add(new PatternMatcher(PatternType.GLOB, caseInsensitive, glob));
         } catch (final PatternSyntaxException e) {
           final Logger logger = LoggerFactory.getLogger(GlobStringFilter.class);
           logger.error(ERROR_INVALID_PATTERN, glob, e.toString());
         }
       }
     }
+    compiled = null;
   }
 
   public boolean addToGlobList(final String glob) {
     if (matcherList == null) {
-      matcherList = new LinkedList<>();
+      matcherList = new ArrayList<>();
     }
-    final int flags = (caseInsensitive ? Pattern.CASE_INSENSITIVE : 0);
     try {
-      final String regex = Glob.toRegex(glob);
-      final Pattern pattern = Pattern.compile(regex, flags);
-      final Matcher matcher = pattern.matcher(StringUtils.EMPTY);
-      matcherList.add(matcher);
+      matcherList.add(new PatternMatcher(PatternType.GLOB, caseInsensitive, glob));
+      compiled = null;
       return true;
     } catch (final PatternSyntaxException e) {
       final Logger logger = LoggerFactory.getLogger(GlobStringFilter.class);
@@ -101,14 +108,33 @@ class GlobStringFilter implements StringFilter {
     }
   }
 
+  /**
+   * Compiles the glob patterns in this filter.
+   *
+   * <p>The glob patterns are compiled on demand by {@link #accept(String)}
+   * after the list is modified. This function could be called after the list
+   * is set, to avoid the compilation in the first call to
+   * {@link #accept(String)}.
+   */
+  public void compile() {
+    if (matcherList != null) {
+      getCompiled();
+    }
+  }
+
+  private MultiPatternMatcher getCompiled() {
+    MultiPatternMatcher result = compiled;
+    if (result == null) {
+      result = new MultiPatternMatcher(matcherList);
+      compiled = result;
+    }
+    return result;
+  }
+
   @Override
   public boolean accept(final String str) {
-    if (matcherList != null) {
-      for (final Matcher matcher : matcherList) {
-        if (matcher.reset(str).matches()) {
-          return matchReturn;
-        }
-      }
+    if ((matcherList != null) && getCompiled().matchesAny(str)) {
+      return matchReturn;
     }
     return (! matchReturn);
   }
@@ -8,21 +8,28 @@
 ////////////////////////////////////////////////////////////////////////////////
 package ltd.qubit.commons.util.filter.string;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
+import javax.annotation.Nullable;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import ltd.qubit.commons.lang.StringUtils;
+import ltd.qubit.commons.text.MultiPatternMatcher;
+import ltd.qubit.commons.text.PatternMatcher;
+import ltd.qubit.commons.text.PatternType;
 
 /**
  * The base for {@link RegexWhiteListStringFilter} and
  * {@link RegexBlackListStringFilter} classes.
  *
+ * <p>The regular expressions are compiled into a {@link MultiPatternMatcher} on
+ * demand after the list is modified, or explicitly by {@link #compile()}. The
+ * {@link #accept(String)} method could be called concurrently by multiple
+ * threads, provided that the list is not modified concurrently.
+ *
  * @author Haixing Hu
  */
 class RegexStringFilter implements StringFilter {
@@ -30,9 +37,15 @@ class RegexStringFilter implements StringFilter {
   private static final String ERROR_INVALID_PATTERN =
       "Invalid regular expression pattern {}: {}";
 
-  protected List<Matcher> matcherList;
+  protected List<PatternMatcher> matcherList;
   protected boolean matchReturn;
   protected boolean caseInsensitive;
+  /**
+   * The compiled patterns, created lazily as described in
+   * {@link PatternMatcher}.
+   */
+  @Nullable
+  private volatile MultiPatternMatcher compiled;
 
   protected RegexStringFilter(final boolean matchReturn,
       final boolean caseInsensitive) {
@@ -57,6 +70,7 @@ class RegexStringFilter implements StringFilter {
     if (matcherList != null) {
       matcherList.clear();
     }
+    compiled = null;
   }
 
   public void setRegexList(final List<String> regexList) {
@@ -65,47 +79,62 @@ class RegexStringFilter implements StringFilter {
     }
     if ((regexList != null) && (regexList.size() > 0)) {
       if (matcherList == null) {
-        matcherList = new LinkedList<>();
+        matcherList = new ArrayList<>();
       }
-      final int flags = (caseInsensitive ? Pattern.CASE_INSENSITIVE : 0);
       for (final String regex : regexList) {
         try {
-          final Pattern pattern = Pattern.compile(regex, flags);
-          final Matcher matcher = pattern.matcher(StringUtils.EMPTY);
-          matcherList.add(matcher);
+          matcherList.add(new PatternMatcher(PatternType.REGEX, caseInsensitive, regex));
         } catch (final PatternSyntaxException e) {
-          final Logger logger = LoggerFactory.getLogger(GlobStringFilter.class);
+          final Logger logger = LoggerFactory.getLogger(RegexStringFilter.class);
           logger.error(ERROR_INVALID_PATTERN, regex, e.toString());
         }
       }
     }
+    compiled = null;
   }
 
   public boolean addToRegexList(final String regex) {
     if (matcherList == null) {
-      matcherList = new LinkedList<>();
+      matcherList = new ArrayList<>();
     }
-    final int flags = (caseInsensitive ? Pattern.CASE_INSENSITIVE : 0);
     try {
-      final Pattern pattern = Pattern.compile(regex, flags);
-      final Matcher matcher = pattern.matcher(StringUtils.EMPTY);
-      matcherList.add(matcher);
+      matcherList.add(new PatternMatcher(PatternType.REGEX, caseInsensitive, regex));
+      compiled = null;
       return true;
     } catch (final PatternSyntaxException e) {
-      final Logger logger = LoggerFactory.getLogger(GlobStringFilter.class);
+      final Logger logger = LoggerFactory.getLogger(RegexStringFilter.class);
       logger.error(ERROR_INVALID_PATTERN, regex, e.toString());
       return false;
     }
   }
 
+  /**
+   * Compiles the regular expressions in this filter.
+   *
+   * <p>The regular expressions are compiled on demand by {@link #accept(String)}
+   * after the list is modified. This function could be called after the list
+   * is set, to avoid the compilation in the first call to
+   * {@link #accept(String)}.
+   */
+  public void compile() {
+    if (matcherList != null) {
+      getCompiled();
+    }
+  }
+
+  private MultiPatternMatcher getCompiled() {
+    MultiPatternMatcher result = compiled;
+    if (result == null) {
+      result = new MultiPatternMatcher(matcherList);
+      compiled = result;
+    }
+    return result;
+  }
+
   @Override
   public boolean accept(final String str) {
-    if (matcherList != null) {
-      for (final Matcher matcher : matcherList) {
-        if (matcher.reset(str).matches()) {
-          return matchReturn;
-        }
-      }
+    if ((matcherList != null) && getCompiled().matchesAny(str)) {
+      return matchReturn;
     }
     return (!matchReturn);
   }
@@ -0,0 +1,59 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test of the {@link SegmentUtils} class.
+ *
+ * @author Haixing Hu
+ */
+public class SegmentUtilsTest {
+
+  @Test
+  public void testCreateSegments() {
+    final Integer[] segments = SegmentUtils.createSegments(100, 5, Integer[]::new,
+        (size) -> size);
+    assertEquals(8, segments.length);
+    for (final Integer size : segments) {
+      assertEquals(13, size);
+    }
+    assertEquals(1, SegmentUtils.createSegments(0, 1, Integer[]::new, (s) -> s).length);
+    assertEquals(16, SegmentUtils.createSegments(0, 16, Integer[]::new, (s) -> s).length);
+    assertEquals(SegmentUtils.MAX_SEGMENTS,
+        SegmentUtils.createSegments(0, Integer.MAX_VALUE, Integer[]::new, (s) -> s).length);
+    assertEquals(1 << 15, SegmentUtils.createSegments(Integer.MAX_VALUE, 1 << 16,
+        Integer[]::new, (s) -> s)[0]);
+    assertThrows(IllegalArgumentException.class,
+        () -> SegmentUtils.createSegments(-1, 1, Integer[]::new, (s) -> s));
+    assertThrows(IllegalArgumentException.class,
+        () -> SegmentUtils.createSegments(0, 0, Integer[]::new, (s) -> s));
+  }
+
+  @Test
+  public void testSegmentIndex() {
+    final int mask = 15;
+    final int[] counts = new int[mask + 1];
+    //  consecutive values and values differing only in the high bits must both
+    //  be spread over all the segments
+    for (long i = 0; i < 1600; ++i) {
+      ++counts[SegmentUtils.segmentIndex(i, mask)];
+      ++counts[SegmentUtils.segmentIndex(i << 40, mask)];
+    }
+    for (final int count : counts) {
+      assertTrue(count > 100, "count = " + count);
+    }
+    assertEquals(0, SegmentUtils.segmentIndex(123456789L, 0));
+  }
+}
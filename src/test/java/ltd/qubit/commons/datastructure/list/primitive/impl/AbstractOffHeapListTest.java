@@ -0,0 +1,312 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.list.primitive.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The common unit tests of the lists storing their elements in the off-heap
+ * memory.
+ *
+ * <p>The tests access the lists through the adapter methods below, which widen
+ * the elements to {@code long}, so that the same cases check all the lists.
+ *
+ * @param <L>
+ *     the type of the lists under test.
+ * @author Haixing Hu
+ */
+public abstract class AbstractOffHeapListTest<L extends AutoCloseable> {
+
+  protected abstract L newList(int chunkSize);
+
+  protected abstract int getMaxChunkSize();
+
+  /**
+   * Converts a number to the element type of the lists.
+   */
+  protected abstract long toValue(long value);
+
+  protected abstract int getChunkSize(L list);
+
+  protected abstract long capacity(L list);
+
+  protected abstract long longSize(L list);
+
+  protected abstract int size(L list);
+
+  protected abstract boolean isEmpty(L list);
+
+  protected abstract boolean isClosed(L list);
+
+  protected abstract boolean add(L list, long element);
+
+  protected abstract void add(L list, int index, long element);
+
+  protected abstract void insertAt(L list, long index, long element);
+
+  protected abstract long get(L list, int index);
+
+  protected abstract long getAt(L list, long index);
+
+  protected abstract long set(L list, int index, long element);
+
+  protected abstract long setAt(L list, long index, long element);
+
+  protected abstract long removeIntAt(L list, int index);
+
+  protected abstract long removeAt(L list, long index);
+
+  protected abstract long removeLast(L list);
+
+  protected abstract void clear(L list);
+
+  protected abstract void trimToSize(L list);
+
+  protected abstract void sort(L list);
+
+  /**
+   * Sorts the elements in the specified range through a view of the list.
+   */
+  protected abstract void sortSubList(L list, int fromIndex, int toIndex);
+
+  protected abstract int indexOf(L list, long element);
+
+  protected abstract boolean hasNext(L list);
+
+  protected abstract long[] toArray(L list);
+
+  /**
+   * Tests whether a list equals to an on-heap list of the specified elements.
+   */
+  protected abstract boolean equalsToHeapList(L list, long[] elements);
+
+  @Test
+  public void testRandomOperations() throws Exception {
+    final Random random = new Random(20261017);
+    try (final L list = newList(16)) {
+      final LongArrayList expected = new LongArrayList();
+      for (int i = 0; i < 20000; ++i) {
+        final long value = toValue(random.nextLong());
+        switch (random.nextInt(6)) {
+          case 0:
+          case 1:
+            assertEquals(expected.add(value), add(list, value));
+            break;
+          case 2:
+            if (!expected.isEmpty()) {
+              final int index = random.nextInt(expected.size());
+              assertEquals(expected.set(index, value), setAt(list, index, value));
+            }
+            break;
+          case 3: {
+            final int index = random.nextInt(expected.size() + 1);
+            expected.add(index, value);
+            insertAt(list, index, value);
+            break;
+          }
+          case 4:
+            if (!expected.isEmpty()) {
+              final int index = random.nextInt(expected.size());
+              assertEquals(expected.removeAt(index), removeAt(list, index));
+            }
+            break;
+          default:
+            if (!expected.isEmpty()) {
+              assertEquals(expected.removeAt(expected.size() - 1), removeLast(list));
+            }
+            break;
+        }
+        assertEquals(expected.size(), longSize(list));
+      }
+      assertArrayEquals(expected.toArray(), toArray(list));
+      assertTrue(equalsToHeapList(list, expected.toArray()));
+    }
+  }
+
+  @Test
+  public void testChunkedGrowth() throws Exception {
+    try (final L list = newList(1024)) {
+      assertEquals(0, capacity(list));
+      for (long i = 0; i < 5000; ++i) {
+        add(list, i * i);
+      }
+      assertEquals(5000, longSize(list));
+      assertEquals(5 * 1024, capacity(list));
+      for (long i = 0; i < 5000; ++i) {
+        assertEquals(i * i, getAt(list, i));
+      }
+      clear(list);
+      assertTrue(isEmpty(list));
+      assertEquals(5 * 1024, capacity(list));
+      add(list, 1);
+      trimToSize(list);
+      assertEquals(1024, capacity(list));
+      assertEquals(1, getAt(list, 0));
+    }
+    assertThrows(IllegalArgumentException.class, () -> newList(1000));
+    assertThrows(IllegalArgumentException.class, () -> newList(0));
+    assertThrows(IllegalArgumentException.class, () -> newList(getMaxChunkSize() << 1));
+  }
+
+  @Test
+  public void testChunkBoundaries() throws Exception {
+    final int chunkSize = 16;
+    try (final L list = newList(chunkSize)) {
+      final LongArrayList expected = new LongArrayList();
+      for (int i = 0; i < 4 * chunkSize; ++i) {
+        add(list, i);
+        expected.add(i);
+      }
+      assertEquals(4 * chunkSize, capacity(list));
+      for (final int index : new int[]{chunkSize - 1, chunkSize, 2 * chunkSize - 1,
+          2 * chunkSize, 3 * chunkSize, 4 * chunkSize - 1}) {
+        assertEquals(expected.get(index), getAt(list, index));
+        assertEquals(expected.set(index, -index), setAt(list, index, -index));
+        assertEquals(-index, get(list, index));
+      }
+      //  inserting at a boundary shifts the elements across all later chunks
+      for (final int index : new int[]{chunkSize, chunkSize - 1, 3 * chunkSize}) {
+        expected.add(index, 1000 + index);
+        insertAt(list, index, 1000 + index);
+        assertArrayEquals(expected.toArray(), toArray(list));
+      }
+      assertEquals(5 * chunkSize, capacity(list));
+      for (final int index : new int[]{chunkSize, chunkSize - 1, 2 * chunkSize, 0}) {
+        assertEquals(expected.removeAt(index), removeAt(list, index));
+        assertArrayEquals(expected.toArray(), toArray(list));
+      }
+      while (!expected.isEmpty()) {
+        assertEquals(expected.removeAt(expected.size() - 1), removeLast(list));
+      }
+      assertTrue(isEmpty(list));
+    }
+  }
+
+  @Test
+  public void testSort() throws Exception {
+    final Random random = new Random(20261017);
+    for (final int n : new int[]{0, 1, 2, 10, 17, 1000, 30000}) {
+      final long[] expected = new long[n];
+      try (final L list = newList(256)) {
+        for (int i = 0; i < n; ++i) {
+          expected[i] = toValue(i % 3 == 0 ? random.nextInt(8) : random.nextLong());
+          add(list, expected[i]);
+        }
+        Arrays.sort(expected);
+        sort(list);
+        assertArrayEquals(expected, toArray(list));
+      }
+    }
+    //  sorted, reversed and constant inputs
+    try (final L list = newList(64)) {
+      for (int i = 0; i < 5000; ++i) {
+        add(list, 5000 - i);
+      }
+      sortSubList(list, 100, 4000);
+      for (int i = 100; i < 3999; ++i) {
+        assertTrue(get(list, i) <= get(list, i + 1));
+      }
+      assertEquals(5000, get(list, 0));
+      sort(list);
+      for (int i = 0; i < 5000; ++i) {
+        assertEquals(i + 1, get(list, i));
+      }
+      sort(list);
+      assertEquals(1, get(list, 0));
+    }
+  }
+
+  @Test
+  public void testSerialization() throws Exception {
+    try (final L list = newList(32)) {
+      for (long i = 0; i < 100; ++i) {
+        add(list, i - 50);
+      }
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+        out.writeObject(list);
+      }
+      try (final ObjectInputStream in = new ObjectInputStream(
+          new ByteArrayInputStream(bytes.toByteArray()));
+           final L copy = cast(in.readObject())) {
+        assertEquals(32, getChunkSize(copy));
+        assertEquals(list, copy);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private L cast(final Object obj) {
+    return (L) obj;
+  }
+
+  @Test
+  public void testClose() throws Exception {
+    final L list = newList(16);
+    add(list, 1);
+    add(list, 2);
+    assertFalse(isClosed(list));
+    list.close();
+    assertTrue(isClosed(list));
+    assertEquals(0, longSize(list));
+    assertThrows(IllegalStateException.class, () -> getAt(list, 0));
+    assertThrows(IllegalStateException.class, () -> add(list, 3));
+    assertThrows(IllegalStateException.class, () -> clear(list));
+    list.close();
+  }
+
+  @Test
+  public void testMoreElementsThanIntRange() throws Exception {
+    try (final L list = newList(16)) {
+      add(list, 1);
+      add(list, 2);
+      //  pretends to hold more than Integer.MAX_VALUE elements, since a test
+      //  cannot afford to allocate so much memory
+      final Field field = list.getClass().getDeclaredField("size");
+      field.setAccessible(true);
+      field.setLong(list, Integer.MAX_VALUE + 1L);
+      try {
+        assertEquals(Integer.MAX_VALUE + 1L, longSize(list));
+        assertFalse(isEmpty(list));
+        assertEquals(2, getAt(list, 1));
+        assertEquals(2, setAt(list, 1, 3));
+        assertThrows(IllegalStateException.class, () -> size(list));
+        assertThrows(IllegalStateException.class, () -> get(list, 1));
+        assertThrows(IllegalStateException.class, () -> set(list, 1, 4));
+        assertThrows(IllegalStateException.class, () -> add(list, 1, 4));
+        assertThrows(IllegalStateException.class, () -> removeIntAt(list, 1));
+        assertThrows(IllegalStateException.class, () -> hasNext(list));
+        assertThrows(IllegalStateException.class, () -> toArray(list));
+        assertThrows(IllegalStateException.class, () -> indexOf(list, 3));
+        assertThrows(IllegalStateException.class,
+            () -> equalsToHeapList(list, new long[]{1, 3}));
+        assertThrows(IllegalStateException.class, list::hashCode);
+        assertThrows(IllegalStateException.class, () -> sortSubList(list, 0, 2));
+      } finally {
+        field.setLong(list, 2);
+      }
+      assertEquals(3, getAt(list, 1));
+      assertEquals(1, indexOf(list, 3));
+    }
+  }
+}
@@ -0,0 +1,187 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.list.primitive.impl;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Unit test of the {@link OffHeapDoubleList} class.
+ *
+ * @author Haixing Hu
+ */
+public class OffHeapDoubleListTest extends AbstractOffHeapListTest<OffHeapDoubleList> {
+
+  @Override
+  protected OffHeapDoubleList newList(final int chunkSize) {
+    return new OffHeapDoubleList(chunkSize);
+  }
+
+  @Override
+  protected int getMaxChunkSize() {
+    return OffHeapDoubleList.MAX_CHUNK_SIZE;
+  }
+
+  @Override
+  protected long toValue(final long value) {
+    return (int) value;
+  }
+
+  @Override
+  protected int getChunkSize(final OffHeapDoubleList list) {
+    return list.getChunkSize();
+  }
+
+  @Override
+  protected long capacity(final OffHeapDoubleList list) {
+    return list.capacity();
+  }
+
+  @Override
+  protected long longSize(final OffHeapDoubleList list) {
+    return list.longSize();
+  }
+
+  @Override
+  protected int size(final OffHeapDoubleList list) {
+    return list.size();
+  }
+
+  @Override
+  protected boolean isEmpty(final OffHeapDoubleList list) {
+    return list.isEmpty();
+  }
+
+  @Override
+  protected boolean isClosed(final OffHeapDoubleList list) {
+    return list.isClosed();
+  }
+
+  @Override
+  protected boolean add(final OffHeapDoubleList list, final long element) {
+    return list.add((double) element);
+  }
+
+  @Override
+  protected void add(final OffHeapDoubleList list, final int index, final long element) {
+    list.add(index, (double) element);
+  }
+
+  @Override
+  protected void insertAt(final OffHeapDoubleList list, final long index, final long element) {
+    list.insertAt(index, (double) element);
+  }
+
+  @Override
+  protected long get(final OffHeapDoubleList list, final int index) {
+    return (long) list.get(index);
+  }
+
+  @Override
+  protected long getAt(final OffHeapDoubleList list, final long index) {
+    return (long) list.getAt(index);
+  }
+
+  @Override
+  protected long set(final OffHeapDoubleList list, final int index, final long element) {
+    return (long) list.set(index, (double) element);
+  }
+
+  @Override
+  protected long setAt(final OffHeapDoubleList list, final long index, final long element) {
+    return (long) list.setAt(index, (double) element);
+  }
+
+  @Override
+  protected long removeIntAt(final OffHeapDoubleList list, final int index) {
+    return (long) list.removeAt(index);
+  }
+
+  @Override
+  protected long removeAt(final OffHeapDoubleList list, final long index) {
+    return (long) list.removeAt(index);
+  }
+
+  @Override
+  protected long removeLast(final OffHeapDoubleList list) {
+    return (long) list.removeLast();
+  }
+
+  @Override
+  protected void clear(final OffHeapDoubleList list) {
+    list.clear();
+  }
+
+  @Override
+  protected void trimToSize(final OffHeapDoubleList list) {
+    list.trimToSize();
+  }
+
+  @Override
+  protected void sort(final OffHeapDoubleList list) {
+    list.sort();
+  }
+
+  @Override
+  protected void sortSubList(final OffHeapDoubleList list, final int fromIndex, final int toIndex) {
+    list.subList(fromIndex, toIndex).sort();
+  }
+
+  @Override
+  protected int indexOf(final OffHeapDoubleList list, final long element) {
+    return list.indexOf((double) element);
+  }
+
+  @Override
+  protected boolean hasNext(final OffHeapDoubleList list) {
+    return list.iterator().hasNext();
+  }
+
+  @Override
+  protected long[] toArray(final OffHeapDoubleList list) {
+    final double[] array = list.toArray();
+    final long[] result = new long[array.length];
+    for (int i = 0; i < array.length; ++i) {
+      result[i] = (long) array[i];
+    }
+    return result;
+  }
+
+  @Override
+  protected boolean equalsToHeapList(final OffHeapDoubleList list, final long[] elements) {
+    final DoubleArrayList heapList = new DoubleArrayList(elements.length);
+    for (final long element : elements) {
+      heapList.add((double) element);
+    }
+    return list.equals(heapList);
+  }
+
+  @Test
+  public void testSortSpecialValues() {
+    final Random random = new Random(20261017);
+    final double[] specials = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY,
+        Double.POSITIVE_INFINITY, Double.MIN_VALUE, -Double.MAX_VALUE};
+    final double[] expected = new double[5000];
+    try (final OffHeapDoubleList list = new OffHeapDoubleList(128)) {
+      for (int i = 0; i < expected.length; ++i) {
+        expected[i] = (random.nextInt(4) == 0
+                       ? specials[random.nextInt(specials.length)]
+                       : random.nextGaussian());
+        list.add(expected[i]);
+      }
+      Arrays.sort(expected);
+      list.sort();
+      assertArrayEquals(expected, list.toArray());
+    }
+  }
+}
@@ -0,0 +1,161 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.list.primitive.impl;
+
+/**
+ * Unit test of the {@link OffHeapIntList} class.
+ *
+ * @author Haixing Hu
+ */
+public class OffHeapIntListTest extends AbstractOffHeapListTest<OffHeapIntList> {
+
+  @Override
+  protected OffHeapIntList newList(final int chunkSize) {
+    return new OffHeapIntList(chunkSize);
+  }
+
+  @Override
+  protected int getMaxChunkSize() {
+    return OffHeapIntList.MAX_CHUNK_SIZE;
+  }
+
+  @Override
+  protected long toValue(final long value) {
+    return (int) value;
+  }
+
+  @Override
+  protected int getChunkSize(final OffHeapIntList list) {
+    return list.getChunkSize();
+  }
+
+  @Override
+  protected long capacity(final OffHeapIntList list) {
+    return list.capacity();
+  }
+
+  @Override
+  protected long longSize(final OffHeapIntList list) {
+    return list.longSize();
+  }
+
+  @Override
+  protected int size(final OffHeapIntList list) {
+    return list.size();
+  }
+
+  @Override
+  protected boolean isEmpty(final OffHeapIntList list) {
+    return list.isEmpty();
+  }
+
+  @Override
+  protected boolean isClosed(final OffHeapIntList list) {
+    return list.isClosed();
+  }
+
+  @Override
+  protected boolean add(final OffHeapIntList list, final long element) {
+    return list.add((int) element);
+  }
+
+  @Override
+  protected void add(final OffHeapIntList list, final int index, final long element) {
+    list.add(index, (int) element);
+  }
+
+  @Override
+  protected void insertAt(final OffHeapIntList list, final long index, final long element) {
+    list.insertAt(index, (int) element);
+  }
+
+  @Override
+  protected long get(final OffHeapIntList list, final int index) {
+    return (long) list.get(index);
+  }
+
+  @Override
+  protected long getAt(final OffHeapIntList list, final long index) {
+    return (long) list.getAt(index);
+  }
+
+  @Override
+  protected long set(final OffHeapIntList list, final int index, final long element) {
+    return (long) list.set(index, (int) element);
+  }
+
+  @Override
+  protected long setAt(final OffHeapIntList list, final long index, final long element) {
+    return (long) list.setAt(index, (int) element);
+  }
+
+  @Override
+  protected long removeIntAt(final OffHeapIntList list, final int index) {
+    return (long) list.removeAt(index);
+  }
+
+  @Override
+  protected long removeAt(final OffHeapIntList list, final long index) {
+    return (long) list.removeAt(index);
+  }
+
+  @Override
+  protected long removeLast(final OffHeapIntList list) {
+    return (long) list.removeLast();
+  }
+
+  @Override
+  protected void clear(final OffHeapIntList list) {
+    list.clear();
+  }
+
+  @Override
+  protected void trimToSize(final OffHeapIntList list) {
+    list.trimToSize();
+  }
+
+  @Override
+  protected void sort(final OffHeapIntList list) {
+    list.sort();
+  }
+
+  @Override
+  protected void sortSubList(final OffHeapIntList list, final int fromIndex, final int toIndex) {
+    list.subList(fromIndex, toIndex).sort();
+  }
+
+  @Override
+  protected int indexOf(final OffHeapIntList list, final long element) {
+    return list.indexOf((int) element);
+  }
+
+  @Override
+  protected boolean hasNext(final OffHeapIntList list) {
+    return list.iterator().hasNext();
+  }
+
+  @Override
+  protected long[] toArray(final OffHeapIntList list) {
+    final int[] array = list.toArray();
+    final long[] result = new long[array.length];
+    for (int i = 0; i < array.length; ++i) {
+      result[i] = (long) array[i];
+    }
+    return result;
+  }
+
+  @Override
+  protected boolean equalsToHeapList(final OffHeapIntList list, final long[] elements) {
+    final IntArrayList heapList = new IntArrayList(elements.length);
+    for (final long element : elements) {
+      heapList.add((int) element);
+    }
+    return list.equals(heapList);
+  }
+}
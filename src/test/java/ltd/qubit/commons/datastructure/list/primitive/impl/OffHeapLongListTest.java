@@ -0,0 +1,152 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.list.primitive.impl;
+
+/**
+ * Unit test of the {@link OffHeapLongList} class.
+ *
+ * @author Haixing Hu
+ */
+public class OffHeapLongListTest extends AbstractOffHeapListTest<OffHeapLongList> {
+
+  @Override
+  protected OffHeapLongList newList(final int chunkSize) {
+    return new OffHeapLongList(chunkSize);
+  }
+
+  @Override
+  protected int getMaxChunkSize() {
+    return OffHeapLongList.MAX_CHUNK_SIZE;
+  }
+
+  @Override
+  protected long toValue(final long value) {
+    return value;
+  }
+
+  @Override
+  protected int getChunkSize(final OffHeapLongList list) {
+    return list.getChunkSize();
+  }
+
+  @Override
+  protected long capacity(final OffHeapLongList list) {
+    return list.capacity();
+  }
+
+  @Override
+  protected long longSize(final OffHeapLongList list) {
+    return list.longSize();
+  }
+
+  @Override
+  protected int size(final OffHeapLongList list) {
+    return list.size();
+  }
+
+  @Override
+  protected boolean isEmpty(final OffHeapLongList list) {
+    return list.isEmpty();
+  }
+
+  @Override
+  protected boolean isClosed(final OffHeapLongList list) {
+    return list.isClosed();
+  }
+
+  @Override
+  protected boolean add(final OffHeapLongList list, final long element) {
+    return list.add(element);
+  }
+
+  @Override
+  protected void add(final OffHeapLongList list, final int index, final long element) {
+    list.add(index, element);
+  }
+
+  @Override
+  protected void insertAt(final OffHeapLongList list, final long index, final long element) {
+    list.insertAt(index, element);
+  }
+
+  @Override
+  protected long get(final OffHeapLongList list, final int index) {
+    return list.get(index);
+  }
+
+  @Override
+  protected long getAt(final OffHeapLongList list, final long index) {
+    return list.getAt(index);
+  }
+
+  @Override
+  protected long set(final OffHeapLongList list, final int index, final long element) {
+    return list.set(index, element);
+  }
+
+  @Override
+  protected long setAt(final OffHeapLongList list, final long index, final long element) {
+    return list.setAt(index, element);
+  }
+
+  @Override
+  protected long removeIntAt(final OffHeapLongList list, final int index) {
+    return list.removeAt(index);
+  }
+
+  @Override
+  protected long removeAt(final OffHeapLongList list, final long index) {
+    return list.removeAt(index);
+  }
+
+  @Override
+  protected long removeLast(final OffHeapLongList list) {
+    return list.removeLast();
+  }
+
+  @Override
+  protected void clear(final OffHeapLongList list) {
+    list.clear();
+  }
+
+  @Override
+  protected void trimToSize(final OffHeapLongList list) {
+    list.trimToSize();
+  }
+
+  @Override
+  protected void sort(final OffHeapLongList list) {
+    list.sort();
+  }
+
+  @Override
+  protected void sortSubList(final OffHeapLongList list, final int fromIndex, final int toIndex) {
+    list.subList(fromIndex, toIndex).sort();
+  }
+
+  @Override
+  protected int indexOf(final OffHeapLongList list, final long element) {
+    return list.indexOf(element);
+  }
+
+  @Override
+  protected boolean hasNext(final OffHeapLongList list) {
+    return list.iterator().hasNext();
+  }
+
+  @Override
+  protected long[] toArray(final OffHeapLongList list) {
+    return list.toArray();
+  }
+
+  @Override
+  protected boolean equalsToHeapList(final OffHeapLongList list, final long[] elements) {
+    return list.equals(new LongArrayList(elements));
+  }
+}
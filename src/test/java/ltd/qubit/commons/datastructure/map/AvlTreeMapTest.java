@@ -0,0 +1,208 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.map;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test of the {@link AvlTreeMap} class.
+ *
+ * @author Haixing Hu
+ */
+public class AvlTreeMapTest {
+
+  private static void assertSameNavigation(final NavigableMap<Integer, String> expected,
+      final NavigableMap<Integer, String> actual, final Random random) {
+    assertEquals(expected.size(), actual.size());
+    assertEquals(expected.isEmpty(), actual.isEmpty());
+    assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(actual.entrySet()));
+    assertEquals(new ArrayList<>(expected.descendingKeySet()),
+        new ArrayList<>(actual.descendingKeySet()));
+    assertEquals(expected.firstEntry(), actual.firstEntry());
+    assertEquals(expected.lastEntry(), actual.lastEntry());
+    for (int i = 0; i < 20; ++i) {
+      final int key = random.nextInt(220) - 10;
+      assertEquals(expected.lowerEntry(key), actual.lowerEntry(key));
+      assertEquals(expected.floorKey(key), actual.floorKey(key));
+      assertEquals(expected.ceilingEntry(key), actual.ceilingEntry(key));
+      assertEquals(expected.higherKey(key), actual.higherKey(key));
+      assertEquals(expected.get(key), actual.get(key));
+      assertEquals(expected.containsKey(key), actual.containsKey(key));
+    }
+  }
+
+  @Test
+  public void testRandomOperations() {
+    final Random random = new Random(20261017);
+    final TreeMap<Integer, String> expected = new TreeMap<>();
+    final AvlTreeMap<Integer, String> actual = new AvlTreeMap<>();
+    for (int i = 0; i < 20000; ++i) {
+      final int key = random.nextInt(200);
+      switch (random.nextInt(4)) {
+        case 0:
+        case 1:
+          assertEquals(expected.put(key, "v" + i), actual.put(key, "v" + i));
+          break;
+        case 2:
+          assertEquals(expected.remove(key), actual.remove(key));
+          break;
+        default:
+          if (random.nextInt(50) == 0) {
+            assertEquals(expected.pollFirstEntry(), actual.pollFirstEntry());
+            assertEquals(expected.pollLastEntry(), actual.pollLastEntry());
+          }
+          break;
+      }
+      if (i % 100 == 0) {
+        assertSameNavigation(expected, actual, random);
+      }
+    }
+    assertEquals(expected, actual);
+    assertEquals(actual, expected);
+    assertEquals(expected.hashCode(), actual.hashCode());
+    assertEquals(expected.toString(), actual.toString());
+  }
+
+  @Test
+  public void testSubMaps() {
+    final Random random = new Random(20261017);
+    final TreeMap<Integer, String> expected = new TreeMap<>();
+    final AvlTreeMap<Integer, String> actual = new AvlTreeMap<>();
+    for (int i = 0; i < 150; ++i) {
+      final int key = random.nextInt(200);
+      expected.put(key, "v" + key);
+      actual.put(key, "v" + key);
+    }
+    for (int i = 0; i < 300; ++i) {
+      final int from = random.nextInt(200);
+      final int to = from + random.nextInt(200 - from + 1);
+      final boolean fromInclusive = random.nextBoolean();
+      final boolean toInclusive = random.nextBoolean();
+      assertSameNavigation(expected.subMap(from, fromInclusive, to, toInclusive),
+          actual.subMap(from, fromInclusive, to, toInclusive), random);
+      assertSameNavigation(expected.headMap(to, toInclusive),
+          actual.headMap(to, toInclusive), random);
+      assertSameNavigation(expected.tailMap(from, fromInclusive).descendingMap(),
+          actual.tailMap(from, fromInclusive).descendingMap(), random);
+      assertSameNavigation(
+          expected.descendingMap().subMap(to, toInclusive, from, fromInclusive),
+          actual.descendingMap().subMap(to, toInclusive, from, fromInclusive), random);
+      assertEquals(expected.subMap(from, fromInclusive, to, toInclusive).size(),
+          actual.countInRange(from, fromInclusive, to, toInclusive));
+    }
+    assertThrows(IllegalArgumentException.class, () -> actual.subMap(10, 5));
+    assertThrows(IllegalArgumentException.class, () -> actual.headMap(50).put(60, "x"));
+    assertThrows(IllegalArgumentException.class, () -> actual.headMap(50).tailMap(60));
+  }
+
+  @Test
+  public void testRemoveThroughViews() {
+    final TreeMap<Integer, String> expected = new TreeMap<>();
+    final AvlTreeMap<Integer, String> actual = new AvlTreeMap<>();
+    for (int i = 0; i < 100; ++i) {
+      expected.put(i, "v" + i);
+      actual.put(i, "v" + i);
+    }
+    final Iterator<Integer> iter = actual.subMap(20, 80).keySet().iterator();
+    while (iter.hasNext()) {
+      if (iter.next() % 3 != 0) {
+        iter.remove();
+      }
+    }
+    expected.subMap(20, 80).keySet().removeIf((k) -> k % 3 != 0);
+    assertEquals(expected, actual);
+    final Iterator<Map.Entry<Integer, String>> desc =
+        actual.descendingMap().entrySet().iterator();
+    while (desc.hasNext()) {
+      if (desc.next().getKey() % 2 == 0) {
+        desc.remove();
+      }
+    }
+    expected.keySet().removeIf((k) -> k % 2 == 0);
+    assertEquals(expected, actual);
+    actual.tailMap(50).clear();
+    expected.tailMap(50).clear();
+    assertEquals(expected, actual);
+    assertEquals(expected.navigableKeySet().pollLast(), actual.navigableKeySet().pollLast());
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testOrderStatistics() {
+    final Random random = new Random(20261017);
+    final TreeMap<Integer, String> expected = new TreeMap<>();
+    final AvlTreeMap<Integer, String> actual = new AvlTreeMap<>();
+    for (int i = 0; i < 5000; ++i) {
+      final int key = random.nextInt(3000);
+      if (random.nextInt(3) == 0) {
+        expected.remove(key);
+        actual.remove(key);
+      } else {
+        expected.put(key, "v" + key);
+        actual.put(key, "v" + key);
+      }
+    }
+    final List<Map.Entry<Integer, String>> entries = new ArrayList<>(expected.entrySet());
+    for (int i = 0; i < entries.size(); ++i) {
+      assertEquals(entries.get(i), actual.select(i));
+      assertEquals(i, actual.rank(entries.get(i).getKey()));
+    }
+    for (int key = -1; key <= 3001; ++key) {
+      assertEquals(expected.headMap(key).size(), actual.rank(key));
+    }
+    assertEquals(expected.subMap(100, 2000).size(), actual.countInRange(100, 2000));
+    assertEquals(expected.subMap(100, 2000).size(), actual.subMap(100, 2000).size());
+    assertEquals(0, actual.countInRange(7, false, 7, false));
+    assertThrows(IndexOutOfBoundsException.class, () -> actual.select(-1));
+    assertThrows(IndexOutOfBoundsException.class, () -> actual.select(actual.size()));
+    assertThrows(IllegalArgumentException.class, () -> actual.countInRange(5, 4));
+  }
+
+  @Test
+  public void testBuildFromSorted() {
+    for (final int n : new int[]{0, 1, 2, 3, 100, 1023, 1024, 1025}) {
+      final TreeMap<Integer, String> expected = new TreeMap<>(Comparator.reverseOrder());
+      for (int i = 0; i < n; ++i) {
+        expected.put(i, "v" + i);
+      }
+      final AvlTreeMap<Integer, String> actual =
+          AvlTreeMap.buildFromSorted(expected.entrySet(), Comparator.reverseOrder());
+      assertEquals(expected, actual);
+      assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+      for (int i = 0; i < n; ++i) {
+        assertEquals(n - 1 - i, actual.select(i).getKey());
+      }
+      actual.put(n, "x");
+      actual.remove(0);
+      expected.put(n, "x");
+      expected.remove(0);
+      assertEquals(expected, actual);
+      assertEquals(expected, new AvlTreeMap<>(expected));
+    }
+    final TreeMap<Integer, String> unordered = new TreeMap<>(Comparator.reverseOrder());
+    unordered.put(1, "a");
+    unordered.put(2, "b");
+    assertThrows(IllegalArgumentException.class,
+        () -> AvlTreeMap.buildFromSorted(unordered.entrySet()));
+    assertNull(AvlTreeMap.buildFromSorted(new TreeMap<Integer, String>().entrySet()).firstEntry());
+  }
+}
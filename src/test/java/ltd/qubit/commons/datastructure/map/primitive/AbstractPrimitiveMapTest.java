@@ -0,0 +1,405 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.map.primitive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.util.expand.DoubleExpansionPolicy;
+import ltd.qubit.commons.util.expand.ExpansionPolicy;
+import ltd.qubit.commons.util.expand.JustFitExpansionPolicy;
+import ltd.qubit.commons.util.expand.MemorySavingExpansionPolicy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The common unit tests of the open addressing maps with primitive keys and
+ * values.
+ *
+ * <p>The tests access the maps through the adapter methods below, which widen
+ * the keys and values to {@code long}, so that the same oracle checks all the
+ * maps.
+ *
+ * @param <M>
+ *     the type of the maps under test.
+ * @author Haixing Hu
+ */
+public abstract class AbstractPrimitiveMapTest<M> {
+
+  private static final ExpansionPolicy[] POLICIES = {
+      MemorySavingExpansionPolicy.INSTANCE,
+      DoubleExpansionPolicy.INSTANCE,
+      JustFitExpansionPolicy.INSTANCE,
+  };
+
+  /**
+   * The cursor of the entry iterator of a map under test.
+   */
+  protected interface Cursor {
+    boolean hasNext();
+
+    void next();
+
+    long key();
+
+    long value();
+
+    void setValue(long value);
+
+    void remove();
+  }
+
+  protected abstract M newMap();
+
+  protected abstract M newMap(int expectedSize, float loadFactor);
+
+  protected abstract M newMap(int expectedSize, float loadFactor,
+      ExpansionPolicy policy);
+
+  protected abstract M copyOf(M map);
+
+  /**
+   * Converts a number to the key type of the maps.
+   */
+  protected abstract long toKey(long key);
+
+  /**
+   * Converts a number to the value type of the maps, which also truncates the
+   * overflowed sums of the {@code addTo()} method.
+   */
+  protected abstract long toValue(long value);
+
+  protected abstract float getLoadFactor(M map);
+
+  protected abstract ExpansionPolicy getExpansionPolicy(M map);
+
+  protected abstract void setExpansionPolicy(M map, ExpansionPolicy policy);
+
+  protected abstract int size(M map);
+
+  protected abstract boolean containsKey(M map, long key);
+
+  protected abstract long get(M map, long key);
+
+  protected abstract long getOrDefault(M map, long key, long defaultValue);
+
+  protected abstract long put(M map, long key, long value);
+
+  protected abstract long addTo(M map, long key, long increment);
+
+  protected abstract long remove(M map, long key);
+
+  protected abstract void clear(M map);
+
+  protected abstract void ensureCapacity(M map, int expectedSize);
+
+  protected abstract void trimToSize(M map);
+
+  protected abstract Cursor iterator(M map);
+
+  private void assertSameContent(final Map<Long, Long> expected, final M actual) {
+    assertEquals(expected.size(), size(actual));
+    final Map<Long, Long> visited = new HashMap<>();
+    final Cursor iter = iterator(actual);
+    while (iter.hasNext()) {
+      iter.next();
+      assertEquals(null, visited.put(iter.key(), iter.value()));
+    }
+    assertEquals(expected, visited);
+    for (final Map.Entry<Long, Long> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), getOrDefault(actual, entry.getKey(), -1));
+    }
+  }
+
+  private void runRandomOperations(final M map, final Random random,
+      final int keyRange, final int count) {
+    final Map<Long, Long> expected = new HashMap<>();
+    for (int i = 0; i < count; ++i) {
+      final long key = (keyRange > 0 ? random.nextInt(keyRange) - keyRange / 2
+                                     : toKey(random.nextLong()));
+      final long value = toValue(random.nextLong());
+      switch (random.nextInt(8)) {
+        case 0:
+        case 1:
+        case 2:
+          assertEquals(expected.getOrDefault(key, 0L), put(map, key, value));
+          expected.put(key, value);
+          break;
+        case 3:
+          expected.merge(key, value, (x, y) -> toValue(x + y));
+          assertEquals(expected.get(key), addTo(map, key, value));
+          break;
+        case 4:
+          final Long old = expected.remove(key);
+          assertEquals(old == null ? 0L : old, remove(map, key));
+          break;
+        case 5:
+          assertEquals(expected.containsKey(key), containsKey(map, key));
+          assertEquals(expected.getOrDefault(key, -1L), getOrDefault(map, key, -1));
+          break;
+        case 6: {
+          //  removes some entries and updates some others while iterating
+          final Cursor iter = iterator(map);
+          while (iter.hasNext()) {
+            iter.next();
+            final long k = iter.key();
+            assertEquals(expected.get(k), iter.value());
+            if (random.nextInt(3) == 0) {
+              iter.remove();
+              expected.remove(k);
+            } else if (random.nextInt(4) == 0) {
+              iter.setValue(k);
+              expected.put(k, k);
+            }
+          }
+          break;
+        }
+        default:
+          if (random.nextInt(500) == 0) {
+            clear(map);
+            expected.clear();
+          } else if (random.nextInt(100) == 0) {
+            trimToSize(map);
+          }
+          break;
+      }
+      assertEquals(expected.size(), size(map));
+    }
+    assertSameContent(expected, map);
+  }
+
+  private List<Long> keysOf(final M map) {
+    final List<Long> result = new ArrayList<>();
+    final Cursor iter = iterator(map);
+    while (iter.hasNext()) {
+      iter.next();
+      result.add(iter.key());
+    }
+    return result;
+  }
+
+  /**
+   * Tests whether the probing sequence of the second key wraps around to the
+   * beginning of the table, if the two keys are put into an empty map which
+   * can hold 12 keys without growing.
+   *
+   * <p>The iterators visit the slots of the table from the last to the first.
+   * Two keys with different home slots are always visited in the same order,
+   * whichever is put first; two keys with the same home slot are visited in
+   * the reverse order of the insertion, unless the home slot is the last one,
+   * in which case the second key wraps around to the first slot and the keys
+   * are visited in the order of the insertion.
+   */
+  private boolean wrapsAround(final long first, final long second) {
+    final List<Long> forward = Arrays.asList(first, second);
+    final List<Long> backward = Arrays.asList(second, first);
+    final M map = newMap(12, 0.75f);
+    put(map, first, 1);
+    put(map, second, 1);
+    if (!keysOf(map).equals(forward)) {
+      return false;
+    }
+    clear(map);
+    put(map, second, 1);
+    put(map, first, 1);
+    return keysOf(map).equals(backward);
+  }
+
+  /**
+   * Finds the keys whose home slots are the last slot of the table of an empty
+   * map which can hold 12 keys without growing, so that their probing
+   * sequences wrap around to the beginning of the table.
+   */
+  private List<Long> keysAtEndOfTable(final int count) {
+    final int limit = 2000;
+    for (long seed = 1; seed < limit; ++seed) {
+      for (long key = seed + 1; key < limit; ++key) {
+        if (wrapsAround(seed, key)) {
+          final List<Long> result = new ArrayList<>();
+          result.add(seed);
+          for (long k = key; (k < limit) && (result.size() < count); ++k) {
+            if (wrapsAround(seed, k)) {
+              result.add(k);
+            }
+          }
+          assertEquals(count, result.size(), "Not enough wrapped keys.");
+          return result;
+        }
+      }
+    }
+    throw new AssertionError("No wrapped keys found.");
+  }
+
+  @Test
+  public void testRandomOperations() {
+    final Random random = new Random(20261017);
+    final float[] loadFactors = {0.5f, 0.75f, 0.9f, 0.99f};
+    for (final float loadFactor : loadFactors) {
+      for (final ExpansionPolicy policy : POLICIES) {
+        runRandomOperations(newMap(0, loadFactor, policy), random, 64, 5000);
+        runRandomOperations(newMap(4, loadFactor, policy), random, 4096, 20000);
+        runRandomOperations(newMap(16, loadFactor, policy), random, 0, 5000);
+      }
+    }
+  }
+
+  @Test
+  public void testZeroKey() {
+    final M map = newMap();
+    assertFalse(containsKey(map, 0));
+    assertEquals(0, put(map, 0, 5));
+    assertEquals(5, put(map, 0, 6));
+    assertEquals(8, addTo(map, 0, 2));
+    assertTrue(containsKey(map, 0));
+    assertEquals(8, get(map, 0));
+    assertEquals(1, size(map));
+    put(map, 7, 0);
+    assertTrue(containsKey(map, 7));
+    assertEquals(0, getOrDefault(map, 7, -1));
+    assertEquals(Arrays.asList(0L, 7L), keysOf(map));
+    final Cursor iter = iterator(map);
+    iter.next();
+    iter.remove();
+    assertFalse(containsKey(map, 0));
+    assertEquals(1, size(map));
+    assertEquals(0, remove(map, 0));
+    assertEquals(0, remove(map, 7));
+    assertEquals(0, size(map));
+    assertEquals(-1, getOrDefault(map, 0, -1));
+  }
+
+  @Test
+  public void testRemoveWithWrappedProbing() {
+    final List<Long> wrapped = keysAtEndOfTable(6);
+    for (int removed = 0; removed < wrapped.size(); ++removed) {
+      final M map = newMap(12, 0.75f);
+      final Map<Long, Long> expected = new HashMap<>();
+      for (final long key : wrapped) {
+        put(map, key, -key);
+        expected.put(key, -key);
+      }
+      final long key = wrapped.get(removed);
+      assertEquals(-key, remove(map, key));
+      expected.remove(key);
+      assertFalse(containsKey(map, key));
+      assertSameContent(expected, map);
+    }
+    //  removes the keys while iterating, which moves the keys wrapped to the
+    //  beginning of the table back to the positions already visited
+    for (int mask = 0; mask < (1 << wrapped.size()); ++mask) {
+      final M map = newMap(12, 0.75f);
+      final Map<Long, Long> expected = new HashMap<>();
+      for (final long key : wrapped) {
+        put(map, key, key);
+        expected.put(key, key);
+      }
+      final List<Long> visited = new ArrayList<>();
+      final Cursor iter = iterator(map);
+      while (iter.hasNext()) {
+        iter.next();
+        final long k = iter.key();
+        visited.add(k);
+        if ((mask & (1 << wrapped.indexOf(k))) != 0) {
+          iter.remove();
+          expected.remove(k);
+        }
+      }
+      assertEquals(wrapped.size(), visited.size(), "mask = " + mask);
+      assertSameContent(expected, map);
+    }
+  }
+
+  @Test
+  public void testGrowWithExpansionPolicies() {
+    for (final ExpansionPolicy policy : POLICIES) {
+      final M map = newMap(0, 0.75f, policy);
+      assertSame(policy, getExpansionPolicy(map));
+      final Map<Long, Long> expected = new HashMap<>();
+      for (int i = 1; i <= 10000; ++i) {
+        final long key = toKey(i * 0x61C8864680B583EBL);
+        put(map, key, i);
+        expected.put(key, (long) i);
+        if (i == 5000) {
+          setExpansionPolicy(map, DoubleExpansionPolicy.INSTANCE);
+        }
+      }
+      assertSameContent(expected, map);
+      for (int i = 1; i <= 10000; i += 2) {
+        final long key = toKey(i * 0x61C8864680B583EBL);
+        assertEquals(i, remove(map, key));
+        expected.remove(key);
+      }
+      trimToSize(map);
+      assertSameContent(expected, map);
+      ensureCapacity(map, 20000);
+      assertSameContent(expected, map);
+    }
+  }
+
+  @Test
+  public void testIteratorState() {
+    final M map = newMap();
+    put(map, 1, 2);
+    final Cursor iter = iterator(map);
+    assertThrows(IllegalStateException.class, iter::key);
+    assertThrows(IllegalStateException.class, iter::remove);
+    iter.next();
+    iter.remove();
+    assertThrows(IllegalStateException.class, iter::remove);
+    assertFalse(iter.hasNext());
+    assertThrows(NoSuchElementException.class, iter::next);
+    assertEquals(0, size(map));
+    assertThrows(IllegalArgumentException.class, () -> newMap(8, 1.0f));
+    assertThrows(IllegalArgumentException.class, () -> newMap(-1, 0.75f));
+  }
+
+  @Test
+  public void testCopyEqualsAndSerialization() throws IOException, ClassNotFoundException {
+    final M map = newMap();
+    for (int i = -100; i <= 100; ++i) {
+      put(map, i * 7919, i);
+    }
+    final M copy = copyOf(map);
+    assertEquals(map, copy);
+    assertEquals(map.hashCode(), copy.hashCode());
+    put(copy, 1, 1);
+    assertFalse(map.equals(copy));
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(map);
+    }
+    try (final ObjectInputStream in = new ObjectInputStream(
+        new ByteArrayInputStream(bytes.toByteArray()))) {
+      @SuppressWarnings("unchecked")
+      final M result = (M) in.readObject();
+      assertEquals(map, result);
+      assertEquals(getLoadFactor(map), getLoadFactor(result));
+    }
+    assertEquals("{}", newMap().toString());
+    final M single = newMap();
+    put(single, 3, 4);
+    assertEquals("{3=4}", single.toString());
+  }
+}
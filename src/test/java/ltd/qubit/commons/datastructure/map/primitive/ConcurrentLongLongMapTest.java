@@ -0,0 +1,83 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.map.primitive;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.concurrent.Parallel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test of the {@link ConcurrentLongLongMap} class.
+ *
+ * @author Haixing Hu
+ */
+public class ConcurrentLongLongMapTest {
+
+  private static final int KEYS = 1000;
+
+  private static final int ROUNDS = 200;
+
+  @Test
+  public void testConcurrentAddTo() {
+    final ConcurrentLongLongMap map = new ConcurrentLongLongMap();
+    final List<Integer> workers = new ArrayList<>();
+    for (int i = 0; i < 16; ++i) {
+      workers.add(i);
+    }
+    Parallel.forEach(workers, (worker) -> {
+      for (int round = 0; round < ROUNDS; ++round) {
+        for (long key = 0; key < KEYS; ++key) {
+          map.addTo(key, 1);
+          map.merge(-key - 1, 2, Long::sum);
+          map.compute(key + KEYS, (k, v) -> v + k);
+        }
+      }
+    });
+    assertEquals(3 * KEYS, map.size());
+    final long count = (long) workers.size() * ROUNDS;
+    for (long key = 0; key < KEYS; ++key) {
+      assertEquals(count, map.get(key));
+      assertEquals(2 * count, map.get(-key - 1));
+      assertEquals(count * (key + KEYS), map.get(key + KEYS));
+    }
+    final LongLongMap snapshot = map.snapshot();
+    assertEquals(3 * KEYS, snapshot.size());
+    assertEquals(count, snapshot.get(0));
+  }
+
+  @Test
+  public void testAtomicOperations() {
+    final ConcurrentLongLongMap map = new ConcurrentLongLongMap(100, 4);
+    assertEquals(0, map.putIfAbsent(1, 10));
+    assertEquals(10, map.putIfAbsent(1, 20));
+    assertEquals(10, map.computeIfAbsent(1, (k) -> 30));
+    assertEquals(40, map.computeIfAbsent(2, (k) -> k * 20));
+    assertEquals(0, map.computeIfPresent(3, (k, v) -> v + 1));
+    assertFalse(map.containsKey(3));
+    assertEquals(41, map.computeIfPresent(2, (k, v) -> v + 1));
+    assertFalse(map.replace(2, 40, 50));
+    assertTrue(map.replace(2, 41, 50));
+    assertFalse(map.remove(2, 41));
+    assertTrue(map.remove(2, 50));
+    assertEquals(-1, map.getOrDefault(2, -1));
+    assertEquals(10, map.remove(1));
+    assertTrue(map.isEmpty());
+    map.put(0, 7);
+    assertEquals("{0=7}", map.toString());
+    map.clear();
+    assertEquals(0, map.size());
+  }
+}
@@ -0,0 +1,177 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.map.primitive;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.datastructure.list.primitive.IntIterator;
+import ltd.qubit.commons.util.expand.ExpansionPolicy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test of the {@link IntIntMap} class.
+ *
+ * @author Haixing Hu
+ */
+public class IntIntMapTest extends AbstractPrimitiveMapTest<IntIntMap> {
+
+  @Override
+  protected IntIntMap newMap() {
+    return new IntIntMap();
+  }
+
+  @Override
+  protected IntIntMap newMap(final int expectedSize, final float loadFactor) {
+    return new IntIntMap(expectedSize, loadFactor);
+  }
+
+  @Override
+  protected IntIntMap newMap(final int expectedSize, final float loadFactor,
+      final ExpansionPolicy policy) {
+    return new IntIntMap(expectedSize, loadFactor, policy);
+  }
+
+  @Override
+  protected IntIntMap copyOf(final IntIntMap map) {
+    return new IntIntMap(map);
+  }
+
+  @Override
+  protected long toKey(final long key) {
+    return (int) key;
+  }
+
+  @Override
+  protected long toValue(final long value) {
+    return (int) value;
+  }
+
+  @Override
+  protected float getLoadFactor(final IntIntMap map) {
+    return map.getLoadFactor();
+  }
+
+  @Override
+  protected ExpansionPolicy getExpansionPolicy(final IntIntMap map) {
+    return map.getExpansionPolicy();
+  }
+
+  @Override
+  protected void setExpansionPolicy(final IntIntMap map, final ExpansionPolicy policy) {
+    map.setExpansionPolicy(policy);
+  }
+
+  @Override
+  protected int size(final IntIntMap map) {
+    return map.size();
+  }
+
+  @Override
+  protected boolean containsKey(final IntIntMap map, final long key) {
+    return map.containsKey((int) key);
+  }
+
+  @Override
+  protected long get(final IntIntMap map, final long key) {
+    return map.get((int) key);
+  }
+
+  @Override
+  protected long getOrDefault(final IntIntMap map, final long key, final long defaultValue) {
+    return map.getOrDefault((int) key, (int) defaultValue);
+  }
+
+  @Override
+  protected long put(final IntIntMap map, final long key, final long value) {
+    return map.put((int) key, (int) value);
+  }
+
+  @Override
+  protected long addTo(final IntIntMap map, final long key, final long increment) {
+    return map.addTo((int) key, (int) increment);
+  }
+
+  @Override
+  protected long remove(final IntIntMap map, final long key) {
+    return map.remove((int) key);
+  }
+
+  @Override
+  protected void clear(final IntIntMap map) {
+    map.clear();
+  }
+
+  @Override
+  protected void ensureCapacity(final IntIntMap map, final int expectedSize) {
+    map.ensureCapacity(expectedSize);
+  }
+
+  @Override
+  protected void trimToSize(final IntIntMap map) {
+    map.trimToSize();
+  }
+
+  @Override
+  protected Cursor iterator(final IntIntMap map) {
+    final IntIntIterator iter = map.iterator();
+    return new Cursor() {
+      @Override
+      public boolean hasNext() {
+        return iter.hasNext();
+      }
+
+      @Override
+      public void next() {
+        iter.next();
+      }
+
+      @Override
+      public long key() {
+        return iter.key();
+      }
+
+      @Override
+      public long value() {
+        return iter.value();
+      }
+
+      @Override
+      public void setValue(final long value) {
+        iter.setValue((int) value);
+      }
+
+      @Override
+      public void remove() {
+        iter.remove();
+      }
+    };
+  }
+
+  @Test
+  public void testKeyAndValueIterators() {
+    final IntIntMap map = new IntIntMap();
+    map.put(0, 5);
+    map.put(7, 6);
+    final IntIterator keys = map.keyIterator();
+    assertEquals(0, keys.next());
+    assertEquals(7, keys.next());
+    assertFalse(keys.hasNext());
+    assertThrows(NoSuchElementException.class, keys::next);
+    final IntIterator values = map.valueIterator();
+    assertEquals(5, values.next());
+    assertEquals(6, values.next());
+    assertFalse(values.hasNext());
+    assertThrows(NoSuchElementException.class, values::next);
+  }
+}
@@ -0,0 +1,178 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.map.primitive;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.datastructure.list.primitive.IntIterator;
+import ltd.qubit.commons.datastructure.list.primitive.LongIterator;
+import ltd.qubit.commons.util.expand.ExpansionPolicy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test of the {@link IntLongMap} class.
+ *
+ * @author Haixing Hu
+ */
+public class IntLongMapTest extends AbstractPrimitiveMapTest<IntLongMap> {
+
+  @Override
+  protected IntLongMap newMap() {
+    return new IntLongMap();
+  }
+
+  @Override
+  protected IntLongMap newMap(final int expectedSize, final float loadFactor) {
+    return new IntLongMap(expectedSize, loadFactor);
+  }
+
+  @Override
+  protected IntLongMap newMap(final int expectedSize, final float loadFactor,
+      final ExpansionPolicy policy) {
+    return new IntLongMap(expectedSize, loadFactor, policy);
+  }
+
+  @Override
+  protected IntLongMap copyOf(final IntLongMap map) {
+    return new IntLongMap(map);
+  }
+
+  @Override
+  protected long toKey(final long key) {
+    return (int) key;
+  }
+
+  @Override
+  protected long toValue(final long value) {
+    return value;
+  }
+
+  @Override
+  protected float getLoadFactor(final IntLongMap map) {
+    return map.getLoadFactor();
+  }
+
+  @Override
+  protected ExpansionPolicy getExpansionPolicy(final IntLongMap map) {
+    return map.getExpansionPolicy();
+  }
+
+  @Override
+  protected void setExpansionPolicy(final IntLongMap map, final ExpansionPolicy policy) {
+    map.setExpansionPolicy(policy);
+  }
+
+  @Override
+  protected int size(final IntLongMap map) {
+    return map.size();
+  }
+
+  @Override
+  protected boolean containsKey(final IntLongMap map, final long key) {
+    return map.containsKey((int) key);
+  }
+
+  @Override
+  protected long get(final IntLongMap map, final long key) {
+    return map.get((int) key);
+  }
+
+  @Override
+  protected long getOrDefault(final IntLongMap map, final long key, final long defaultValue) {
+    return map.getOrDefault((int) key, defaultValue);
+  }
+
+  @Override
+  protected long put(final IntLongMap map, final long key, final long value) {
+    return map.put((int) key, value);
+  }
+
+  @Override
+  protected long addTo(final IntLongMap map, final long key, final long increment) {
+    return map.addTo((int) key, increment);
+  }
+
+  @Override
+  protected long remove(final IntLongMap map, final long key) {
+    return map.remove((int) key);
+  }
+
+  @Override
+  protected void clear(final IntLongMap map) {
+    map.clear();
+  }
+
+  @Override
+  protected void ensureCapacity(final IntLongMap map, final int expectedSize) {
+    map.ensureCapacity(expectedSize);
+  }
+
+  @Override
+  protected void trimToSize(final IntLongMap map) {
+    map.trimToSize();
+  }
+
+  @Override
+  protected Cursor iterator(final IntLongMap map) {
+    final IntLongIterator iter = map.iterator();
+    return new Cursor() {
+      @Override
+      public boolean hasNext() {
+        return iter.hasNext();
+      }
+
+      @Override
+      public void next() {
+        iter.next();
+      }
+
+      @Override
+      public long key() {
+        return iter.key();
+      }
+
+      @Override
+      public long value() {
+        return iter.value();
+      }
+
+      @Override
+      public void setValue(final long value) {
+        iter.setValue(value);
+      }
+
+      @Override
+      public void remove() {
+        iter.remove();
+      }
+    };
+  }
+
+  @Test
+  public void testKeyAndValueIterators() {
+    final IntLongMap map = new IntLongMap();
+    map.put(0, 5);
+    map.put(7, 6);
+    final IntIterator keys = map.keyIterator();
+    assertEquals(0, keys.next());
+    assertEquals(7, keys.next());
+    assertFalse(keys.hasNext());
+    assertThrows(NoSuchElementException.class, keys::next);
+    final LongIterator values = map.valueIterator();
+    assertEquals(5L, values.next());
+    assertEquals(6L, values.next());
+    assertFalse(values.hasNext());
+    assertThrows(NoSuchElementException.class, values::next);
+  }
+}
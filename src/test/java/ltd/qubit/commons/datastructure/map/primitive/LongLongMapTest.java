@@ -0,0 +1,177 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.map.primitive;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.datastructure.list.primitive.LongIterator;
+import ltd.qubit.commons.util.expand.ExpansionPolicy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test of the {@link LongLongMap} class.
+ *
+ * @author Haixing Hu
+ */
+public class LongLongMapTest extends AbstractPrimitiveMapTest<LongLongMap> {
+
+  @Override
+  protected LongLongMap newMap() {
+    return new LongLongMap();
+  }
+
+  @Override
+  protected LongLongMap newMap(final int expectedSize, final float loadFactor) {
+    return new LongLongMap(expectedSize, loadFactor);
+  }
+
+  @Override
+  protected LongLongMap newMap(final int expectedSize, final float loadFactor,
+      final ExpansionPolicy policy) {
+    return new LongLongMap(expectedSize, loadFactor, policy);
+  }
+
+  @Override
+  protected LongLongMap copyOf(final LongLongMap map) {
+    return new LongLongMap(map);
+  }
+
+  @Override
+  protected long toKey(final long key) {
+    return key;
+  }
+
+  @Override
+  protected long toValue(final long value) {
+    return value;
+  }
+
+  @Override
+  protected float getLoadFactor(final LongLongMap map) {
+    return map.getLoadFactor();
+  }
+
+  @Override
+  protected ExpansionPolicy getExpansionPolicy(final LongLongMap map) {
+    return map.getExpansionPolicy();
+  }
+
+  @Override
+  protected void setExpansionPolicy(final LongLongMap map, final ExpansionPolicy policy) {
+    map.setExpansionPolicy(policy);
+  }
+
+  @Override
+  protected int size(final LongLongMap map) {
+    return map.size();
+  }
+
+  @Override
+  protected boolean containsKey(final LongLongMap map, final long key) {
+    return map.containsKey(key);
+  }
+
+  @Override
+  protected long get(final LongLongMap map, final long key) {
+    return map.get(key);
+  }
+
+  @Override
+  protected long getOrDefault(final LongLongMap map, final long key, final long defaultValue) {
+    return map.getOrDefault(key, defaultValue);
+  }
+
+  @Override
+  protected long put(final LongLongMap map, final long key, final long value) {
+    return map.put(key, value);
+  }
+
+  @Override
+  protected long addTo(final LongLongMap map, final long key, final long increment) {
+    return map.addTo(key, increment);
+  }
+
+  @Override
+  protected long remove(final LongLongMap map, final long key) {
+    return map.remove(key);
+  }
+
+  @Override
+  protected void clear(final LongLongMap map) {
+    map.clear();
+  }
+
+  @Override
+  protected void ensureCapacity(final LongLongMap map, final int expectedSize) {
+    map.ensureCapacity(expectedSize);
+  }
+
+  @Override
+  protected void trimToSize(final LongLongMap map) {
+    map.trimToSize();
+  }
+
+  @Override
+  protected Cursor iterator(final LongLongMap map) {
+    final LongLongIterator iter = map.iterator();
+    return new Cursor() {
+      @Override
+      public boolean hasNext() {
+        return iter.hasNext();
+      }
+
+      @Override
+      public void next() {
+        iter.next();
+      }
+
+      @Override
+      public long key() {
+        return iter.key();
+      }
+
+      @Override
+      public long value() {
+        return iter.value();
+      }
+
+      @Override
+      public void setValue(final long value) {
+        iter.setValue(value);
+      }
+
+      @Override
+      public void remove() {
+        iter.remove();
+      }
+    };
+  }
+
+  @Test
+  public void testKeyAndValueIterators() {
+    final LongLongMap map = new LongLongMap();
+    map.put(0, 5);
+    map.put(7, 6);
+    final LongIterator keys = map.keyIterator();
+    assertEquals(0, keys.next());
+    assertEquals(7, keys.next());
+    assertFalse(keys.hasNext());
+    assertThrows(NoSuchElementException.class, keys::next);
+    final LongIterator values = map.valueIterator();
+    assertEquals(5L, values.next());
+    assertEquals(6L, values.next());
+    assertFalse(values.hasNext());
+    assertThrows(NoSuchElementException.class, values::next);
+  }
+}
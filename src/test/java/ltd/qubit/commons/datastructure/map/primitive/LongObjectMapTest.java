@@ -0,0 +1,95 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.map.primitive;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.datastructure.list.primitive.LongIterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test of the {@link LongObjectMap} class.
+ *
+ * @author Haixing Hu
+ */
+public class LongObjectMapTest {
+
+  @Test
+  public void testRandomOperations() {
+    final Random random = new Random(20261017);
+    for (final int keyRange : new int[]{32, 1024, 0}) {
+      final LongObjectMap<String> map = new LongObjectMap<>(0, 0.8f);
+      final Map<Long, String> expected = new HashMap<>();
+      for (int i = 0; i < 30000; ++i) {
+        final long key = (keyRange > 0 ? random.nextInt(keyRange) - keyRange / 2
+                                       : random.nextLong());
+        final String value = (random.nextInt(10) == 0 ? null : Integer.toString(i));
+        switch (random.nextInt(4)) {
+          case 0:
+          case 1:
+            assertEquals(expected.get(key), map.put(key, value));
+            expected.put(key, value);
+            break;
+          case 2:
+            assertEquals(expected.remove(key), map.remove(key));
+            break;
+          default:
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+            assertEquals(expected.getOrDefault(key, "none"), map.getOrDefault(key, "none"));
+            break;
+        }
+        assertEquals(expected.size(), map.size());
+      }
+      final Map<Long, String> visited = new HashMap<>();
+      final LongObjectIterator<String> iter = map.iterator();
+      while (iter.hasNext()) {
+        iter.next();
+        visited.put(iter.key(), iter.value());
+      }
+      assertEquals(expected, visited);
+    }
+  }
+
+  @Test
+  public void testKeyAndValueIterators() {
+    final LongObjectMap<String> map = new LongObjectMap<>();
+    for (long i = 0; i < 100; ++i) {
+      map.put(i << 32, Long.toString(i));
+    }
+    long sum = 0;
+    final LongIterator keys = map.keyIterator();
+    while (keys.hasNext()) {
+      final long key = keys.next();
+      sum += key >>> 32;
+      if ((key >>> 32) % 2 == 0) {
+        keys.remove();
+      }
+    }
+    assertEquals(4950, sum);
+    assertEquals(50, map.size());
+    final Iterator<String> values = map.valueIterator();
+    while (values.hasNext()) {
+      final int value = Integer.parseInt(values.next());
+      assertTrue(value % 2 == 1);
+      values.remove();
+    }
+    assertTrue(map.isEmpty());
+    assertNull(map.get(1L << 32));
+    assertFalse(map.containsKey(0));
+  }
+}
@@ -0,0 +1,66 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.set.primitive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.concurrent.Parallel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test of the {@link ConcurrentLongSet} class.
+ *
+ * @author Haixing Hu
+ */
+public class ConcurrentLongSetTest {
+
+  @Test
+  public void testConcurrentAdd() {
+    final ConcurrentLongSet set = new ConcurrentLongSet();
+    final List<Integer> workers = new ArrayList<>();
+    for (int i = 0; i < 8; ++i) {
+      workers.add(i);
+    }
+    Parallel.forEach(workers, (worker) -> {
+      for (long i = 0; i < 20000; ++i) {
+        set.add(i * worker);
+        if (i % 3 == 0) {
+          set.remove(-i - 1);
+        }
+      }
+    });
+    assertEquals(countDistinct(), set.size());
+    assertTrue(set.contains(0));
+    assertTrue(set.contains(19999L * 7));
+    assertFalse(set.contains(-1));
+    final long[] array = set.toArray();
+    Arrays.sort(array);
+    assertEquals(0, array[0]);
+    assertEquals(set.size(), array.length);
+    set.clear();
+    assertTrue(set.isEmpty());
+  }
+
+  private static int countDistinct() {
+    final LongSet expected = new LongSet();
+    for (long worker = 0; worker < 8; ++worker) {
+      for (long i = 0; i < 20000; ++i) {
+        expected.add(i * worker);
+      }
+    }
+    return expected.size();
+  }
+}
@@ -0,0 +1,55 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.set.primitive;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.datastructure.list.primitive.impl.IntArrayList;
+import ltd.qubit.commons.util.expand.MemorySavingExpansionPolicy;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test of the {@link IntSet} class.
+ *
+ * @author Haixing Hu
+ */
+public class IntSetTest {
+
+  @Test
+  public void testAddRemoveAndGrow() {
+    final IntSet set = new IntSet(0, 0.9f, MemorySavingExpansionPolicy.INSTANCE);
+    for (int i = 0; i < 100000; ++i) {
+      assertTrue(set.add(i * 31));
+    }
+    assertFalse(set.add(0));
+    assertEquals(100000, set.size());
+    for (int i = 0; i < 100000; i += 2) {
+      assertTrue(set.remove(i * 31));
+    }
+    assertEquals(50000, set.size());
+    set.trimToSize();
+    for (int i = 0; i < 100000; ++i) {
+      assertEquals(i % 2 == 1, set.contains(i * 31));
+    }
+    final int[] array = set.toArray();
+    Arrays.sort(array);
+    assertEquals(31, array[0]);
+    assertEquals(50000, array.length);
+    final IntSet copy = new IntSet(set);
+    assertEquals(set, copy);
+    assertArrayEquals(new int[]{Integer.MIN_VALUE},
+        new IntSet(new IntArrayList(new int[]{Integer.MIN_VALUE})).toArray());
+  }
+}
@@ -0,0 +1,94 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.datastructure.set.primitive;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.datastructure.list.primitive.LongIterator;
+import ltd.qubit.commons.datastructure.list.primitive.impl.LongArrayList;
+import ltd.qubit.commons.util.expand.DoubleExpansionPolicy;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test of the {@link LongSet} class.
+ *
+ * @author Haixing Hu
+ */
+public class LongSetTest {
+
+  @Test
+  public void testRandomOperations() {
+    final Random random = new Random(20261017);
+    for (final float loadFactor : new float[]{0.5f, 0.75f, 0.95f}) {
+      final LongSet set = new LongSet(0, loadFactor, DoubleExpansionPolicy.INSTANCE);
+      final Set<Long> expected = new HashSet<>();
+      for (int i = 0; i < 30000; ++i) {
+        final long element = random.nextInt(2048) - 1024;
+        switch (random.nextInt(5)) {
+          case 0:
+          case 1:
+            assertEquals(expected.add(element), set.add(element));
+            break;
+          case 2:
+            assertEquals(expected.remove(element), set.remove(element));
+            break;
+          case 3:
+            assertEquals(expected.contains(element), set.contains(element));
+            break;
+          default:
+            if (random.nextInt(100) == 0) {
+              final LongIterator iter = set.iterator();
+              while (iter.hasNext()) {
+                final long value = iter.next();
+                assertTrue(expected.contains(value));
+                if (random.nextBoolean()) {
+                  iter.remove();
+                  expected.remove(value);
+                }
+              }
+            }
+            break;
+        }
+        assertEquals(expected.size(), set.size());
+      }
+      final long[] actual = set.toArray();
+      Arrays.sort(actual);
+      final long[] array = expected.stream().mapToLong(Long::longValue).sorted().toArray();
+      assertArrayEquals(array, actual);
+    }
+  }
+
+  @Test
+  public void testSetOperations() {
+    final LongSet set = new LongSet(new LongArrayList(new long[]{0, 1, 2, 3, 3, 0}));
+    assertEquals(4, set.size());
+    final LongSet other = new LongSet();
+    for (long i = 3; i >= 0; --i) {
+      other.add(i);
+    }
+    assertEquals(set, other);
+    assertEquals(set.hashCode(), other.hashCode());
+    assertTrue(set.retainAll(new LongArrayList(new long[]{0, 2, 5})));
+    assertEquals(2, set.size());
+    assertTrue(set.contains(0));
+    assertFalse(set.contains(1));
+    assertFalse(set.equals(other));
+    set.clear();
+    assertEquals("[]", set.toString());
+  }
+}
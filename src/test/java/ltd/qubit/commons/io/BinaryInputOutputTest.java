@@ -0,0 +1,181 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.util.Date;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.io.error.UnexpectedNullValueException;
+import ltd.qubit.commons.io.serialize.BinarySerialization;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test of the {@link BinaryInput} and {@link BinaryOutput} classes.
+ *
+ * @author Haixing Hu
+ */
+public class BinaryInputOutputTest {
+
+  private static final String[] STRINGS = {
+      "", "hello", "\u0000", "中文字符串", "mixed 中文 and éè", "\uFFFF\u0080\u07FF",
+  };
+
+  private static void writeSample(final OutputStream out, final int[] ints,
+      final double[] doubles) throws IOException {
+    OutputUtils.writeBoolean(out, true);
+    OutputUtils.writeByte(out, (byte) -3);
+    OutputUtils.writeChar(out, 'x');
+    OutputUtils.writeShort(out, (short) -12345);
+    OutputUtils.writeVarShort(out, Short.MAX_VALUE);
+    OutputUtils.writeInt(out, Integer.MIN_VALUE);
+    OutputUtils.writeVarInt(out, Integer.MAX_VALUE);
+    OutputUtils.writeLong(out, -1234567890123456789L);
+    OutputUtils.writeVarLong(out, Long.MAX_VALUE);
+    OutputUtils.writeFloat(out, 3.25f);
+    OutputUtils.writeDouble(out, -0.125);
+    for (final String str : STRINGS) {
+      OutputUtils.writeString(out, str);
+    }
+    OutputUtils.writeString(out, null);
+    OutputUtils.writeIntArray(out, ints);
+    OutputUtils.writeDoubleArray(out, doubles);
+    OutputUtils.writeLongArray(out, new long[]{1L, -2L, 3L}, 1, 2);
+    OutputUtils.writeBigDecimal(out, new BigDecimal("-123.4567"));
+    OutputUtils.writeDate(out, new Date(123456789L));
+  }
+
+  private static void readSample(final InputStream in, final int[] ints,
+      final double[] doubles) throws IOException {
+    assertEquals(true, InputUtils.readBoolean(in));
+    assertEquals((byte) -3, InputUtils.readByte(in));
+    assertEquals('x', InputUtils.readChar(in));
+    assertEquals((short) -12345, InputUtils.readShort(in));
+    assertEquals(Short.MAX_VALUE, InputUtils.readVarShort(in));
+    assertEquals(Integer.MIN_VALUE, InputUtils.readInt(in));
+    assertEquals(Integer.MAX_VALUE, InputUtils.readVarInt(in));
+    assertEquals(-1234567890123456789L, InputUtils.readLong(in));
+    assertEquals(Long.MAX_VALUE, InputUtils.readVarLong(in));
+    assertEquals(3.25f, InputUtils.readFloat(in), 0.0f);
+    assertEquals(-0.125, InputUtils.readDouble(in), 0.0);
+    for (final String str : STRINGS) {
+      assertEquals(str, InputUtils.readString(in, false));
+    }
+    assertNull(InputUtils.readString(in, true));
+    assertArrayEquals(ints, InputUtils.readIntArray(in, false, null));
+    assertArrayEquals(doubles, InputUtils.readDoubleArray(in, false, null));
+    // the overload writing a range of an array does not write the null mark
+    assertEquals(2, InputUtils.readVarInt(in));
+    assertEquals(-2L, InputUtils.readLong(in));
+    assertEquals(3L, InputUtils.readLong(in));
+    assertEquals(new BigDecimal("-123.4567"), InputUtils.readBigDecimal(in, false));
+    assertEquals(new Date(123456789L), InputUtils.readDate(in, false));
+  }
+
+  private static int[] randomInts(final Random random, final int n) {
+    final int[] result = new int[n];
+    for (int i = 0; i < n; ++i) {
+      result[i] = random.nextInt();
+    }
+    return result;
+  }
+
+  private static double[] randomDoubles(final Random random, final int n) {
+    final double[] result = new double[n];
+    for (int i = 0; i < n; ++i) {
+      result[i] = random.nextDouble();
+    }
+    return result;
+  }
+
+  @Test
+  public void testSameWireFormat() throws IOException {
+    final Random random = new Random(42);
+    final int[] ints = randomInts(random, 1000);
+    final double[] doubles = randomDoubles(random, 333);
+    final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    writeSample(expected, ints, doubles);
+    final BinaryOutput actual = new BinaryOutput(1);
+    writeSample(actual, ints, doubles);
+    assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+  }
+
+  @Test
+  public void testReadWithSmallBuffer() throws IOException {
+    final Random random = new Random(7);
+    final int[] ints = randomInts(random, 100);
+    final double[] doubles = randomDoubles(random, 77);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writeSample(out, ints, doubles);
+    final byte[] data = out.toByteArray();
+    for (int size = 1; size <= 17; ++size) {
+      final BinaryInput in = new BinaryInput(new ByteArrayInputStream(data), size);
+      readSample(in, ints, doubles);
+      assertEquals(-1, in.read());
+    }
+    readSample(new BinaryInput(data), ints, doubles);
+    readSample(new BinaryInput(Channels.newChannel(new ByteArrayInputStream(data)), 5, true),
+        ints, doubles);
+  }
+
+  @Test
+  public void testWriteWithSmallBuffer() throws IOException {
+    final Random random = new Random(11);
+    final int[] ints = randomInts(random, 100);
+    final double[] doubles = randomDoubles(random, 77);
+    final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    writeSample(expected, ints, doubles);
+    final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+    try (final BinaryOutput out = new BinaryOutput(actual, 16)) {
+      writeSample(out, ints, doubles);
+    }
+    assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    final ByteArrayOutputStream direct = new ByteArrayOutputStream();
+    try (final BinaryOutput out = new BinaryOutput(Channels.newChannel(direct), 32, true)) {
+      writeSample(out, ints, doubles);
+    }
+    assertArrayEquals(expected.toByteArray(), direct.toByteArray());
+  }
+
+  @Test
+  public void testEndOfInput() throws IOException {
+    final BinaryInput in = new BinaryInput(new byte[]{0, 1, 2});
+    assertThrows(EOFException.class, in::readLong);
+    final BinaryInput in2 = new BinaryInput(new byte[]{1});
+    assertThrows(UnexpectedNullValueException.class, () -> in2.readString(false));
+  }
+
+  @Test
+  public void testBinarySerializationFile() throws IOException {
+    final File file = File.createTempFile("binary-input-output", ".bin");
+    try {
+      final String value = "值 value";
+      BinarySerialization.serialize(String.class, value, file);
+      assertEquals(value, BinarySerialization.deserialize(String.class, file, false));
+      final byte[] data = BinarySerialization.serialize(String.class, value);
+      assertEquals(value, BinarySerialization.deserialize(String.class, data, false));
+    } finally {
+      file.delete();
+    }
+  }
+}
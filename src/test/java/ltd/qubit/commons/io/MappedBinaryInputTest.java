@@ -0,0 +1,125 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.io;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.io.error.AlreadyClosedException;
+import ltd.qubit.commons.io.error.InvalidSeekPositionException;
+import ltd.qubit.commons.io.serialize.BinarySerialization;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test of the {@link MappedBinaryInput} class.
+ *
+ * @author Haixing Hu
+ */
+public class MappedBinaryInputTest {
+
+  private static final int RECORDS = 50;
+
+  private static File writeRecords(final List<Long> offsets) throws IOException {
+    final File file = File.createTempFile("mapped-binary-input", ".bin");
+    final FileOutputStream fileOut = new FileOutputStream(file);
+    long offset = 0;
+    try (final BinaryOutput out = new BinaryOutput(fileOut)) {
+      for (int i = 0; i < RECORDS; ++i) {
+        offsets.add(offset);
+        final int before = out.size();
+        OutputUtils.writeString(out, "record-" + i);
+        OutputUtils.writeLong(out, i * 1000000007L);
+        OutputUtils.writeIntArray(out, new int[]{i, -i, i * i});
+        offset += out.size() - before;
+      }
+    }
+    return file;
+  }
+
+  @Test
+  public void testSequentialReadAcrossChunks() throws IOException {
+    final List<Long> offsets = new ArrayList<>();
+    final File file = writeRecords(offsets);
+    try {
+      for (final int chunkSize : new int[]{1, 3, 7, 64, MappedBinaryInput.DEFAULT_CHUNK_SIZE}) {
+        try (final MappedBinaryInput in = new MappedBinaryInput(file.toPath(), chunkSize)) {
+          assertEquals(file.length(), in.length());
+          for (int i = 0; i < RECORDS; ++i) {
+            assertEquals(offsets.get(i).longValue(), in.position());
+            assertEquals("record-" + i, InputUtils.readString(in, false));
+            assertEquals(i * 1000000007L, InputUtils.readLong(in));
+            assertArrayEquals(new int[]{i, -i, i * i}, InputUtils.readIntArray(in, false, null));
+          }
+          assertEquals(file.length(), in.position());
+          assertEquals(-1, in.read());
+          assertThrows(EOFException.class, in::readInt);
+        }
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void testSeekToRecordOffsets() throws IOException {
+    final List<Long> offsets = new ArrayList<>();
+    final File file = writeRecords(offsets);
+    try (final MappedBinaryInput in = new MappedBinaryInput(file.toPath(), 16)) {
+      for (int i = RECORDS - 1; i >= 0; i -= 7) {
+        in.seek(offsets.get(i));
+        assertEquals("record-" + i, in.readObject(String.class, false));
+        assertEquals("record-" + i, in.readObject(String.class, offsets.get(i), false));
+      }
+      in.seek(in.length());
+      assertEquals(-1, in.read());
+      in.seek(0);
+      assertEquals(offsets.get(1) - offsets.get(0), in.skip(offsets.get(1)));
+      assertEquals("record-1", InputUtils.readString(in, false));
+      assertThrows(InvalidSeekPositionException.class, () -> in.seek(-1));
+      assertThrows(InvalidSeekPositionException.class, () -> in.seek(in.length() + 1));
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void testDeserializeMapped() throws IOException {
+    final File file = File.createTempFile("mapped-binary-input", ".bin");
+    try {
+      BinarySerialization.serialize(String.class, "mapped value", file);
+      assertEquals("mapped value",
+          BinarySerialization.deserializeMapped(String.class, file, false));
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void testEmptyFileAndClose() throws IOException {
+    final File file = File.createTempFile("mapped-binary-input", ".bin");
+    try {
+      final MappedBinaryInput in = new MappedBinaryInput(file);
+      assertEquals(0, in.length());
+      assertEquals(-1, in.read());
+      in.close();
+      assertThrows(AlreadyClosedException.class, () -> in.seek(0));
+    } finally {
+      file.delete();
+    }
+  }
+}
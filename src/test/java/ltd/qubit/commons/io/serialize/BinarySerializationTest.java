@@ -0,0 +1,91 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.io.serialize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.io.serialize.predefined.IntegerBinarySerializer;
+import ltd.qubit.commons.io.serialize.predefined.StringBinarySerializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit test of the {@link BinarySerialization} class.
+ *
+ * @author Haixing Hu
+ */
+public class BinarySerializationTest {
+
+  interface Shape {}
+
+  static class Circle implements Shape {}
+
+  static class SmallCircle extends Circle {}
+
+  static class Square implements Shape {}
+
+  static class SelfRegistered {
+    static {
+      BinarySerialization.register(SelfRegistered.class, StringBinarySerializer.INSTANCE);
+    }
+  }
+
+  static class Unregistered {}
+
+  static final class DummySerializer implements BinarySerializer {
+    @Override
+    public Object deserialize(final InputStream in, final boolean allowNull) {
+      return null;
+    }
+
+    @Override
+    public void serialize(final OutputStream out, final Object obj) {}
+  }
+
+  @Test
+  public void testGetSerializerOfPredefinedClass() throws IOException {
+    assertSame(IntegerBinarySerializer.INSTANCE,
+        BinarySerialization.getSerializer(Integer.class));
+    final byte[] data = BinarySerialization.serialize(Integer.class, 12345);
+    final Integer value = BinarySerialization.deserialize(Integer.class, data, false);
+    assertEquals(12345, value.intValue());
+  }
+
+  @Test
+  public void testGetSerializerInitializesClass() {
+    assertSame(StringBinarySerializer.INSTANCE,
+        BinarySerialization.getSerializer(SelfRegistered.class));
+  }
+
+  @Test
+  public void testGetSerializerFallback() {
+    assertNull(BinarySerialization.getSerializer(SmallCircle.class));
+    final DummySerializer shapeSerializer = new DummySerializer();
+    BinarySerialization.register(Shape.class, shapeSerializer);
+    assertSame(shapeSerializer, BinarySerialization.getSerializer(SmallCircle.class));
+    assertSame(shapeSerializer, BinarySerialization.getSerializer(Square.class));
+    final DummySerializer circleSerializer = new DummySerializer();
+    BinarySerialization.register(Circle.class, circleSerializer);
+    assertSame(circleSerializer, BinarySerialization.getSerializer(SmallCircle.class));
+    assertSame(shapeSerializer, BinarySerialization.getSerializer(Square.class));
+  }
+
+  @Test
+  public void testWarmUp() {
+    assertEquals(2, BinarySerialization.warmUp(String.class, Unregistered.class,
+        long[].class));
+    assertNull(BinarySerialization.getSerializer(Unregistered.class));
+  }
+}
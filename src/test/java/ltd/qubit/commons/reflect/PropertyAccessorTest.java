@@ -0,0 +1,193 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.reflect;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.reflect.testbed.PrimitiveBean;
+import ltd.qubit.commons.testbed.model.Foo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test of the {@link PropertyAccessor} class.
+ *
+ * @author Haixing Hu
+ */
+public class PropertyAccessorTest {
+
+  private static class PrivateBean {
+    private String name;
+    private final int code = 7;
+
+    private String getName() {
+      return name;
+    }
+
+    private void setName(final String name) {
+      this.name = name;
+    }
+
+    public String getUpperName() {
+      if (name == null) {
+        throw new IllegalStateException("no name");
+      }
+      return name.toUpperCase();
+    }
+  }
+
+  public static class MismatchedBean {
+    private long createdTime;
+    private int count;
+    private int status;
+
+    public Instant getCreatedTime() {
+      return Instant.ofEpochMilli(createdTime);
+    }
+
+    public void setCreatedTime(final long createdTime) {
+      this.createdTime = createdTime;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public void setCount(final int count) {
+      this.count = count;
+    }
+
+    public String getStatus() {
+      return String.valueOf(status);
+    }
+
+    public void setStatus(final int status) {
+      this.status = status;
+    }
+  }
+
+  @Test
+  public void testPrimitiveProperties() {
+    final BeanInfo info = BeanInfo.of(PrimitiveBean.class);
+    final PrimitiveBean bean = new PrimitiveBean();
+    final PropertyAccessor b = info.getAccessor("booleanProperty");
+    final PropertyAccessor c = info.getAccessor("charProperty");
+    final PropertyAccessor y = info.getAccessor("byteProperty");
+    final PropertyAccessor s = info.getAccessor("shortProperty");
+    final PropertyAccessor i = info.getAccessor("intProperty");
+    final PropertyAccessor l = info.getAccessor("longProperty");
+    final PropertyAccessor f = info.getAccessor("floatProperty");
+    final PropertyAccessor d = info.getAccessor("doubleProperty");
+    assertTrue(i.isReadCompiled());
+    assertTrue(i.isWriteCompiled());
+    b.setBoolean(bean, true);
+    c.setChar(bean, 'x');
+    y.setByte(bean, (byte) -3);
+    s.setShort(bean, (short) 300);
+    i.setInt(bean, 123456);
+    l.setLong(bean, 1L << 40);
+    f.setFloat(bean, 1.5f);
+    d.setDouble(bean, -2.25);
+    assertTrue(bean.isBooleanProperty());
+    assertEquals('x', bean.getCharProperty());
+    assertEquals((byte) -3, bean.getByteProperty());
+    assertEquals((short) 300, bean.getShortProperty());
+    assertEquals(123456, bean.getIntProperty());
+    assertEquals(1L << 40, bean.getLongProperty());
+    assertEquals(1.5f, bean.getFloatProperty());
+    assertEquals(-2.25, bean.getDoubleProperty());
+    assertTrue(b.getBoolean(bean));
+    assertEquals('x', c.getChar(bean));
+    assertEquals((byte) -3, y.getByte(bean));
+    assertEquals((short) 300, s.getShort(bean));
+    assertEquals(123456, i.getInt(bean));
+    assertEquals(1L << 40, l.getLong(bean));
+    assertEquals(1.5f, f.getFloat(bean));
+    assertEquals(-2.25, d.getDouble(bean));
+    assertEquals(123456, i.get(bean));
+    i.set(bean, 42);
+    assertEquals(42, info.get(bean, "intProperty"));
+    assertThrows(ReflectionException.class, () -> i.set(bean, null));
+    assertThrows(ReflectionException.class, () -> i.set(bean, "42"));
+    assertThrows(ReflectionException.class, () -> i.getLong(bean));
+    assertEquals(42, i.getInt(bean));
+  }
+
+  @Test
+  public void testPublicFields() {
+    final Foo foo = new Foo();
+    final PropertyAccessor b = Property.of(Foo.class, "m_boolean").getAccessor();
+    final PropertyAccessor n = Property.of(Foo.class, "m_Integer").getAccessor();
+    assertSame(b, Property.of(Foo.class, "m_boolean").getAccessor());
+    b.setBoolean(foo, true);
+    assertEquals(Boolean.TRUE, b.get(foo));
+    n.setInt(foo, 200);
+    assertEquals(200, n.get(foo));
+    assertEquals(200, n.getInt(foo));
+    n.set(foo, null);
+    assertNull(n.get(foo));
+    assertThrows(ReflectionException.class, () -> n.getInt(foo));
+  }
+
+  @Test
+  public void testPrivateClass() {
+    final PrivateBean bean = new PrivateBean();
+    final PropertyAccessor name = Property.of(PrivateBean.class, "name").getAccessor();
+    final PropertyAccessor code = Property.of(PrivateBean.class, "code").getAccessor();
+    final PropertyAccessor upper = Property.of(PrivateBean.class, "upperName").getAccessor();
+    name.set(bean, "abc");
+    assertEquals("abc", bean.name);
+    assertEquals("abc", name.get(bean));
+    assertEquals("ABC", upper.get(bean));
+    assertEquals(7, code.getInt(bean));
+    assertFalse(upper.isWriteCompiled());
+    bean.name = null;
+    final InvokingMethodFailedException e = assertThrows(
+        InvokingMethodFailedException.class, () -> upper.get(bean));
+    assertTrue(e.getCause() instanceof IllegalStateException);
+    assertThrows(NullPointerException.class, () -> name.get(null));
+  }
+
+  @Test
+  public void testFallbackToReflection() {
+    final PropertyAccessor length = Property.of(String.class, "length").getAccessor();
+    assertEquals(3, length.get("abc"));
+    assertEquals(5, length.getInt("hello"));
+  }
+
+  @Test
+  public void testAccessorTypesDifferentFromFieldType() {
+    final BeanInfo info = BeanInfo.of(MismatchedBean.class);
+    final MismatchedBean bean = new MismatchedBean();
+    final PropertyAccessor createdTime = info.getAccessor("createdTime");
+    final PropertyAccessor count = info.getAccessor("count");
+    final PropertyAccessor status = info.getAccessor("status");
+    createdTime.setLong(bean, 12345L);
+    count.setInt(bean, 42);
+    status.set(bean, 7);
+    assertTrue(count.isReadCompiled());
+    assertTrue(count.isWriteCompiled());
+    assertEquals(Instant.ofEpochMilli(12345L), createdTime.get(bean));
+    assertEquals(42L, count.get(bean));
+    assertEquals("7", status.get(bean));
+    assertEquals(12345L, bean.createdTime);
+    assertEquals(42, bean.count);
+    assertEquals(7, bean.status);
+    assertEquals(42L, info.getProperty("count").getValue(bean));
+    info.getProperty("status").setValue(bean, 8);
+    assertEquals("8", info.getProperty("status").getValue(bean));
+  }
+}
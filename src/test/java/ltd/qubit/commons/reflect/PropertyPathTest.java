@@ -0,0 +1,138 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.reflect;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.reflect.testbed.Country;
+import ltd.qubit.commons.reflect.testbed.Province;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test of the {@link PropertyPath} class.
+ *
+ * @author Haixing Hu
+ */
+public class PropertyPathTest {
+
+  private static Province createProvince(final String code, final String countryCode) {
+    final Country country = new Country();
+    country.setCode(countryCode);
+    final Province province = new Province();
+    province.setCode(code);
+    province.setCountry(country.getInfo());
+    return province;
+  }
+
+  public static class Chain {
+    private Chain next;
+
+    public Chain getNext() {
+      return next;
+    }
+
+    public void setNext(final Chain next) {
+      this.next = next;
+    }
+  }
+
+  @Test
+  public void testCacheIsBounded() {
+    for (int i = 0; i < 2 * PropertyPath.MAX_CACHED_PATHS; ++i) {
+      final PropertyPath missing = PropertyPath.of(Country.class, "code.xx" + i);
+      assertFalse(missing.isResolved());
+    }
+    assertEquals(0, PropertyPath.cachedCount(Country.class));
+
+    final StringBuilder builder = new StringBuilder("next");
+    for (int i = 0; i < 2 * PropertyPath.MAX_CACHED_PATHS; ++i) {
+      final PropertyPath path = PropertyPath.of(Chain.class, builder.toString());
+      assertTrue(path.isResolved());
+      assertSame(Chain.class, path.getType());
+      builder.append(".next");
+    }
+    assertEquals(PropertyPath.MAX_CACHED_PATHS, PropertyPath.cachedCount(Chain.class));
+    assertSame(PropertyPath.of(Chain.class, "next"), PropertyPath.of(Chain.class, "next"));
+  }
+
+  @Test
+  public void testCompile() {
+    final PropertyPath path = PropertyPath.of(Province.class, "country.code");
+    assertSame(path, PropertyPath.of(Province.class, "country.code"));
+    assertSame(Province.class, path.getRootClass());
+    assertEquals("country.code", path.getPath());
+    assertTrue(path.isResolved());
+    assertEquals(2, path.getProperties().size());
+    assertEquals("country", path.getProperties().get(0).getName());
+    assertEquals("code", path.getProperties().get(1).getName());
+    assertSame(String.class, path.getType());
+
+    final PropertyPath empty = PropertyPath.of(Province.class, "");
+    assertTrue(empty.isResolved());
+    assertSame(Province.class, empty.getType());
+
+    final PropertyPath missing = PropertyPath.of(Province.class, "country.xx.yy");
+    assertFalse(missing.isResolved());
+    assertEquals(1, missing.getProperties().size());
+    final FieldNotExistException e = assertThrows(FieldNotExistException.class,
+        missing::getType);
+    assertEquals("country.xx", e.getFieldName());
+  }
+
+  @Test
+  public void testGetValue() {
+    final Province province = createProvince("JS", "CN");
+    final PropertyPath path = PropertyPath.of(Province.class, "country.code");
+    assertEquals("CN", path.getValue(province));
+    assertNull(path.getValue(null));
+    province.setCountry(null);
+    assertNull(path.getValue(province));
+    //  the non-existing property is not reached
+    assertNull(PropertyPath.of(Province.class, "country.xx").getValue(province));
+    province.setCountry(new Country().getInfo());
+    final FieldNotExistException e = assertThrows(FieldNotExistException.class,
+        () -> PropertyPath.of(Province.class, "country.xx").getValue(province));
+    assertEquals(Province.class, e.getOwnerClass());
+    assertEquals("country.xx", e.getFieldName());
+  }
+
+  @Test
+  public void testSetValue() {
+    final Province province = createProvince("JS", "CN");
+    final PropertyPath path = PropertyPath.of(Province.class, "country.code");
+    path.setValue(province, "XX", false);
+    assertEquals("XX", province.getCountry().getCode());
+    province.setCountry(null);
+    assertThrows(NullPointerException.class, () -> path.setValue(province, "YY", false));
+    path.setValue(province, "YY", true);
+    assertEquals("YY", province.getCountry().getCode());
+  }
+
+  @Test
+  public void testGetPropertyValues() {
+    final List<Province> provinces = Arrays.asList(
+        createProvince("JS", "CN"),
+        null,
+        createProvince("CA", "US"));
+    provinces.get(2).setCountry(null);
+    assertEquals(Arrays.asList("CN", null, null),
+        ObjectGraphUtils.getPropertyValues(provinces, "country.code"));
+    assertEquals(Arrays.asList("JS", null, "CA"),
+        ObjectGraphUtils.getPropertyValues(provinces, "code"));
+  }
+}
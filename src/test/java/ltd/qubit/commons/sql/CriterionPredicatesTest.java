@@ -0,0 +1,189 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.sql;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.reflect.testbed.State;
+import ltd.qubit.commons.sql.impl.CriterionPredicates;
+import ltd.qubit.commons.testbed.model.Foo;
+import ltd.qubit.commons.testbed.model.Gender;
+import ltd.qubit.commons.util.ComparisonOperator;
+import ltd.qubit.commons.util.LogicRelation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static ltd.qubit.commons.reflect.FieldUtils.getAllFields;
+import static ltd.qubit.commons.reflect.Option.BEAN_FIELD;
+import static ltd.qubit.commons.util.ComparisonOperator.EQUAL;
+import static ltd.qubit.commons.util.ComparisonOperator.GREATER_EQUAL;
+import static ltd.qubit.commons.util.ComparisonOperator.IN;
+import static ltd.qubit.commons.util.ComparisonOperator.LIKE;
+
+/**
+ * Unit test of the {@link CriterionPredicates} class.
+ *
+ * @author 胡海星
+ */
+public class CriterionPredicatesTest {
+
+  private static final Object[] VALUES = {
+      null, true, false, (byte) 1, (short) -1, 0, 1, 100, -100, 100L, 100000L,
+      3.14f, -0.618, new BigDecimal("100"), new BigDecimal("100.0"),
+      new BigDecimal("1E+2"), new BigInteger("12345678901234567890"),
+      new BigDecimal("12345678901234567890.987654321"), "abc", "ab%", "A_C",
+      "x", 'x', Instant.parse("2022-01-23T14:31:23Z"), LocalDate.parse("2022-01-23"),
+      State.DISABLED, Gender.MALE, new Long[]{100L, 200L, 300L},
+      new int[]{-100, 1, 100}, new BigDecimal[]{new BigDecimal("100.0")},
+      new String[]{"abc", "x", "DISABLED"}, new State[]{State.NORMAL, State.DISABLED},
+  };
+
+  private static List<Foo> createObjects() {
+    final List<Foo> result = new ArrayList<>();
+    result.add(new Foo());
+    final Foo nulls = new Foo();
+    for (final Field field : getAllFields(Foo.class, BEAN_FIELD)) {
+      if (!field.getType().isPrimitive()) {
+        try {
+          field.set(nulls, null);
+        } catch (final IllegalAccessException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    }
+    result.add(nulls);
+    final Foo other = new Foo();
+    other.m_boolean = false;
+    other.m_char = 'a';
+    other.m_int = -100;
+    other.m_long = 100L;
+    other.m_Integer = 100;
+    other.m_Long = 300L;
+    other.m_Short = (short) 100;
+    other.m_Boolean = Boolean.FALSE;
+    other.m_String = "ABC";
+    other.m_State = State.NORMAL;
+    other.m_child = new Foo();
+    other.m_child.m_int = 300;
+    result.add(other);
+    result.add(null);
+    return result;
+  }
+
+  private static void assertSameResult(final Criterion<Foo> criterion,
+      final Predicate<Foo> predicate, final Foo obj) {
+    Object expected;
+    try {
+      expected = criterion.accept(obj);
+    } catch (final RuntimeException e) {
+      expected = e.getClass();
+    }
+    Object actual;
+    try {
+      actual = predicate.test(obj);
+    } catch (final RuntimeException e) {
+      actual = e.getClass();
+    }
+    assertEquals(expected, actual, "criterion = " + criterion + ", obj = " + obj);
+  }
+
+  @Test
+  public void testSameAsAccept() {
+    final List<Foo> objects = createObjects();
+    final List<String> properties = new ArrayList<>();
+    for (final Field field : getAllFields(Foo.class, BEAN_FIELD)) {
+      properties.add(field.getName());
+    }
+    properties.add("m_child.m_int");
+    properties.add("m_child.m_String");
+    properties.add("m_notExist");
+    for (final String property : properties) {
+      for (final ComparisonOperator op : ComparisonOperator.values()) {
+        for (final Object value : VALUES) {
+          final SimpleCriterion<Foo> criterion =
+              new SimpleCriterion<>(Foo.class, property, op, value);
+          final Predicate<Foo> predicate = criterion.compile();
+          for (final Foo obj : objects) {
+            assertSameResult(criterion, predicate, obj);
+          }
+        }
+        for (final String other : properties) {
+          final SimpleCriterion<Foo> criterion =
+              new SimpleCriterion<>(Foo.class, property, op, other, true);
+          final Predicate<Foo> predicate = criterion.compile();
+          for (final Foo obj : objects) {
+            assertSameResult(criterion, predicate, obj);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testComposedCriterion() {
+    final List<Foo> objects = createObjects();
+    final SimpleCriterion<Foo> c1 = new SimpleCriterion<>(Foo.class, "m_int", IN, new long[]{100, -100});
+    final SimpleCriterion<Foo> c2 = new SimpleCriterion<>(Foo.class, "m_String", LIKE, "a%");
+    final SimpleCriterion<Foo> c3 = new SimpleCriterion<>(Foo.class, "m_Long", GREATER_EQUAL, 0);
+    final SimpleCriterion<Foo> c4 = new SimpleCriterion<>(Foo.class, "m_notExist", EQUAL, 0);
+    final List<ComposedCriterion<Foo>> criteria = Arrays.asList(
+        new ComposedCriterion<>(Foo.class, LogicRelation.AND, c1, c2, c3),
+        new ComposedCriterion<>(Foo.class, LogicRelation.OR, c3, c4),
+        new ComposedCriterion<>(Foo.class, LogicRelation.NOT, c3),
+        new ComposedCriterion<>(Foo.class, LogicRelation.NOT, c4),
+        new ComposedCriterion<>(Foo.class, LogicRelation.NOT, c1, c2),
+        new ComposedCriterion<>(Foo.class, LogicRelation.AND),
+        new ComposedCriterion<>(Foo.class, LogicRelation.OR));
+    for (final ComposedCriterion<Foo> criterion : criteria) {
+      final Predicate<Foo> predicate = criterion.compile();
+      for (final Foo obj : objects) {
+        assertSameResult(criterion, predicate, obj);
+      }
+    }
+  }
+
+  @Test
+  public void testFilter() {
+    final List<Foo> objects = new ArrayList<>();
+    for (int i = 0; i < 1000; ++i) {
+      final Foo foo = new Foo();
+      foo.m_int = i;
+      foo.m_String = (i % 3 == 0 ? "abc" : "xyz");
+      objects.add(foo);
+    }
+    objects.add(null);
+    final Criterion<Foo> criterion = new ComposedCriterion<>(Foo.class, LogicRelation.AND,
+        new SimpleCriterion<>(Foo.class, "m_int", GREATER_EQUAL, 500),
+        new SimpleCriterion<>(Foo.class, "m_String", EQUAL, "abc"));
+    final List<Foo> expected = new ArrayList<>();
+    for (final Foo foo : objects) {
+      if (criterion.accept(foo)) {
+        expected.add(foo);
+      }
+    }
+    assertEquals(167, expected.size());
+    assertEquals(expected, criterion.filter(objects));
+    assertEquals(expected, criterion.parallelFilter(objects));
+    final Criterion<Foo> invalid = new SimpleCriterion<>(Foo.class, "m_notExist", EQUAL, 0);
+    assertTrue(invalid.filter(objects).isEmpty());
+    assertFalse(criterion.compile().test(null));
+  }
+}
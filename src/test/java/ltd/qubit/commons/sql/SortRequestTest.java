@@ -11,13 +11,17 @@ package ltd.qubit.commons.sql;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
+import ltd.qubit.commons.reflect.FieldNotExistException;
 import ltd.qubit.commons.testbed.model.Foo;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class SortRequestTest {
@@ -86,4 +90,81 @@ public class SortRequestTest {
     r3.sort(list);
     assertEquals(Arrays.asList(f2, f1, f4, f3), list);
   }
-}
\ No newline at end of file
+
+  private static List<Foo> randomFoos(final Random random, final int n) {
+    final List<Foo> result = new ArrayList<>();
+    for (int i = 0; i < n; ++i) {
+      final Foo foo = new Foo();
+      foo.m_int = random.nextInt(5);
+      foo.m_Integer = (random.nextInt(4) == 0 ? null : random.nextInt(10));
+      foo.m_String = (random.nextInt(4) == 0 ? null : "s" + random.nextInt(20));
+      result.add(foo);
+    }
+    return result;
+  }
+
+  @Test
+  public void testSortMultipleKeys() {
+    final Random random = new Random(20261017);
+    final List<SortRequest<Foo>> requests = Arrays.asList(
+        new SortRequest<>(Foo.class, "m_int", SortOrder.DESC),
+        new SortRequest<>(Foo.class, "m_Integer", SortOrder.ASC, NullSortOption.NULL_LAST),
+        new SortRequest<>(Foo.class, "m_String", SortOrder.DESC, NullSortOption.NULL_SMALLEST));
+    final Comparator<Foo> comparator = requests.get(0).getComparator()
+        .thenComparing(requests.get(1).getComparator())
+        .thenComparing(requests.get(2).getComparator());
+    for (int round = 0; round < 20; ++round) {
+      final List<Foo> list = randomFoos(random, 200);
+      final List<Foo> expected = new ArrayList<>(list);
+      expected.sort(comparator);
+      final List<Foo> actual = new ArrayList<>(list);
+      SortRequest.sort(actual, requests);
+      assertEquals(expected, actual);
+      actual.sort(SortRequest.getComparator(requests));
+      assertEquals(expected, actual);
+    }
+  }
+
+  @Test
+  public void testGetPage() {
+    final Random random = new Random(20261018);
+    final SortRequest<Foo> r1 = new SortRequest<>(Foo.class, "m_Integer",
+        SortOrder.DESC, NullSortOption.NULL_LARGEST);
+    final List<SortRequest<Foo>> requests = Arrays.asList(r1,
+        new SortRequest<>(Foo.class, "m_String"));
+    for (int round = 0; round < 20; ++round) {
+      final List<Foo> list = randomFoos(random, 100);
+      final List<Foo> copy = new ArrayList<>(list);
+      final List<Foo> sorted1 = new ArrayList<>(list);
+      r1.sort(sorted1);
+      final List<Foo> sorted2 = new ArrayList<>(list);
+      SortRequest.sort(sorted2, requests);
+      for (final int pageSize : new int[]{1, 7, 10, 100}) {
+        for (int pageIndex = 0; pageIndex * pageSize <= list.size() + pageSize; ++pageIndex) {
+          final PageRequest pageRequest = new PageRequest(pageIndex, pageSize);
+          final int from = Math.min(list.size(), pageIndex * pageSize);
+          final int to = Math.min(list.size(), from + pageSize);
+          final Page<Foo> page1 = r1.getPage(list, pageRequest);
+          assertEquals(sorted1.subList(from, to), page1.getContent());
+          assertEquals(list.size(), page1.getTotalCount());
+          assertEquals(pageRequest.getTotalPages(list.size()), page1.getTotalPages());
+          final Page<Foo> page2 = SortRequest.getPage(list, requests, pageRequest);
+          assertEquals(sorted2.subList(from, to), page2.getContent());
+        }
+      }
+      assertEquals(copy, list);
+    }
+  }
+
+  @Test
+  public void testInvalidProperty() {
+    final SortRequest<Foo> r1 = new SortRequest<>(Foo.class, "m_notExist");
+    r1.sort(new ArrayList<>());
+    assertThrows(FieldNotExistException.class, r1::getComparator);
+    assertThrows(FieldNotExistException.class,
+        () -> r1.sort(new ArrayList<>(Arrays.asList(new Foo(), new Foo()))));
+    final SortRequest<Foo> r2 = new SortRequest<>(Foo.class, "m_child");
+    assertThrows(IllegalArgumentException.class,
+        () -> r2.getPage(Arrays.asList(new Foo(), new Foo()), new PageRequest()));
+  }
+}
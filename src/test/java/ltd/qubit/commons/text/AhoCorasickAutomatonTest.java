@@ -0,0 +1,125 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.datastructure.list.primitive.IntList;
+import ltd.qubit.commons.datastructure.list.primitive.impl.IntArrayList;
+import ltd.qubit.commons.text.impl.SearcherImpl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test of the {@link AhoCorasickAutomaton} class.
+ *
+ * @author Haixing Hu
+ */
+public class AhoCorasickAutomatonTest {
+
+  private static final String ALPHABET = "abABéÉ";
+
+  private static String randomString(final Random random, final int maxLen) {
+    final int len = random.nextInt(maxLen + 1);
+    final StringBuilder builder = new StringBuilder(len);
+    for (int i = 0; i < len; ++i) {
+      builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+    }
+    return builder.toString();
+  }
+
+  private static void assertSameAsSearcherImpl(final String str, final int start,
+      final int end, final CharSequence[] substrings, final boolean ignoreCase) {
+    final AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(substrings, ignoreCase);
+    final String message = str + "[" + start + ", " + end + ") "
+        + String.join(",", substrings) + " " + ignoreCase;
+    assertEquals(SearcherImpl.firstIndexOfAnySubstring(str, start, end, substrings, ignoreCase),
+        automaton.firstIndexIn(str, start, end), message);
+    assertEquals(SearcherImpl.countMatchesOfAnySubstring(str, start, end, substrings, ignoreCase),
+        automaton.countMatchesIn(str, start, end), message);
+    final IntList expected = new IntArrayList();
+    SearcherImpl.getOccurrencesOfAnySubstring(str, start, end, substrings, ignoreCase, expected);
+    final IntList actual = new IntArrayList();
+    automaton.getOccurrencesIn(str, start, end, actual);
+    assertArrayEquals(expected.toArray(), actual.toArray(), message);
+  }
+
+  @Test
+  public void testRandomAgainstSearcherImpl() {
+    final Random random = new Random(20221028);
+    for (int round = 0; round < 3000; ++round) {
+      final String str = randomString(random, 40);
+      final int n = 1 + random.nextInt(10);
+      final CharSequence[] substrings = new CharSequence[n];
+      for (int i = 0; i < n; ++i) {
+        substrings[i] = randomString(random, 4);
+      }
+      final int start = random.nextInt(str.length() + 1);
+      final int end = start + random.nextInt(str.length() - start + 1);
+      assertSameAsSearcherImpl(str, start, end, substrings, false);
+      assertSameAsSearcherImpl(str, start, end, substrings, true);
+    }
+  }
+
+  @Test
+  public void testOverlappingSubstrings() {
+    final CharSequence[] substrings = {"aa", "aba", "a", "aa", null};
+    final AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(substrings, false);
+    final String str = "aaaabababa";
+    // "aa": 2, "aba": 2, "a": 7, "aa" (again): 2
+    assertEquals(13, automaton.countMatchesIn(str, 0, str.length()));
+    assertEquals(0, automaton.firstIndexIn(str, 0, str.length()));
+    final IntList occurrences = new IntArrayList();
+    automaton.getOccurrencesIn(str, 0, str.length(), occurrences);
+    assertArrayEquals(new int[]{0, 1, 2, 3, 5, 7, 9}, occurrences.toArray());
+  }
+
+  @Test
+  public void testFirstIndexPrefersEarliestStart() {
+    final AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(
+        new CharSequence[]{"cd", "abcdef", "xyz"}, false);
+    assertEquals(0, automaton.firstIndexIn("abcdefg", 0, 7));
+    assertEquals(2, automaton.firstIndexIn("abcdeXg", 0, 7));
+    assertEquals(7, automaton.firstIndexIn("abXdefg", 0, 7));
+    assertTrue(automaton.isContainedIn("--xyz"));
+    assertFalse(automaton.isContainedIn("--XYZ"));
+    assertFalse(automaton.isContainedIn(null));
+    final AhoCorasickAutomaton ignoreCase = new AhoCorasickAutomaton(
+        new CharSequence[]{"cd", "abcdef", "xyz"}, true);
+    assertTrue(ignoreCase.isContainedIn("--XYZ"));
+    assertEquals(0, ignoreCase.firstIndexIn("ABCDEFG", 0, 7));
+  }
+
+  @Test
+  public void testSearcherWithManySubstrings() {
+    final String[] keywords = new String[Searcher.MIN_SUBSTRINGS_FOR_AUTOMATON * 4];
+    for (int i = 0; i < keywords.length; ++i) {
+      keywords[i] = "key" + i + ";";
+    }
+    final String line = "xx key3; yy KEY17; zz key3; key31;";
+    final Searcher searcher = new Searcher().forSubstringsIn(keywords);
+    assertEquals(3, searcher.findFirstIndexIn(line));
+    assertEquals(3, searcher.countMatchesIn(line));
+    assertArrayEquals(new int[]{3, 22, 28}, searcher.getOccurrencesIn(line));
+    searcher.ignoreCase(true);
+    assertEquals(4, searcher.countMatchesIn(line));
+    assertArrayEquals(new int[]{3, 12, 22, 28}, searcher.getOccurrencesIn(line));
+    final AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(keywords, true);
+    final Searcher shared = new Searcher().forSubstringsIn(automaton);
+    assertEquals(4, shared.countMatchesIn(line));
+    assertEquals(12, shared.startFrom(4).findFirstIndexIn(line));
+    assertEquals(-1, shared.ignoreCase(false).startFrom(4).endBefore(21)
+        .findFirstIndexIn(line));
+  }
+}
@@ -0,0 +1,100 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.lang.StringUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit test of the {@link FrozenTrieMap} class.
+ *
+ * @author Haixing Hu
+ */
+public class FrozenTrieMapTest {
+
+  private static final String CHARS = "abcXYZ\u4e2d\ud83d\ude00";
+
+  private static String randomString(final Random random) {
+    final int n = random.nextInt(6);
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < n; ++i) {
+      builder.append(CHARS.charAt(random.nextInt(CHARS.length())));
+    }
+    return builder.toString();
+  }
+
+  @Test
+  public void testFreeze() {
+    final Random random = new Random(20261017);
+    for (final boolean caseInsensitive : new boolean[]{false, true}) {
+      final TrieMap<Integer> map = new TrieMap<>(caseInsensitive);
+      for (int i = 0; i < 3000; ++i) {
+        map.put(randomString(random), i);
+      }
+      for (int i = 0; i < 300; ++i) {
+        map.remove(randomString(random));
+      }
+      final FrozenTrieMap<Integer> frozen = map.freeze();
+      assertEquals(map.size(), frozen.size());
+      for (int i = 0; i < 5000; ++i) {
+        final String str = randomString(random);
+        assertEquals(map.get(str), frozen.get(str), str);
+        assertEquals(map.contains(str), frozen.contains(str), str);
+        assertEquals(map.getPrefixOf(str), frozen.getPrefixOf(str), str);
+        assertEquals(map.containsPrefixOf(str), frozen.containsPrefixOf(str), str);
+        assertEquals(map.getPrefixOfReversed(str), frozen.getPrefixOfReversed(str), str);
+        assertEquals(map.getPrefixOf(StringUtils.reverse(str)),
+            frozen.getPrefixOfReversed(str), str);
+      }
+      //  later modifications do not affect the frozen map
+      map.put("abc", -1);
+      assertEquals(-1, map.get("abc"));
+      assertEquals(frozen.get("abc") == null, !frozen.contains("abc"));
+    }
+  }
+
+  @Test
+  public void testForEachWithPrefix() {
+    final TrieMap<Integer> map = new TrieMap<>();
+    map.put("", 0);
+    map.put("a", 1);
+    map.put("ab", 2);
+    map.put("abc", 3);
+    map.put("abd", 4);
+    map.put("b", 5);
+    map.put("\u4e2d\u6587", 6);
+    final FrozenTrieMap<Integer> frozen = map.freeze();
+    final List<String> keys = new ArrayList<>();
+    final AtomicInteger sum = new AtomicInteger();
+    frozen.forEachWithPrefix("ab", (key, value) -> {
+      keys.add(key);
+      sum.addAndGet(value);
+    });
+    assertEquals(List.of("ab", "abc", "abd"), keys);
+    assertEquals(9, sum.get());
+    assertEquals(List.of("", "a", "ab", "abc", "abd", "b", "\u4e2d\u6587"),
+        frozen.keysWithPrefix(""));
+    assertEquals(7, frozen.countWithPrefix(""));
+    assertEquals(0, frozen.countWithPrefix("abz"));
+    assertEquals(0, frozen.getPrefixOf("xyz"));
+    assertEquals(3, frozen.getPrefixOf("abcdef"));
+    assertEquals(3, frozen.longestPrefixLength("xabcdef", 1));
+    assertEquals(2, frozen.longestPrefixLength("\u4e2d\u6587\u5b57", 0));
+    assertNull(frozen.get("\u4e2d"));
+  }
+}
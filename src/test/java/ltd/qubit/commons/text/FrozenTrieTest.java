@@ -0,0 +1,131 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test of the {@link FrozenTrie} class.
+ *
+ * @author Haixing Hu
+ */
+public class FrozenTrieTest {
+
+  private static final String CHARS = "abcdeXYZ\u00e9\u4e2d\u6587\ud83d\ude00";
+
+  private static String randomString(final Random random, final String chars) {
+    final int n = random.nextInt(8);
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < n; ++i) {
+      builder.append(chars.charAt(random.nextInt(chars.length())));
+    }
+    return builder.toString();
+  }
+
+  @Test
+  public void testFreezeTrie() {
+    final Random random = new Random(20261017);
+    for (final boolean caseInsensitive : new boolean[]{false, true}) {
+      final Trie trie = new Trie(caseInsensitive);
+      for (int i = 0; i < 3000; ++i) {
+        trie.add(randomString(random, CHARS), 1 + random.nextInt(3));
+      }
+      for (int i = 0; i < 500; ++i) {
+        trie.removeAll(randomString(random, CHARS));
+      }
+      final FrozenTrie frozen = trie.freeze();
+      assertEquals(caseInsensitive, frozen.isCaseInsensitive());
+      assertEquals(trie.size(), frozen.size());
+      for (int i = 0; i < 5000; ++i) {
+        final String str = randomString(random, CHARS);
+        assertEquals(trie.contains(str), frozen.contains(str), str);
+        assertEquals(trie.count(str), frozen.count(str), str);
+        assertEquals(trie.containsPrefixOf(str), frozen.containsPrefixOf(str), str);
+      }
+    }
+  }
+
+  @Test
+  public void testFreezeAsciiTrie() {
+    final Random random = new Random(20261017);
+    final AsciiTrie trie = new AsciiTrie(true);
+    for (int i = 0; i < 3000; ++i) {
+      trie.add(randomString(random, "abcdeXYZ"));
+    }
+    final FrozenTrie frozen = trie.freeze();
+    assertEquals(trie.size(), frozen.size());
+    for (int i = 0; i < 5000; ++i) {
+      final String str = randomString(random, "abcdeXYZ\u212a");
+      assertEquals(trie.contains(str), frozen.contains(str), str);
+      assertEquals(trie.count(str), frozen.count(str), str);
+      assertEquals(trie.containsPrefixOf(str), frozen.containsPrefixOf(str), str);
+      assertEquals(trie.containsPrefixOfReversed(str),
+          frozen.containsPrefixOfReversed(str), str);
+    }
+    //  the Kelvin sign is converted to 'k' by Character.toLowerCase()
+    trie.add("k");
+    final FrozenTrie kelvin = trie.freeze();
+    assertTrue(kelvin.contains("K"));
+    assertFalse(kelvin.contains("\u212a"));
+  }
+
+  @Test
+  public void testPrefixQueries() {
+    final Random random = new Random(20261017);
+    final Trie trie = new Trie();
+    final TreeMap<String, Integer> expected = new TreeMap<>();
+    for (int i = 0; i < 2000; ++i) {
+      final String str = randomString(random, "abc\u4e2d");
+      trie.add(str);
+      expected.merge(str, 1, Integer::sum);
+    }
+    final FrozenTrie frozen = trie.freeze();
+    assertEquals(expected.size(), frozen.keyCount());
+    for (int i = 0; i < 500; ++i) {
+      final String prefix = randomString(random, "abc\u4e2d");
+      final List<String> keys = new ArrayList<>();
+      for (final String key : expected.keySet()) {
+        if (key.startsWith(prefix)) {
+          keys.add(key);
+        }
+      }
+      assertEquals(keys, frozen.keysWithPrefix(prefix), prefix);
+      assertEquals(keys.size(), frozen.countWithPrefix(prefix), prefix);
+      assertEquals(!keys.isEmpty(), frozen.containsPrefix(prefix), prefix);
+      int longest = -1;
+      for (int n = 0; n <= prefix.length(); ++n) {
+        if (expected.containsKey(prefix.substring(0, n))) {
+          longest = n;
+        }
+      }
+      assertEquals(longest, frozen.longestPrefixLength(prefix), prefix);
+      assertEquals(longest, frozen.longestPrefixLength("x" + prefix, 1), prefix);
+    }
+  }
+
+  @Test
+  public void testEmptyTrie() {
+    final FrozenTrie frozen = new Trie().freeze();
+    assertTrue(frozen.isEmpty());
+    assertEquals(0, frozen.keyCount());
+    assertFalse(frozen.contains(""));
+    assertFalse(frozen.containsPrefix(""));
+    assertEquals(-1, frozen.longestPrefixLength("abc"));
+    assertEquals(List.of(), frozen.keysWithPrefix(""));
+  }
+}
@@ -0,0 +1,105 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test of the {@link MultiPatternMatcher} class.
+ *
+ * @author Haixing Hu
+ */
+public class MultiPatternMatcherTest {
+
+  private static final String GLOB_ALPHABET = "aAbk*.?\n\u212A";
+
+  private static final String REGEX_ALPHABET = "aAbk.*+\u212A";
+
+  private static final String STR_ALPHABET = "aAbBkK.\n\u212A";
+
+  private static String randomString(final Random random, final String alphabet,
+      final int maxLen) {
+    final int len = random.nextInt(maxLen + 1);
+    final StringBuilder builder = new StringBuilder(len);
+    for (int i = 0; i < len; ++i) {
+      builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return builder.toString();
+  }
+
+  private static PatternMatcher randomMatcher(final Random random) {
+    final boolean ignoreCase = random.nextBoolean();
+    while (true) {
+      if (random.nextBoolean()) {
+        return new PatternMatcher(PatternType.GLOB, ignoreCase,
+            randomString(random, GLOB_ALPHABET, 5));
+      }
+      try {
+        return new PatternMatcher(PatternType.REGEX, ignoreCase,
+            randomString(random, REGEX_ALPHABET, 5));
+      } catch (final java.util.regex.PatternSyntaxException e) {
+        //  try another one
+      }
+    }
+  }
+
+  @Test
+  public void testSameAsMatchingOneByOne() {
+    final Random random = new Random(20261017);
+    for (int round = 0; round < 500; ++round) {
+      final List<PatternMatcher> matchers = new ArrayList<>();
+      final int n = random.nextInt(6);
+      for (int i = 0; i < n; ++i) {
+        matchers.add(randomMatcher(random));
+      }
+      final MultiPatternMatcher multi = new MultiPatternMatcher(matchers);
+      assertEquals(n, multi.size());
+      for (int i = 0; i < 50; ++i) {
+        final String str = randomString(random, STR_ALPHABET, 7);
+        boolean expected = false;
+        for (final PatternMatcher matcher : matchers) {
+          if (matcher.matches(str)) {
+            expected = true;
+            break;
+          }
+        }
+        assertEquals(expected, multi.matchesAny(str),
+            "patterns = " + matchers + ", str = " + str);
+      }
+    }
+  }
+
+  @Test
+  public void testFastPaths() {
+    final List<PatternMatcher> matchers = new ArrayList<>();
+    matchers.add(new PatternMatcher(PatternType.GLOB, false, "*.java"));
+    matchers.add(new PatternMatcher(PatternType.GLOB, true, "/TMP/*"));
+    matchers.add(new PatternMatcher(PatternType.REGEX, false, "README"));
+    matchers.add(new PatternMatcher(PatternType.GLOB, false, "src/*/test/*.xml"));
+    final MultiPatternMatcher multi = new MultiPatternMatcher(matchers);
+    assertTrue(multi.matchesAny("src/Foo.java"));
+    assertFalse(multi.matchesAny("src/Foo.java\n"));
+    assertTrue(multi.matchesAny("/tmp/a/b"));
+    assertFalse(multi.matchesAny("/tmp/a\nb"));
+    assertTrue(multi.matchesAny("README"));
+    assertFalse(multi.matchesAny("readme"));
+    assertTrue(multi.matchesAny("src/main/test/a.xml"));
+    assertFalse(multi.matchesAny("src/main/test/a.xsd"));
+    assertFalse(multi.matchesAny(null));
+    assertFalse(new MultiPatternMatcher(new ArrayList<>()).matchesAny(""));
+  }
+}
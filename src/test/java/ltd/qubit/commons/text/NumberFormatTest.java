@@ -8,9 +8,12 @@
 ////////////////////////////////////////////////////////////////////////////////
 package ltd.qubit.commons.text;
 
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class NumberFormatTest {
 
@@ -21,4 +24,82 @@ public class NumberFormatTest {
     assertEquals(5380, nf.parseInt("5,380"));
     assertEquals(2115380, nf.parseInt("2,115,380"));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testParseDouble() {
+    final NumberFormat nf = new NumberFormat();
+    final String[] texts = {"0", "1.5", "-2.5e-3", "+7E+2", ".5", "5.", "1e400",
+        "1e-400", "4.9e-324", "2.2250738585072011e-308", "123456789012345678901234567890",
+        "9007199254740993", "0.30000000000000004", "1.7976931348623157E308",
+        "3.4028235e38", "1.5d", "2.5F", "0x1.8p1"};
+    for (final String text : texts) {
+      assertEquals(Double.parseDouble(text), nf.parseDouble(text), text);
+      assertTrue(nf.success(), text);
+      assertEquals(text.length(), nf.getParseIndex(), text);
+      assertEquals(Float.parseFloat(text), nf.parseFloat(text), text);
+      assertTrue(nf.success(), text);
+    }
+    assertEquals(7.25, nf.parseDouble("  7.25  "));
+    assertEquals(Double.POSITIVE_INFINITY, nf.parseDouble("Infinity"));
+    assertEquals(Double.NEGATIVE_INFINITY, nf.parseDouble("-\u221e"));
+    assertTrue(Double.isNaN(nf.parseDouble("NaN.")));
+  }
+
+  @Test
+  public void testParseDoubleErrors() {
+    final NumberFormat nf = new NumberFormat();
+    nf.parseDouble("abc");
+    assertEquals(ErrorCode.EMPTY_VALUE, nf.getErrorCode());
+    assertEquals(0, nf.getErrorIndex());
+    nf.parseDouble("1.5x");
+    assertEquals(ErrorCode.INVALID_SYNTAX, nf.getErrorCode());
+    assertEquals(3, nf.getErrorIndex());
+    nf.parseDouble("1,234.5");
+    assertEquals(ErrorCode.INVALID_SYNTAX, nf.getErrorCode());
+    assertEquals(1, nf.getErrorIndex());
+    nf.getOptions().setGrouping(true);
+    assertEquals(1234.5, nf.parseDouble("1,234.5"));
+    assertEquals(12345678.25f, nf.parseFloat("12,345,678.25"));
+  }
+
+  @Test
+  public void testFormatDouble() {
+    final NumberFormat nf = new NumberFormat();
+    assertEquals("0.30000000000000004", nf.formatDouble(0.1 + 0.2));
+    assertEquals("1.0E23", nf.formatDouble(1.0E23));
+    assertEquals("100.0", nf.formatDouble(100.0));
+    assertEquals("-0.0", nf.formatDouble(-0.0));
+    assertEquals("1.0E-5", nf.formatDouble(1.0E-5));
+    assertEquals("1.23456789E8", nf.formatDouble(123456789.0));
+    assertEquals("NaN.", nf.formatDouble(Double.NaN));
+    assertEquals("0.1", nf.formatFloat(0.1f));
+    assertEquals("3.4028235E38", nf.formatFloat(Float.MAX_VALUE));
+    nf.getOptions().setShowPositive(true);
+    assertEquals("+2.5", nf.formatDouble(2.5));
+    nf.getOptions().setShowPositive(false);
+    nf.getOptions().setScientific(true);
+    assertEquals("1.2345E3", nf.formatDouble(1234.5));
+    nf.getOptions().setFixPoint(true);
+    assertEquals("0.00001", nf.formatDouble(1.0E-5));
+    assertEquals("10000000000.0", nf.formatDouble(1.0E10));
+  }
+
+  @Test
+  public void testFormatDoubleRoundTrip() {
+    final NumberFormat nf = new NumberFormat();
+    final Random random = new Random(20261017);
+    for (int i = 0; i < 100000; ++i) {
+      final double value = Double.longBitsToDouble(random.nextLong());
+      if (Double.isNaN(value)) {
+        continue;
+      }
+      final String text = nf.formatDouble(value);
+      assertTrue(text.length() <= Double.toString(value).length(), text);
+      assertEquals(value, nf.parseDouble(text), text);
+      final float f = Float.intBitsToFloat(random.nextInt());
+      if (!Float.isNaN(f)) {
+        assertEquals(f, nf.parseFloat(nf.formatFloat(f)));
+      }
+    }
+  }
+}
@@ -8,9 +8,18 @@
 ////////////////////////////////////////////////////////////////////////////////
 package ltd.qubit.commons.text;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Unit test of the {@link PatternMap} class.
@@ -129,4 +138,123 @@ public class PatternMapTest {
     assertEquals(null, map.get("xxxx"));
     assertEquals(null, map.get("xx12xx"));
   }
-}
\ No newline at end of file
+
+  private static final String[] REGEX_PATTERNS = {
+      "ab+c", "a.*bc", "x[yz]*abc", "(ab)+c", "\\d+-abc", "abc|xyz", "a?bc",
+      "b{2,3}c.*", ".*ca.*", "[a-c]+", "ba{0,2}c", "c\\.b.*", "a.c", ".*",
+  };
+
+  private static final String[] GLOB_PATTERNS = {
+      "*abc*", "ab*c", "a?c", "*ca", "b*", "*[ab]c*", "c\\*a",
+  };
+
+  /**
+   * Tests that the compiled lookup of the regular expression and glob patterns
+   * returns the same value as testing the patterns one by one.
+   */
+  @Test
+  public void testRegexLookupEquivalence() {
+    final Random random = new Random(20261017);
+    final List<Pattern> patterns = new ArrayList<>();
+    for (final String regex : REGEX_PATTERNS) {
+      patterns.add(new Pattern(PatternType.REGEX, false, regex));
+      patterns.add(new Pattern(PatternType.REGEX, true, regex));
+    }
+    for (final String glob : GLOB_PATTERNS) {
+      patterns.add(new Pattern(PatternType.GLOB, false, glob));
+      patterns.add(new Pattern(PatternType.GLOB, true, glob));
+    }
+    final String alphabet = "abcABCxyz1-.*";
+    for (int round = 0; round < 50; ++round) {
+      final List<Pattern> selected = new ArrayList<>();
+      final PatternMap<Pattern> map = new PatternMap<>();
+      final int n = 1 + random.nextInt(8);
+      for (int i = 0; i < n; ++i) {
+        final Pattern pattern = patterns.get(random.nextInt(patterns.size()));
+        selected.add(pattern);
+        map.put(pattern, pattern);
+      }
+      if (random.nextBoolean()) {
+        map.compile();
+      }
+      for (int i = 0; i < 200; ++i) {
+        final StringBuilder builder = new StringBuilder();
+        final int len = random.nextInt(10);
+        for (int j = 0; j < len; ++j) {
+          builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        final String str = builder.toString();
+        Pattern expected = null;
+        for (final Pattern pattern : selected) {
+          if (pattern.matches(str)) {
+            expected = pattern;
+            break;
+          }
+        }
+        assertEquals(expected, map.get(str), str + " with " + selected);
+      }
+    }
+  }
+
+  /**
+   * Tests the regular expressions containing escapes with operands, which must
+   * not be taken as the required literals.
+   */
+  @Test
+  public void testRegexWithEscapedCharacters() {
+    final String[][] cases = {
+        {"\\x41bc", "Abc"},
+        {"\\x{41}bc", "Abc"},
+        {"\\u0041bc", "Abc"},
+        {"\\0101bc", "Abc"},
+        {"\\cAxy", "\u0001xy"},
+        {"\\p{Lu}bc", "Abc"},
+        {"\\P{Lu}bc", "abc"},
+        {"(?<n>a)\\k<n>bc", "aabc"},
+        {"\\N{LATIN CAPITAL LETTER A}bc", "Abc"},
+        {"(a)\\1bc", "aabc"},
+    };
+    for (final String[] c : cases) {
+      final PatternMap<String> map = new PatternMap<>();
+      map.put(new Pattern(PatternType.REGEX, false, c[0]), c[0]);
+      assertEquals(c[0], map.get(c[1]), "regex = " + c[0]);
+      assertEquals(null, map.get(c[1] + "!"), "regex = " + c[0]);
+    }
+  }
+
+  /**
+   * Tests that the {@link PatternMap#get(String)} could be called concurrently.
+   */
+  @Test
+  public void testConcurrentGet() throws Exception {
+    final PatternMap<String> map = new PatternMap<>();
+    map.put(new Pattern(PatternType.SUFFIX, false, ".html"), "html");
+    map.put(new Pattern(PatternType.REGEX, false, "/api/v\\d+/users/\\d+"), "user");
+    map.put(new Pattern(PatternType.GLOB, true, "/static/*.JS"), "js");
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<Boolean>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; ++t) {
+        final int seed = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 2000; ++i) {
+            final int id = seed * 10000 + i;
+            if (!"user".equals(map.get("/api/v2/users/" + id))
+                || !"js".equals(map.get("/static/app" + id + ".js"))
+                || !"html".equals(map.get("/index" + id + ".html"))
+                || (map.get("/api/v2/users/x" + id) != null)) {
+              return false;
+            }
+          }
+          return true;
+        }));
+      }
+      for (final Future<Boolean> future : futures) {
+        assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+}
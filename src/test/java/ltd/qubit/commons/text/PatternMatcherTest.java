@@ -0,0 +1,145 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test of the {@link PatternMatcher} class.
+ *
+ * @author Haixing Hu
+ */
+public class PatternMatcherTest {
+
+  private static final String GLOB_ALPHABET = "aAb*.\n";
+
+  private static final String STR_ALPHABET = "aAbB.\n";
+
+  private static String randomString(final Random random, final String alphabet,
+      final int maxLen) {
+    final int len = random.nextInt(maxLen + 1);
+    final StringBuilder builder = new StringBuilder(len);
+    for (int i = 0; i < len; ++i) {
+      builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return builder.toString();
+  }
+
+  @Test
+  public void testSimpleGlobSameAsRegex() {
+    final Random random = new Random(12345);
+    for (int round = 0; round < 2000; ++round) {
+      final String glob = randomString(random, GLOB_ALPHABET, 6);
+      for (final boolean ignoreCase : new boolean[]{false, true}) {
+        final int flags = (ignoreCase ? java.util.regex.Pattern.CASE_INSENSITIVE : 0);
+        final java.util.regex.Pattern regex =
+            java.util.regex.Pattern.compile(Glob.toRegex(glob), flags);
+        final PatternMatcher matcher = new PatternMatcher(PatternType.GLOB, ignoreCase, glob);
+        for (int i = 0; i < 20; ++i) {
+          final String str = randomString(random, STR_ALPHABET, 8);
+          assertEquals(regex.matcher(str).matches(), matcher.matches(str),
+              "glob = " + glob + ", str = " + str + ", ignoreCase = " + ignoreCase);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testLiteralTypes() {
+    assertTrue(new PatternMatcher(PatternType.PREFIX, true, "/API/").matches("/api/users"));
+    assertFalse(new PatternMatcher(PatternType.PREFIX, false, "/API/").matches("/api/users"));
+    assertTrue(new PatternMatcher(PatternType.PREFIX, false, "").matches(""));
+    assertTrue(new PatternMatcher(PatternType.SUFFIX, true, ".JSON").matches("a.json"));
+    assertFalse(new PatternMatcher(PatternType.SUFFIX, false, ".json").matches("json"));
+    assertTrue(new PatternMatcher(PatternType.SUBSTRING, true, "USER").matches("/api/users"));
+    assertFalse(new PatternMatcher(PatternType.SUBSTRING, true, "").matches(""));
+    assertTrue(new PatternMatcher(PatternType.SUBSTRING, false, "").matches("x"));
+    assertTrue(new PatternMatcher(PatternType.LITERAL, true, "ABC").matches("abc"));
+    assertFalse(new PatternMatcher(PatternType.REGEX, false, "a+").matches(null));
+    assertTrue(new PatternMatcher(PatternType.REGEX, true, "A+b").matches("aab"));
+    assertTrue(new PatternMatcher(PatternType.GLOB, true, "*.{c,h}").matches("X.H"));
+    assertTrue(new PatternMatcher(PatternType.GLOB, false, "/api/*/users/*")
+        .matches("/api/v1/users/42"));
+  }
+
+  @Test
+  public void testRequiredLiteralSkipsEscapeOperands() {
+    assertEquals("bc", requiredLiteral("\\x41bc"));
+    assertEquals("bc", requiredLiteral("\\x{41}bc"));
+    assertEquals("bc", requiredLiteral("\\u0041bc"));
+    assertEquals("bc", requiredLiteral("\\0101bc"));
+    assertEquals("xy", requiredLiteral("\\cAxy"));
+    assertEquals("bc", requiredLiteral("\\p{Lu}bc"));
+    assertEquals("bc", requiredLiteral("\\PLbc"));
+    assertEquals("bc", requiredLiteral("\\N{LATIN CAPITAL LETTER A}bc"));
+    assertEquals("xyz", requiredLiteral("(a)\\1xyz"));
+    assertEquals("abc", requiredLiteral("abc\\d+"));
+    assertEquals("a.c", requiredLiteral("a\\.c"));
+    assertEquals("bc", requiredLiteral("[\\x5D]bc"));
+  }
+
+  private static String requiredLiteral(final String regex) {
+    return new PatternMatcher(PatternType.REGEX, false, regex).getRequiredLiteral();
+  }
+
+  @Test
+  public void testPatternCachesCompiledForm() {
+    final Pattern pattern = new Pattern(PatternType.GLOB, true, "*.java");
+    final PatternMatcher compiled = pattern.compile();
+    assertSame(compiled, pattern.compile());
+    assertTrue(pattern.matches("Foo.JAVA"));
+    pattern.setIgnoreCase(false);
+    assertFalse(pattern.matches("Foo.JAVA"));
+    assertFalse(pattern.compile().isIgnoreCase());
+    pattern.setType(PatternType.REGEX);
+    pattern.setExpression("(");
+    assertFalse(pattern.matches("("));
+  }
+
+  @Test
+  public void testConcurrentMatches() throws Exception {
+    final Pattern regex = new Pattern(PatternType.REGEX, false, "/api/v[0-9]+/.*");
+    final Pattern glob = new Pattern(PatternType.GLOB, false, "/api/*/orders/*");
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<Boolean>> futures = new ArrayList<>();
+      for (int i = 0; i < 64; ++i) {
+        final int id = i;
+        futures.add(executor.submit(() -> {
+          for (int k = 0; k < 1000; ++k) {
+            final String url = "/api/v" + id + "/orders/" + k;
+            if (!regex.matches(url) || !glob.matches(url) || glob.matches(url + "\n")) {
+              return false;
+            }
+          }
+          return true;
+        }));
+      }
+      for (final Future<Boolean> future : futures) {
+        assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+}
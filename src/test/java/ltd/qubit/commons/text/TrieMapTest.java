@@ -10,6 +10,8 @@ package ltd.qubit.commons.text;
 
 import org.junit.jupiter.api.Test;
 
+import ltd.qubit.commons.lang.StringUtils;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
@@ -314,6 +316,35 @@ public class TrieMapTest {
 
   }
 
+  /**
+   * Test method for {@link TrieMap#getPrefixOfReversed(String)}.
+   */
+  @Test
+  public void testGetPrefixOfReversed() {
+    final TrieMap<String> trie = new TrieMap<String>();
+    assertEquals(null, trie.getPrefixOfReversed("abc"));
+    trie.put("cba", "abc");
+    trie.put("c\uD800\uDC00", "\uD800\uDC00c");
+    assertEquals("abc", trie.getPrefixOfReversed("abc"));
+    assertEquals("abc", trie.getPrefixOfReversed("xyzabc"));
+    assertEquals(null, trie.getPrefixOfReversed("bc"));
+    assertEquals(null, trie.getPrefixOfReversed("abC"));
+    assertEquals("\uD800\uDC00c", trie.getPrefixOfReversed("x\uD800\uDC00c"));
+    trie.put("", "_value");
+    assertEquals("_value", trie.getPrefixOfReversed("abC"));
+
+    final TrieMap<String> ci = new TrieMap<String>(true);
+    ci.put("cba", "abc");
+    assertEquals("abc", ci.getPrefixOfReversed("xABC"));
+    assertEquals(null, ci.getPrefixOfReversed("ABD"));
+
+    for (final String str : new String[]{"", "a", "xabc", "\uD800\uDC00c",
+        "\uDC00\uD800c", "abc\uD800", "\uDC00abc"}) {
+      assertEquals(trie.getPrefixOf(StringUtils.reverse(str)),
+          trie.getPrefixOfReversed(str), str);
+    }
+  }
+
 
   /**
    * Test method for {@link TrieMap#compact()}.
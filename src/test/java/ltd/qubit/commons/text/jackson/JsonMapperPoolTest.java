@@ -0,0 +1,107 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text.jackson;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import ltd.qubit.commons.text.testbed.Organization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link JsonMapperPool} 的单元测试。
+ *
+ * @author 胡海星
+ */
+public class JsonMapperPoolTest {
+
+  private static Organization createOrganization(final long id) {
+    final Organization company = new Organization();
+    company.setId(id);
+    company.setCode("code-" + id);
+    company.setName("公司" + id);
+    company.setCreateTime(Instant.parse("2022-09-28T09:38:45.752Z"));
+    return company;
+  }
+
+  @Test
+  public void testReadersAndWritersAreCached() {
+    final JsonMapperPool pool = JsonMapperPool.DEFAULT;
+    assertSame(pool.readerFor(Organization.class), pool.readerFor(Organization.class));
+    assertSame(pool.listReaderFor(Organization.class),
+        pool.listReaderFor(Organization.class));
+    assertNotSame(pool.readerFor(Organization.class),
+        pool.listReaderFor(Organization.class));
+    assertSame(pool.writerFor(Organization.class),
+        pool.writerForValue(createOrganization(1L)));
+    assertNotSame(JsonMapperPool.DEFAULT.writerFor(Organization.class),
+        JsonMapperPool.NORMALIZED.writerFor(Organization.class));
+  }
+
+  @Test
+  public void testRoundTrip() throws JsonProcessingException {
+    final Organization company = createOrganization(42L);
+    final String json = JsonMapperPool.DEFAULT.writerForValue(company)
+        .writeValueAsString(company);
+    assertEquals(company, JsonMapperPool.DEFAULT.readerFor(Organization.class)
+        .readValue(json));
+    final String pretty = JsonMapperPool.PRETTY.writerForValue(company)
+        .writeValueAsString(company);
+    assertTrue(pretty.contains("\n"));
+    assertFalse(json.contains("\n"));
+    final List<Organization> list = JsonMapperPool.DEFAULT
+        .listReaderFor(Organization.class).readValue("[" + json + "," + json + "]");
+    assertEquals(List.of(company, company), list);
+  }
+
+  @Test
+  public void testCopyMapperDoesNotAffectPool() throws JsonProcessingException {
+    final Organization company = createOrganization(7L);
+    final CustomizedJsonMapper mapper = JsonMapperPool.DEFAULT.copyMapper();
+    mapper.setPrettyPrint(true);
+    assertTrue(mapper.writeValueAsString(company).contains("\n"));
+    assertFalse(JsonMapperPool.DEFAULT.writerForValue(company)
+        .writeValueAsString(company).contains("\n"));
+  }
+
+  @Test
+  public void testConcurrentFormatNormalized() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<Boolean>> futures = new ArrayList<>();
+      for (int i = 0; i < 64; ++i) {
+        final Organization company = createOrganization(i);
+        final String expected = JsonMapperUtils.formatNormalizedNoThrow(company,
+            new CustomizedJsonMapper());
+        futures.add(executor.submit(() ->
+            expected.equals(JsonMapperUtils.formatNormalizedNoThrow(company))));
+      }
+      for (final Future<Boolean> future : futures) {
+        assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+}
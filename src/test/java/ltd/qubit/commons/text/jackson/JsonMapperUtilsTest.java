@@ -8,6 +8,11 @@
 ////////////////////////////////////////////////////////////////////////////////
 package ltd.qubit.commons.text.jackson;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -15,16 +20,22 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 
+import ltd.qubit.commons.text.CaseFormat;
 import ltd.qubit.commons.text.testbed.Organization;
 import ltd.qubit.commons.text.testbed.Person;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
@@ -136,6 +147,73 @@ public class JsonMapperUtilsTest {
         + "\"payload\":{\"age\":\"32\",\"job-title\":\"engineer\"}}", j2);
   }
 
+  @Test
+  public void testFormatNormalizedWithSharedMapper() throws JsonProcessingException {
+    final Map<String, Object> payload = new HashMap<>();
+    payload.put("zeta", 1);
+    payload.put("alpha", new SimpleObject(2L, "李四", 25, false));
+    final String expected = JsonMapperUtils.formatNormalizedNoThrow(payload,
+        new CustomizedJsonMapper());
+    assertEquals(expected, JsonMapperUtils.formatNormalizedNoThrow(payload));
+    assertEquals(expected, JsonMapperUtils.formatNormalized(payload));
+    assertEquals("null", JsonMapperUtils.formatNormalizedNoThrow(null));
+    final List<SimpleObject> list = JsonMapperUtils.parseList(
+        JsonMapperUtils.formatList(List.of(new SimpleObject(1L, "张三", 30, true))),
+        SimpleObject.class);
+    assertEquals(1, list.size());
+    assertEquals("张三", list.get(0).name);
+  }
+
+  @Test
+  public void testStreamingListReadAndWrite() throws IOException {
+    final int n = 1000;
+    final StringWriter out = new StringWriter();
+    try (final SequenceWriter writer = JsonMapperUtils.createListWriter(out)) {
+      for (int i = 0; i < n; ++i) {
+        writer.write(new SimpleObject((long) i, "name-" + i, i % 100, i % 2 == 0));
+      }
+    }
+    final String json = out.toString();
+    assertEquals(JsonMapperUtils.formatList(
+        JsonMapperUtils.parseList(json, SimpleObject.class)), json);
+    try (final MappingIterator<SimpleObject> iter = JsonMapperUtils.parseListIterator(
+        new StringReader(json), SimpleObject.class)) {
+      int count = 0;
+      while (iter.hasNext()) {
+        final SimpleObject obj = iter.next();
+        assertEquals(count, obj.id.intValue());
+        assertEquals("name-" + count, obj.name);
+        ++count;
+      }
+      assertEquals(n, count);
+    }
+    final InputStream in = new ByteArrayInputStream(json.getBytes(UTF_8));
+    try (final Stream<SimpleObject> stream = JsonMapperUtils.parseListStream(in,
+        SimpleObject.class)) {
+      assertEquals(n / 2, stream.filter(obj -> obj.active).count());
+    }
+    try (final Stream<SimpleObject> stream = JsonMapperUtils.parseListStream(
+        new StringReader("[]"), SimpleObject.class)) {
+      assertEquals(0, stream.count());
+    }
+  }
+
+  @Test
+  public void testStreamingListWriterHonorsMapperSettings() throws IOException {
+    final CustomizedJsonMapper mapper = CustomizedJsonMapper.createNormalized();
+    mapper.setNamingStrategy(CaseFormat.UPPER_CAMEL);
+    final Map<String, Integer> map = new HashMap<>();
+    map.put("b", 2);
+    map.put("a", 1);
+    final StringWriter out = new StringWriter();
+    try (final SequenceWriter writer = JsonMapperUtils.createListWriter(out, mapper)) {
+      writer.write(new SimpleObject(1L, "x", 2, true));
+      writer.write(map);
+    }
+    assertEquals("[{\"Active\":true,\"Age\":2,\"Id\":1,\"Name\":\"x\"},"
+        + "{\"a\":1,\"b\":2}]", out.toString());
+  }
+
   @Test
   public void testToPathValueMap_SimpleObject() throws JsonProcessingException {
     final SimpleObject obj = new SimpleObject(1L, "张三", 30, true);
@@ -0,0 +1,148 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text.translate;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.text.EscapeUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test of the {@link CompiledTranslator} class.
+ *
+ * @author Haixing Hu
+ */
+public class CompiledTranslatorTest {
+
+  private static final String ALPHABET = "ab<>&\"'/\\\n\t\u0000\u0001\u007f\u0085"
+      + "\u00e9 \u03b1\u2014\ufffe\ud835\udd38\ud800\udc00";
+
+  private static final String[] FRAGMENTS = {
+      "&amp;", "&lt;", "&#65;", "&#x41;", "&#x;", "&eacute;", "&alpha;", "&apos;",
+      "\\n", "\\u0041", "\\uu0041", "\\101", "\\7", "\\\\", "&#12", "&",
+      "\ud835", "\udd38",
+  };
+
+  /**
+   * Translates the input by calling the translator at every position, as the
+   * original implementation of {@link CharSequenceTranslator#transform(String)}.
+   */
+  private static String referenceTransform(final CharSequenceTranslator translator,
+      final String input) throws IOException {
+    final StringWriter out = new StringWriter();
+    int pos = 0;
+    final int len = input.length();
+    while (pos < len) {
+      final int consumed = translator.translate(input, pos, out);
+      if (consumed == 0) {
+        final char c1 = input.charAt(pos);
+        out.append(c1);
+        pos++;
+        if (Character.isHighSurrogate(c1) && pos < len) {
+          final char c2 = input.charAt(pos);
+          if (Character.isLowSurrogate(c2)) {
+            out.append(c2);
+            pos++;
+          }
+        }
+        continue;
+      }
+      for (int pt = 0; pt < consumed; pt++) {
+        pos += Character.charCount(Character.codePointAt(input, pos));
+      }
+    }
+    return out.toString();
+  }
+
+  private static String randomString(final Random random) {
+    final StringBuilder builder = new StringBuilder();
+    final int n = random.nextInt(12);
+    for (int i = 0; i < n; ++i) {
+      if (random.nextInt(3) == 0) {
+        builder.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+      } else {
+        builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+      }
+    }
+    return builder.toString();
+  }
+
+  @Test
+  public void testSameAsTranslatingAtEveryPosition() throws IOException {
+    final CharSequenceTranslator[] translators = {
+        EscapeUtils.ESCAPE_JAVA,
+        EscapeUtils.ESCAPE_ECMASCRIPT,
+        EscapeUtils.ESCAPE_JSON,
+        EscapeUtils.ESCAPE_XML10,
+        EscapeUtils.ESCAPE_XML11,
+        EscapeUtils.ESCAPE_HTML3,
+        EscapeUtils.ESCAPE_HTML4,
+        EscapeUtils.ESCAPE_XSI,
+        EscapeUtils.UNESCAPE_JAVA,
+        EscapeUtils.UNESCAPE_HTML3,
+        EscapeUtils.UNESCAPE_HTML4,
+        EscapeUtils.UNESCAPE_XML,
+        EscapeUtils.ESCAPE_JAVA_REGEX,
+        EscapeUtils.UNESCAPE_JAVA_REGEX,
+    };
+    final Random random = new Random(20261017);
+    for (int i = 0; i < 3000; ++i) {
+      final String input = randomString(random);
+      for (final CharSequenceTranslator translator : translators) {
+        String expected;
+        try {
+          expected = referenceTransform(translator, input);
+        } catch (final IllegalArgumentException e) {
+          expected = e.getClass().getName();
+        }
+        String actual;
+        try {
+          actual = translator.transform(input);
+        } catch (final IllegalArgumentException e) {
+          actual = e.getClass().getName();
+        }
+        assertEquals(expected, actual, "translator = " + translator
+            + ", input = " + input);
+      }
+    }
+  }
+
+  @Test
+  public void testFlatten() {
+    final LookupTranslator lookup = new LookupTranslator(Map.of("ab", "X", "a", "Y"));
+    final CharSequenceTranslator aggregate = new AggregateTranslator(lookup,
+        new AggregateTranslator(NumericEntityEscaper.between(0x7f, 0x9f)));
+    final CompiledTranslator compiled = new CompiledTranslator(aggregate,
+        new UnicodeUnpairedSurrogateRemover());
+    assertTrue(compiled.mayTranslate('a'));
+    assertFalse(compiled.mayTranslate('b'));
+    assertTrue(compiled.mayTranslate('\u0080'));
+    assertFalse(compiled.mayTranslate(' '));
+    assertTrue(compiled.mayTranslate('\ud800'));
+    assertEquals("XbY&#128;c", compiled.transform("abba\u0080c\ud800"));
+    assertEquals(compiled, compiled.cloneEx());
+    assertEquals(compiled, new CompiledTranslator(compiled));
+  }
+
+  @Test
+  public void testLongestMatch() {
+    final LookupTranslator lookup = new LookupTranslator(Map.of(
+        "&lt", "<", "&lt;", "<<", "&l", "L"));
+    assertEquals("<<<L&x", lookup.transform("&lt;&lt&l&x"));
+    assertEquals("plain text", lookup.transform("plain text"));
+  }
+}
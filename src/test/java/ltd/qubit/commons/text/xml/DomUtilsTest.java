@@ -0,0 +1,72 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.text.xml;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.xpath.XPathExpression;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test of the {@link DomUtils} class.
+ *
+ * @author Haixing Hu
+ */
+public class DomUtilsTest {
+
+  private static final String XML = "<root><item id=\"1\">a</item>"
+      + "<group><item id=\"2\">b</item></group><item id=\"3\">c</item></root>";
+
+  @Test
+  public void testSelect() throws XmlException {
+    final Document doc = XmlUtils.parse(new StringReader(XML));
+    final Node first = DomUtils.selectNode(doc, "//item");
+    assertEquals("1", ((Element) first).getAttribute("id"));
+    assertNull(DomUtils.selectNode(doc, "//missing"));
+    assertEquals(3, DomUtils.selectNodes(doc, "//item").getLength());
+    assertEquals("b", DomUtils.selectString(doc, "/root/group/item"));
+    assertEquals("", DomUtils.selectString(doc, "/root/none"));
+    final List<Element> buffer = new ArrayList<>();
+    buffer.add(doc.getDocumentElement());
+    final List<Element> elements = DomUtils.selectElements(doc.getDocumentElement(),
+        "item | item/text()", buffer);
+    assertSame(buffer, elements);
+    assertEquals(2, elements.size());
+    assertEquals("3", elements.get(1).getAttribute("id"));
+  }
+
+  @Test
+  public void testSelectWithCompiledExpression() throws XmlException {
+    final XPathExpression expression = XmlUtils.compileXPath("item/@id");
+    for (int i = 1; i <= 3; ++i) {
+      final Document doc = XmlUtils.parse(new StringReader(
+          "<root><item id=\"" + i + "\"/></root>"));
+      assertEquals(String.valueOf(i),
+          DomUtils.selectString(doc.getDocumentElement(), expression));
+    }
+    final Document doc = XmlUtils.parse(new StringReader(XML));
+    final XPathEvaluationException e1 = assertThrows(XPathEvaluationException.class,
+        () -> DomUtils.selectNodes(doc, XmlUtils.compileXPath("count(//item)")));
+    assertNull(e1.getExpression());
+    final XPathEvaluationException e2 = assertThrows(XPathEvaluationException.class,
+        () -> DomUtils.selectElements(doc, "count(//item)", null));
+    assertEquals("count(//item)", e2.getExpression());
+  }
+}
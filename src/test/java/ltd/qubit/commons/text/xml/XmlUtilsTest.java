@@ -8,10 +8,17 @@
 ////////////////////////////////////////////////////////////////////////////////
 package ltd.qubit.commons.text.xml;
 
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.xml.xpath.XPathExpression;
+
 import org.junit.jupiter.api.Test;
 import org.w3c.dom.Document;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Unit test of the {@link XmlUtils} class.
@@ -26,4 +33,30 @@ public class XmlUtilsTest {
     assertNotNull(doc);
     XmlUtils.print(doc, System.out);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testGetCompiledXPath() throws Exception {
+    XmlUtils.clearXPathCache();
+    final XPathExpression expr = XmlUtils.getCompiledXPath("/root/item");
+    assertSame(expr, XmlUtils.getCompiledXPath("/root/item"));
+    assertNotSame(expr, XmlUtils.compileXPath("/root/item"));
+    final AtomicReference<XPathExpression> other = new AtomicReference<>();
+    final Thread thread = new Thread(() -> {
+      try {
+        other.set(XmlUtils.getCompiledXPath("/root/item"));
+      } catch (final XmlException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    thread.start();
+    thread.join();
+    assertNotNull(other.get());
+    assertNotSame(expr, other.get());
+    for (int i = 0; i < XmlUtils.XPATH_CACHE_SIZE; ++i) {
+      XmlUtils.getCompiledXPath("/root/item[" + (i + 1) + "]");
+    }
+    assertNotSame(expr, XmlUtils.getCompiledXPath("/root/item"));
+    assertThrows(InvalidXPathExpressionException.class,
+        () -> XmlUtils.getCompiledXPath("/root/["));
+  }
+}
@@ -0,0 +1,209 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.io.error.NotOpenedException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 测试{@link AsyncCache}类的功能。
+ *
+ * @author 胡海星
+ */
+public class AsyncCacheTest {
+
+  private static class CountingCache extends AsyncCache<Integer, String> {
+    final AtomicInteger fetches = new AtomicInteger();
+    final List<Set<Integer>> batches = new ArrayList<>();
+    volatile CountDownLatch gate = null;
+
+    CountingCache(final ConcurrentCacheOptions<Integer, CompletableFuture<String>> options) {
+      super(options);
+    }
+
+    @Override
+    protected void doOpen() {}
+
+    @Override
+    protected String fetchValue(final Integer key) throws IOException {
+      fetches.incrementAndGet();
+      final CountDownLatch latch = gate;
+      if (latch != null) {
+        try {
+          latch.await();
+        } catch (final InterruptedException e) {
+          throw new IOException(e);
+        }
+      }
+      if (key < 0) {
+        throw new IOException("negative key: " + key);
+      }
+      return "v" + key;
+    }
+
+    @Override
+    protected Map<Integer, String> fetchValues(final Set<Integer> keys) throws IOException {
+      synchronized (batches) {
+        batches.add(keys);
+      }
+      final Map<Integer, String> result = new LinkedHashMap<>();
+      for (final Integer key : keys) {
+        if (key < 0) {
+          throw new IOException("negative key: " + key);
+        }
+        result.put(key, "b" + key);
+      }
+      return result;
+    }
+
+    @Override
+    protected void doClose() {}
+  }
+
+  private static CountingCache open(
+      final ConcurrentCacheOptions<Integer, CompletableFuture<String>> options)
+      throws IOException {
+    final CountingCache cache = new CountingCache(options);
+    cache.open();
+    return cache;
+  }
+
+  @Test
+  public void testGetCachesValue() throws Exception {
+    final CountingCache cache = open(new ConcurrentCacheOptions<Integer, CompletableFuture<String>>()
+        .setExecutor(Runnable::run));
+    assertEquals("v1", cache.get(1).get());
+    assertEquals("v1", cache.get(1).get());
+    assertEquals(1, cache.fetches.get());
+    assertEquals(1, cache.size());
+    assertEquals("v1", cache.getIfPresent(1).get());
+    assertNull(cache.getIfPresent(2));
+  }
+
+  @Test
+  public void testGetNotOpened() {
+    final CountingCache cache = new CountingCache(new ConcurrentCacheOptions<>());
+    final CompletableFuture<String> future = cache.get(1);
+    assertTrue(future.isCompletedExceptionally());
+    final ExecutionException e = assertThrows(ExecutionException.class, future::get);
+    assertTrue(e.getCause() instanceof NotOpenedException);
+  }
+
+  @Test
+  public void testConcurrentGetsAreCoalesced() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final CountingCache cache = open(new ConcurrentCacheOptions<Integer, CompletableFuture<String>>()
+          .setExecutor(executor));
+      final CountDownLatch gate = new CountDownLatch(1);
+      cache.gate = gate;
+      final CompletableFuture<String> first = cache.get(1);
+      final CompletableFuture<String> second = cache.get(1);
+      assertSame(first, second);
+      assertFalse(first.isDone());
+      gate.countDown();
+      assertEquals("v1", first.get(5, TimeUnit.SECONDS));
+      assertEquals(1, cache.fetches.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testGetAllLoadsMissingKeysInOneBatch() throws Exception {
+    final CountingCache cache = open(new ConcurrentCacheOptions<Integer, CompletableFuture<String>>()
+        .setExecutor(Runnable::run));
+    assertEquals("v2", cache.get(2).get());
+    final Map<Integer, String> result = cache.getAll(Arrays.asList(3, 2, 1, 3)).get();
+    assertEquals(Arrays.asList(3, 2, 1), new ArrayList<>(result.keySet()));
+    assertEquals("b3", result.get(3));
+    assertEquals("v2", result.get(2));
+    assertEquals("b1", result.get(1));
+    assertEquals(1, cache.batches.size());
+    assertEquals(Set.of(1, 3), cache.batches.get(0));
+    assertEquals("b1", cache.get(1).get());
+    assertEquals(1, cache.fetches.get());
+  }
+
+  @Test
+  public void testGetAllSharesLoadingOfGet() throws Exception {
+    final AtomicInteger executions = new AtomicInteger();
+    final List<CompletableFuture<Map<Integer, String>>> batches = new ArrayList<>();
+    final CountingCache[] holder = new CountingCache[1];
+    // 在get()开始加载后、其结果放入缓存前,对同一个键调用getAll()
+    final CountingCache cache = open(new ConcurrentCacheOptions<Integer, CompletableFuture<String>>()
+        .setExecutor((task) -> {
+          if (executions.getAndIncrement() == 0) {
+            batches.add(holder[0].getAll(Arrays.asList(1, 2)));
+          }
+          task.run();
+        }));
+    holder[0] = cache;
+    assertEquals("v1", cache.get(1).get());
+    assertEquals(1, batches.size());
+    final Map<Integer, String> result = batches.get(0).get(5, TimeUnit.SECONDS);
+    assertEquals("v1", result.get(1));
+    assertEquals("b2", result.get(2));
+    assertEquals(1, cache.fetches.get());
+    assertEquals(1, cache.batches.size());
+    assertEquals(Set.of(2), cache.batches.get(0));
+  }
+
+  @Test
+  public void testLoadingFailureIsNotCached() throws Exception {
+    final CountingCache cache = open(new ConcurrentCacheOptions<Integer, CompletableFuture<String>>()
+        .setExecutor(Runnable::run));
+    final ExecutionException e = assertThrows(ExecutionException.class, () -> cache.get(-1).get());
+    assertTrue(e.getCause() instanceof IOException);
+    assertEquals(0, cache.size());
+    assertThrows(ExecutionException.class, () -> cache.get(-1).get());
+    assertEquals(2, cache.fetches.get());
+    assertThrows(ExecutionException.class, () -> cache.getAll(Arrays.asList(1, -2)).get());
+    assertNull(cache.getIfPresent(1));
+    assertNull(cache.getIfPresent(-2));
+  }
+
+  @Test
+  public void testRecordStats() throws Exception {
+    final CountingCache cache = open(new ConcurrentCacheOptions<Integer, CompletableFuture<String>>()
+        .setExecutor(Runnable::run)
+        .setRecordStats(true));
+    cache.get(1).get();
+    cache.get(1).get();
+    assertThrows(ExecutionException.class, () -> cache.get(-1).get());
+    final CacheStats stats = cache.getStats();
+    assertEquals(1, stats.getHitCount());
+    assertEquals(2, stats.getMissCount());
+    assertEquals(1, stats.getLoadSuccessCount());
+    assertEquals(1, stats.getLoadFailureCount());
+  }
+}
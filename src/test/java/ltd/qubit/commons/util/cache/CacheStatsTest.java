@@ -0,0 +1,116 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 测试{@link CacheStats}和{@link ConcurrentStatsCounter}类的功能。
+ *
+ * @author 胡海星
+ */
+public class CacheStatsTest {
+
+  @Test
+  public void testEmpty() {
+    final CacheStats stats = CacheStats.EMPTY;
+    assertEquals(0, stats.getRequestCount());
+    assertEquals(1.0, stats.getHitRate());
+    assertEquals(0.0, stats.getMissRate());
+    assertEquals(0.0, stats.getAverageLoadPenalty());
+    assertEquals(0, stats.getLoadLatencyPercentile(0.99));
+  }
+
+  @Test
+  public void testCounter() {
+    final ConcurrentStatsCounter counter = new ConcurrentStatsCounter();
+    counter.recordHits(3);
+    counter.recordMisses(1);
+    counter.recordLoadSuccess(100);
+    counter.recordLoadFailure(300);
+    counter.recordEviction(5);
+    counter.recordEvictions(3, 4);
+    final CacheStats stats = counter.snapshot();
+    assertEquals(3, stats.getHitCount());
+    assertEquals(1, stats.getMissCount());
+    assertEquals(0.75, stats.getHitRate());
+    assertEquals(2, stats.getLoadCount());
+    assertEquals(0.5, stats.getLoadFailureRate());
+    assertEquals(200.0, stats.getAverageLoadPenalty());
+    assertEquals(4, stats.getEvictionCount());
+    assertEquals(9, stats.getEvictionWeight());
+  }
+
+  @Test
+  public void testLoadLatencyPercentile() {
+    final ConcurrentStatsCounter counter = new ConcurrentStatsCounter();
+    for (int i = 0; i < 99; ++i) {
+      counter.recordLoadSuccess(1000);
+    }
+    counter.recordLoadSuccess(1_000_000);
+    final CacheStats stats = counter.snapshot();
+    // 1000 falls into [512, 1024), 1000000 falls into [524288, 1048576)
+    assertEquals(1023, stats.getLoadLatencyPercentile(0.5));
+    assertEquals(1023, stats.getLoadLatencyPercentile(0.99));
+    assertEquals(1048575, stats.getLoadLatencyPercentile(1.0));
+    assertThrows(IllegalArgumentException.class, () -> stats.getLoadLatencyPercentile(1.5));
+  }
+
+  @Test
+  public void testMinus() {
+    final ConcurrentStatsCounter counter = new ConcurrentStatsCounter();
+    counter.recordHits(2);
+    final CacheStats before = counter.snapshot();
+    counter.recordHits(3);
+    counter.recordMisses(1);
+    final CacheStats delta = counter.snapshot().minus(before);
+    assertEquals(3, delta.getHitCount());
+    assertEquals(1, delta.getMissCount());
+  }
+
+  @Test
+  public void testRegisterMBean() throws Exception {
+    final ConcurrentCache<Integer, Integer> cache = new ConcurrentCache<>(
+        new ConcurrentCacheOptions<Integer, Integer>().setRecordStats(true)) {
+      @Override
+      protected void doOpen() {}
+
+      @Override
+      protected Integer fetchValue(final Integer key) throws IOException {
+        return key;
+      }
+
+      @Override
+      protected void doClose() {}
+    };
+    cache.open();
+    cache.get(1);
+    cache.get(1);
+    final ObjectName name = CacheStatsBean.register("testRegisterMBean", cache);
+    try {
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      assertEquals(1L, server.getAttribute(name, "HitCount"));
+      assertEquals(1L, server.getAttribute(name, "MissCount"));
+      assertEquals(0.5, server.getAttribute(name, "HitRate"));
+    } finally {
+      CacheStatsBean.unregister(name);
+    }
+    assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+  }
+}
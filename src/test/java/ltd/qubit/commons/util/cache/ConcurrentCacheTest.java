@@ -0,0 +1,365 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.cache;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.io.error.NotOpenedException;
+import ltd.qubit.commons.util.clock.MockClock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 测试{@link ConcurrentCache}类的功能。
+ *
+ * @author 胡海星
+ */
+public class ConcurrentCacheTest {
+
+  private static class CountingCache extends ConcurrentCache<Integer, String> {
+    final AtomicInteger fetches = new AtomicInteger();
+    volatile long fetchDelay = 0;
+
+    CountingCache(final ConcurrentCacheOptions<Integer, String> options) {
+      super(options);
+    }
+
+    @Override
+    protected void doOpen() {}
+
+    @Override
+    protected String fetchValue(final Integer key) throws IOException {
+      fetches.incrementAndGet();
+      if (fetchDelay > 0) {
+        try {
+          Thread.sleep(fetchDelay);
+        } catch (final InterruptedException e) {
+          throw new IOException(e);
+        }
+      }
+      if (key < 0) {
+        throw new IOException("negative key: " + key);
+      }
+      return "v" + key;
+    }
+
+    @Override
+    protected void doClose() {}
+  }
+
+  private static CountingCache open(final ConcurrentCacheOptions<Integer, String> options)
+      throws IOException {
+    final CountingCache cache = new CountingCache(options);
+    cache.open();
+    return cache;
+  }
+
+  @Test
+  public void testGetCachesValue() throws IOException {
+    final CountingCache cache = open(new ConcurrentCacheOptions<>());
+    assertEquals("v1", cache.get(1));
+    assertEquals("v1", cache.get(1));
+    assertEquals(1, cache.fetches.get());
+    assertTrue(cache.cachesKey(1));
+    assertFalse(cache.cachesKey(2));
+    cache.invalidate(1);
+    assertFalse(cache.cachesKey(1));
+    assertEquals("v1", cache.get(1));
+    assertEquals(2, cache.fetches.get());
+  }
+
+  @Test
+  public void testGetNotOpened() {
+    final CountingCache cache = new CountingCache(new ConcurrentCacheOptions<>());
+    assertThrows(NotOpenedException.class, () -> cache.get(1));
+  }
+
+  @Test
+  public void testLruEviction() throws IOException {
+    final CountingCache cache = open(new ConcurrentCacheOptions<Integer, String>()
+        .setMaxWeight(3)
+        .setEvictionPolicy(EvictionPolicy.LRU));
+    cache.get(1);
+    cache.get(2);
+    cache.get(3);
+    cache.get(1);
+    cache.get(4);
+    assertEquals(3, cache.size());
+    assertTrue(cache.cachesKey(1));
+    assertFalse(cache.cachesKey(2));
+    assertTrue(cache.cachesKey(3));
+    assertTrue(cache.cachesKey(4));
+  }
+
+  @Test
+  public void testLfuEviction() throws IOException {
+    final CountingCache cache = open(new ConcurrentCacheOptions<Integer, String>()
+        .setMaxWeight(3)
+        .setEvictionPolicy(EvictionPolicy.LFU));
+    cache.get(1);
+    cache.get(1);
+    cache.get(2);
+    cache.get(2);
+    cache.get(3);
+    cache.get(4);
+    assertEquals(3, cache.size());
+    assertTrue(cache.cachesKey(1));
+    assertTrue(cache.cachesKey(2));
+    assertFalse(cache.cachesKey(3));
+    assertTrue(cache.cachesKey(4));
+  }
+
+  @Test
+  public void testTinyLfuKeepsFrequentKeys() throws IOException {
+    final CountingCache cache = open(new ConcurrentCacheOptions<Integer, String>()
+        .setMaxWeight(100)
+        .setEvictionPolicy(EvictionPolicy.TINY_LFU));
+    for (int round = 0; round < 5; ++round) {
+      for (int i = 0; i < 50; ++i) {
+        cache.get(i);
+      }
+    }
+    // a one-shot scan must not flush the frequently used keys
+    for (int i = 1000; i < 2000; ++i) {
+      cache.get(i);
+    }
+    assertTrue(cache.size() <= 100);
+    int retained = 0;
+    for (int i = 0; i < 50; ++i) {
+      if (cache.cachesKey(i)) {
+        ++retained;
+      }
+    }
+    assertTrue(retained >= 45, "retained " + retained);
+  }
+
+  @Test
+  public void testWeightedEviction() throws IOException {
+    final CountingCache cache = open(new ConcurrentCacheOptions<Integer, String>()
+        .setMaxWeight(10)
+        .setWeigher((k, v) -> k));
+    cache.get(4);
+    cache.get(5);
+    assertEquals(9, cache.getWeightedSize());
+    cache.get(3);
+    assertFalse(cache.cachesKey(4));
+    assertEquals(8, cache.getWeightedSize());
+  }
+
+  @Test
+  public void testExpireAfterWrite() throws IOException {
+    final MockClock clock = new MockClock();
+    final CountingCache cache = open(new ConcurrentCacheOptions<Integer, String>()
+        .setClock(clock)
+        .setExpireAfterWrite(Duration.ofSeconds(10))
+        .setExpiry((k, v) -> (k == 2 ? Duration.ofSeconds(1) : null)));
+    cache.get(1);
+    cache.get(2);
+    clock.add(2, TimeUnit.SECONDS);
+    assertTrue(cache.cachesKey(1));
+    assertFalse(cache.cachesKey(2));
+    clock.add(10, TimeUnit.SECONDS);
+    assertFalse(cache.cachesKey(1));
+    cache.cleanUp();
+    assertEquals(0, cache.size());
+    cache.get(1);
+    assertEquals(3, cache.fetches.get());
+  }
+
+  @Test
+  public void testRefreshAfterWrite() throws IOException {
+    final MockClock clock = new MockClock();
+    final CountingCache cache = open(new ConcurrentCacheOptions<Integer, String>()
+        .setClock(clock)
+        .setRefreshAfterWrite(Duration.ofSeconds(5))
+        .setExecutor(Runnable::run));
+    cache.get(1);
+    clock.add(6, TimeUnit.SECONDS);
+    assertEquals("v1", cache.get(1));
+    assertEquals(2, cache.fetches.get());
+    assertEquals("v1", cache.get(1));
+    assertEquals(2, cache.fetches.get());
+  }
+
+  @Test
+  public void testSingleFlightLoading() throws Exception {
+    final CountingCache cache = open(new ConcurrentCacheOptions<>());
+    cache.fetchDelay = 100;
+    final int threads = 16;
+    final ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      final CountDownLatch start = new CountDownLatch(1);
+      final List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < threads; ++i) {
+        results.add(pool.submit(() -> {
+          start.await();
+          return cache.get(7);
+        }));
+      }
+      start.countDown();
+      for (final Future<String> result : results) {
+        assertEquals("v7", result.get());
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    assertEquals(1, cache.fetches.get());
+  }
+
+  @Test
+  public void testConcurrentGetAndInvalidateAll() throws Exception {
+    for (final EvictionPolicy policy : EvictionPolicy.values()) {
+      final int maxWeight = 256;
+      final CountingCache cache = open(new ConcurrentCacheOptions<Integer, String>()
+          .setMaxWeight(maxWeight)
+          .setEvictionPolicy(policy));
+      final int threads = 4;
+      final ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+      try {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; ++t) {
+          final int seed = t;
+          results.add(pool.submit(() -> {
+            start.await();
+            for (int i = 0; i < 50000; ++i) {
+              final int key = (i * 31 + seed * 17) % 64;
+              assertEquals("v" + key, cache.get(key));
+            }
+            return null;
+          }));
+        }
+        results.add(pool.submit(() -> {
+          start.await();
+          for (int i = 0; i < 5000; ++i) {
+            cache.invalidateAll();
+          }
+          return null;
+        }));
+        start.countDown();
+        for (final Future<?> result : results) {
+          result.get();
+        }
+      } finally {
+        pool.shutdownNow();
+      }
+      assertEquals(cache.size(), cache.getWeightedSize(), "policy = " + policy);
+      for (int key = 0; key < 1000; ++key) {
+        assertEquals("v" + key, cache.get(key));
+      }
+      assertEquals(cache.size(), cache.getWeightedSize(), "policy = " + policy);
+      assertTrue(cache.size() <= maxWeight, "policy = " + policy);
+      cache.invalidateAll();
+      assertEquals(0, cache.getWeightedSize(), "policy = " + policy);
+    }
+  }
+
+  @Test
+  public void testInvalidateAllBetweenLookupAndAccess() throws IOException {
+    for (final EvictionPolicy policy : EvictionPolicy.values()) {
+      final AtomicReference<Runnable> hook = new AtomicReference<>();
+      final MockClock clock = new MockClock() {
+        @Override
+        public long millis() {
+          final Runnable action = hook.getAndSet(null);
+          if (action != null) {
+            action.run();
+          }
+          return super.millis();
+        }
+      };
+      final CountingCache cache = open(new ConcurrentCacheOptions<Integer, String>()
+          .setMaxWeight(4)
+          .setEvictionPolicy(policy)
+          .setClock(clock)
+          .setExpireAfterWrite(Duration.ofHours(1)));
+      cache.get(1);
+      cache.get(2);
+      cache.get(3);
+      //  the cached node of the key 2 is found before invalidating all nodes,
+      //  and its access is recorded after that
+      hook.set(cache::invalidateAll);
+      assertEquals("v2", cache.get(2));
+      assertEquals(0, cache.size());
+      for (int key = 10; key < 30; ++key) {
+        assertEquals("v" + key, cache.get(key));
+        assertEquals(cache.size(), cache.getWeightedSize(), "policy = " + policy);
+        assertTrue(cache.size() <= 4, "policy = " + policy);
+      }
+    }
+  }
+
+  @Test
+  public void testLoadingFailureIsNotCached() throws IOException {
+    final CountingCache cache = open(new ConcurrentCacheOptions<>());
+    assertThrows(IOException.class, () -> cache.get(-1));
+    assertThrows(IOException.class, () -> cache.get(-1));
+    assertEquals(2, cache.fetches.get());
+    assertFalse(cache.cachesKey(-1));
+  }
+
+  @Test
+  public void testStatsDisabledByDefault() throws IOException {
+    final CountingCache cache = open(new ConcurrentCacheOptions<>());
+    cache.get(1);
+    cache.get(1);
+    assertEquals(CacheStats.EMPTY, cache.getStats());
+  }
+
+  @Test
+  public void testRecordStats() throws IOException {
+    final CountingCache cache = open(new ConcurrentCacheOptions<Integer, String>()
+        .setMaxWeight(2)
+        .setRecordStats(true));
+    cache.get(1);
+    cache.get(1);
+    cache.get(2);
+    cache.get(3);
+    assertThrows(IOException.class, () -> cache.get(-1));
+    final CacheStats stats = cache.getStats();
+    assertEquals(1, stats.getHitCount());
+    assertEquals(4, stats.getMissCount());
+    assertEquals(5, stats.getRequestCount());
+    assertEquals(3, stats.getLoadSuccessCount());
+    assertEquals(1, stats.getLoadFailureCount());
+    assertEquals(1, stats.getEvictionCount());
+    assertEquals(1, stats.getEvictionWeight());
+    assertEquals(0.2, stats.getHitRate(), 1e-9);
+    long loads = 0;
+    for (final long count : stats.getLoadLatencyHistogram()) {
+      loads += count;
+    }
+    assertEquals(4, loads);
+  }
+
+  @Test
+  public void testCloseClearsCache() throws IOException {
+    final CountingCache cache = open(new ConcurrentCacheOptions<>());
+    cache.get(1);
+    cache.close();
+    assertFalse(cache.isOpened());
+    cache.open();
+    assertEquals(0, cache.size());
+  }
+}
@@ -0,0 +1,180 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.codec;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit test of the {@link DateTimePatternScanner} class.
+ *
+ * @author Haixing Hu
+ */
+public class DateTimePatternScannerTest {
+
+  private static final String[] FRAGMENTS = {
+      "2022", "0000", "9999", "20221", "+2022", "-2022", "202", "1", "01", "001",
+      "2", "02", "12", "13", "0", "00", "29", "30", "31", "32", "23", "24", "59",
+      "60", "123", "1234", "-1", "+1", "-", "/", ":", ".", " ", "T", "t", "x",
+  };
+
+  private static final String[] PATTERNS = {
+      "uuuu-MM-dd[' ']['T']HH:mm:ss[.SSS]",
+      "uuuu-M-d[[' ']['T']HH:mm[':'ss[.SSS]]]",
+      "uuuu-MM-dd HH:mm:ss",
+      "uuuu/MM/dd['T'HH[:mm[:ss[.SSSSSS]]]]",
+      "d.M.uuuu H:m",
+      "'Date: 'uuuu-M-d",
+  };
+
+  private static String randomText(final Random random) {
+    final StringBuilder builder = new StringBuilder();
+    final int n = random.nextInt(16);
+    for (int i = 0; i < n; ++i) {
+      builder.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+    }
+    return builder.toString();
+  }
+
+  private static List<String> generateTexts() {
+    final List<String> result = new ArrayList<>();
+    final Random random = new Random(20261017);
+    final String[] dates = {"2022-1-31", "2024-02-30", "2023-2-29", "2022-4-31",
+        "1936-08-5", "0000-01-01", "2022/12/31", "2022-001-01", "2022-13-1",
+        "2022-1-32", "2022-01-00", "2022/1-1", "+12022-1-1", "-2022-1-1"};
+    final String[] times = {"", " 0:0", "T23:59", " 24:00", " 23:60", " 1:2:3",
+        "T12:30:45.1", " 12:30:45.12", " 12:30:45.123", " 12:30:45.1234",
+        " 12:30:45.", "T12:30:60", " 01:02:03.000", " 1:2:3.04", "T12:30:45.5"};
+    for (final String date : dates) {
+      for (final String time : times) {
+        result.add(date + time);
+      }
+    }
+    for (int i = 0; i < 20000; ++i) {
+      result.add(randomText(random));
+    }
+    for (int i = 0; i < 5000; ++i) {
+      result.add(dates[random.nextInt(dates.length)] + randomText(random));
+    }
+    return result;
+  }
+
+  private static LocalDateTime parseByFormatter(final DateTimeFormatter formatter,
+      final String text) {
+    final TemporalAccessor temporal;
+    try {
+      temporal = formatter.parseBest(text, LocalDateTime::from, LocalDate::from);
+    } catch (final DateTimeParseException e) {
+      return DateTimePatternScanner.MISMATCH;
+    }
+    if (temporal instanceof LocalDate) {
+      return ((LocalDate) temporal).atStartOfDay();
+    } else {
+      return (LocalDateTime) temporal;
+    }
+  }
+
+  private static String describe(final LocalDateTime value) {
+    return (value == DateTimePatternScanner.MISMATCH ? "mismatch" : value.toString());
+  }
+
+  private static void assertSameAsFormatter(final String pattern,
+      final List<String> texts) {
+    final DateTimePatternScanner scanner = DateTimePatternScanner.compile(pattern);
+    assertNotNull(scanner, pattern);
+    final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+    for (final String text : texts) {
+      final LocalDateTime actual = scanner.scan(text);
+      if (actual != null) {
+        final LocalDateTime expected = parseByFormatter(formatter, text);
+        assertEquals(describe(expected), describe(actual),
+            "pattern = " + pattern + ", text = " + text);
+      }
+    }
+  }
+
+  @Test
+  public void testSameAsFormatter() {
+    final List<String> texts = generateTexts();
+    for (final String pattern : LocalDateTimeCodec.DEFAULT_DECODE_PATTERNS) {
+      assertSameAsFormatter(pattern, texts);
+    }
+    for (final String pattern : PATTERNS) {
+      assertSameAsFormatter(pattern, texts);
+    }
+  }
+
+  @Test
+  public void testUnsupportedPatterns() {
+    assertNull(DateTimePatternScanner.compile("yyyyMMdd"));
+    assertNull(DateTimePatternScanner.compile("uuuuMMdd"));
+    assertNull(DateTimePatternScanner.compile("uuuu-MMM-dd"));
+    assertNull(DateTimePatternScanner.compile("uuuu-MM-dd HH:mm:ssSSS"));
+    assertNull(DateTimePatternScanner.compile("uuuu-MM-dd'T'HH:mm:ssXXX"));
+    assertNull(DateTimePatternScanner.compile("uuuu-MM-dd HH:mm 'at' HH"));
+    assertNull(DateTimePatternScanner.compile("uuuu-MM-dd 'unclosed"));
+  }
+
+  @Test
+  public void testUndecidedTexts() {
+    final DateTimePatternScanner scanner = DateTimePatternScanner.compile("uuuu-M-d H:m");
+    assertNotNull(scanner);
+    assertNull(scanner.scan("+12022-1-1 0:0"));
+    assertNull(scanner.scan("2022-1-1 24:00"));
+    assertNull(scanner.scan("2022--1-1 0:0"));
+    assertEquals(LocalDateTime.of(2024, 2, 29, 1, 2), scanner.scan("2024-2-30 1:2"));
+    assertSame(DateTimePatternScanner.MISMATCH, scanner.scan("2024-2-30 1:2:3"));
+  }
+
+  @Test
+  public void testDecodeDefaultPatterns() throws DecodingException {
+    final LocalDateTimeCodec codec = new LocalDateTimeCodec();
+    final DateTimeFormatter[] formatters =
+        new DateTimeFormatter[LocalDateTimeCodec.DEFAULT_DECODE_PATTERNS.length];
+    for (int i = 0; i < formatters.length; ++i) {
+      formatters[i] = DateTimeFormatter.ofPattern(LocalDateTimeCodec.DEFAULT_DECODE_PATTERNS[i]);
+    }
+    for (final String text : generateTexts()) {
+      LocalDateTime expected = DateTimePatternScanner.MISMATCH;
+      for (final DateTimeFormatter formatter : formatters) {
+        expected = parseByFormatter(formatter, text);
+        if (expected != DateTimePatternScanner.MISMATCH) {
+          break;
+        }
+      }
+      final String stripped = text.strip();
+      if (stripped.isEmpty() || !stripped.equals(text)) {
+        continue;
+      }
+      if (expected == DateTimePatternScanner.MISMATCH) {
+        try {
+          codec.decode(text);
+        } catch (final DecodingException e) {
+          continue;
+        }
+        throw new AssertionError("Expect a decoding exception for: " + text);
+      } else {
+        assertEquals(expected, codec.decode(text), text);
+      }
+    }
+  }
+}
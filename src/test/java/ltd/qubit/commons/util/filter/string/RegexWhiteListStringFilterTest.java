@@ -0,0 +1,56 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2025.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.util.filter.string;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test of the {@link RegexWhiteListStringFilter} and
+ * {@link GlobWhiteListStringFilter} classes.
+ *
+ * @author Haixing Hu
+ */
+public class RegexWhiteListStringFilterTest {
+
+  @Test
+  public void testRegexWithEscapedCharacters() {
+    final String[][] cases = {
+        {"\\x41bc", "Abc"},
+        {"\\x{41}bc", "Abc"},
+        {"\\u0041bc", "Abc"},
+        {"\\0101bc", "Abc"},
+        {"\\cAxy", "\u0001xy"},
+        {"\\p{Lu}bc", "Abc"},
+        {"\\P{Lu}bc", "abc"},
+        {"(?<n>a)\\k<n>bc", "aabc"},
+        {"\\N{LATIN CAPITAL LETTER A}bc", "Abc"},
+    };
+    for (final String[] c : cases) {
+      final RegexWhiteListStringFilter filter = new RegexWhiteListStringFilter();
+      filter.setRegexList(Arrays.asList(c[0], "unused\\d+"));
+      assertTrue(filter.accept(c[1]), "regex = " + c[0]);
+      assertFalse(filter.accept(c[1] + "!"), "regex = " + c[0]);
+    }
+  }
+
+  @Test
+  public void testGlobWithEscapedCharacters() {
+    final GlobWhiteListStringFilter filter = new GlobWhiteListStringFilter();
+    filter.setGlobList(Arrays.asList("*\\x41bc", "*\\u0041xy?", "*.unused"));
+    assertTrue(filter.accept("zAbc"));
+    assertTrue(filter.accept("zAxyz"));
+    assertFalse(filter.accept("z41bc"));
+    assertFalse(filter.accept("z0041xyz"));
+  }
+}